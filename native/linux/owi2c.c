@@ -0,0 +1,171 @@
+/*
+ * JNI side of com.unixwizardry.accessProvider.LinuxI2CTransport: plain
+ * read()/write() and the I2C_SLAVE / I2C_RDWR ioctls of Linux i2c-dev.
+ * @author Bruce Juntti
+ */
+
+#include <jni.h>
+#include <errno.h>
+#include <fcntl.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <unistd.h>
+#include <sys/ioctl.h>
+#include <linux/i2c.h>
+#include <linux/i2c-dev.h>
+
+/* transfers up to this size are staged on the stack */
+#define STACK_BUFFER 64
+
+static void throwIOException(JNIEnv *env, const char *what, int err)
+{
+    char msg[160];
+    jclass cls;
+
+    snprintf(msg, sizeof msg, "LinuxI2CTransport: %s: %s", what, strerror(err));
+    cls = (*env)->FindClass(env, "java/io/IOException");
+    if (cls != NULL)
+        (*env)->ThrowNew(env, cls, msg);
+}
+
+/* a buffer of len bytes: 'stack' if it fits, else malloc()ed (NULL and an
+   exception pending if that fails) */
+static jbyte *buffer(JNIEnv *env, jbyte *stack, jint len)
+{
+    jbyte *b;
+
+    if (len <= STACK_BUFFER)
+        return stack;
+    b = malloc(len);
+    if (b == NULL)
+        throwIOException(env, "malloc", ENOMEM);
+    return b;
+}
+
+static void release(jbyte *b, jbyte *stack)
+{
+    if (b != stack)
+        free(b);
+}
+
+JNIEXPORT jint JNICALL
+Java_com_unixwizardry_accessProvider_LinuxI2CTransport_open0(JNIEnv *env, jclass cls, jstring path,
+                                                              jint address, jboolean tenBit)
+{
+    const char *p;
+    int fd, err;
+
+    p = (*env)->GetStringUTFChars(env, path, NULL);
+    if (p == NULL)
+        return -1;
+    fd = open(p, O_RDWR);
+    err = errno;
+    (*env)->ReleaseStringUTFChars(env, path, p);
+    if (fd < 0) {
+        throwIOException(env, "open", err);
+        return -1;
+    }
+    if (ioctl(fd, I2C_TENBIT, tenBit ? 1 : 0) < 0 && tenBit) {
+        err = errno;
+        close(fd);
+        throwIOException(env, "I2C_TENBIT", err);
+        return -1;
+    }
+    if (ioctl(fd, I2C_SLAVE, (long) address) < 0) {
+        err = errno;
+        close(fd);
+        throwIOException(env, "I2C_SLAVE", err);
+        return -1;
+    }
+    return fd;
+}
+
+JNIEXPORT jint JNICALL
+Java_com_unixwizardry_accessProvider_LinuxI2CTransport_write0(JNIEnv *env, jclass cls, jint fd,
+                                                               jbyteArray data, jint off, jint len)
+{
+    jbyte stack[STACK_BUFFER];
+    jbyte *b = buffer(env, stack, len);
+    ssize_t n;
+
+    if (b == NULL)
+        return -1;
+    (*env)->GetByteArrayRegion(env, data, off, len, b);
+    n = write(fd, b, len);
+    if (n < 0)
+        throwIOException(env, "write", errno);
+    release(b, stack);
+    return (jint) n;
+}
+
+JNIEXPORT jint JNICALL
+Java_com_unixwizardry_accessProvider_LinuxI2CTransport_read0(JNIEnv *env, jclass cls, jint fd,
+                                                              jbyteArray data, jint off, jint len)
+{
+    jbyte stack[STACK_BUFFER];
+    jbyte *b = buffer(env, stack, len);
+    ssize_t n;
+
+    if (b == NULL)
+        return -1;
+    n = read(fd, b, len);
+    if (n < 0)
+        throwIOException(env, "read", errno);
+    else
+        (*env)->SetByteArrayRegion(env, data, off, (jint) n, b);
+    release(b, stack);
+    return (jint) n;
+}
+
+JNIEXPORT jint JNICALL
+Java_com_unixwizardry_accessProvider_LinuxI2CTransport_writeRead0(JNIEnv *env, jclass cls, jint fd,
+                                                                   jint address, jboolean tenBit,
+                                                                   jbyteArray out, jint outOff, jint outLen,
+                                                                   jbyteArray in, jint inOff, jint inLen)
+{
+    jbyte outStack[STACK_BUFFER], inStack[STACK_BUFFER];
+    jbyte *o, *i;
+    struct i2c_msg msgs[2];
+    struct i2c_rdwr_ioctl_data rdwr;
+    __u16 flags = tenBit ? I2C_M_TEN : 0;
+    jint result = -1;
+
+    o = buffer(env, outStack, outLen);
+    if (o == NULL)
+        return -1;
+    i = buffer(env, inStack, inLen);
+    if (i == NULL) {
+        release(o, outStack);
+        return -1;
+    }
+    (*env)->GetByteArrayRegion(env, out, outOff, outLen, o);
+
+    msgs[0].addr  = (__u16) address;
+    msgs[0].flags = flags;
+    msgs[0].len   = (__u16) outLen;
+    msgs[0].buf   = (__u8 *) o;
+    msgs[1].addr  = (__u16) address;
+    msgs[1].flags = flags | I2C_M_RD;
+    msgs[1].len   = (__u16) inLen;
+    msgs[1].buf   = (__u8 *) i;
+    rdwr.msgs  = msgs;
+    rdwr.nmsgs = 2;
+
+    if (ioctl(fd, I2C_RDWR, &rdwr) < 0) {
+        throwIOException(env, "I2C_RDWR", errno);
+    } else {
+        (*env)->SetByteArrayRegion(env, in, inOff, inLen, i);
+        result = inLen;
+    }
+    release(i, inStack);
+    release(o, outStack);
+    return result;
+}
+
+JNIEXPORT void JNICALL
+Java_com_unixwizardry_accessProvider_LinuxI2CTransport_close0(JNIEnv *env, jclass cls, jint fd)
+{
+    if (close(fd) < 0)
+        throwIOException(env, "close", errno);
+}
@@ -0,0 +1,71 @@
+/*
+ * Time source for bus timing and device conversion delays.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time source used for bus timing and for the conversion delays the
+ * containers wait out (750 ms for a DS18S20, 10 ms for a DS2438, ...).
+ * <p>
+ * Real hardware uses {@link #SYSTEM}.  A transport that models the bridge in
+ * software hands out its own clock so waits cost no wall-clock time.
+ *
+ * @see I2CTransport#getClock()
+ */
+public interface BusClock {
+
+    /**
+     * @return current time in nanoseconds; only differences are meaningful
+     */
+    long nanoTime();
+
+    /**
+     * Waits for the given number of milliseconds.
+     *
+     * @param millis time to wait
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * Waits for the given number of nanoseconds.  Used for the sub-millisecond
+     * waits of 1-Wire operations, where <code>Thread.sleep()</code> is too
+     * coarse.
+     *
+     * @param nanos time to wait
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    void sleepNanos(long nanos) throws InterruptedException;
+
+    /**
+     * The wall clock: <code>System.nanoTime()</code>, <code>Thread.sleep()</code>
+     * and <code>LockSupport.parkNanos()</code>.
+     */
+    BusClock SYSTEM = new BusClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+
+        @Override
+        public void sleepNanos(long nanos) throws InterruptedException {
+            long deadline = System.nanoTime() + nanos;
+            long remaining = nanos;
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    };
+}
@@ -0,0 +1,164 @@
+/*
+ * Hooks for JDK Flight Recorder events on the 1-Wire bus.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+/**
+ * Emits flight recorder events for bus work: I2C transfers, 1-Wire resets,
+ * search passes, channel selections, device operations and path changes.
+ * <p>
+ * A call site asks for an event before the work and commits it after:
+ * <PRE> <CODE>
+ *  Object event = events.begin(BusEvents.RESET);
+ *  ... do the reset ...
+ *  if (event != null)
+ *     events.commitReset(event, bridge, channel, result);
+ * </CODE> </PRE>
+ * {@link #begin(int)} returns <code>null</code> when nobody is recording that
+ * kind of event, so with recording off an operation pays one virtual call
+ * and allocates nothing; the event fields, ROM strings included, are only
+ * filled in for events that are going to be written.
+ * <p>
+ * The recorder classes live in <code>com.unixwizardry.onewire.jfr</code>
+ * and are only loaded if the VM has <code>jdk.jfr</code>.  On a Java ME
+ * runtime, or with <code>-Donewire.jfr=false</code>, {@link #get()} returns
+ * {@link #NONE}.
+ */
+public abstract class BusEvents {
+
+    /** one I2C transfer to or from the DS2482 */
+    public static final int I2C_TRANSFER     = 0;
+    /** one 1-Wire reset */
+    public static final int RESET            = 1;
+    /** one search pass */
+    public static final int SEARCH           = 2;
+    /** one DS2482-800 channel selection */
+    public static final int CHANNEL_SELECT   = 3;
+    /** a container's readDevice, writeDevice or conversion */
+    public static final int DEVICE_OPERATION = 4;
+    /** opening or closing an <code>OWPath</code> */
+    public static final int PATH             = 5;
+
+    /** Emits nothing. */
+    public static final BusEvents NONE = new BusEvents() {
+    };
+
+    private static final BusEvents INSTANCE = load();
+
+    /**
+     * @return the recorder events if the VM supports them, else {@link #NONE}
+     */
+    public static BusEvents get() {
+        return INSTANCE;
+    }
+
+    private static BusEvents load() {
+        if ("false".equals(System.getProperty("onewire.jfr")))
+            return NONE;
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (BusEvents) Class.forName("com.unixwizardry.onewire.jfr.JfrBusEvents")
+                    .getDeclaredConstructor().newInstance();
+        } catch (Throwable t) {                         // no jdk.jfr module, or not allowed
+            return NONE;
+        }
+    }
+
+    /**
+     * For call sites that have to gather something before the work starts;
+     * {@link #begin(int)} already checks this.
+     *
+     * @param kind one of the kind constants
+     * @return <code>true</code> if that kind is being recorded
+     */
+    public boolean isEnabled(int kind) {
+        return false;
+    }
+
+    /**
+     * Starts an event.
+     *
+     * @param kind one of the kind constants
+     * @return the started event, or <code>null</code> if that kind is not
+     *         being recorded
+     */
+    public Object begin(int kind) {
+        return null;
+    }
+
+    /**
+     * Starts a {@link #DEVICE_OPERATION} event.
+     *
+     * @param oneWireBytes the adapter's 1-Wire byte count now, so the event
+     *        can report how many bytes the operation moved
+     * @return the started event, or <code>null</code> if not being recorded
+     */
+    public Object beginDeviceOperation(long oneWireBytes) {
+        return null;
+    }
+
+    /**
+     * @param event what {@link #begin(int)} returned for {@link #I2C_TRANSFER}
+     * @param bridge bridge name
+     * @param bytesOut bytes sent
+     * @param bytesIn bytes received
+     * @param ok <code>false</code> if the transfer threw
+     */
+    public void commitTransfer(Object event, String bridge, int bytesOut, int bytesIn, boolean ok) {
+    }
+
+    /**
+     * @param event what {@link #begin(int)} returned for {@link #RESET}
+     * @param bridge bridge name
+     * @param channel selected DS2482-800 channel
+     * @param result RESET_PRESENCE, RESET_NOPRESENCE or RESET_SHORT
+     */
+    public void commitReset(Object event, String bridge, int channel, int result) {
+    }
+
+    /**
+     * @param event what {@link #begin(int)} returned for {@link #SEARCH}
+     * @param bridge bridge name
+     * @param channel selected DS2482-800 channel
+     * @param rom ROM found, <code>null</code> if none
+     * @param triplets triplet commands the pass sent
+     */
+    public void commitSearch(Object event, String bridge, int channel, String rom, int triplets) {
+    }
+
+    /**
+     * @param event what {@link #begin(int)} returned for {@link #CHANNEL_SELECT}
+     * @param bridge bridge name
+     * @param channel channel asked for
+     * @param ok <code>true</code> if the DS2482 confirmed it
+     */
+    public void commitChannelSelect(Object event, String bridge, int channel, boolean ok) {
+    }
+
+    /**
+     * @param event what {@link #beginDeviceOperation(long)} returned
+     * @param operation e.g. "readDevice"
+     * @param bridge bridge name
+     * @param channel DS2482-800 channel of the device
+     * @param rom device ROM
+     * @param device device name
+     * @param oneWireBytes the adapter's 1-Wire byte count now
+     */
+    public void commitDeviceOperation(Object event, String operation, String bridge, int channel,
+            String rom, String device, long oneWireBytes) {
+    }
+
+    /**
+     * @param event what {@link #begin(int)} returned for {@link #PATH}
+     * @param operation "open" or "close"
+     * @param bridge bridge name
+     * @param channel channel of the last switch on the path, -1 if empty
+     * @param path the path
+     * @param switches couplers on the path
+     */
+    public void commitPath(Object event, String operation, String bridge, int channel, String path,
+            int switches) {
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Counters and latency histograms for one DS2482 bridge.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the bus time of one bridge goes.
+ * <p>
+ * <code>I2C_Device</code> counts I2C transfers, <code>I2CBridgeAdapter</code>
+ * the 1-Wire primitives, and containers time their <code>readDevice()</code>.
+ * Counters are <code>LongAdder</code>s and timers are
+ * {@link LatencyHistogram}s, so recording never blocks or allocates; with
+ * metrics on, an operation costs a few atomic adds plus two clock reads.
+ * {@link #setEnabled(boolean) Turned off}, every call returns after reading
+ * one flag.
+ * <p>
+ * Times come from the bridge's {@link BusClock}, so under the simulator
+ * they are bus time rather than host time.  {@link #snapshot()} copies
+ * everything for reporting.
+ */
+public final class BusMetrics {
+
+    //--------
+    //-------- Counters
+    //--------
+
+    /** 1-Wire resets */
+    public static final int RESETS              = 0;
+    /** resets answered by a presence pulse */
+    public static final int PRESENCE            = 1;
+    /** resets nobody answered */
+    public static final int NO_PRESENCE         = 2;
+    /** resets that found the line shorted */
+    public static final int SHORTS              = 3;
+    /** bytes written to the 1-Wire */
+    public static final int BYTES_WRITTEN       = 4;
+    /** bytes read from the 1-Wire */
+    public static final int BYTES_READ          = 5;
+    /** single bit time slots */
+    public static final int BITS                = 6;
+    /** search triplets */
+    public static final int TRIPLETS            = 7;
+    /** status register reads while waiting for 1WB to clear */
+    public static final int STATUS_POLLS        = 8;
+    /** 1-Wire operations that never finished, each followed by a bridge reset */
+    public static final int POLL_TIMEOUT_RESETS = 9;
+    /** CRC8 checks that failed */
+    public static final int CRC8_FAILURES       = 10;
+    /** CRC16 checks that failed */
+    public static final int CRC16_FAILURES      = 11;
+    /** DS2482-800 channel selections */
+    public static final int CHANNEL_SWITCHES    = 12;
+    /** searches (one per device found or search end), retries not included */
+    public static final int SEARCHES            = 13;
+    /** MATCH ROM selections */
+    public static final int SELECTS             = 14;
+    /** I2C transfers of any kind */
+    public static final int I2C_TRANSFERS       = 15;
+    /** bytes sent to the DS2482 */
+    public static final int I2C_BYTES_OUT       = 16;
+    /** bytes received from the DS2482 */
+    public static final int I2C_BYTES_IN        = 17;
+    /** I2C transfers that failed */
+    public static final int I2C_ERRORS          = 18;
+    /** search passes repeated because the ROM was misread */
+    public static final int SEARCH_RETRIES      = 19;
+
+    private static final String[] COUNTER_NAMES = {
+        "resets", "presence", "noPresence", "shorts", "bytesWritten", "bytesRead",
+        "bits", "triplets", "statusPolls", "pollTimeoutResets", "crc8Failures",
+        "crc16Failures", "channelSwitches", "searches", "selects", "i2cTransfers",
+        "i2cBytesOut", "i2cBytesIn", "i2cErrors", "searchRetries"
+    };
+
+    /** number of counters */
+    public static final int COUNTER_COUNT = COUNTER_NAMES.length;
+
+    //--------
+    //-------- Timers
+    //--------
+
+    /** 1-Wire reset */
+    public static final int T_RESET        = 0;
+    /** single bit */
+    public static final int T_BIT          = 1;
+    /** byte write */
+    public static final int T_WRITE_BYTE   = 2;
+    /** byte read */
+    public static final int T_READ_BYTE    = 3;
+    /** search triplet */
+    public static final int T_TRIPLET      = 4;
+    /** one search pass */
+    public static final int T_SEARCH       = 5;
+    /** reset and MATCH ROM */
+    public static final int T_SELECT       = 6;
+    /** channel selection */
+    public static final int T_CHANNEL      = 7;
+    /** one I2C transfer */
+    public static final int T_I2C_TRANSFER = 8;
+
+    private static final String[] TIMER_NAMES = {
+        "reset", "bit", "writeByte", "readByte", "triplet", "search", "select",
+        "channel", "i2cTransfer"
+    };
+
+    /** number of timers */
+    public static final int TIMER_COUNT = TIMER_NAMES.length;
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;   // start() while off
+
+    private final BusClock           clock;
+    private volatile boolean         enabled = true;
+    private final LongAdder[]        counters = new LongAdder[COUNTER_COUNT];
+    private final LatencyHistogram[] timers = new LatencyHistogram[TIMER_COUNT];
+    private final ConcurrentHashMap<String, LatencyHistogram> devices
+            = new ConcurrentHashMap<String, LatencyHistogram>();
+
+    /**
+     * @param clock clock the timers read
+     */
+    public BusMetrics(BusClock clock) {
+        this.clock = clock;
+        for (int i = 0; i < COUNTER_COUNT; i++)
+            counters[i] = new LongAdder();
+        for (int i = 0; i < TIMER_COUNT; i++)
+            timers[i] = new LatencyHistogram();
+    }
+
+    /**
+     * @param enabled <code>false</code> to stop recording
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return <code>true</code> if recording
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds one to a counter.
+     *
+     * @param counter one of the counter constants
+     */
+    public void count(int counter) {
+        if (enabled)
+            counters[counter].increment();
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter one of the counter constants
+     * @param n amount to add
+     */
+    public void count(int counter, long n) {
+        if (enabled)
+            counters[counter].add(n);
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return the start time to pass to {@link #stop(int, long)}
+     */
+    public long start() {
+        return enabled ? clock.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Ends timing an operation.
+     *
+     * @param timer one of the timer constants
+     * @param start what {@link #start()} returned
+     */
+    public void stop(int timer, long start) {
+        if (enabled && start != NOT_TIMED)
+            timers[timer].record(clock.nanoTime() - start);
+    }
+
+    /**
+     * Counts one I2C transfer and times it.
+     *
+     * @param start what {@link #start()} returned
+     * @param bytesOut bytes written
+     * @param bytesIn bytes read
+     */
+    public void transfer(long start, int bytesOut, int bytesIn) {
+        if (!enabled)
+            return;
+        counters[I2C_TRANSFERS].increment();
+        if (bytesOut > 0)
+            counters[I2C_BYTES_OUT].add(bytesOut);
+        if (bytesIn > 0)
+            counters[I2C_BYTES_IN].add(bytesIn);
+        if (start != NOT_TIMED)
+            timers[T_I2C_TRANSFER].record(clock.nanoTime() - start);
+    }
+
+    /**
+     * Histogram for the <code>readDevice()</code> of one kind of device.
+     * Containers look it up once and keep it.
+     *
+     * @param name device name, e.g. "DS18S20"
+     * @return the histogram, created on first use
+     */
+    public LatencyHistogram deviceTimer(String name) {
+        LatencyHistogram h = devices.get(name);
+        if (h == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            h = devices.putIfAbsent(name, created);
+            if (h == null)
+                h = created;
+        }
+        return h;
+    }
+
+    /**
+     * Ends timing a device operation.
+     *
+     * @param timer from {@link #deviceTimer(String)}
+     * @param start what {@link #start()} returned
+     */
+    public void stop(LatencyHistogram timer, long start) {
+        if (enabled && start != NOT_TIMED)
+            timer.record(clock.nanoTime() - start);
+    }
+
+    /**
+     * @return a copy of everything recorded so far
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Sets every counter and timer back to zero.
+     */
+    public void reset() {
+        for (LongAdder c : counters)
+            c.reset();
+        for (LatencyHistogram t : timers)
+            t.reset();
+        for (LatencyHistogram t : devices.values())
+            t.reset();
+    }
+
+    /**
+     * @param counter one of the counter constants
+     * @return its name in reports
+     */
+    public static String counterName(int counter) {
+        return COUNTER_NAMES[counter];
+    }
+
+    /**
+     * @param timer one of the timer constants
+     * @return its name in reports
+     */
+    public static String timerName(int timer) {
+        return TIMER_NAMES[timer];
+    }
+
+    /**
+     * Counters and timers of a bridge at one moment.
+     */
+    public static final class Snapshot {
+        private final long[]                        counts = new long[COUNTER_COUNT];
+        private final LatencyHistogram[]            times = new LatencyHistogram[TIMER_COUNT];
+        private final Map<String, LatencyHistogram> deviceTimes;
+
+        private Snapshot(BusMetrics m) {
+            for (int i = 0; i < COUNTER_COUNT; i++)
+                counts[i] = m.counters[i].sum();
+            for (int i = 0; i < TIMER_COUNT; i++)
+                times[i] = m.timers[i].copy();
+            TreeMap<String, LatencyHistogram> d = new TreeMap<String, LatencyHistogram>();
+            for (Map.Entry<String, LatencyHistogram> e : m.devices.entrySet())
+                d.put(e.getKey(), e.getValue().copy());
+            deviceTimes = Collections.unmodifiableMap(d);
+        }
+
+        /**
+         * @param counter one of the counter constants
+         * @return its value
+         */
+        public long getCount(int counter) {
+            return counts[counter];
+        }
+
+        /**
+         * @param timer one of the timer constants
+         * @return its histogram
+         */
+        public LatencyHistogram getTimer(int timer) {
+            return times[timer];
+        }
+
+        /**
+         * @return <code>readDevice()</code> histograms by device name
+         */
+        public Map<String, LatencyHistogram> getDeviceTimers() {
+            return deviceTimes;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < COUNTER_COUNT; i++) {
+                if (counts[i] != 0)
+                    sb.append(COUNTER_NAMES[i]).append('=').append(counts[i]).append(' ');
+            }
+            sb.append('\n');
+            for (int i = 0; i < TIMER_COUNT; i++) {
+                if (times[i].getCount() != 0)
+                    sb.append(TIMER_NAMES[i]).append(": ").append(times[i]).append('\n');
+            }
+            for (Map.Entry<String, LatencyHistogram> e : deviceTimes.entrySet())
+                sb.append(e.getKey()).append(".readDevice: ").append(e.getValue()).append('\n');
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The original Java ME device-io access code, moved out of I2C_Device.
+ * Copyright 2014, Oracle and/or its affiliates. All rights reserved.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import jdk.dio.DeviceManager;
+import jdk.dio.i2cbus.I2CCombinedMessage;
+import jdk.dio.i2cbus.I2CDevice;
+import jdk.dio.i2cbus.I2CDeviceConfig;
+
+/**
+ * <code>I2CTransport</code> backed by the Java ME Device I/O API
+ * (<code>jdk.dio.i2cbus.I2CDevice</code>).  This is what <code>I2C_Device</code>
+ * used directly before the transport was made pluggable, and it is still the
+ * default for the address/bus constructors.
+ * <p>
+ * Transfers up to {@value #BUFFER_SIZE} bytes go through direct buffers
+ * allocated once per transport, and the combined write/read message is
+ * built once around them, so the steady state allocates nothing.  Longer
+ * transfers fall back to wrapping the caller's array.
+ */
+public class DioI2CTransport implements I2CTransport {
+
+    private final int       serialClock = -1;        // I have no idea why J2ME 8.2 now needs the I2C clock set to -1
+    private final I2CDevice i2c_device;
+
+    /** Largest transfer served from the preallocated buffers. */
+    public static final int BUFFER_SIZE = 32;
+
+    private final ByteBuffer txBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer rxBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private I2CCombinedMessage writeRead;            // write txBuffer, read rxBuffer
+
+    /**
+     * Opens the I2C slave through <code>DeviceManager</code>.
+     *
+     * @param i2cBus I2C bus number; 1 on a Raspberry Pi
+     * @param address 7 or 10 bit slave address
+     * @param addressSizeBits 7 or 10
+     * @throws IOException if the device could not be opened
+     */
+    public DioI2CTransport(int i2cBus, int address, int addressSizeBits) throws IOException {
+        I2CDeviceConfig config = new I2CDeviceConfig(i2cBus, address, addressSizeBits, serialClock);
+        i2c_device = DeviceManager.open(config);
+    }
+
+    /**
+     * @return the jdk.dio device behind this transport
+     */
+    public I2CDevice getDevice() {
+        return i2c_device;
+    }
+
+    @Override
+    public int write(byte[] buffer, int off, int len) throws IOException {
+        if (len > BUFFER_SIZE)
+            return i2c_device.write(ByteBuffer.wrap(buffer, off, len));
+        loadTx(buffer, off, len);
+        return i2c_device.write(txBuffer);
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+        if (len > BUFFER_SIZE)
+            return i2c_device.read(ByteBuffer.wrap(buffer, off, len));
+        rxBuffer.clear();
+        rxBuffer.limit(len);
+        int count = i2c_device.read(rxBuffer);
+        return unloadRx(buffer, off, count);
+    }
+
+    /**
+     * Uses an <code>I2CCombinedMessage</code> so the write and the read go out
+     * with a repeated start (one <code>I2C_RDWR</code> ioctl on Linux).  The
+     * message refers to the two transport buffers, so it is built on first
+     * use and re-armed for each transfer by resetting their positions.
+     */
+    @Override
+    public int writeRead(byte[] out, int outOff, int outLen, byte[] in, int inOff, int inLen) throws IOException {
+        if (outLen > BUFFER_SIZE || inLen > BUFFER_SIZE) {
+            I2CCombinedMessage message = i2c_device.getBus().createCombinedMessage();
+            message.appendWrite(i2c_device, ByteBuffer.wrap(out, outOff, outLen));
+            message.appendRead(i2c_device, ByteBuffer.wrap(in, inOff, inLen));
+            int[] counts = message.transfer();
+            return counts[1];
+        }
+        if (writeRead == null) {
+            writeRead = i2c_device.getBus().createCombinedMessage();
+            writeRead.appendWrite(i2c_device, txBuffer);
+            writeRead.appendRead(i2c_device, rxBuffer);
+        }
+        loadTx(out, outOff, outLen);
+        rxBuffer.clear();
+        rxBuffer.limit(inLen);
+        int[] counts = writeRead.transfer();
+        return unloadRx(in, inOff, counts[1]);
+    }
+
+    private void loadTx(byte[] buffer, int off, int len) {
+        txBuffer.clear();
+        txBuffer.put(buffer, off, len);
+        txBuffer.flip();
+    }
+
+    private int unloadRx(byte[] buffer, int off, int count) {
+        rxBuffer.flip();
+        rxBuffer.get(buffer, off, Math.min(count, rxBuffer.remaining()));
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return i2c_device.isOpen();
+    }
+
+    @Override
+    public BusClock getClock() {
+        return BusClock.SYSTEM;
+    }
+
+    @Override
+    public void close() throws IOException {
+        i2c_device.close();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * I2C transport abstraction used by I2C_Device.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.io.IOException;
+
+/**
+ * Raw I2C transfers to one slave device (a DS2482 for this library).
+ * <p>
+ * <code>I2C_Device</code> hands every bus access to an <code>I2CTransport</code>
+ * so the 1-Wire bridge code does not care how the bytes get to the chip.
+ * The original jdk.dio path lives in {@link DioI2CTransport}, and
+ * {@link LinuxI2CTransport} reaches <code>/dev/i2c-N</code> from Java SE;
+ * anything else (another native binding, an in-process stand-in for
+ * testing) only has to implement these few methods.
+ * <p>
+ * Implementations are not expected to be thread safe; <code>I2C_Device</code>
+ * callers serialize access to the bridge.
+ *
+ * @see I2C_Device#I2C_Device(I2CTransport)
+ */
+public interface I2CTransport {
+
+    /**
+     * Writes <code>len</code> bytes starting at <code>off</code> to the slave
+     * in a single I2C write transaction (START, address+W, data..., STOP).
+     *
+     * @param buffer bytes to write
+     * @param off offset of the first byte in <code>buffer</code>
+     * @param len number of bytes to write
+     * @return number of bytes actually written
+     * @throws IOException if the slave did not acknowledge or the bus failed
+     */
+    int write(byte[] buffer, int off, int len) throws IOException;
+
+    /**
+     * Reads <code>len</code> bytes from the slave in a single I2C read
+     * transaction (START, address+R, data..., STOP).
+     *
+     * @param buffer buffer to fill
+     * @param off offset in <code>buffer</code> of the first byte read
+     * @param len number of bytes to read
+     * @return number of bytes actually read
+     * @throws IOException if the bus failed
+     */
+    int read(byte[] buffer, int off, int len) throws IOException;
+
+    /**
+     * Writes <code>outLen</code> bytes and then reads <code>inLen</code> bytes
+     * back as one combined I2C transaction (START, address+W, data...,
+     * repeated START, address+R, data..., STOP).  The DS2482 accepts a
+     * repeated start after every command, so a command and the register read
+     * that follows it cost one bus transaction instead of two.
+     *
+     * @param out bytes to write
+     * @param outOff offset of the first byte in <code>out</code>
+     * @param outLen number of bytes to write
+     * @param in buffer to fill
+     * @param inOff offset in <code>in</code> of the first byte read
+     * @param inLen number of bytes to read
+     * @return number of bytes actually read
+     * @throws IOException if the slave did not acknowledge or the bus failed
+     */
+    int writeRead(byte[] out, int outOff, int outLen, byte[] in, int inOff, int inLen) throws IOException;
+
+    /**
+     * @return <code>true</code> if the transport is open and usable
+     */
+    boolean isOpen();
+
+    /**
+     * @return the clock that bus timing and device waits should use;
+     *         {@link BusClock#SYSTEM} for real hardware
+     */
+    BusClock getClock();
+
+    /**
+     * Releases the underlying bus resource.
+     *
+     * @throws IOException if the resource could not be closed
+     */
+    void close() throws IOException;
+}
@@ -1,276 +1,464 @@
-/***********************************************************************
- * Adding copyright stuff and giving credit to Oracle for the original 
- * code for the great Java ME MOOC (Massive Online Oracle Class) that
- * gave me the impetus to get the Dallas Semiconductor 1-wire code to
- * work with Java Micro Edition.
- */
-
-
-/* The below is for the Oracle code contained in the MOOC classes     */
-/* Copyright 2014, Oracle and/or its affiliates. All rights reserved. */
-
-package com.unixwizardry.accessProvider;
-
-/**
- * I2C methods for connecting to a Maxim/Dallas I2C device like the DS2482 1-wire
- * bridge.
- * <p>
- *
- * @version    0.00, 21 August 2000
- * @author     DS
- */
-
-import com.unixwizardry.onewire.utils.Convert;
-import static com.unixwizardry.onewire.utils.Convert.toHexString;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import jdk.dio.DeviceManager;
-import jdk.dio.i2cbus.I2CDevice;
-import jdk.dio.i2cbus.I2CDeviceConfig;
-
-public class I2C_Device {    
-    protected I2CDevice     i2c_device = null;       // I2C device
-    private byte            i2cBus = 1;              // Default I2C bus        
-    private final int       serialClock = -1;        // I have no idea why J2ME 8.2 now needs the I2C clock set to -1
-    private int             addressSizeBits = 7;     // Default address size
-    private byte            address = 18;            // Default DS2482 I2C device address
-    private final int       registerSize = 1;        //Register size in bytes
-    private final int       bufferSize = 1;          // Register size in bytes
-    public boolean          adapterPresent;
-    boolean                 statusOK = false;
-    
-    final ByteBuffer command;
-    final ByteBuffer byteToRead;
-
-    private String msg;
-    public static int ERROR   = 1;
-    public static int INFO    = 2;
-    public static int DATA    = 3;
-    
-    public static boolean verbose = false;
-    private int messageLevel = ERROR;
-      
-    //private static final Logger LOGGER = Logger.getLogger(I2C_Device.class.getName());
-    
-    /**
-     * Constructor for the I2C Dallas device. This method update the device address and
-     * try to connect to the device
-     *
-     * @param address Device's address
-     * @param i2cBus
-     */
-    public I2C_Device(byte address, byte i2cBus) {      
-        this.byteToRead = ByteBuffer.wrap(new byte[bufferSize]);    // Initialize the ByteBuffers
-        this.command    = ByteBuffer.wrap(new byte[bufferSize]);   
-        this.address = address;
-        this.i2cBus = i2cBus;    
-        statusOK = connectToDevice();  
-        //Logger.getLogger(I2C_Device.class.getName()).log(Level.SEVERE, null, ex);
-    }
-
-    /**
-     * Constructor for the I2C Dallas device.
-     *
-     * @param i2cBus Device bus. For Raspberry Pi usually it's 1
-     * @param address Device address
-     * @param addressSizeBits I2C normally uses 7 bits addresses
-     */
-    public I2C_Device(byte i2cBus, byte address, int addressSizeBits) {
-        this.byteToRead = ByteBuffer.wrap(new byte[bufferSize]);
-        this.command = ByteBuffer.wrap(new byte[bufferSize]);
-        this.address = address;
-        this.addressSizeBits = addressSizeBits;
-        this.i2cBus = i2cBus;
-        statusOK = connectToDevice();       
-    }
-
-    /**
-     * connectToDevice()
-     * Constructs the shared ByteBuffers
-     * Reusing the buffers rather than allocating new space each time is
-     * good practice with embedded devices to reduce garbage collection.
-     * command = ByteBuffer.allocateDirect(bufferSize);
-     * byteToRead = ByteBuffer.allocateDirect(1);
-     * 
-     * @return Boolean: true if connected OK, otherwise false
-     */
-    public final boolean connectToDevice() {   
-        boolean connectStatus = false;
-        try {                
-            //System.out.println("[connectToDevice] Opening I2C device at: " + toHexString(address) + " on bus " + i2cBus);               
-            I2CDeviceConfig config = new I2CDeviceConfig(i2cBus, address, addressSizeBits, serialClock);
-            i2c_device = DeviceManager.open(config);               
-            adapterPresent = true;
-            connectStatus = true;
-            printMessage("Connected to the I2C 1-wire device OK", "connectToDevice()", INFO);                   
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][connectToDevice] Error connecting to device at address " + toHexString(address));
-        }                        
-        return connectStatus;
-    }
-
-    /**
-     * I2CwriteBlock() writes a sequence of bytes to the selected DS2482<p>
-     * 
-     * @param buffer is an array of bytes to be written   
-     */
-    public void I2CwriteBlock(byte[] buffer) {       
-
-        msg = "Sending " + Convert.toHexString(buffer);
-        printMessage(msg, "I2CsendBlock()", INFO);
-        try {           
-            i2c_device.write(ByteBuffer.wrap(buffer));
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][I2CwriteBlock] Error encountered: " + ex.getMessage());            
-        }      
-    }
-    
-    /**
-     * I2CSendByte() tries to write one single byte to the device
-     *
-     * @param byteToWrite is the single byte to be written
-     */
-    
-    public void I2CwriteByte(byte byteToWrite) {
-        try {
-            command.clear();
-            command.put(byteToWrite);
-            command.rewind();   
-            msg = "Sending " + Convert.byteToHex(byteToWrite);
-            printMessage(msg, "I2CsendByte()", INFO);                
-            i2c_device.write(command); 
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][I2CwriteByte] Error encountered: " + ex.getMessage());
-        }        
-    }  
-    
-    /**
-     * This method tries to write one single byte to particular registry
-     *
-     * @param register Register to write
-     * @param byteToWrite Byte to be written    
-     */
-    public void I2CwriteByte(int register, byte byteToWrite) {
-        command.clear();
-        command.put(byteToWrite);
-        command.rewind();
-        msg = "Sending " + Convert.byteToHex(byteToWrite) + " to register " + register;
-                printMessage(msg, "I2CsendByte()", INFO);         
-        try {
-            i2c_device.write(register, registerSize, command);
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][I2CwriteByte]: I2CwriteByte: Error writing register " + 
-                    register + " " + ex.getMessage());
-        }
-
-    }
-    
-    
-    public void I2CwriteBytes(byte[] buffer) {       
-        try {           
-            i2c_device.write(ByteBuffer.wrap(buffer));
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][I2CwriteBytes] Error encountered: " + ex.getMessage());
-        }        
-    }
-    
-    
-    
-    /**
-     * This method reads one byte from the I2C device. The method
-     * checks that the byte is actually read, otherwise it'll show some messages
-     * in the output
-     *
-     * @return Byte read from the register
-     */
-    public byte I2CreadByte() {
-        byteToRead.clear();
-        int result; 
-        try {
-            result = i2c_device.read(byteToRead);
-            if (result < 1) {
-                System.out.println("[I2C_Device][I2CreadByte] source could not be read");
-            } else {
-                byteToRead.rewind();
-                return byteToRead.get();
-            }
-            //return (byte) result;
-            
-            } catch (IOException ex) {
-                System.out.println("[I2C_Device][I2CwriteBytes] Error encountered: " + ex.getMessage());               
-            }       
-        return 2;
-    }
-
-    
-    /**
-     * This method reads one byte from the I2C device. The method
-     * checks that the byte is actually read, otherwise it'll show some messages
-     * in the output
-     *
-     * @param register
-     * @return Byte read from the register
-     */
-    public byte I2CreadByte(byte register) {
-        byteToRead.clear();
-        int result; 
-        try {
-            result = i2c_device.read(register, 1, byteToRead);
-            if (result < 1) {
-                System.out.println("[I2C_Device][I2CreadByte] Byte could not be read");
-            } else {
-                byteToRead.rewind();
-                return byteToRead.get();
-            }
-            return (byte) result;
-        } catch (IOException ex) {
-            System.out.println("[I2C_Device][I2CreadByte] Error encountered: " + ex.getMessage());
-        }
-        return 2;
-    }
-    
-    
-    /**
-     * This method closes the open I2CDevice resource
-     *
-     *
-     * @throws java.io.IOException
-     */
-    public void close() throws IOException {
-        i2c_device.close();
-    }
-   
-    /**
-     * Print a message if verbose messaging is turned on
-     *
-     * @param message The message to print
-     * @param method The method being called
-     * @param level
-     */
-    public final void printMessage(String message, String method, int level) {
-        if (verbose && level <= messageLevel) {
-            System.out.println("DEBUG: " + " " + method + " " + message);
-        }
-    }
-   
-    /**
-     * Turn on or off verbose messaging
-     *
-     * @param verbose Whether to enable verbose messages
-     */
-    public final void setVerbose(boolean verbose) {
-        this.verbose = verbose;
-    }
-
-    /**
-     * Set the level of messages to display, 1 = ERROR, 2 = INFO
-     *
-     * @param level The level for messages
-     */
-    public final void setMessageLevel(int level) {
-        messageLevel = level;
-    }
-
-}
+/***********************************************************************
+ * Adding copyright stuff and giving credit to Oracle for the original 
+ * code for the great Java ME MOOC (Massive Online Oracle Class) that
+ * gave me the impetus to get the Dallas Semiconductor 1-wire code to
+ * work with Java Micro Edition.
+ */
+
+
+/* The below is for the Oracle code contained in the MOOC classes     */
+/* Copyright 2014, Oracle and/or its affiliates. All rights reserved. */
+
+package com.unixwizardry.accessProvider;
+
+/**
+ * I2C methods for connecting to a Maxim/Dallas I2C device like the DS2482 1-wire
+ * bridge.
+ * <p>
+ *
+ * @version    0.00, 21 August 2000
+ * @author     DS
+ */
+
+import com.unixwizardry.onewire.utils.Convert;
+import static com.unixwizardry.onewire.utils.Convert.toHexString;
+import java.io.IOException;
+
+public class I2C_Device {    
+    protected I2CTransport  transport = null;        // I2C device access (jdk.dio by default, else i2c-dev)
+    private byte            i2cBus = 1;              // Default I2C bus        
+    private int             addressSizeBits = 7;     // Default address size
+    private byte            address = 18;            // Default DS2482 I2C device address
+    private final int       bufferSize = 1;          // Register size in bytes
+    public boolean          adapterPresent;
+    boolean                 statusOK = false;
+    
+    final byte[] command;
+    final byte[] byteToRead;
+    private final byte[] registerWrite = new byte[2];
+    protected final BusMetrics metrics;              // counters and timers for this bridge
+    protected final BusEvents  events = BusEvents.get();  // flight recorder events
+    private final String       bridgeName;           // names this bridge in events
+
+    private String msg;
+    public static int ERROR   = 1;
+    public static int INFO    = 2;
+    public static int DATA    = 3;
+    
+    public static boolean verbose = false;
+    private int messageLevel = ERROR;
+      
+    //private static final Logger LOGGER = Logger.getLogger(I2C_Device.class.getName());
+    
+    /**
+     * Constructor for the I2C Dallas device. This method update the device address and
+     * try to connect to the device
+     *
+     * @param address Device's address
+     * @param i2cBus
+     */
+    public I2C_Device(byte address, byte i2cBus) {      
+        this.byteToRead = new byte[bufferSize];    // Initialize the shared buffers
+        this.command    = new byte[bufferSize];   
+        this.address = address;
+        this.i2cBus = i2cBus;    
+        statusOK = connectToDevice();  
+        metrics = new BusMetrics(getClock());
+        bridgeName = "i2c-" + i2cBus + "@" + toHexString(address);
+        //Logger.getLogger(I2C_Device.class.getName()).log(Level.SEVERE, null, ex);
+    }
+
+    /**
+     * Constructor for the I2C Dallas device.
+     *
+     * @param i2cBus Device bus. For Raspberry Pi usually it's 1
+     * @param address Device address
+     * @param addressSizeBits I2C normally uses 7 bits addresses
+     */
+    public I2C_Device(byte i2cBus, byte address, int addressSizeBits) {
+        this.byteToRead = new byte[bufferSize];
+        this.command = new byte[bufferSize];
+        this.address = address;
+        this.addressSizeBits = addressSizeBits;
+        this.i2cBus = i2cBus;
+        statusOK = connectToDevice();       
+        metrics = new BusMetrics(getClock());
+        bridgeName = "i2c-" + i2cBus + "@" + toHexString(address);
+    }
+
+    /**
+     * Constructor for an I2C device reached through an already opened
+     * transport, e.g. a non jdk.dio backend or an in-process stand-in.
+     *
+     * @param transport open transport to the DS2482
+     */
+    public I2C_Device(I2CTransport transport) {
+        this.byteToRead = new byte[bufferSize];
+        this.command = new byte[bufferSize];
+        this.transport = transport;
+        adapterPresent = transport.isOpen();
+        statusOK = adapterPresent;
+        metrics = new BusMetrics(getClock());
+        bridgeName = transport.getClass().getSimpleName() + "@"
+                + Integer.toHexString(System.identityHashCode(transport));
+    }
+
+    /**
+     * connectToDevice()
+     * Opens the default jdk.dio transport for this bus and address, or on a
+     * Java SE runtime without jdk.dio the Linux i2c-dev one
+     * ({@link LinuxI2CTransport}).
+     * Reusing the buffers rather than allocating new space each time is
+     * good practice with embedded devices to reduce garbage collection.
+     * 
+     * @return Boolean: true if connected OK, otherwise false
+     */
+    public final boolean connectToDevice() {   
+        boolean connectStatus = false;
+        try {                
+            //System.out.println("[connectToDevice] Opening I2C device at: " + toHexString(address) + " on bus " + i2cBus);               
+            try {
+                transport = new DioI2CTransport(i2cBus, address, addressSizeBits);
+            } catch (NoClassDefFoundError ex) {
+                // no jdk.dio on this runtime
+                transport = new LinuxI2CTransport(i2cBus, address & 0xFF, addressSizeBits);
+            }
+            adapterPresent = true;
+            connectStatus = true;
+            printMessage("Connected to the I2C 1-wire device OK", "connectToDevice()", INFO);                   
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][connectToDevice] Error connecting to device at address " + toHexString(address)
+                    + ": " + ex.getMessage());
+        }                        
+        return connectStatus;
+    }
+
+    /**
+     * @return the transport this device talks through
+     */
+    public I2CTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return counters and latency histograms of this bridge
+     */
+    public BusMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return name of this bridge in flight recorder events, e.g. "i2c-1@18"
+     */
+    public String getBridgeName() {
+        return bridgeName;
+    }
+
+    /**
+     * @return where this bridge sends its flight recorder events
+     */
+    public BusEvents getEvents() {
+        return events;
+    }
+
+    /**
+     * Clock to use for conversion delays and bus timing.  Containers call
+     * this rather than <code>Thread.sleep()</code> so a simulated bridge can
+     * skip the wait.
+     *
+     * @return the transport's clock, or the system clock if not connected
+     */
+    public BusClock getClock() {
+        return (transport == null) ? BusClock.SYSTEM : transport.getClock();
+    }
+
+    /**
+     * I2CwriteBlock() writes a sequence of bytes to the selected DS2482<p>
+     * 
+     * @param buffer is an array of bytes to be written   
+     */
+    public void I2CwriteBlock(byte[] buffer) {       
+
+        if (isMessageEnabled(INFO)) {
+            msg = "Sending " + Convert.toHexString(buffer);
+            printMessage(msg, "I2CsendBlock()", INFO);
+        }
+        try {           
+            transfer(buffer, buffer.length, null, 0);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteBlock] Error encountered: " + ex.getMessage());            
+        }      
+    }
+    
+    /**
+     * I2CSendByte() tries to write one single byte to the device
+     *
+     * @param byteToWrite is the single byte to be written
+     */
+    
+    public void I2CwriteByte(byte byteToWrite) {
+        try {
+            command[0] = byteToWrite;
+            if (isMessageEnabled(INFO)) {
+                msg = "Sending " + Convert.byteToHex(byteToWrite);
+                printMessage(msg, "I2CsendByte()", INFO);                
+            }
+            transfer(command, 1, null, 0);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteByte] Error encountered: " + ex.getMessage());
+        }        
+    }  
+    
+    /**
+     * This method tries to write one single byte to particular registry
+     *
+     * @param register Register to write
+     * @param byteToWrite Byte to be written    
+     */
+    public void I2CwriteByte(int register, byte byteToWrite) {
+        registerWrite[0] = (byte) register;
+        registerWrite[1] = byteToWrite;
+        if (isMessageEnabled(INFO)) {
+            msg = "Sending " + Convert.byteToHex(byteToWrite) + " to register " + register;
+            printMessage(msg, "I2CsendByte()", INFO);         
+        }
+        try {
+            transfer(registerWrite, registerWrite.length, null, 0);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteByte]: I2CwriteByte: Error writing register " + 
+                    register + " " + ex.getMessage());
+        }
+
+    }
+    
+    
+    public void I2CwriteBytes(byte[] buffer) {       
+        try {           
+            transfer(buffer, buffer.length, null, 0);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteBytes] Error encountered: " + ex.getMessage());
+        }        
+    }
+    
+    
+    
+    /**
+     * This method reads one byte from the I2C device. The method
+     * checks that the byte is actually read, otherwise it'll show some messages
+     * in the output
+     *
+     * @return Byte read from the register
+     */
+    public byte I2CreadByte() {
+        int result; 
+        try {
+            result = transfer(null, 0, byteToRead, 1);
+            if (result < 1) {
+                System.out.println("[I2C_Device][I2CreadByte] source could not be read");
+            } else {
+                return byteToRead[0];
+            }
+            //return (byte) result;
+            
+            } catch (IOException ex) {
+                System.out.println("[I2C_Device][I2CwriteBytes] Error encountered: " + ex.getMessage());               
+            }       
+        return 2;
+    }
+
+    
+    /**
+     * This method reads one byte from the I2C device. The method
+     * checks that the byte is actually read, otherwise it'll show some messages
+     * in the output
+     *
+     * @param register
+     * @return Byte read from the register
+     */
+    public byte I2CreadByte(byte register) {
+        int result; 
+        try {
+            command[0] = register;
+            result = transfer(command, 1, byteToRead, 1);
+            if (result < 1) {
+                System.out.println("[I2C_Device][I2CreadByte] Byte could not be read");
+            } else {
+                return byteToRead[0];
+            }
+            return (byte) result;
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CreadByte] Error encountered: " + ex.getMessage());
+        }
+        return 2;
+    }
+
+    /**
+     * Writes a command and reads one byte back in a single combined I2C
+     * transaction (repeated start).  After a DS2482 command the byte read is
+     * whatever register the command left the read pointer on, usually the
+     * status register.
+     *
+     * @param buffer command bytes to write
+     * @return Byte read back
+     */
+    public byte I2CwriteReadByte(byte[] buffer) {
+        int result;
+        try {
+            result = transfer(buffer, buffer.length, byteToRead, 1);
+            if (result < 1) {
+                System.out.println("[I2C_Device][I2CwriteReadByte] Byte could not be read");
+            } else {
+                return byteToRead[0];
+            }
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteReadByte] Error encountered: " + ex.getMessage());
+        }
+        return 2;
+    }
+
+    /**
+     * Reads <code>len</code> bytes in one I2C read transaction.  With the
+     * DS2482 read pointer on the status register every byte is a fresh
+     * sample of the status.
+     *
+     * @param buffer buffer to fill from index 0
+     * @param len number of bytes to read
+     * @return number of bytes read, 0 on error
+     */
+    public int I2CreadBlock(byte[] buffer, int len) {
+        try {
+            return transfer(null, 0, buffer, len);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CreadBlock] Error encountered: " + ex.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Writes a command and reads <code>len</code> bytes back in a single
+     * combined I2C transaction (repeated start).
+     *
+     * @param out command bytes to write
+     * @param in buffer to fill from index 0
+     * @param len number of bytes to read
+     * @return number of bytes read, 0 on error
+     */
+    public int I2CwriteReadBlock(byte[] out, byte[] in, int len) {
+        try {
+            return transfer(out, out.length, in, len);
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteReadBlock] Error encountered: " + ex.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Single byte command version of {@link #I2CwriteReadByte(byte[])}.
+     *
+     * @param byteToWrite command byte to write
+     * @return Byte read back
+     */
+    public byte I2CwriteReadByte(byte byteToWrite) {
+        int result;
+        try {
+            command[0] = byteToWrite;
+            result = transfer(command, 1, byteToRead, 1);
+            if (result < 1) {
+                System.out.println("[I2C_Device][I2CwriteReadByte] Byte could not be read");
+            } else {
+                return byteToRead[0];
+            }
+        } catch (IOException ex) {
+            System.out.println("[I2C_Device][I2CwriteReadByte] Error encountered: " + ex.getMessage());
+        }
+        return 2;
+    }
+
+    /**
+     * Every transfer goes through here to be counted, timed and recorded.
+     * A write when <code>inLen</code> is 0, a read when <code>outLen</code>
+     * is 0, otherwise a combined write/read.
+     *
+     * @return bytes read, or bytes written for a plain write
+     */
+    private int transfer(byte[] out, int outLen, byte[] in, int inLen) throws IOException {
+        long start = metrics.start();
+        Object event = events.begin(BusEvents.I2C_TRANSFER);
+        int written = 0, read = 0;
+        boolean ok = false;
+        try {
+            if (transport == null)
+                throw new IOException("not connected");
+            if (inLen == 0) {
+                written = transport.write(out, 0, outLen);
+            } else if (outLen == 0) {
+                read = transport.read(in, 0, inLen);
+            } else {
+                read = transport.writeRead(out, 0, outLen, in, 0, inLen);
+                written = outLen;
+            }
+            ok = true;
+            metrics.transfer(start, written, read);
+            return (inLen == 0) ? written : read;
+        } finally {
+            if (!ok)
+                metrics.count(BusMetrics.I2C_ERRORS);
+            if (event != null)
+                events.commitTransfer(event, bridgeName, written, read, ok);
+        }
+    }
+
+    /**
+     * This method closes the open I2C transport
+     *
+     *
+     * @throws java.io.IOException
+     */
+    public void close() throws IOException {
+        if (transport != null)
+            transport.close();
+    }
+   
+    /**
+     * Print a message if verbose messaging is turned on
+     *
+     * @param message The message to print
+     * @param method The method being called
+     * @param level
+     */
+    public final void printMessage(String message, String method, int level) {
+        if (isMessageEnabled(level)) {
+            System.out.println("DEBUG: " + " " + method + " " + message);
+        }
+    }
+
+    /**
+     * Callers on the I/O path test this before building a message string,
+     * so that disabled logging costs no allocation.
+     *
+     * @param level ERROR, INFO or DATA
+     * @return <code>true</code> if printMessage() would print at this level
+     */
+    public final boolean isMessageEnabled(int level) {
+        return verbose && level <= messageLevel;
+    }
+   
+    /**
+     * Turn on or off verbose messaging
+     *
+     * @param verbose Whether to enable verbose messages
+     */
+    public final void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Set the level of messages to display, 1 = ERROR, 2 = INFO
+     *
+     * @param level The level for messages
+     */
+    public final void setMessageLevel(int level) {
+        messageLevel = level;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Lock-free latency histogram for bus operations.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Durations in ns, counted in buckets four to each power of two, so a
+ * percentile is good to within about 20 percent.  Recording is two atomic
+ * increments and an add, allocates nothing and never blocks, so it can sit
+ * on every bus primitive.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 248;             // enough for any positive long
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong      count = new AtomicLong();
+    private final AtomicLong      total = new AtomicLong();
+    private final AtomicLong      max = new AtomicLong();
+
+    /**
+     * Counts one duration.
+     *
+     * @param nanos duration in ns; negative values count as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        buckets.incrementAndGet(bucket(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+        long m = max.get();
+        while (nanos > m && !max.compareAndSet(m, nanos))
+            m = max.get();
+    }
+
+    /**
+     * @return number of durations recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return sum of all durations, in ns
+     */
+    public long getTotalNanos() {
+        return total.get();
+    }
+
+    /**
+     * @return longest duration, in ns
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @return average duration in ns, 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return (n == 0) ? 0 : total.get() / n;
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return upper edge of the bucket holding that percentile, in ns, no
+     *         more than the maximum; 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long n = 0;
+        long[] snap = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snap[i] = buckets.get(i);
+            n += snap[i];
+        }
+        if (n == 0)
+            return 0;
+        long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n);
+        if (rank < 1)
+            rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snap[i];
+            if (seen >= rank)
+                return Math.min(lowerBound(i + 1) - 1, max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * @return a copy that no longer changes
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++)
+            h.buckets.set(i, buckets.get(i));
+        h.count.set(count.get());
+        h.total.set(total.get());
+        h.max.set(max.get());
+        return h;
+    }
+
+    /**
+     * Forgets everything recorded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "n=" + getCount() + " mean=" + us(getMeanNanos()) + " p50=" + us(getPercentileNanos(50))
+                + " p99=" + us(getPercentileNanos(99)) + " max=" + us(getMaxNanos()) + " us";
+    }
+
+    private static String us(long nanos) {
+        return Long.toString(nanos / 1000L);
+    }
+
+    // 0..3 are exact, then four buckets per power of two
+    private static int bucket(long v) {
+        if (v < 4)
+            return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (msb - 2)) & 3;
+        return (msb - 1) * 4 + sub;
+    }
+
+    private static long lowerBound(int index) {
+        if (index < 4)
+            return index;
+        if (index >= BUCKETS)
+            return Long.MAX_VALUE;
+        int msb = index / 4 + 1;
+        return (4L | (index & 3)) << (msb - 2);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * I2C transport over the Linux i2c-dev interface, for Java SE.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.accessProvider;
+
+import java.io.IOException;
+
+/**
+ * <code>I2CTransport</code> for Java SE on Linux: talks to
+ * <code>/dev/i2c-N</code> through a small JNI library,
+ * <code>libowi2c.so</code>, built from <code>native/linux</code>.  The
+ * slave address is set once with the <code>I2C_SLAVE</code> ioctl, plain
+ * transfers are <code>read()</code>/<code>write()</code> on the device
+ * file, and {@link #writeRead} is one <code>I2C_RDWR</code> ioctl with two
+ * messages, so the DS2482 sees a repeated start.
+ * <p>
+ * The library is looked for on <code>java.library.path</code>, or at the
+ * path in the <code>com.unixwizardry.i2c.library</code> system property.
+ * Transfers of up to 64 bytes are staged in buffers on the native stack,
+ * so the steady state allocates nothing on the Java heap.  The user needs
+ * read/write access to the device file, e.g. membership of the
+ * <code>i2c</code> group on a Raspberry Pi.
+ */
+public class LinuxI2CTransport implements I2CTransport {
+
+    /** Name of the JNI library, as passed to <code>System.loadLibrary()</code>. */
+    public static final String LIBRARY = "owi2c";
+
+    /** System property holding a full path to the JNI library instead. */
+    public static final String LIBRARY_PROPERTY = "com.unixwizardry.i2c.library";
+
+    private static boolean loaded;
+
+    private final String  path;
+    private final int     address;
+    private final boolean tenBit;
+    private int           fd = -1;
+
+    /**
+     * Opens a 7 bit slave.
+     *
+     * @param i2cBus I2C bus number, the N of <code>/dev/i2c-N</code>; 1 on a
+     *        Raspberry Pi
+     * @param address slave address
+     * @throws IOException if the library could not be loaded or the device
+     *         file opened
+     */
+    public LinuxI2CTransport(int i2cBus, int address) throws IOException {
+        this(i2cBus, address, 7);
+    }
+
+    /**
+     * Opens <code>/dev/i2c-</code><i>i2cBus</i> and sets the slave address.
+     *
+     * @param i2cBus I2C bus number; 1 on a Raspberry Pi
+     * @param address 7 or 10 bit slave address
+     * @param addressSizeBits 7 or 10
+     * @throws IOException if the library could not be loaded or the device
+     *         file opened
+     */
+    public LinuxI2CTransport(int i2cBus, int address, int addressSizeBits) throws IOException {
+        if (addressSizeBits != 7 && addressSizeBits != 10)
+            throw new IllegalArgumentException("address size " + addressSizeBits);
+        load();
+        this.path = "/dev/i2c-" + i2cBus;
+        this.address = address;
+        this.tenBit = addressSizeBits == 10;
+        fd = open0(path, address, tenBit);
+    }
+
+    /**
+     * @return the device file, e.g. <code>/dev/i2c-1</code>
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public int write(byte[] buffer, int off, int len) throws IOException {
+        checkRange(buffer, off, len);
+        return write0(openFd(), buffer, off, len);
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+        checkRange(buffer, off, len);
+        return read0(openFd(), buffer, off, len);
+    }
+
+    @Override
+    public int writeRead(byte[] out, int outOff, int outLen, byte[] in, int inOff, int inLen) throws IOException {
+        checkRange(out, outOff, outLen);
+        checkRange(in, inOff, inLen);
+        return writeRead0(openFd(), address, tenBit, out, outOff, outLen, in, inOff, inLen);
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return fd >= 0;
+    }
+
+    @Override
+    public BusClock getClock() {
+        return BusClock.SYSTEM;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (fd >= 0) {
+            int was = fd;
+            fd = -1;
+            close0(was);
+        }
+    }
+
+    private synchronized int openFd() throws IOException {
+        if (fd < 0)
+            throw new IOException("LinuxI2CTransport: " + path + " is closed");
+        return fd;
+    }
+
+    private static void checkRange(byte[] buffer, int off, int len) {
+        if (off < 0 || len < 0 || off + len > buffer.length)
+            throw new IndexOutOfBoundsException("offset " + off + ", length " + len + ", size " + buffer.length);
+    }
+
+    private static synchronized void load() throws IOException {
+        if (loaded)
+            return;
+        String file = System.getProperty(LIBRARY_PROPERTY);
+        try {
+            if (file != null)
+                System.load(file);
+            else
+                System.loadLibrary(LIBRARY);
+            loaded = true;
+        } catch (UnsatisfiedLinkError ex) {
+            throw new IOException("LinuxI2CTransport: could not load "
+                    + ((file != null) ? file : "lib" + LIBRARY + ".so") + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    private static native int open0(String path, int address, boolean tenBit) throws IOException;
+
+    private static native int write0(int fd, byte[] buffer, int off, int len) throws IOException;
+
+    private static native int read0(int fd, byte[] buffer, int off, int len) throws IOException;
+
+    private static native int writeRead0(int fd, int address, boolean tenBit, byte[] out, int outOff, int outLen,
+            byte[] in, int inOff, int inLen) throws IOException;
+
+    private static native void close0(int fd) throws IOException;
+}
@@ -1,14 +1,14 @@
-/*
- * To change this license header, choose License Headers in Project Properties.
- * To change this template file, choose Tools | Templates
- * and open the template in the editor.
- */
-package com.unixwizardry.accessProvider;
-
-/**
- *
- * @author Bruce
- */
-public class OneWireConfigureException extends OneWireIOException {
-    
-}
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.unixwizardry.accessProvider;
+
+/**
+ *
+ * @author Bruce
+ */
+public class OneWireConfigureException extends OneWireIOException {
+    
+}
@@ -0,0 +1,254 @@
+/*
+ * Polling by alarm search: read only the devices that ask for attention.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.container.ADContainer;
+import com.unixwizardry.onewire.container.OneWireContainer;
+import com.unixwizardry.onewire.container.OneWireContainer12;
+import com.unixwizardry.onewire.container.OneWireSensor;
+import com.unixwizardry.onewire.container.TemperatureContainer;
+import com.unixwizardry.onewire.utils.Address;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls a fleet of sensors by alarm search.  The alarm conditions are
+ * written to the devices once, with the <code>arm</code> methods:
+ * temperature limits (TH/TL of a DS18S20), A/D limits of a DS2450, the
+ * conditional search of a DS2406.  Each {@link #poll()} then starts the
+ * conversions with one Skip ROM command per channel, runs an alarm search
+ * and reads only the devices that answer it.  When nearly every sensor is
+ * inside its limits a poll costs a few broadcasts and one search pass,
+ * not a read of every device.
+ * <p>
+ * Devices that answer the alarm search without having been armed here
+ * are read and reported too.  Listeners are told on the thread calling
+ * {@link #poll()}, after the bus has been let go.
+ */
+public class AlarmPoller {
+
+    /**
+     * Told about each device that answered an alarm search.
+     */
+    public interface Listener {
+
+        /**
+         * @param poller poller that found it
+         * @param device the alarming device
+         * @param state what <code>readDevice()</code> returned, for the
+         *        container's <code>get</code> methods
+         */
+        void alarmed(AlarmPoller poller, OneWireContainer device, byte[] state);
+    }
+
+    /** Time a DS2450 needs to convert four channels at 16 bits. */
+    public static final long AD_CONVERSION_MS = 6;
+
+    private static final int CONVERT_AD      = 0x3C;
+    private static final int DS2450_FAMILY   = 0x20;
+
+    private final I2CBridgeAdapter adapter;
+    private final LinkedHashMap<Long, OneWireContainer> armed = new LinkedHashMap<Long, OneWireContainer>();
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    /**
+     * @param adapter bridge the devices are on
+     */
+    public AlarmPoller(I2CBridgeAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * @param listener told about alarming devices
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener no longer told
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Writes temperature limits to a thermometer, which answers the alarm
+     * search when a conversion lands at or outside them.
+     *
+     * @param tc a container for a thermometer with alarms, e.g. a DS18S20
+     * @param low low limit in Celsius
+     * @param high high limit in Celsius
+     * @throws OneWireException if the device has no alarms or the write failed
+     */
+    public void armTemperature(TemperatureContainer tc, double low, double high) throws OneWireException {
+        byte[] state = tc.readDevice();
+        tc.setTemperatureAlarm(TemperatureContainer.ALARM_LOW, low, state);
+        tc.setTemperatureAlarm(TemperatureContainer.ALARM_HIGH, high, state);
+        tc.writeDevice(state);
+        OneWireContainer owc = (OneWireContainer) tc;
+        synchronized (this) {
+            armed.put(Address.toLong(owc.getAddress()), owc);
+        }
+    }
+
+    /**
+     * Writes A/D limits for one channel of a converter and enables both
+     * alarms.  Every armed DS2450 converts all four inputs on each poll.
+     *
+     * @param ad a container for an A/D converter with alarms, e.g. a DS2450
+     * @param channel converter input
+     * @param low low limit in volts
+     * @param high high limit in volts
+     * @throws OneWireException if the device has no alarms or the write failed
+     */
+    public void armAD(ADContainer ad, int channel, double low, double high) throws OneWireException {
+        if (!ad.hasADAlarms())
+            throw new OneWireException("AlarmPoller: device has no A/D alarms");
+        byte[] state = ad.readDevice();
+        ad.setADAlarm(channel, ADContainer.ALARM_LOW, low, state);
+        ad.setADAlarm(channel, ADContainer.ALARM_HIGH, high, state);
+        ad.setADAlarmEnable(channel, ADContainer.ALARM_LOW, true, state);
+        ad.setADAlarmEnable(channel, ADContainer.ALARM_HIGH, true, state);
+        ad.writeDevice(state);
+        OneWireContainer owc = (OneWireContainer) ad;
+        synchronized (this) {
+            armed.put(Address.toLong(owc.getAddress()), owc);
+        }
+    }
+
+    /**
+     * Writes the conditional search setting of a DS2406.
+     *
+     * @param sw the switch
+     * @param channel <code>CHANNEL_A_ONLY</code>, <code>CHANNEL_B_ONLY</code>,
+     *        <code>CHANNEL_BOTH</code> or <code>CHANNEL_NONE</code>
+     * @param source <code>SOURCE_ACTIVITY_LATCH</code>,
+     *        <code>SOURCE_FLIP_FLOP</code> or <code>SOURCE_PIO</code>
+     * @param polarity <code>POLARITY_ONE</code> or <code>POLARITY_ZERO</code>
+     * @throws OneWireException if the write failed
+     * @see OneWireContainer12#setSearchConditions(byte, byte, byte, byte[])
+     */
+    public void armSwitch(OneWireContainer12 sw, byte channel, byte source, byte polarity) throws OneWireException {
+        byte[] state = sw.readDevice();
+        sw.setSearchConditions(channel, source, polarity, state);
+        sw.writeDevice(state);
+        synchronized (this) {
+            armed.put(Address.toLong(sw.getAddress()), sw);
+        }
+    }
+
+    /**
+     * Stops starting conversions and searching for a device; it is still
+     * reported if it answers an alarm search on a channel that is polled
+     * for other devices.
+     *
+     * @param owc device to drop
+     */
+    public synchronized void disarm(OneWireContainer owc) {
+        armed.remove(Address.toLong(owc.getAddress()));
+    }
+
+    /**
+     * One cycle: conversions, alarm search, then a read of each device that
+     * answered.
+     *
+     * @return the devices that answered, in search order
+     * @throws OneWireException if a conversion could not be started
+     */
+    public List<OneWireContainer> poll() throws OneWireException {
+        // which channels to search, and which need which conversion
+        boolean[] used = new boolean[8];
+        boolean[] temperature = new boolean[8];
+        boolean[] ad = new boolean[8];
+        int n = 0;
+        synchronized (this) {
+            for (OneWireContainer owc : armed.values()) {
+                int ch = channelOf(owc);
+                if (!used[ch]) {
+                    used[ch] = true;
+                    n++;
+                }
+                if (owc instanceof TemperatureContainer)
+                    temperature[ch] = true;
+                if ((owc.getAddress()[0] & 0x7F) == DS2450_FAMILY)
+                    ad[ch] = true;
+            }
+        }
+        if (n == 0)
+            return new ArrayList<OneWireContainer>();
+        int[] channels = new int[n];
+        n = 0;
+        for (int i = 0; i < 8; i++) {
+            if (used[i])
+                channels[n++] = i;
+        }
+
+        List<Long> roms = new ArrayList<Long>();
+        List<Integer> found = new ArrayList<Integer>();
+        adapter.beginExclusive(true);
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                int ch = channels[i];
+                if (temperature[ch])
+                    adapter.convertAllTemperatures(ch);
+                if (ad[ch])
+                    adapter.execute(OWTransaction.builder().channel(ch).skipRom()
+                            .write(CONVERT_AD, 0x0F, 0x00).read(2)         // all inputs, no preset
+                            .delay(AD_CONVERSION_MS, TimeUnit.MILLISECONDS).build());
+            }
+            DeviceSearchSpliterator search = new DeviceSearchSpliterator(adapter, channels, true);
+            while (search.advance()) {
+                roms.add(search.getRom());
+                found.add(search.getChannel());
+            }
+        } finally {
+            adapter.endExclusive();
+        }
+
+        List<OneWireContainer> alarmed = new ArrayList<OneWireContainer>();
+        for (int i = 0; i < roms.size(); i++) {
+            OneWireContainer owc;
+            synchronized (this) {
+                owc = armed.get(roms.get(i));
+            }
+            if (owc == null) {
+                owc = adapter.getDeviceContainer(Address.toByteArray(roms.get(i)));
+                if (owc == null)
+                    continue;
+                owc.setChannel(found.get(i));
+            }
+            alarmed.add(owc);
+            byte[] state = null;
+            if (owc instanceof OneWireSensor) {
+                try {
+                    state = ((OneWireSensor) owc).readDevice();
+                } catch (OneWireException ex) {
+                    System.out.println("[AlarmPoller][poll] Error encountered: " + owc.getAddressAsString()
+                            + ": " + ex.getMessage());
+                    continue;
+                }
+            }
+            for (Listener l : listeners) {
+                try {
+                    l.alarmed(this, owc, state);
+                } catch (RuntimeException ex) {
+                    System.out.println("[AlarmPoller][poll] Error encountered: " + ex);
+                }
+            }
+        }
+        return alarmed;
+    }
+
+    private static int channelOf(OneWireContainer owc) {
+        int ch = owc.getChannel();
+        return (ch < 0 || ch > 7) ? 0 : ch;
+    }
+}
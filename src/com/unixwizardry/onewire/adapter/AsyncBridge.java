@@ -0,0 +1,402 @@
+/*
+ * Asynchronous front end for one DS2482 bridge.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs {@link OWTransaction}s for any number of callers on one I/O thread
+ * that owns the bridge, and hands the results back as
+ * <code>CompletableFuture</code>s.
+ * <p>
+ * Callers never touch the bus lock, so thousands of sensor tasks (plain or
+ * virtual threads) can share a bridge without queueing up on it; only the
+ * I/O thread competes for the lock, and it keeps it while the queue has
+ * work, up to {@link #BATCH_LIMIT} transactions, so synchronous users of the
+ * same adapter still get a turn.
+ * <p>
+ * The queue is bounded.  {@link #submit(OWTransaction)} blocks while it is
+ * full, {@link #trySubmit(OWTransaction, long, TimeUnit)} gives up after a
+ * while, so producers are slowed down to what the 1-Wire can carry.
+ * {@link #submitAfter(OWTransaction, long, TimeUnit)} queues a transaction
+ * to run no earlier than a delay from now, which is how a temperature read
+ * is scheduled after a conversion without a thread sleeping through it.
+ * <p>
+ * Futures are completed on the I/O thread, so dependent stages added with
+ * the non-async <code>thenXxx</code> methods run there and hold up the bus;
+ * use the <code>thenXxxAsync</code> variants for anything slow.
+ * <p>
+ * Create one <code>AsyncBridge</code> per adapter.
+ */
+public class AsyncBridge {
+
+    /** Most transactions run under one hold of the bus lock. */
+    public static final int BATCH_LIMIT = 16;
+
+    private static final class Request implements Comparable<Request> {
+        final OWTransaction             transaction;
+        final CompletableFuture<byte[]> future = new CompletableFuture<byte[]>();
+        final long                      due;            // System.nanoTime() not to run before
+        final long                      sequence;       // keeps FIFO order among equal due times
+
+        Request(OWTransaction transaction, long due, long sequence) {
+            this.transaction = transaction;
+            this.due = due;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Request other) {
+            long d = due - other.due;
+            if (d != 0)
+                return (d < 0) ? -1 : 1;
+            return (sequence < other.sequence) ? -1 : ((sequence == other.sequence) ? 0 : 1);
+        }
+    }
+
+    private final I2CBridgeAdapter adapter;
+    private final int              capacity;
+    private final Thread           ioThread;
+
+    // queue state, guarded by 'lock'
+    private final ReentrantLock           lock = new ReentrantLock();
+    private final Condition               notEmpty = lock.newCondition();
+    private final Condition               notFull = lock.newCondition();
+    private final Condition               terminated = lock.newCondition();
+    private final ArrayDeque<Request>     ready = new ArrayDeque<Request>();
+    private final PriorityQueue<Request>  delayed = new PriorityQueue<Request>();
+    private long    sequence;
+    private boolean shutdown;
+    private boolean stopped;
+    private long    completed;
+    private long    failed;
+    private int     maxQueued;
+
+    /**
+     * Starts the I/O thread for <code>adapter</code>.
+     *
+     * @param adapter bridge the transactions run on
+     * @param capacity most transactions waiting at once, delayed ones included
+     */
+    public AsyncBridge(I2CBridgeAdapter adapter, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1");
+        this.adapter = adapter;
+        this.capacity = capacity;
+        ioThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ioLoop();
+            }
+        }, "AsyncBridge-" + Integer.toHexString(System.identityHashCode(adapter)));
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    /**
+     * @return the bridge the transactions run on
+     */
+    public I2CBridgeAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Queues a transaction, waiting for room if the queue is full.
+     *
+     * @param transaction work to run on the bus
+     * @return completes with what the transaction read, or exceptionally
+     *         with what it threw
+     * @throws InterruptedException if interrupted while waiting for room
+     * @throws RejectedExecutionException if the bridge has been shut down
+     */
+    public CompletableFuture<byte[]> submit(OWTransaction transaction) throws InterruptedException {
+        return enqueue(transaction, 0, -1);
+    }
+
+    /**
+     * Queues a transaction, waiting at most <code>timeout</code> for room.
+     *
+     * @param transaction work to run on the bus
+     * @param timeout longest wait for room in the queue
+     * @param unit unit of <code>timeout</code>
+     * @return the result, or <code>null</code> if the queue stayed full
+     * @throws InterruptedException if interrupted while waiting for room
+     * @throws RejectedExecutionException if the bridge has been shut down
+     */
+    public CompletableFuture<byte[]> trySubmit(OWTransaction transaction, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return enqueue(transaction, 0, Math.max(0, unit.toNanos(timeout)));
+    }
+
+    /**
+     * Queues a transaction that is not to run before <code>delay</code> has
+     * passed, e.g. reading a result once a conversion is done.  It takes a
+     * queue slot right away, so waiting for room works as for
+     * {@link #submit(OWTransaction)}.
+     *
+     * @param transaction work to run on the bus
+     * @param delay earliest start, from now
+     * @param unit unit of <code>delay</code>
+     * @return the result
+     * @throws InterruptedException if interrupted while waiting for room
+     * @throws RejectedExecutionException if the bridge has been shut down
+     */
+    public CompletableFuture<byte[]> submitAfter(OWTransaction transaction, long delay, TimeUnit unit)
+            throws InterruptedException {
+        return enqueue(transaction, Math.max(0, unit.toNanos(delay)), -1);
+    }
+
+    /**
+     * Stops taking new transactions; those already queued still run,
+     * delayed ones when they are due, and then the I/O thread ends.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops taking new transactions and cancels those not yet started.  A
+     * transaction already running is allowed to finish.
+     *
+     * @return number of transactions cancelled
+     */
+    public int shutdownNow() {
+        int cancelled = 0;
+        lock.lock();
+        try {
+            shutdown = true;
+            Request r;
+            while ((r = ready.poll()) != null) {
+                r.future.completeExceptionally(new CancellationException("AsyncBridge shut down"));
+                cancelled++;
+            }
+            while ((r = delayed.poll()) != null) {
+                r.future.completeExceptionally(new CancellationException("AsyncBridge shut down"));
+                cancelled++;
+            }
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Waits for the I/O thread to end after a shutdown.
+     *
+     * @param timeout longest wait
+     * @param unit unit of <code>timeout</code>
+     * @return <code>true</code> if the I/O thread has ended
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!stopped) {
+                if (nanos <= 0)
+                    return false;
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return <code>true</code> once {@link #shutdown()} or
+     *         {@link #shutdownNow()} has been called
+     */
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return transactions waiting, delayed ones included
+     */
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return ready.size() + delayed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return most transactions seen waiting at once
+     */
+    public int getMaxQueueLength() {
+        lock.lock();
+        try {
+            return maxQueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return transactions that returned normally
+     */
+    public long getCompletedCount() {
+        lock.lock();
+        try {
+            return completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return transactions that threw
+     */
+    public long getFailedCount() {
+        lock.lock();
+        try {
+            return failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompletableFuture<byte[]> enqueue(OWTransaction transaction, long delayNanos, long timeoutNanos)
+            throws InterruptedException {
+        if (transaction == null)
+            throw new NullPointerException("transaction");
+        lock.lockInterruptibly();
+        try {
+            while (!shutdown && ready.size() + delayed.size() >= capacity) {
+                if (timeoutNanos < 0) {
+                    notFull.await();
+                } else {
+                    if (timeoutNanos <= 0)
+                        return null;
+                    timeoutNanos = notFull.awaitNanos(timeoutNanos);
+                }
+            }
+            if (shutdown)
+                throw new RejectedExecutionException("AsyncBridge has been shut down");
+            Request r = new Request(transaction, System.nanoTime() + delayNanos, sequence++);
+            if (delayNanos > 0)
+                delayed.add(r);
+            else
+                ready.add(r);
+            int queued = ready.size() + delayed.size();
+            if (queued > maxQueued)
+                maxQueued = queued;
+            notEmpty.signal();
+            return r.future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Next transaction to run, waiting until one is due; null once shut
+    // down with nothing left.  With 'wait' false returns null rather than
+    // wait, so a batch ends as soon as the queue runs dry.
+    private Request next(boolean wait) throws InterruptedException {
+        lock.lock();
+        try {
+            for (;;) {
+                Request head = delayed.peek();
+                while (head != null && head.due - System.nanoTime() <= 0) {
+                    ready.add(delayed.poll());
+                    head = delayed.peek();
+                }
+                Request r = ready.poll();
+                if (r != null) {
+                    notFull.signal();
+                    return r;
+                }
+                if (!wait || (shutdown && head == null))
+                    return null;
+                if (head == null)
+                    notEmpty.await();
+                else
+                    notEmpty.awaitNanos(head.due - System.nanoTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ioLoop() {
+        try {
+            Request r;
+            while ((r = next(true)) != null) {
+                adapter.beginExclusive(true);
+                try {
+                    int batch = 0;
+                    do {
+                        run(r);
+                    } while (++batch < BATCH_LIMIT && (r = next(false)) != null);
+                } finally {
+                    adapter.endExclusive();
+                }
+            }
+        } catch (InterruptedException ex) {
+            // cancelled below
+        } finally {
+            // however the thread ends, nobody is left waiting on a future
+            // that will never complete, and nothing more is accepted
+            shutdownNow();
+            lock.lock();
+            try {
+                stopped = true;
+                terminated.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void run(Request r) {
+        if (r.future.isDone())                          // cancelled by the caller
+            return;
+        try {
+            byte[] result = r.transaction.execute(adapter);
+            count(true);
+            r.future.complete(result);
+        } catch (Throwable ex) {
+            // an Error too: the caller hears of it and the thread goes on
+            count(false);
+            r.future.completeExceptionally(ex);
+        }
+    }
+
+    private void count(boolean ok) {
+        lock.lock();
+        try {
+            if (ok)
+                completed++;
+            else
+                failed++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
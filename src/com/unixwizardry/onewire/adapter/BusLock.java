@@ -0,0 +1,380 @@
+/*
+ * Exclusive access to one DS2482 bridge, with contention statistics.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The lock behind <code>I2CBridgeAdapter.beginExclusive()</code>.
+ * <p>
+ * A reentrant lock, optionally fair, so a thread that already owns the bus
+ * can call adapter methods that lock it again.  Besides locking it keeps
+ * the numbers needed to see where bus contention limits throughput: how
+ * often the lock was taken and how often a thread had to wait for it, wait
+ * times, the longest queue of waiting threads, timeouts, and per owner
+ * how many times and for how long it held the bus.  Only the outermost
+ * lock/unlock of a thread is timed.
+ * <p>
+ * An owner is the tag a thread gave with {@link #setOwnerTag(String)}, so
+ * e.g. all request handler threads can be counted together, or else the
+ * thread itself (by identity, not name, so unnamed virtual threads are
+ * told apart).  At most {@link #MAX_OWNERS} owners are kept; the one used
+ * least recently is then folded into a single "other owners" entry.
+ */
+public class BusLock {
+
+    /** Most owners whose hold times are kept apart. */
+    public static final int MAX_OWNERS = 64;
+
+    /**
+     * Hold time statistics of one owner.
+     */
+    public static final class OwnerStats {
+        private final Object key;                       // tag, or thread id
+        private final String name;
+        private long         holds;
+        private long         totalHoldNanos;
+        private long         maxHoldNanos;
+        private long         lastUsed;                  // for eviction, guarded by 'stats'
+        private boolean      evicted;
+
+        private OwnerStats(Object key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        private OwnerStats(OwnerStats other) {
+            this.key = other.key;
+            this.name = other.name;
+            this.holds = other.holds;
+            this.totalHoldNanos = other.totalHoldNanos;
+            this.maxHoldNanos = other.maxHoldNanos;
+        }
+
+        /**
+         * @return the owner's tag, or the name of the owning thread (its id
+         *         if unnamed)
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return times this owner took the bus
+         */
+        public long getHolds() {
+            return holds;
+        }
+
+        /**
+         * @return total time this owner held the bus, in ns
+         */
+        public long getTotalHoldNanos() {
+            return totalHoldNanos;
+        }
+
+        /**
+         * @return longest single hold, in ns
+         */
+        public long getMaxHoldNanos() {
+            return maxHoldNanos;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + holds + " holds, " + (totalHoldNanos / 1000000L) + " ms total, "
+                    + (maxHoldNanos / 1000L) + " us max";
+        }
+    }
+
+    private final ReentrantLock lock;
+    private long                lockedAt;           // when the current owner got the lock
+    private final ThreadLocal<OwnerStats> owner = new ThreadLocal<OwnerStats>();    // whom to charge
+
+    // statistics, guarded by 'stats'
+    private final HashMap<Object, OwnerStats> stats = new HashMap<Object, OwnerStats>();
+    private final OwnerStats others = new OwnerStats("", "other owners");
+    private long tick;
+    private long acquisitions;
+    private long contended;
+    private long timeouts;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private int  maxQueueLength;
+
+    /**
+     * @param fair <code>true</code> to grant the bus in arrival order, at some
+     *        cost in throughput; <code>false</code> lets a thread that just
+     *        released the bus take it again straight away
+     */
+    public BusLock(boolean fair) {
+        lock = new ReentrantLock(fair);
+    }
+
+    /**
+     * Waits for the bus as long as it takes.
+     */
+    public void lock() {
+        if (lock.isHeldByCurrentThread()) {
+            lock.lock();                                // reentry
+            return;
+        }
+        if (!lock.isFair() && lock.tryLock()) {
+            acquired(0, false);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean busy = lock.isLocked();
+        if (busy)
+            noteQueue();
+        lock.lock();
+        acquired(System.nanoTime() - start, busy);
+    }
+
+    /**
+     * Takes the bus only if no other thread owns it.  Like
+     * <code>ReentrantLock.tryLock()</code> this ignores fairness.
+     *
+     * @return <code>true</code> if the bus was taken
+     */
+    public boolean tryLock() {
+        if (lock.tryLock()) {
+            acquired(0, false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Waits at most <code>timeout</code> for the bus.
+     *
+     * @param timeout longest wait
+     * @param unit unit of <code>timeout</code>
+     * @return <code>true</code> if the bus was taken, <code>false</code> on timeout
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+        if (lock.isHeldByCurrentThread()) {
+            lock.lock();                                // reentry
+            return true;
+        }
+        if (!lock.isFair() && lock.tryLock()) {
+            acquired(0, false);
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean busy = lock.isLocked();
+        if (busy)
+            noteQueue();
+        if (lock.tryLock(timeout, unit)) {
+            acquired(System.nanoTime() - start, busy);
+            return true;
+        }
+        synchronized (stats) {
+            timeouts++;
+        }
+        return false;
+    }
+
+    /**
+     * Releases one level of ownership; the hold is timed when the last level
+     * goes.
+     *
+     * @throws IllegalMonitorStateException if the current thread does not own the bus
+     */
+    public void unlock() {
+        if (lock.getHoldCount() == 1) {
+            long held = System.nanoTime() - lockedAt;
+            synchronized (stats) {
+                OwnerStats s = owner.get();
+                if (s == null || s.evicted)
+                    s = attach((s != null && s.key instanceof String) ? (String) s.key : null);
+                s.lastUsed = ++tick;
+                s.holds++;
+                s.totalHoldNanos += held;
+                if (held > s.maxHoldNanos)
+                    s.maxHoldNanos = held;
+            }
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Charges the calling thread's holds of the bus to an owner tag from
+     * now on, e.g. the name of a task or request type.  Threads with the
+     * same tag are counted together.
+     *
+     * @param tag owner to charge, <code>null</code> for the thread itself
+     */
+    public void setOwnerTag(String tag) {
+        synchronized (stats) {
+            attach(tag);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the calling thread owns the bus
+     */
+    public boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * @return <code>true</code> if the bus is granted in arrival order
+     */
+    public boolean isFair() {
+        return lock.isFair();
+    }
+
+    /**
+     * @return estimate of the threads waiting for the bus right now
+     */
+    public int getQueueLength() {
+        return lock.getQueueLength();
+    }
+
+    /**
+     * @return times the bus was taken (outermost acquisitions only)
+     */
+    public long getAcquisitions() {
+        synchronized (stats) {
+            return acquisitions;
+        }
+    }
+
+    /**
+     * @return acquisitions that had to wait for another owner
+     */
+    public long getContendedAcquisitions() {
+        synchronized (stats) {
+            return contended;
+        }
+    }
+
+    /**
+     * @return timed waits that gave up
+     */
+    public long getTimeouts() {
+        synchronized (stats) {
+            return timeouts;
+        }
+    }
+
+    /**
+     * @return total time spent waiting for the bus, in ns
+     */
+    public long getTotalWaitNanos() {
+        synchronized (stats) {
+            return totalWaitNanos;
+        }
+    }
+
+    /**
+     * @return longest wait for the bus, in ns
+     */
+    public long getMaxWaitNanos() {
+        synchronized (stats) {
+            return maxWaitNanos;
+        }
+    }
+
+    /**
+     * @return most threads seen waiting at once
+     */
+    public int getMaxQueueLength() {
+        synchronized (stats) {
+            return maxQueueLength;
+        }
+    }
+
+    /**
+     * @return a snapshot of the hold statistics of every owner kept, and
+     *         of the other owners together if any were folded
+     */
+    public List<OwnerStats> getOwnerStats() {
+        synchronized (stats) {
+            List<OwnerStats> list = new ArrayList<OwnerStats>(stats.size() + 1);
+            for (OwnerStats s : stats.values())
+                list.add(new OwnerStats(s));
+            if (others.holds > 0)
+                list.add(new OwnerStats(others));
+            return list;
+        }
+    }
+
+    /**
+     * Clears all statistics.
+     */
+    public void resetStatistics() {
+        synchronized (stats) {
+            for (OwnerStats s : stats.values())
+                s.evicted = true;                       // threads look theirs up again
+            stats.clear();
+            others.holds = others.totalHoldNanos = others.maxHoldNanos = 0;
+            acquisitions = contended = timeouts = 0;
+            totalWaitNanos = maxWaitNanos = 0;
+            maxQueueLength = 0;
+        }
+    }
+
+    private void acquired(long waitNanos, boolean waited) {
+        if (lock.getHoldCount() > 1)
+            return;                                     // reentry, already timed
+        lockedAt = System.nanoTime();
+        synchronized (stats) {
+            acquisitions++;
+            if (waited) {
+                contended++;
+                totalWaitNanos += waitNanos;
+                if (waitNanos > maxWaitNanos)
+                    maxWaitNanos = waitNanos;
+            }
+        }
+    }
+
+    // The calling thread's owner entry for 'tag' (the thread itself if
+    // null), created if need be, making room by folding the least recently
+    // used one into 'others'.  Called with 'stats' held.
+    private OwnerStats attach(String tag) {
+        Thread t = Thread.currentThread();
+        Object key = (tag != null) ? tag : Long.valueOf(t.getId());
+        OwnerStats s = stats.get(key);
+        if (s == null) {
+            if (stats.size() >= MAX_OWNERS) {
+                OwnerStats oldest = null;
+                for (OwnerStats o : stats.values()) {
+                    if (oldest == null || o.lastUsed < oldest.lastUsed)
+                        oldest = o;
+                }
+                stats.remove(oldest.key);
+                oldest.evicted = true;
+                others.holds += oldest.holds;
+                others.totalHoldNanos += oldest.totalHoldNanos;
+                if (oldest.maxHoldNanos > others.maxHoldNanos)
+                    others.maxHoldNanos = oldest.maxHoldNanos;
+            }
+            String name = (tag != null) ? tag : (t.getName().isEmpty() ? "thread " + t.getId() : t.getName());
+            s = new OwnerStats(key, name);
+            s.lastUsed = ++tick;
+            stats.put(key, s);
+        }
+        owner.set(s);
+        return s;
+    }
+
+    // the caller is about to join the queue
+    private void noteQueue() {
+        int q = lock.getQueueLength() + 1;
+        synchronized (stats) {
+            if (q > maxQueueLength)
+                maxQueueLength = q;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Several DS2482 bridges run as one 1-Wire network.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import com.unixwizardry.accessProvider.DioI2CTransport;
+import com.unixwizardry.accessProvider.LinuxI2CTransport;
+import com.unixwizardry.accessProvider.I2CTransport;
+import com.unixwizardry.onewire.OneWireAccessProvider;
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.container.OneWireContainer;
+import com.unixwizardry.onewire.container.OneWireSensor;
+import com.unixwizardry.onewire.utils.Address;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns every DS2482 found on the configured I2C buses, at the eight
+ * addresses 0x18 to 0x1F, and runs each one on its own {@link AsyncBridge}
+ * worker thread.  Work is routed by ROM to the bridge and channel the
+ * device was found on, so operations on devices behind different bridges
+ * run side by side and throughput grows with the number of bridges.
+ * <p>
+ * <PRE> <CODE>
+ *  BusManager manager = BusManager.detect();       // onewire.i2c.buses, default "1"
+ *  manager.discover();
+ *  for (long rom : manager.getAddresses())
+ *     manager.readDevice(rom).thenAccept(...);
+ * </CODE> </PRE>
+ * Containers handed out by {@link #getDeviceContainer(long)} can still be
+ * used directly from any thread; they queue up on the bridge's lock with
+ * the worker.
+ */
+public class BusManager {
+
+    /** Lowest DS2482 I2C address. */
+    public static final int FIRST_ADDRESS = 0x18;
+
+    /** Highest DS2482 I2C address. */
+    public static final int LAST_ADDRESS = 0x1F;
+
+    /** Transactions waiting per bridge before callers are held up. */
+    public static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * Opens the I2C transport to one address, so detection can run on
+     * something other than jdk.dio.
+     */
+    public interface TransportFactory {
+
+        /**
+         * @param bus I2C bus number
+         * @param address 7 bit slave address
+         * @return the open transport
+         * @throws IOException if it cannot be opened
+         */
+        I2CTransport open(int bus, int address) throws IOException;
+    }
+
+    /** Opens jdk.dio transports. */
+    public static final TransportFactory DIO = new TransportFactory() {
+        @Override
+        public I2CTransport open(int bus, int address) throws IOException {
+            return new DioI2CTransport(bus, address, 7);
+        }
+    };
+
+    /** Opens Linux i2c-dev transports, for Java SE. */
+    public static final TransportFactory LINUX = new TransportFactory() {
+        @Override
+        public I2CTransport open(int bus, int address) throws IOException {
+            return new LinuxI2CTransport(bus, address, 7);
+        }
+    };
+
+    /** Opens jdk.dio transports, or Linux i2c-dev ones on a runtime without jdk.dio. */
+    public static final TransportFactory DEFAULT = new TransportFactory() {
+        @Override
+        public I2CTransport open(int bus, int address) throws IOException {
+            try {
+                return DIO.open(bus, address);
+            } catch (NoClassDefFoundError ex) {
+                return LINUX.open(bus, address);
+            }
+        }
+    };
+
+    /**
+     * One bridge and its worker.
+     */
+    public static final class Bridge {
+        private final String           name;
+        private final I2CBridgeAdapter adapter;
+        private final AsyncBridge      worker;
+
+        Bridge(String name, I2CBridgeAdapter adapter) {
+            this.name = name;
+            this.adapter = adapter;
+            this.worker = new AsyncBridge(adapter, QUEUE_CAPACITY);
+        }
+
+        /**
+         * @return e.g. "i2c-1@18"
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the bridge
+         */
+        public I2CBridgeAdapter getAdapter() {
+            return adapter;
+        }
+
+        /**
+         * @return the worker running this bridge's transactions
+         */
+        public AsyncBridge getWorker() {
+            return worker;
+        }
+    }
+
+    // where a device was found
+    private static final class Route {
+        final Bridge           bridge;
+        final int              channel;
+        final OneWireContainer container;
+
+        Route(Bridge bridge, int channel, OneWireContainer container) {
+            this.bridge = bridge;
+            this.channel = channel;
+            this.container = container;
+        }
+    }
+
+    private final List<Bridge>        bridges;
+    private final HashMap<Long, Route> routes = new HashMap<Long, Route>();
+
+    /**
+     * Manages bridges that are already open, e.g. on transports made by
+     * hand.  Each gets a worker thread.
+     *
+     * @param adapters the bridges
+     * @param names a name for each, used for inventories and messages
+     */
+    public BusManager(List<I2CBridgeAdapter> adapters, List<String> names) {
+        if (adapters.size() != names.size())
+            throw new IllegalArgumentException("one name per bridge");
+        List<Bridge> list = new ArrayList<Bridge>();
+        for (int i = 0; i < adapters.size(); i++)
+            list.add(new Bridge(names.get(i), adapters.get(i)));
+        bridges = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Looks for bridges on the I2C buses listed in the
+     * <code>onewire.i2c.buses</code> property (comma separated, default "1"),
+     * through jdk.dio or, without it, Linux i2c-dev.
+     *
+     * @return a manager for the bridges found, possibly none
+     */
+    public static BusManager detect() {
+        String prop = OneWireAccessProvider.getProperty("onewire.i2c.buses");
+        String[] parts = ((prop == null) ? "1" : prop).split(",");
+        int[] buses = new int[parts.length];
+        for (int i = 0; i < parts.length; i++)
+            buses[i] = Integer.parseInt(parts[i].trim());
+        return detect(DEFAULT, buses);
+    }
+
+    /**
+     * Tries every DS2482 address on the given buses and keeps those where
+     * <code>DS2482Detect()</code> succeeds.
+     *
+     * @param factory opens the transports
+     * @param buses I2C bus numbers
+     * @return a manager for the bridges found, possibly none
+     */
+    public static BusManager detect(TransportFactory factory, int... buses) {
+        List<I2CBridgeAdapter> found = new ArrayList<I2CBridgeAdapter>();
+        List<String> names = new ArrayList<String>();
+        for (int b = 0; b < buses.length; b++) {
+            for (int addr = FIRST_ADDRESS; addr <= LAST_ADDRESS; addr++) {
+                I2CTransport transport;
+                try {
+                    transport = factory.open(buses[b], addr);
+                } catch (IOException ex) {
+                    continue;                           // nothing there
+                }
+                I2CBridgeAdapter adapter = new I2CBridgeAdapter(transport);
+                if (adapter.DS2482Detect()) {
+                    found.add(adapter);
+                    names.add("i2c-" + buses[b] + "@" + Integer.toHexString(addr));
+                } else {
+                    adapter.close();
+                }
+            }
+        }
+        return new BusManager(found, names);
+    }
+
+    /**
+     * @return the bridges, in detection order
+     */
+    public List<Bridge> getBridges() {
+        return bridges;
+    }
+
+    /**
+     * Searches every channel of every bridge, each bridge on its own
+     * worker so they search at the same time, and routes each device found
+     * to its bridge and channel.  Replaces what an earlier discover found.
+     *
+     * @return the number of devices found
+     * @throws OneWireException if interrupted, or a bridge failed
+     */
+    public int discover() throws OneWireException {
+        List<CompletableFuture<byte[]>> pending = new ArrayList<CompletableFuture<byte[]>>();
+        final List<List<OneWireContainer>> found = new ArrayList<List<OneWireContainer>>();
+        for (int i = 0; i < bridges.size(); i++) {
+            final List<OneWireContainer> list = new ArrayList<OneWireContainer>();
+            found.add(list);
+            pending.add(submit(bridges.get(i), new OWTransaction() {
+                @Override
+                public byte[] execute(I2CBridgeAdapter adapter) {
+                    list.addAll(adapter.discoverAllChannels());
+                    return null;
+                }
+            }));
+        }
+        for (int i = 0; i < pending.size(); i++)
+            await(pending.get(i));
+
+        int n = 0;
+        synchronized (routes) {
+            routes.clear();
+            for (int i = 0; i < bridges.size(); i++) {
+                for (OneWireContainer owc : found.get(i)) {
+                    routes.put(Address.toLong(owc.getAddress()), new Route(bridges.get(i), owc.getChannel(), owc));
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * @return ROMs of every device routed, in no particular order
+     */
+    public long[] getAddresses() {
+        synchronized (routes) {
+            long[] roms = new long[routes.size()];
+            int i = 0;
+            for (Long rom : routes.keySet())
+                roms[i++] = rom;
+            return roms;
+        }
+    }
+
+    /**
+     * @param rom device ROM (see <code>Address.toLong()</code>)
+     * @return the bridge the device is on, <code>null</code> if not known
+     */
+    public Bridge getBridge(long rom) {
+        Route r = route(rom);
+        return (r == null) ? null : r.bridge;
+    }
+
+    /**
+     * @param rom device ROM
+     * @return the DS2482-800 channel the device is on, -1 if not known
+     */
+    public int getChannel(long rom) {
+        Route r = route(rom);
+        return (r == null) ? -1 : r.channel;
+    }
+
+    /**
+     * @param rom device ROM
+     * @return its container, bound to the right bridge and channel;
+     *         <code>null</code> if not known
+     */
+    public OneWireContainer getDeviceContainer(long rom) {
+        Route r = route(rom);
+        return (r == null) ? null : r.container;
+    }
+
+    /**
+     * Queues a transaction for a device on its bridge's worker, with the
+     * device's channel selected first.
+     *
+     * @param rom device ROM
+     * @param transaction work to run, e.g. built with <code>matchRom()</code>
+     * @return what the transaction read
+     * @throws OneWireException if the device is not known or interrupted
+     *         while the queue was full
+     */
+    public CompletableFuture<byte[]> submit(long rom, final OWTransaction transaction) throws OneWireException {
+        final Route r = route(rom);
+        if (r == null)
+            throw new OneWireException("BusManager: no bridge for " + Address.toString(rom));
+        return submit(r.bridge, new OWTransaction() {
+            @Override
+            public byte[] execute(I2CBridgeAdapter adapter) throws OneWireException {
+                if (!adapter.selectChannel(r.channel))
+                    throw new OneWireIOException("BusManager: could not select channel " + r.channel);
+                return transaction.execute(adapter);
+            }
+        });
+    }
+
+    /**
+     * Reads a sensor's state on its bridge's worker.
+     *
+     * @param rom device ROM
+     * @return what the container's <code>readDevice()</code> returned
+     * @throws OneWireException if the device is not known or not a sensor
+     */
+    public CompletableFuture<byte[]> readDevice(long rom) throws OneWireException {
+        Route r = route(rom);
+        if (r == null || !(r.container instanceof OneWireSensor))
+            throw new OneWireException("BusManager: no sensor " + Address.toString(rom));
+        final OneWireSensor sensor = (OneWireSensor) r.container;
+        return submit(r.bridge, new OWTransaction() {
+            @Override
+            public byte[] execute(I2CBridgeAdapter adapter) throws OneWireException {
+                return sensor.readDevice();
+            }
+        });
+    }
+
+    /**
+     * Stops the workers once their queues are empty and closes the bridges.
+     * A worker still running after <code>timeout</code> has its waiting
+     * transactions cancelled, and its bridge is left open, since the
+     * transaction in hand may still be using the transport.
+     *
+     * @param timeout longest wait for each worker
+     * @param unit unit of <code>timeout</code>
+     * @return <code>true</code> if every worker ended and every bridge was
+     *         closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+        boolean all = true;
+        for (Bridge b : bridges)
+            b.worker.shutdown();
+        for (Bridge b : bridges) {
+            if (b.worker.awaitTermination(timeout, unit)) {
+                b.adapter.close();
+            } else {
+                b.worker.shutdownNow();
+                all = false;
+            }
+        }
+        return all;
+    }
+
+    private Route route(long rom) {
+        synchronized (routes) {
+            return routes.get(rom);
+        }
+    }
+
+    private static CompletableFuture<byte[]> submit(Bridge bridge, OWTransaction transaction)
+            throws OneWireException {
+        try {
+            return bridge.worker.submit(transaction);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OneWireException("BusManager: interrupted");
+        }
+    }
+
+    private static void await(CompletableFuture<byte[]> future) throws OneWireException {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OneWireException("BusManager: interrupted");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof OneWireException)
+                throw (OneWireException) cause;
+            throw new OneWireException("BusManager: " + cause);
+        }
+    }
+}
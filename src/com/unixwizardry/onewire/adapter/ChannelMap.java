@@ -0,0 +1,84 @@
+/*
+ * ROM to DS2482-800 channel map.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import java.util.Arrays;
+
+/**
+ * Which DS2482-800 channel each known device is on, looked up on every
+ * select, so it is an open-addressing table of primitives: no boxing and
+ * no allocation once it has grown.  Not thread safe; the adapter uses it
+ * under its bus lock.
+ */
+final class ChannelMap {
+
+    private long[] roms = new long[64];
+    private byte[] channels = new byte[64];             // channel + 1, 0 for an empty slot
+    private int    size;
+
+    /**
+     * @param rom device ROM (see <code>Address.toLong()</code>)
+     * @return its channel, -1 if not known
+     */
+    int get(long rom) {
+        int mask = roms.length - 1;
+        for (int i = hash(rom) & mask; channels[i] != 0; i = (i + 1) & mask) {
+            if (roms[i] == rom)
+                return channels[i] - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @param rom device ROM
+     * @param channel channel it is on, 0 to 7
+     */
+    void put(long rom, int channel) {
+        if ((size + 1) * 4 > roms.length * 3)
+            grow();
+        int mask = roms.length - 1;
+        int i = hash(rom) & mask;
+        while (channels[i] != 0 && roms[i] != rom)
+            i = (i + 1) & mask;
+        if (channels[i] == 0)
+            size++;
+        roms[i] = rom;
+        channels[i] = (byte) (channel + 1);
+    }
+
+    /**
+     * Forgets every device.
+     */
+    void clear() {
+        Arrays.fill(channels, (byte) 0);
+        size = 0;
+    }
+
+    /**
+     * @return devices in the map
+     */
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldRoms = roms;
+        byte[] oldChannels = channels;
+        roms = new long[oldRoms.length * 2];
+        channels = new byte[oldRoms.length * 2];
+        size = 0;
+        for (int i = 0; i < oldRoms.length; i++) {
+            if (oldChannels[i] != 0)
+                put(oldRoms[i], oldChannels[i] - 1);
+        }
+    }
+
+    // the serial number is random enough; spread it over the low bits
+    private static int hash(long rom) {
+        long h = rom * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Reads a set of sensors with their conversions overlapped.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import com.unixwizardry.accessProvider.BusClock;
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.container.ConversionSensor;
+import com.unixwizardry.onewire.container.OneWireContainer;
+import com.unixwizardry.onewire.utils.Address;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Reads every sensor of a bridge once per {@link #cycle()}, without the bus
+ * sitting idle while they convert.  Each sensor's conversion is started
+ * with {@link ConversionSensor#startConversion()}, which lets go of the bus
+ * and says how long the conversion takes; while it runs, the other sensors
+ * are started or, once their time is up, read.  A cycle of N DS18S20s takes
+ * about one conversion time plus N starts and N reads, instead of N
+ * conversion times.
+ * <p>
+ * Sensors on a DS2482-800 are handled channel by channel, and each read
+ * happens as soon as its result is due, so the channel switches stay few.
+ * The bus is only held for each start and read, so other threads can use
+ * it in between.  Listeners are told about each result on the thread
+ * calling {@link #cycle()}.
+ */
+public class ConversionScheduler {
+
+    /**
+     * Told about each result.
+     */
+    public interface Listener {
+
+        /**
+         * @param scheduler scheduler that read it
+         * @param device the sensor
+         * @param state what <code>readDevice()</code> returned after the
+         *        conversion, for the container's <code>get</code> methods
+         */
+        void converted(ConversionScheduler scheduler, OneWireContainer device, byte[] state);
+    }
+
+    // a conversion under way
+    private static final class Pending {
+        final ConversionSensor sensor;
+        final long             due;                     // bus clock, ns
+        final int              order;                   // start order, for ties
+
+        Pending(ConversionSensor sensor, long due, int order) {
+            this.sensor = sensor;
+            this.due = due;
+            this.order = order;
+        }
+    }
+
+    private static final Comparator<Pending> BY_DUE = new Comparator<Pending>() {
+        @Override
+        public int compare(Pending a, Pending b) {
+            if (a.due != b.due)
+                return (a.due < b.due) ? -1 : 1;
+            return a.order - b.order;
+        }
+    };
+
+    private static final Comparator<ConversionSensor> BY_CHANNEL = new Comparator<ConversionSensor>() {
+        @Override
+        public int compare(ConversionSensor a, ConversionSensor b) {
+            return ((OneWireContainer) a).getChannel() - ((OneWireContainer) b).getChannel();
+        }
+    };
+
+    private final I2CBridgeAdapter adapter;
+    private final LinkedHashMap<Long, ConversionSensor> sensors = new LinkedHashMap<Long, ConversionSensor>();
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private long lastCycleNanos;
+
+    /**
+     * @param adapter bridge the sensors are on; its clock times the
+     *        conversions
+     */
+    public ConversionScheduler(I2CBridgeAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    /**
+     * @param listener told about results
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener no longer told
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param sensor a sensor on this scheduler's bridge, e.g. a
+     *        <code>OneWireContainer10</code>; read from the next cycle on
+     */
+    public synchronized void add(ConversionSensor sensor) {
+        sensors.put(Address.toLong(((OneWireContainer) sensor).getAddress()), sensor);
+    }
+
+    /**
+     * @param sensor no longer read
+     */
+    public synchronized void remove(ConversionSensor sensor) {
+        sensors.remove(Address.toLong(((OneWireContainer) sensor).getAddress()));
+    }
+
+    /**
+     * @return sensors read each cycle
+     */
+    public synchronized int size() {
+        return sensors.size();
+    }
+
+    /**
+     * @return how long the last {@link #cycle()} took, in ns of bus clock
+     */
+    public synchronized long getLastCycleNanos() {
+        return lastCycleNanos;
+    }
+
+    /**
+     * Starts and reads every sensor once.  A sensor that fails to start
+     * or to read is reported and left out of this cycle.
+     *
+     * @return the sensors read, in the order they were read
+     * @throws OneWireException if interrupted while waiting for a result
+     */
+    public List<OneWireContainer> cycle() throws OneWireException {
+        List<ConversionSensor> todo;
+        synchronized (this) {
+            todo = new ArrayList<ConversionSensor>(sensors.values());
+        }
+        Collections.sort(todo, BY_CHANNEL);
+
+        BusClock clock = adapter.getClock();
+        long start = clock.nanoTime();
+        PriorityQueue<Pending> running = new PriorityQueue<Pending>(Math.max(1, todo.size()), BY_DUE);
+        List<OneWireContainer> read = new ArrayList<OneWireContainer>(todo.size());
+        int next = 0;
+        while (next < todo.size() || !running.isEmpty()) {
+            long now = clock.nanoTime();
+            Pending p = running.peek();
+            if (p != null && p.due <= now) {
+                running.poll();
+                collect(p.sensor, read);
+            } else if (next < todo.size()) {
+                ConversionSensor s = todo.get(next);
+                try {
+                    long ms = s.startConversion();
+                    // timed from when the command has surely been sent
+                    running.add(new Pending(s, clock.nanoTime() + ms * 1000000L, next));
+                } catch (OneWireException ex) {
+                    System.out.println("[ConversionScheduler][cycle] Error encountered: "
+                            + ((OneWireContainer) s).getAddressAsString() + ": " + ex.getMessage());
+                }
+                next++;
+            } else {
+                try {
+                    clock.sleepNanos(p.due - now);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new OneWireException("ConversionScheduler: interrupted");
+                }
+            }
+        }
+        synchronized (this) {
+            lastCycleNanos = clock.nanoTime() - start;
+        }
+        return read;
+    }
+
+    private void collect(ConversionSensor sensor, List<OneWireContainer> read) {
+        OneWireContainer owc = (OneWireContainer) sensor;
+        byte[] state;
+        try {
+            state = sensor.readDevice();
+        } catch (OneWireException ex) {
+            System.out.println("[ConversionScheduler][cycle] Error encountered: " + owc.getAddressAsString()
+                    + ": " + ex.getMessage());
+            return;
+        }
+        read.add(owc);
+        for (Listener l : listeners) {
+            try {
+                l.converted(this, owc, state);
+            } catch (RuntimeException ex) {
+                System.out.println("[ConversionScheduler][cycle] Error encountered: " + ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Timing model used by I2CBridgeAdapter to decide when to read the DS2482
+ * status register after a 1-Wire command.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+/**
+ * Knows how long each DS2482 1-Wire command takes on the wire and learns how
+ * long it actually takes on one bridge, so the adapter can sleep through most
+ * of an operation instead of hammering the status register.
+ * <p>
+ * The nominal times are the DS2482 data sheet figures: a 1-Wire reset is
+ * about 1.15 ms at standard speed, a time slot about 69 us, so a byte is
+ * eight slots and a triplet three.  The adapter waits for the learned
+ * estimate (less the time the status read itself needs on the I2C bus),
+ * then reads the status register, several bytes per transfer if
+ * {@link #setMaxBurst(int)} allows it.  The estimate for each operation moves
+ * toward the observed completion time when the first read still saw 1WB set,
+ * and creeps down a little each time the first read found the bridge idle,
+ * so it settles just above the real figure for that bridge and bus load.
+ * <p>
+ * An operation is given up on after {@link #timeoutNs(int, boolean)}, four
+ * times the nominal time but never less than 2 ms, rather than after a fixed
+ * number of reads.
+ */
+public class DS2482StatusPoller {
+
+    /** 1-Wire Reset */
+    public static final int OP_RESET   = 0;
+    /** 1-Wire Single Bit */
+    public static final int OP_BIT     = 1;
+    /** 1-Wire Write Byte or Read Byte */
+    public static final int OP_BYTE    = 2;
+    /** 1-Wire Triplet */
+    public static final int OP_TRIPLET = 3;
+
+    private static final int OP_COUNT = 4;
+
+    // nominal durations in ns, standard and overdrive
+    private static final long[][] NOMINAL_NS = {
+        { 1148000L, 146000L },                          // reset
+        {   69000L,  10500L },                          // single bit
+        {  552000L,  84000L },                          // byte, 8 slots
+        {  207000L,  31500L }                           // triplet, 3 slots
+    };
+
+    private static final long MIN_TIMEOUT_NS = 2000000L;
+
+    private final long[][] estimate = new long[OP_COUNT][2];
+    private long           sclHz = 100000L;
+    private int            maxBurst = 4;
+
+    private long           operations;
+    private long           statusReads;
+    private long           timeouts;
+
+    /**
+     * Starts with the data sheet timing and a 100 kHz I2C clock.
+     */
+    public DS2482StatusPoller() {
+        reset();
+    }
+
+    /**
+     * Forgets what was learned and goes back to the nominal times.
+     */
+    public synchronized void reset() {
+        for (int op = 0; op < OP_COUNT; op++) {
+            estimate[op][0] = NOMINAL_NS[op][0];
+            estimate[op][1] = NOMINAL_NS[op][1];
+        }
+    }
+
+    /**
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @return data sheet duration of the operation in ns
+     */
+    public static long nominalNs(int op, boolean overdrive) {
+        return NOMINAL_NS[op][overdrive ? 1 : 0];
+    }
+
+    /**
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @return learned time from the end of the command to 1WB clearing, in ns
+     */
+    public synchronized long expectedNs(int op, boolean overdrive) {
+        return estimate[op][overdrive ? 1 : 0];
+    }
+
+    /**
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @return how long to keep polling before the operation is declared hung
+     */
+    public long timeoutNs(int op, boolean overdrive) {
+        return Math.max(MIN_TIMEOUT_NS, 4 * nominalNs(op, overdrive));
+    }
+
+    /**
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @return ns to sleep after the command before the first status read
+     */
+    public synchronized long initialWaitNs(int op, boolean overdrive) {
+        return estimate[op][overdrive ? 1 : 0] - readTimeNs(1);
+    }
+
+    /**
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @return <code>true</code> if the operation is over before a status
+     *         byte could be clocked in, in which case the adapter reads the
+     *         status in the same transfer as the command
+     */
+    public synchronized boolean readWithCommand(int op, boolean overdrive) {
+        return nominalNs(op, overdrive) <= readTimeNs(1);
+    }
+
+    /**
+     * @return time to clock in one more status byte of a burst, in ns
+     */
+    public synchronized long statusByteNs() {
+        return bitTimeNs(9);
+    }
+
+    /**
+     * Number of status bytes to read in the next transfer.  Each byte is a
+     * fresh sample, so a burst covers the remaining expected time with one
+     * transaction instead of several.
+     *
+     * @param remainingNs expected time until 1WB clears, may be negative
+     * @return 1 to {@link #getMaxBurst()}
+     */
+    public synchronized int burstLength(long remainingNs) {
+        long afterFirst = remainingNs - readTimeNs(1);  // the first byte is sampled this late anyway
+        if (afterFirst <= 0 || maxBurst <= 1)
+            return 1;
+        int n = (int) (afterFirst / bitTimeNs(9)) + 2;
+        return Math.min(n, maxBurst);
+    }
+
+    /**
+     * Folds one completed operation into the estimate.
+     *
+     * @param op one of the <code>OP_</code> constants
+     * @param overdrive <code>true</code> if 1WS is set
+     * @param elapsedNs time from the end of the command to the status sample
+     *        that showed 1WB clear
+     * @param firstSampleIdle <code>true</code> if the very first sample was
+     *        already idle, i.e. the wait may have been longer than needed
+     * @param reads status bytes read for this operation
+     */
+    public synchronized void record(int op, boolean overdrive, long elapsedNs,
+            boolean firstSampleIdle, int reads) {
+        int speed = overdrive ? 1 : 0;
+        long est = estimate[op][speed];
+        if (firstSampleIdle) {
+            est -= est >> 4;                            // probe a little earlier next time
+        } else {
+            est += (elapsedNs - est) >> 3;
+        }
+        long floor = NOMINAL_NS[op][speed] >> 1;
+        long ceiling = timeoutNs(op, overdrive) >> 1;
+        estimate[op][speed] = Math.max(floor, Math.min(ceiling, est));
+        operations++;
+        statusReads += reads;
+    }
+
+    /**
+     * Counts an operation whose status was read with the command, which
+     * says nothing about how long it took.
+     *
+     * @param reads status bytes read for this operation
+     */
+    public synchronized void recordReads(int reads) {
+        operations++;
+        statusReads += reads;
+    }
+
+    /**
+     * Counts an operation that never finished.
+     *
+     * @param reads status bytes read for this operation
+     */
+    public synchronized void recordTimeout(int reads) {
+        operations++;
+        statusReads += reads;
+        timeouts++;
+    }
+
+    /**
+     * @param hz I2C clock of the bus the bridge is on, used to discount the
+     *        time spent clocking in the status byte
+     */
+    public synchronized void setI2CClock(long hz) {
+        if (hz > 0)
+            sclHz = hz;
+    }
+
+    /**
+     * @param maxBurst most status bytes read in one transfer; 1 reads a
+     *        single byte per transfer
+     */
+    public synchronized void setMaxBurst(int maxBurst) {
+        this.maxBurst = Math.max(1, maxBurst);
+    }
+
+    /**
+     * @return most status bytes read in one transfer
+     */
+    public synchronized int getMaxBurst() {
+        return maxBurst;
+    }
+
+    /**
+     * @return 1-Wire operations polled so far
+     */
+    public synchronized long getOperationCount() {
+        return operations;
+    }
+
+    /**
+     * @return status bytes read so far
+     */
+    public synchronized long getStatusReadCount() {
+        return statusReads;
+    }
+
+    /**
+     * @return operations that timed out
+     */
+    public synchronized long getTimeoutCount() {
+        return timeouts;
+    }
+
+    // START, address+R, len bytes, STOP
+    private long readTimeNs(int len) {
+        return bitTimeNs(11 + 9 * len);
+    }
+
+    private long bitTimeNs(int bits) {
+        return bits * 1000000000L / sclHz;
+    }
+}
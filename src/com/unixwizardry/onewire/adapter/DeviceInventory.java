@@ -0,0 +1,472 @@
+/*
+ * Last known devices of each bridge and channel, kept across restarts.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.container.OneWireContainer;
+import com.unixwizardry.onewire.container.OneWireContainer10;
+import com.unixwizardry.onewire.container.OneWireContainer28;
+import com.unixwizardry.onewire.container.OneWireSensor;
+import com.unixwizardry.onewire.utils.Address;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The ROMs found on each bridge and DS2482-800 channel, with a few bytes
+ * of configuration per device (the TH, TL and configuration bytes of a
+ * DS18S20 or DS18B20 scratchpad, or whatever {@link #setConfig} was
+ * given), saved to a small binary file.
+ * <p>
+ * At startup {@link #discover(I2CBridgeAdapter, String, int...)} follows
+ * each saved device with a directed search.  The ones that answer are
+ * kept and the ones that do not are dropped; every branch off those paths
+ * with no saved device behind it is searched, so devices added since are
+ * found too, without searching the whole channel.  A gateway that needs a
+ * reading before that can get containers straight from the file with
+ * {@link #getDeviceContainers(I2CBridgeAdapter, String, int...)}, without
+ * any bus traffic; reading a device checks its CRC anyway.
+ * <p>
+ * Thermometers found without saved configuration have theirs read and
+ * saved.  With {@link #setRestoreConfig(boolean)} every thermometer is
+ * read, and one whose alarm thresholds or resolution differ from what was
+ * saved, e.g. a replaced sensor, gets the saved bytes written back.
+ */
+public final class DeviceInventory {
+
+    private static final int MAGIC   = 0x4F57494E;      // "OWIN"
+    private static final int VERSION = 1;
+    private static final int THERMOMETER_CONFIG = 3;    // TH, TL and configuration bytes
+
+    // devices of one bridge channel, in search order, with their config
+    private static final class Channel {
+        final String                  bridge;
+        final int                     channel;
+        final LinkedHashMap<Long, byte[]> devices = new LinkedHashMap<Long, byte[]>();
+
+        Channel(String bridge, int channel) {
+            this.bridge = bridge;
+            this.channel = channel;
+        }
+    }
+
+    private final TreeMap<String, Channel> channels = new TreeMap<String, Channel>();
+    private boolean changed;
+    private int     verifiedChannels;
+    private int     searchedChannels;
+    private boolean restoreConfig;
+
+    /**
+     * Creates an empty inventory.
+     */
+    public DeviceInventory() {
+    }
+
+    /**
+     * Reads an inventory saved by {@link #save(File)}.
+     *
+     * @param file where it was saved
+     * @return the inventory; empty if the file does not exist or cannot be
+     *         read, so the first start simply searches
+     */
+    public static DeviceInventory load(File file) {
+        DeviceInventory inventory = new DeviceInventory();
+        if (!file.exists())
+            return inventory;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION)
+                throw new IOException("not a device inventory");
+            int entries = in.readInt();
+            for (int e = 0; e < entries; e++) {
+                Channel c = inventory.channel(in.readUTF(), in.readUnsignedByte(), true);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long rom = in.readLong();
+                    int len = in.readUnsignedByte();
+                    byte[] config = null;
+                    if (len > 0) {
+                        config = new byte[len];
+                        in.readFully(config);
+                    }
+                    c.devices.put(rom, config);
+                }
+            }
+        } catch (IOException ex) {
+            System.out.println("[DeviceInventory][load] Error encountered: " + ex.getMessage());
+            inventory.channels.clear();
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ex) {
+                }
+            }
+        }
+        inventory.changed = false;
+        return inventory;
+    }
+
+    /**
+     * Writes the inventory, to a temporary file first so a crash never
+     * leaves half a file behind.
+     *
+     * @param file where to save it
+     * @throws IOException if it could not be written
+     */
+    public synchronized void save(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(channels.size());
+            for (Channel c : channels.values()) {
+                out.writeUTF(c.bridge);
+                out.writeByte(c.channel);
+                out.writeInt(c.devices.size());
+                for (Map.Entry<Long, byte[]> d : c.devices.entrySet()) {
+                    out.writeLong(d.getKey());
+                    byte[] config = d.getValue();
+                    out.writeByte((config == null) ? 0 : config.length);
+                    if (config != null)
+                        out.write(config);
+                }
+            }
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file))
+                throw new IOException("could not replace " + file);
+        }
+        changed = false;
+    }
+
+    /**
+     * @return <code>true</code> if anything changed since the last load or save
+     */
+    public synchronized boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * @param bridge bridge name, e.g. from <code>getBridgeName()</code>
+     * @param channel DS2482-800 channel, 0 on a DS2482-100
+     * @return ROMs last known on that channel, in search order
+     */
+    public synchronized long[] getAddresses(String bridge, int channel) {
+        Channel c = channel(bridge, channel, false);
+        if (c == null)
+            return new long[0];
+        long[] roms = new long[c.devices.size()];
+        int i = 0;
+        for (Long rom : c.devices.keySet())
+            roms[i++] = rom;
+        return roms;
+    }
+
+    /**
+     * Replaces the devices of a channel, keeping the configuration of those
+     * still there.
+     *
+     * @param bridge bridge name
+     * @param channel DS2482-800 channel
+     * @param roms ROMs now on the channel
+     */
+    public synchronized void setAddresses(String bridge, int channel, long[] roms) {
+        Channel c = channel(bridge, channel, true);
+        LinkedHashMap<Long, byte[]> old = new LinkedHashMap<Long, byte[]>(c.devices);
+        c.devices.clear();
+        for (int i = 0; i < roms.length; i++)
+            c.devices.put(roms[i], old.get(roms[i]));
+        if (!old.keySet().equals(c.devices.keySet()))
+            changed = true;
+    }
+
+    /**
+     * Drops what is known about a channel, so the next discover searches it.
+     *
+     * @param bridge bridge name
+     * @param channel DS2482-800 channel
+     */
+    public synchronized void forget(String bridge, int channel) {
+        if (channels.remove(key(bridge, channel)) != null)
+            changed = true;
+    }
+
+    /**
+     * @param bridge bridge name
+     * @param channel DS2482-800 channel
+     * @param rom device
+     * @return configuration saved for the device, <code>null</code> if none
+     */
+    public synchronized byte[] getConfig(String bridge, int channel, long rom) {
+        Channel c = channel(bridge, channel, false);
+        byte[] config = (c == null) ? null : c.devices.get(rom);
+        return (config == null) ? null : config.clone();
+    }
+
+    /**
+     * Saves up to 255 bytes of configuration with a device, e.g. its alarm
+     * thresholds and resolution, to restore or compare after a restart.
+     *
+     * @param bridge bridge name
+     * @param channel DS2482-800 channel
+     * @param rom device; added to the channel if not there yet
+     * @param config bytes to keep, <code>null</code> to clear
+     */
+    public synchronized void setConfig(String bridge, int channel, long rom, byte[] config) {
+        if (config != null && config.length > 255)
+            throw new IllegalArgumentException("config longer than 255 bytes");
+        channel(bridge, channel, true).devices.put(rom, (config == null) ? null : config.clone());
+        changed = true;
+    }
+
+    /**
+     * @param restore <code>true</code> to have {@link #discover} write the
+     *        saved TH, TL and configuration bytes back to thermometers that
+     *        differ; off by default, when only missing ones are recorded
+     */
+    public synchronized void setRestoreConfig(boolean restore) {
+        restoreConfig = restore;
+    }
+
+    /**
+     * Finds the devices on the given channels of a bridge.  On a channel
+     * with saved devices each is followed with a directed search: those
+     * that answer are kept, those that do not are dropped, and the
+     * branches off their paths that lead to no saved device are searched
+     * for new ones.  A channel with nothing saved is searched.  The
+     * channel's entry is then replaced, and thermometer configuration
+     * recorded or restored (see {@link #setRestoreConfig(boolean)}).
+     * Holds the bridge for the whole run.
+     *
+     * @param adapter bridge to check
+     * @param bridge name the bridge is saved under; should not change across
+     *        restarts
+     * @param channels DS2482-800 channels; none for the selected channel of
+     *        a DS2482-100
+     * @return a container for every device, with its channel set
+     */
+    public List<OneWireContainer> discover(I2CBridgeAdapter adapter, String bridge, int... channels) {
+        List<OneWireContainer> found = new ArrayList<OneWireContainer>();
+        int verified = 0, searched = 0;
+        adapter.beginExclusive(true);
+        try {
+            int[] list = (channels.length == 0) ? new int[] {adapter.getSelectedChannel()} : channels;
+            for (int i = 0; i < list.length; i++) {
+                int ch = list[i];
+                if (channels.length != 0 && !select(adapter, ch))
+                    continue;
+                long[] roms = getAddresses(bridge, ch);
+                if (roms.length > 0) {
+                    roms = verify(adapter, roms);
+                    verified++;
+                } else {
+                    roms = adapter.searchPrefix(0, 0);
+                    searched++;
+                }
+                setAddresses(bridge, ch, roms);
+                int from = found.size();
+                addContainers(found, adapter, roms, ch);
+                keepConfig(bridge, ch, found.subList(from, found.size()));
+            }
+        } finally {
+            adapter.endExclusive();
+        }
+        synchronized (this) {
+            verifiedChannels = verified;
+            searchedChannels = searched;
+        }
+        return found;
+    }
+
+    /**
+     * Containers for the saved devices, without touching the bus.
+     *
+     * @param adapter bridge the devices are on
+     * @param bridge name the bridge is saved under
+     * @param channels DS2482-800 channels; none for every saved channel of
+     *        the bridge
+     * @return a container for every saved device, with its channel set
+     */
+    public List<OneWireContainer> getDeviceContainers(I2CBridgeAdapter adapter, String bridge, int... channels) {
+        List<OneWireContainer> found = new ArrayList<OneWireContainer>();
+        if (channels.length == 0) {
+            List<Integer> saved = new ArrayList<Integer>();
+            synchronized (this) {
+                for (Iterator<Channel> it = this.channels.values().iterator(); it.hasNext();) {
+                    Channel c = it.next();
+                    if (c.bridge.equals(bridge))
+                        saved.add(c.channel);
+                }
+            }
+            for (Integer ch : saved)
+                addContainers(found, adapter, getAddresses(bridge, ch), ch);
+        } else {
+            for (int i = 0; i < channels.length; i++)
+                addContainers(found, adapter, getAddresses(bridge, channels[i]), channels[i]);
+        }
+        return found;
+    }
+
+    /**
+     * @return channels the last discover checked against the inventory
+     */
+    public synchronized int getVerifiedChannelCount() {
+        return verifiedChannels;
+    }
+
+    /**
+     * @return channels the last discover had nothing saved for and searched
+     */
+    public synchronized int getSearchedChannelCount() {
+        return searchedChannels;
+    }
+
+    private static boolean select(I2CBridgeAdapter adapter, int channel) {
+        if (adapter.selectChannel(channel))
+            return true;
+        System.out.println("[DeviceInventory][discover] Error encountered: channel " + channel
+                + " could not be selected");
+        return false;
+    }
+
+    // The saved ROMs still on the selected channel plus any new devices,
+    // in search order.  Each saved ROM is followed with a directed search,
+    // as HotPlugWatcher does: besides whether the device answered, it shows
+    // where devices branch off its path, and a branch with no saved ROM
+    // behind it is searched.  A ROM that leaves the last path where
+    // nothing branches is gone without a search of its own.
+    private static long[] verify(I2CBridgeAdapter adapter, long[] roms) {
+        long[] keys = HotPlugWatcher.toKeys(roms);
+        List<Long> now = new ArrayList<Long>();
+        long prev = 0;
+        int prevReach = -1;
+        boolean prevNobody = false;
+        long prevForks = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0 && keys[i] == keys[i - 1])
+                continue;
+            long rom = HotPlugWatcher.toRom(keys[i]);
+            int k = Long.numberOfTrailingZeros(rom ^ prev);       // where it leaves the last path
+            if (prevReach >= 0
+                    && (k > prevReach || (k == prevReach ? prevNobody : (prevForks & (1L << k)) == 0)))
+                continue;
+
+            int reach = adapter.tracePath(rom);
+            if (reach < 0)
+                break;                                          // nobody left on the channel
+            long forks = adapter.getPathForks();
+            boolean nobody = adapter.isPathNobody();
+            long open = forks;
+            if (reach == 64)
+                now.add(rom);
+            else if (!nobody)
+                open |= 1L << reach;                            // only the other branch answered
+            // branches below where this path leaves the last one were
+            // looked at by the last pass
+            int from = (prevReach < 0) ? 0 : Math.min(k, prevReach) + 1;
+            if (from < 64) {
+                for (long f = open & (-1L << from); f != 0; f &= f - 1) {
+                    int bit = Long.numberOfTrailingZeros(f);
+                    long other = rom ^ (1L << bit);
+                    if (!HotPlugWatcher.knownUnder(keys, other, bit + 1)) {
+                        long[] added = adapter.searchPrefix(other, bit + 1);
+                        for (int j = 0; j < added.length; j++) {
+                            if (!now.contains(added[j]))
+                                now.add(added[j]);
+                        }
+                    }
+                }
+            }
+            prev = rom;
+            prevReach = reach;
+            prevNobody = nobody;
+            prevForks = forks;
+        }
+
+        long[] found = new long[now.size()];
+        for (int i = 0; i < found.length; i++)
+            found[i] = HotPlugWatcher.toKey(now.get(i));
+        Arrays.sort(found);
+        for (int i = 0; i < found.length; i++)
+            found[i] = HotPlugWatcher.toRom(found[i]);
+        return found;
+    }
+
+    // Saves the TH, TL and configuration bytes of thermometers that have
+    // none saved; with restoreConfig, writes the saved ones back to those
+    // that differ.
+    private void keepConfig(String bridge, int channel, List<OneWireContainer> devices) {
+        boolean restore;
+        synchronized (this) {
+            restore = restoreConfig;
+        }
+        for (OneWireContainer owc : devices) {
+            if (!(owc instanceof OneWireContainer10) && !(owc instanceof OneWireContainer28))
+                continue;
+            long rom = Address.toLong(owc.getAddress());
+            byte[] saved = getConfig(bridge, channel, rom);
+            if (saved != null && saved.length == THERMOMETER_CONFIG && !restore)
+                continue;
+            try {
+                byte[] state = ((OneWireSensor) owc).readDevice();
+                byte[] config = Arrays.copyOfRange(state, 2, 2 + THERMOMETER_CONFIG);
+                if (saved == null || saved.length != THERMOMETER_CONFIG) {
+                    setConfig(bridge, channel, rom, config);
+                } else if (!Arrays.equals(saved, config)) {
+                    System.arraycopy(saved, 0, state, 2, THERMOMETER_CONFIG);
+                    ((OneWireSensor) owc).writeDevice(state);
+                }
+            } catch (OneWireException ex) {
+                System.out.println("[DeviceInventory][discover] Error encountered: " + owc.getAddressAsString()
+                        + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static void addContainers(List<OneWireContainer> found, I2CBridgeAdapter adapter, long[] roms,
+            int channel) {
+        for (int i = 0; i < roms.length; i++) {
+            OneWireContainer owc = adapter.getDeviceContainer(Address.toByteArray(roms[i]));
+            if (owc != null) {
+                owc.setChannel(channel);
+                found.add(owc);
+            }
+        }
+    }
+
+    private Channel channel(String bridge, int channel, boolean create) {
+        String key = key(bridge, channel);
+        Channel c = channels.get(key);
+        if (c == null && create) {
+            c = new Channel(bridge, channel);
+            channels.put(key, c);
+            changed = true;
+        }
+        return c;
+    }
+
+    private static String key(String bridge, int channel) {
+        return bridge + '/' + channel;
+    }
+}
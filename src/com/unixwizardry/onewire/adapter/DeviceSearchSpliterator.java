@@ -0,0 +1,95 @@
+/*
+ * Lazy 1-Wire search, one device per step.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+
+/**
+ * Walks the 1-Wire search one device at a time, handing out ROMs as
+ * <code>long</code>s (see <code>Address.toLong()</code>).  Nothing is
+ * searched until an element is asked for, so a stream that stops early,
+ * e.g. with <code>findFirst()</code>, only pays for the devices it saw.
+ * <p>
+ * The search position is kept here rather than in the adapter and is
+ * swapped in for each step, so two enumerations on one adapter, or an
+ * enumeration and plain <code>OWNext()</code> calls, do not upset each
+ * other.  Family filters set on the adapter apply, and so does
+ * <code>setSearchOnlyAlarmingDevices()</code>, which an alarm enumeration
+ * also asks for on its own.
+ * <p>
+ * On a DS2482-800 the search runs through the given channels in order,
+ * selecting each in turn; {@link #getChannel()} tells which channel the
+ * last ROM was found on.
+ */
+final class DeviceSearchSpliterator extends Spliterators.AbstractLongSpliterator {
+
+    private final I2CBridgeAdapter                 adapter;
+    private final int[]                            channels;       // null for the selected one
+    private final I2CBridgeAdapter.SearchPosition  position = new I2CBridgeAdapter.SearchPosition();
+    private int  channelIndex;
+    private long rom;
+    private int  channel;
+
+    /**
+     * @param adapter bridge to search
+     * @param channels DS2482-800 channels to search, <code>null</code> or
+     *        empty for whichever channel is selected
+     * @param alarmOnly <code>true</code> for an alarm search
+     */
+    DeviceSearchSpliterator(I2CBridgeAdapter adapter, int[] channels, boolean alarmOnly) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT
+                | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        this.adapter = adapter;
+        this.channels = (channels == null || channels.length == 0) ? null : channels.clone();
+        position.alarmOnly = alarmOnly;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (!advance())
+            return false;
+        action.accept(rom);
+        return true;
+    }
+
+    /**
+     * Runs the search on to the next device.
+     *
+     * @return <code>false</code> once every channel has been searched
+     */
+    boolean advance() {
+        for (;;) {
+            if (channels != null && channelIndex >= channels.length)
+                return false;
+            int ch = (channels == null) ? -1 : channels[channelIndex];
+            if (adapter.searchStep(position, ch)) {
+                rom = position.getAddressAsLong();
+                channel = (ch < 0) ? adapter.getSelectedChannel() : ch;
+                return true;
+            }
+            if (channels == null)
+                return false;
+            channelIndex++;
+            position.restart();
+        }
+    }
+
+    /**
+     * @return ROM of the last device found
+     */
+    long getRom() {
+        return rom;
+    }
+
+    /**
+     * @return DS2482-800 channel the last device was found on
+     */
+    int getChannel() {
+        return channel;
+    }
+}
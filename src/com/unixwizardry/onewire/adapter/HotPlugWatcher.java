@@ -0,0 +1,393 @@
+/*
+ * Background watch for devices plugged into or pulled off a live bus.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the channels of one bridge for devices arriving and leaving,
+ * without searching the whole bus every time.
+ * <p>
+ * Each {@link #poll()} resets every channel first.  No presence pulse on a
+ * channel with known devices means they have all gone; a presence pulse on
+ * a channel with none known means a search.  Otherwise a few known ROMs,
+ * taken in turn, are followed with a directed search each.  Besides
+ * telling whether that device is still there, the pass shows every bit
+ * along its path where devices branch off.  A branch with no known device
+ * behind it holds new ones, and only that part of the search tree is
+ * searched.  So a poll costs a reset and {@link #getPassesPerPoll()}
+ * passes per channel plus a search of whatever is new.  Each known device
+ * is checked once every <em>known / passes</em> polls.
+ * <p>
+ * Listeners are told about changes on the watcher's thread (or the caller
+ * of {@link #poll()}) once the bus is free again.  With a
+ * {@link DeviceInventory} the channel's entry is kept up to date, and its
+ * saved devices are the starting point.  The watcher sees every family,
+ * whatever family filters are set on the adapter.
+ */
+public class HotPlugWatcher {
+
+    /**
+     * Told when devices come and go.
+     */
+    public interface Listener {
+
+        /**
+         * @param watcher watcher that saw it
+         * @param channel DS2482-800 channel
+         * @param rom device ROM (see <code>Address.toLong()</code>)
+         */
+        void deviceArrived(HotPlugWatcher watcher, int channel, long rom);
+
+        /**
+         * @param watcher watcher that saw it
+         * @param channel DS2482-800 channel
+         * @param rom device ROM
+         */
+        void deviceDeparted(HotPlugWatcher watcher, int channel, long rom);
+    }
+
+    /** Directed searches per channel and poll unless told otherwise. */
+    public static final int DEFAULT_PASSES = 4;
+
+    // what is known about one channel; keys are ROMs in search order
+    // (bit-reversed, sign flipped) so a ROM prefix is a range of keys
+    private static final class Channel {
+        final int number;                               // -1 for the selected one
+        long[]    keys = new long[0];
+        int       cursor;                               // next key to check
+
+        Channel(int number) {
+            this.number = number;
+        }
+    }
+
+    private final I2CBridgeAdapter adapter;
+    private final String           bridge;
+    private final DeviceInventory  inventory;
+    private final Channel[]        channels;
+    private final int              passes;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private Thread           thread;
+    private volatile boolean stopped;
+    private long             passCount;
+    private long             searchCount;
+
+    /**
+     * @param adapter bridge to watch
+     * @param bridge name the bridge is saved under in <code>inventory</code>
+     * @param inventory devices known so far, kept up to date; may be
+     *        <code>null</code>, in which case the first poll searches
+     * @param passes directed searches per channel and poll, at least 1
+     * @param channels DS2482-800 channels; none for the selected channel of
+     *        a DS2482-100
+     */
+    public HotPlugWatcher(I2CBridgeAdapter adapter, String bridge, DeviceInventory inventory, int passes,
+            int... channels) {
+        if (passes < 1)
+            throw new IllegalArgumentException("passes must be at least 1");
+        this.adapter = adapter;
+        this.bridge = bridge;
+        this.inventory = inventory;
+        this.passes = passes;
+        if (channels.length == 0) {
+            this.channels = new Channel[] {new Channel(-1)};
+        } else {
+            this.channels = new Channel[channels.length];
+            for (int i = 0; i < channels.length; i++)
+                this.channels[i] = new Channel(channels[i]);
+        }
+        if (inventory != null) {
+            for (int i = 0; i < this.channels.length; i++)
+                this.channels[i].keys = toKeys(inventory.getAddresses(bridge, channelOf(this.channels[i])));
+        }
+    }
+
+    /**
+     * @param listener told about arrivals and departures
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener no longer told
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the bridge being watched
+     */
+    public I2CBridgeAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * @return directed searches per channel and poll
+     */
+    public int getPassesPerPoll() {
+        return passes;
+    }
+
+    /**
+     * @param channel DS2482-800 channel
+     * @return ROMs known on it, in search order
+     */
+    public synchronized long[] getKnownAddresses(int channel) {
+        for (int i = 0; i < channels.length; i++) {
+            if (channelOf(channels[i]) == channel)
+                return toRoms(channels[i].keys);
+        }
+        return new long[0];
+    }
+
+    /**
+     * @return directed searches run so far
+     */
+    public synchronized long getPassCount() {
+        return passCount;
+    }
+
+    /**
+     * @return searches of new parts of the tree run so far
+     */
+    public synchronized long getSearchCount() {
+        return searchCount;
+    }
+
+    /**
+     * Starts polling every <code>period</code> on a daemon thread.
+     *
+     * @param period time between polls
+     * @param unit unit of <code>period</code>
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (thread != null)
+            throw new IllegalStateException("already started");
+        final long millis = Math.max(1, unit.toMillis(period));
+        stopped = false;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!stopped) {
+                    try {
+                        poll();
+                        Thread.sleep(millis);
+                    } catch (InterruptedException ex) {
+                        return;
+                    } catch (RuntimeException ex) {
+                        System.out.println("[HotPlugWatcher][run] Error encountered: " + ex);
+                    }
+                }
+            }
+        }, "HotPlugWatcher-" + Integer.toHexString(System.identityHashCode(adapter)));
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the polling thread after the poll under way, if any.
+     *
+     * @param timeout longest wait for it to end
+     * @param unit unit of <code>timeout</code>
+     * @return <code>true</code> if the thread has ended
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean stop(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            t = thread;
+            thread = null;
+        }
+        if (t == null)
+            return true;
+        stopped = true;
+        t.interrupt();
+        t.join(Math.max(1, unit.toMillis(timeout)));
+        return !t.isAlive();
+    }
+
+    /**
+     * Checks every channel once and tells the listeners what changed.
+     */
+    public void poll() {
+        for (int i = 0; i < channels.length; i++) {
+            Channel c = channels[i];
+            List<Long> arrived = new ArrayList<Long>();
+            List<Long> departed = new ArrayList<Long>();
+            int ch;
+            adapter.beginExclusive(true);
+            try {
+                if (c.number >= 0 && !adapter.selectChannel(c.number)) {
+                    System.out.println("[HotPlugWatcher][poll] Error encountered: channel " + c.number
+                            + " could not be selected");
+                    continue;
+                }
+                ch = channelOf(c);
+                check(c, arrived, departed);
+            } finally {
+                adapter.endExclusive();
+            }
+            if (arrived.isEmpty() && departed.isEmpty())
+                continue;
+            long[] roms = update(c, arrived, departed);
+            if (inventory != null)
+                inventory.setAddresses(bridge, ch, roms);
+            for (Long rom : departed)
+                fire(ch, rom, false);
+            for (Long rom : arrived)
+                fire(ch, rom, true);
+        }
+    }
+
+    // One channel's share of a poll, with the bus held and the channel
+    // selected.
+    private void check(Channel c, List<Long> arrived, List<Long> departed) {
+        long[] keys;
+        int cursor;
+        synchronized (this) {
+            keys = c.keys;
+            cursor = c.cursor;
+        }
+        int reset = adapter.OWReset();
+        if (reset == I2CBridgeAdapter.RESET_NOPRESENCE) {
+            for (int i = 0; i < keys.length; i++)
+                departed.add(toRom(keys[i]));
+            return;
+        }
+        if (reset != I2CBridgeAdapter.RESET_PRESENCE)
+            return;                                     // shorted: try again next time
+        if (keys.length == 0) {
+            addNew(keys, adapter.searchPrefix(0, 0), arrived);
+            count(0, 1);
+            return;
+        }
+
+        long prev = 0;
+        int prevReach = -1;
+        int n = Math.min(passes, keys.length);
+        int done = 0, searched = 0;
+        for (; done < n; done++) {
+            if (cursor >= keys.length) {
+                cursor = 0;
+                prevReach = -1;                         // wrapped: nothing shared with the last pass
+            }
+            long rom = toRom(keys[cursor++]);
+            int reach = adapter.tracePath(rom);
+            if (reach < 0)
+                break;                                  // everyone gone; the next reset says so
+            long forks = adapter.getPathForks();
+            if (reach < 64) {
+                departed.add(rom);
+                if (!adapter.isPathNobody())
+                    forks |= 1L << reach;               // only the other branch answered
+            }
+            // branches below where this path leaves the last one were
+            // looked at by the last pass
+            int from = (prevReach < 0) ? 0 : Math.min(Long.numberOfTrailingZeros(rom ^ prev), prevReach) + 1;
+            if (from < 64) {
+                for (long f = forks & (-1L << from); f != 0; f &= f - 1) {
+                    int bit = Long.numberOfTrailingZeros(f);
+                    long other = rom ^ (1L << bit);
+                    if (!knownUnder(keys, other, bit + 1)) {
+                        addNew(keys, adapter.searchPrefix(other, bit + 1), arrived);
+                        searched++;
+                    }
+                }
+            }
+            prev = rom;
+            prevReach = reach;
+        }
+        synchronized (this) {
+            c.cursor = cursor;
+        }
+        count(done, searched);
+    }
+
+    // Applies the changes to the channel; returns its ROMs in search order.
+    private synchronized long[] update(Channel c, List<Long> arrived, List<Long> departed) {
+        long[] keys = new long[c.keys.length + arrived.size()];
+        int n = 0;
+        for (int i = 0; i < c.keys.length; i++) {
+            if (!departed.contains(toRom(c.keys[i])))
+                keys[n++] = c.keys[i];
+        }
+        for (Long rom : arrived)
+            keys[n++] = toKey(rom);
+        Arrays.sort(keys, 0, n);
+        c.keys = Arrays.copyOf(keys, n);
+        c.cursor = Math.min(c.cursor, c.keys.length);
+        return toRoms(c.keys);
+    }
+
+    private synchronized void count(int passes, int searches) {
+        passCount += passes;
+        searchCount += searches;
+    }
+
+    private void fire(int channel, long rom, boolean arrived) {
+        for (Listener l : listeners) {
+            try {
+                if (arrived)
+                    l.deviceArrived(this, channel, rom);
+                else
+                    l.deviceDeparted(this, channel, rom);
+            } catch (RuntimeException ex) {
+                System.out.println("[HotPlugWatcher][poll] Error encountered: " + ex);
+            }
+        }
+    }
+
+    private int channelOf(Channel c) {
+        return (c.number < 0) ? adapter.getSelectedChannel() : c.number;
+    }
+
+    private static void addNew(long[] keys, long[] found, List<Long> arrived) {
+        for (int i = 0; i < found.length; i++) {
+            if (Arrays.binarySearch(keys, toKey(found[i])) < 0 && !arrived.contains(found[i]))
+                arrived.add(found[i]);
+        }
+    }
+
+    // true if a known ROM starts with the first 'bits' bits of 'rom'
+    static boolean knownUnder(long[] keys, long rom, int bits) {
+        long low = (bits == 64) ? 0 : -1L >>> bits;
+        long lo = ((Long.reverse(rom) & ~low)) ^ Long.MIN_VALUE;
+        int i = Arrays.binarySearch(keys, lo);
+        if (i < 0)
+            i = -i - 1;
+        return i < keys.length && keys[i] <= (lo | low);
+    }
+
+    static long toKey(long rom) {
+        return Long.reverse(rom) ^ Long.MIN_VALUE;
+    }
+
+    static long toRom(long key) {
+        return Long.reverse(key ^ Long.MIN_VALUE);
+    }
+
+    static long[] toKeys(long[] roms) {
+        long[] keys = new long[roms.length];
+        for (int i = 0; i < roms.length; i++)
+            keys[i] = toKey(roms[i]);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static long[] toRoms(long[] keys) {
+        long[] roms = new long[keys.length];
+        for (int i = 0; i < keys.length; i++)
+            roms[i] = toRom(keys[i]);
+        return roms;
+    }
+}
@@ -1,2291 +1,3390 @@
-/*
- * Portions of this code are from Oracle so I include this disclaimer
- * @author Bruce Juntti
- */
-/*---------------------------------------------------------------------------
- * Copyright (C) 1999,2000 Dallas Semiconductor Corporation, All Rights Reserved.
- *
- * Permission is hereby granted, free of charge, to any person obtaining a
- * copy of this software and associated documentation files (the "Software"),
- * to deal in the Software without restriction, including without limitation
- * the rights to use, copy, modify, merge, publish, distribute, sublicense,
- * and/or sell copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following conditions:
- *
- * The above copyright notice and this permission notice shall be included
- * in all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
- * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
- * MERCHANTABILITY,  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
- * IN NO EVENT SHALL DALLAS SEMICONDUCTOR BE LIABLE FOR ANY CLAIM, DAMAGES
- * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
- * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- *
- * Except as contained in this notice, the name of Dallas Semiconductor
- * shall not be used except as stated in the Dallas Semiconductor
- * Branding Policy.
- *---------------------------------------------------------------------------
- */
-
-package com.unixwizardry.onewire.adapter;
-
-import static com.unixwizardry.onewire.adapter.DS2482.OWMatchROMCmd;
-import static com.unixwizardry.onewire.adapter.DS2482.OWSearchCmd;
-import static com.unixwizardry.onewire.adapter.DS2482.OWAlarmSearchCmd;
-import com.unixwizardry.accessProvider.I2C_Device;
-import com.unixwizardry.onewire.OneWireException;
-import com.unixwizardry.onewire.container.OneWireContainer;
-import com.unixwizardry.onewire.utils.Address;
-import static com.unixwizardry.onewire.utils.Convert.byteToHex;
-import static com.unixwizardry.onewire.utils.Convert.bytesToHexLE;
-import static com.unixwizardry.onewire.utils.Convert.toHexString;
-import static com.unixwizardry.onewire.utils.PrintBits.*;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import static java.lang.Thread.sleep;
-import java.util.Iterator;
-
-
-public class I2CBridgeAdapter extends I2C_Device implements DS2482 {    
-        
-    //private final int bufferSize = 1;           // Register size in bytes
-    //private static byte dscrc_table [];         // Empty CRC table to be filled by createCrcTable()   
-    private static final int POLL_LIMIT = 16;   // Number of times totest status 
-    private boolean BRIDGE_BUSY = false;
-    private final int REG_SIZE = 2;
-    int LastDiscrepancy = 0;
-    boolean LastDeviceFlag = false;
-    int LastFamilyDiscrepancy = 0;
-    byte[] device_serial_no;
-    private static final int ONEWIRE_ROM_BYTE_LENGTH = 8;
-    int crc8;
-    /* current device */
-    private byte[] CurrentDevice = new byte[8];
-    private String msg;
-    
-    // 
-    // The DS2482 understands eight function commands, which fall into four categories: device control, I²C
-    // communication, 1-Wire set-up and 1-Wire communication. The feedback path to the host is controlled by a read
-    // pointer, which is set automatically by each function command for the host to efficiently access relevant information.
-    // The host processor sends these commands and applicable parameters as strings of one or two bytes using the I²C
-    // interface. The I²C protocol requires that each byte be acknowledged by the receiving party to confirm acceptance
-    // or not be acknowledged to indicate an error condition (invalid code or parameter) or to end the communication.
-    // Details of the I²C protocol including acknowledge are found in the I²C interface description of this document.
-    
-    //DEVICE REGISTERS
-    // The DS2482 has three registers that the I²C host can read: Configuration, Status, and Read Data. These registers
-    // are addressed by a read pointer. The position of the read pointer, i.e., the register that the host reads in a
-    // subsequent read access, is defined by the instruction that the has DS2482 executed last. The host has read and
-    // write access to the Configuration register to enable certain 1-Wire features.
-    // Configuration Register
-    // The DS2482 supports allows four 1-Wire features that are enabled or selected through the Configuration register.
-    // These features are:
-    //     Active Pullup (APU)
-    //     Presence Pulse Masking (PPM)
-    //     Strong Pullup (SPU)
-    //     1-Wire Speed (1WS)
-    // These features can be selected in any combination. While APU, PPM, and 1WS maintain their state, SPU returns
-    // to its inactive state as soon as the strong pullup has ended.
-    //   
-    // DS2482 Commands
-    //
-    
-    //--------
-    //-------- Static Variables
-    //--------
-
-    private final static byte   DS2482_DEFAULT_ADDRESS   = 0x18;   // DS2482-100 default address
-    private final static int    DEFAULT_I2C_BUS          = 1;    
-    private I2CBridgeAdapter    ds2482_bridge;
-    
-    /** Version string for this adapter class */
-    private static final String CLASS_VERSION   = "0.5";  
-    private static final String ADAPTER_VERSION = "<n/a>";
-    
-    private static final byte DS2482SetReadPointer = (byte) 0xE1;         
-    //private static final byte OWSkipROMCmd = (byte) 0xCC;
-    //private static final byte OWConvertTemp = 0x44;
-    //private static final byte OWReadScratchPadCmd = (byte) 0xBE;                   
-    //private static final byte DS2482StatusRegister = (byte) 0xF0;
-    
-        // The read-only Status register is the general means for the DS2482 to report 
-        // bit-type data from the 1-Wire side, 1-Wire busy status and its own reset status 
-        // to the host processor.
-        // All 1-Wire communication commands and the Device Reset command position 
-        // the read pointer at the Status register for the host processor to read with minimal
-        // protocol overhead. Status information is updated during the execution of certain 
-        // commands only. Details are given in the description of the various status bits below.
-        
-        // bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
-        //========================================
-        //  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
-        //
-    private static final byte STATUS_1WB = 0x01;    // 1-wire busy
-    private static final byte STATUS_PPD = 0x02;    // Presence Pulse Detected
-    private static final byte STATUS_SD  = 0x04;    // Short Detected
-    private static final byte STATUS_LL  = 0x08;    // Logic Level of the selected 1-wire line withour initiating any 1-wire communication
-    private static final byte STATUS_RST = 0x10;    // If '1', the DS2482 has performed a reset
-    private static final byte STATUS_SBR = 0x20;    // Single-Bit Result - logic state of 1-wire line sampled at tMSR of a 
-                                                    // 1-wire Single Bit command or the 1st bit of a 1-wire Triplet command   
-    private static final byte STATUS_TSB = 0x40;    // Triplet Send Bit - reports state of the active 1-wire line sampled at tMSR of the 2nd bit
-                                                    // of a 1-wire Triplet command.  Power-on value = 0
-    private static final byte STATUS_DIRECTION_TAKEN = (byte) 0x80; // Branch Direction taken - search direction chosen by the 3rd bit of the triplet
-    
-   /** Flag to indicate next search will look only for alarming devices */
-   private boolean doAlarmSearch    = false;
-
-   /** Flag to indicate next search will be a 'first' */
-   private boolean resetSearch      = true;
-   
-   /** Flag to indicate next search will not be preceeded by a 1-Wire reset */
-   private boolean skipResetOnSearch    = false;
-    
-   /** Speed modes for 1-Wire Network, regular                    */
-   public static final int SPEED_REGULAR = 0;
-
-   /** Speed modes for 1-Wire Network, flexible for long lines    */
-   /** (Pretty sure not used for DS2482 devices                   */
-   public static final int SPEED_FLEX = 1;
-
-   /** Speed modes for 1-Wire Network, overdrive                  */
-   public static final int SPEED_OVERDRIVE = 2;
-
-   /** Speed modes for 1-Wire Network, hyperdrive                 */
-   /** (Pretty sure not used for DS2482 devices                   */
-   public static final int SPEED_HYPERDRIVE = 3;
-
-   /** 1-Wire Network level, normal (weak 5Volt pullup)                            */
-   public static final char LEVEL_NORMAL = 0;
-
-   /** 1-Wire Network level, (strong 5Volt pullup, used for power delivery) */
-   public static final char LEVEL_POWER_DELIVERY = 1;
-
-   /** 1-Wire Network level, (strong pulldown to 0Volts, reset 1-Wire)      */
-   public static final char LEVEL_BREAK = 2;
-
-   /** 1-Wire Network level, (strong 12Volt pullup, used to program eprom ) */
-   public static final char LEVEL_PROGRAM = 3;
-
-   /** 1-Wire Network reset result = no presence */
-   public static final int RESET_NOPRESENCE = 0x00;
-
-   /** 1-Wire Network reset result = presence    */
-   public static final int RESET_PRESENCE = 0x01;
-
-   /** 1-Wire Network reset result = alarm       */
-   public static final int RESET_ALARM = 0x02;
-
-   /** 1-Wire Network reset result = shorted     */
-   public static final int RESET_SHORT = 0x03;
-
-   /** Condition for power state change, immediate                      */
-   public static final int CONDITION_NOW = 0;
-
-   /** Condition for power state change, after next bit communication   */
-   public static final int CONDITION_AFTER_BIT = 1;
-
-   /** Condition for power state change, after next byte communication  */
-   public static final int CONDITION_AFTER_BYTE = 2;
-
-   /** Duration used in delivering power to the 1-Wire, 1/2 second         */
-   public static final int DELIVERY_HALF_SECOND = 0;
-
-   /** Duration used in delivering power to the 1-Wire, 1 second           */
-   public static final int DELIVERY_ONE_SECOND = 1;
-
-   /** Duration used in delivering power to the 1-Wire, 2 seconds          */
-   public static final int DELIVERY_TWO_SECONDS = 2;
-
-   /** Duration used in delivering power to the 1-Wire, 4 second           */
-   public static final int DELIVERY_FOUR_SECONDS = 3;
-
-   /** Duration used in delivering power to the 1-Wire, smart complete     */
-   public static final int DELIVERY_SMART_DONE = 4;
-
-   /** Duration used in delivering power to the 1-Wire, infinite           */
-   public static final int DELIVERY_INFINITE = 5;
-
-   /** Duration used in delivering power to the 1-Wire, current detect     */
-   public static final int DELIVERY_CURRENT_DETECT = 6;
-
-   /** Duration used in delivering power to the 1-Wire, 480 us             */
-   public static final int DELIVERY_EPROM = 7;
-
-   /**
-    * Byte array of families to include in search
-    */
-   private byte[] include;
-
-   /**
-    * Byte array of families to exclude from search
-    */
-   private byte[] exclude;
-   
-   
-   final int c1WS = 0x00;
-   final int cSPU = 0x00;
-   final int cPPM = 0x00;
-   //int cAPU = CONFIG_APU;  
-      
-   final byte CONFIG_APU = 0x01;    // Set Active-Pullup
-       
-   public byte DS2482Config = (byte) (c1WS | cSPU | cPPM | CONFIG_APU);
-   //--------
-   //-------- Variables
-   //--------
-     
-    /**
-     * Constructor
-     * 
-     * @param address
-     * @param bus
-     */       
-    public I2CBridgeAdapter(byte address, byte bus) {
-        super(address, bus);
-        DS2482WrtCfg(DS2482Config);
-        this.CurrentDevice = null;
-        this.CurrentDevice = new byte[8];
-        this.device_serial_no = new byte[7];
-        setVerbose(true);
-        // Initialize Dallas Semiconductor CRC table
-        //byte[] dscrc_table = new byte[256];
-    }   
-    
-
-   /**
-    *  Retrieve the name of the port adapter as a string.  The 'Adapter'
-    *  is a device that connects to a 'port' that allows one to
-    *  communicate with an iButton or other 1-Wire device.  As example
-    *  of this is 'DS9097E'.
-    *
-    *  @return  <code>String</code> representation of the port adapter.
-    */
-   public String getAdapterName()
-   {
-      return "DS2482Family";
-   }
-
-   /**
-    * Retrieves the version of the adapter.
-    *
-    * @return  <code>String</code> of the adapter version.  It will return
-    * "<na>" if the adapter version is not or cannot be known.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error such as
-    *         no device present.  This could be
-    *         caused by a physical interruption in the 1-Wire Network due to
-    *         shorts or a newly arriving 1-Wire device issuing a 'presence pulse'.
-    * @throws OneWireException on a communication or setup error with the 1-Wire
-    *         adapter
-    */
-   public String getAdapterVersion ()
-      throws OneWireIOException, OneWireException
-   {
-      return ADAPTER_VERSION;
-   }
-   
-   /**
-    * Returns whether adapter can physically support overdrive mode.
-    *
-    * @return  <code>true</code> if this port adapter can do OverDrive,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-   public boolean canOverdrive ()
-      throws OneWireIOException, OneWireException
-   {
-      return false;
-   }
-
-   /**
-    * Returns whether the adapter can physically support hyperdrive mode.
-    *
-    * @return  <code>true</code> if this port adapter can do HyperDrive,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-   public boolean canHyperdrive ()
-      throws OneWireIOException, OneWireException
-   {
-      return false;
-   }
-
-   /**
-    * Returns whether the adapter can physically support flex speed mode.
-    *
-    * @return  <code>true</code> if this port adapter can do flex speed,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-   public boolean canFlex ()
-      throws OneWireIOException, OneWireException
-   {
-      return false;
-   }
-
-   /**
-    * Returns whether adapter can physically support 12 volt power mode.
-    *
-    * @return  <code>true</code> if this port adapter can do Program voltage,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-   public boolean canProgram ()
-      throws OneWireIOException, OneWireException
-   {
-      return false;
-   }
-
-   /**
-    * Gets exclusive use of the 1-Wire to communicate with an iButton or
-    * 1-Wire Device.
-    * This method should be used for critical sections of code where a
-    * sequence of commands must not be interrupted by communication of
-    * threads with other iButtons, and it is permissible to sustain
-    * a delay in the special case that another thread has already been
-    * granted exclusive access and this access has not yet been
-    * relinquished. <p>
-    *
-    * It can be called through the OneWireContainer
-    * class by the end application if they want to ensure exclusive
-    * use.  If it is not called around several methods then it
-    * will be called inside each method.
-    *
-    * @param blocking <code>true</code> if want to block waiting
-    *                 for an excluse access to the adapter
-    * @return <code>true</code> if blocking was false and a
-    *         exclusive session with the adapter was aquired
-    *
-    */
-   public void beginExclusive (boolean blocking) {
-       //System.out.println("beginExclusive");
-       BRIDGE_BUSY = blocking;
-   }
-
-   
-   /**
-    * Relinquishes exclusive control of the 1-Wire Network.
-    * This command dynamically marks the end of a critical section and
-    * should be used when exclusive control is no longer needed.
-    */
-   public void endExclusive () {
-       BRIDGE_BUSY = false;
-       //System.out.println("endExclusive");
-   };
-
-   
-     
-   /**
-    *  Retrieve a description of the port required by this port adapter.
-    *  An example of a 'Port' would 'serial communication port'.
-    *
-    *  @return  <code>String</code> description of the port type required.
-    */
-   public String getPortTypeDescription()
-   {
-      return "I2C 1-wire bridge";
-   }
-
-   /**
-    *  Retrieve a version string for this class.
-    *
-    *  @return  version string
-    */
-   public String getClassVersion()
-   {
-      return CLASS_VERSION;
-   }
-   
-   /**
-    *  Retrieve a list of the platform appropriate port names for this
-    *  adapter.  A port must be selected with the method 'selectPort'
-    *  before any other communication methods can be used.  Using
-    *  a communication method before 'selectPort' will result in
-    *  a <code>OneWireException</code> exception.
-    *
-    *  @return  enumeration of type <code>String</code> that contains the port
-    *  names
-    */
-   public Enumeration getPortNames()
-   {
-      return null;
-   }
-   
-   /**
-    *  Retrieve the name of the selected port as a <code>String</code>.
-    *
-    *  @return  <code>String</code> of selected port
-    *
-    *  @throws OneWireException if valid port not yet selected
-    */
-   public String getPortName() throws OneWireException
-   {
-      return "I2C port";
-   }
-   
-    /**
-     *
-     * @return 
-     */
-    public byte[] getReadableCurrentDeviceAddress() {
-        byte[] right_sized = new byte[8];
-        int i, j;
-        for (i = 7, j = 0; i >= 0; i--, j++ ) {         
-                right_sized[j] = CurrentDevice[i];
-        }
-        return right_sized;
-    }
-    
-    /**
-    *  Detect adapter presence on the selected port.
-    *
-    *  @return  <code>true</code> if the adapter is confirmed to be connected to
-    *  the selected port, <code>false</code> if the adapter is not connected.
-    *
-    *  @throws OneWireIOException
-    *  @throws OneWireException
-    */
-   public boolean adapterDetected() throws OneWireIOException, OneWireException {     
-      return adapterPresent;
-   }
-   
-   public void freePort() {
-       
-   }
-   
-    @Override
-    public void close() {
-        if (i2c_device.isOpen()) {
-            try {
-                i2c_device.close();                    
-            } catch (IOException ex) {
-                System.out.println("[I2CBridgeAdapter][close] Error encountered: " + ex.getMessage());              
-            }
-        }        
-    }
-    
-    /**
-     * Returns the "family" byte of the 1-wire device
-     * @return
-     */
-    public int getOWFamily() {
-        return CurrentDevice[0];
-    }
-    
-    /**
-     *
-     * @return
-     */
-    public byte getDeviceCRC() {
-        return CurrentDevice[7];
-    }
-    
-   /**
-    * Copies the 'current' iButton address being used by the adapter into
-    * the array.  This address is the last iButton or 1-Wire device found
-    * in a search (findNextDevice()...).
-    * This method copies into a user generated array to allow the
-    * reuse of the buffer.  When searching many iButtons on the one
-    * wire network, this will reduce the memory burn rate.
-    *
-    * @param  address An array to be filled with the current iButton address.
-    * @see    com.dalsemi.onewire.utils.Address
-    */
-   public void getAddress(byte[] address)
-   {
-      System.arraycopy(CurrentDevice, 0, address, 0, 8);
-   }
-    
-   /**
-    * Gets the 'current' 1-Wire device address being used by the adapter as a long.
-    * This address is the last iButton or 1-Wire device found
-    * in a search (findNextDevice()...).
-    *
-    * @return <code>long</code> representation of the iButton address
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-   public long getAddressAsLong ()
-   {
-      byte[] address = new byte [8];
-
-      getAddress(address);
-
-      return Address.toLong(address);
-   }
-
-   /**
-    * Gets the 'current' 1-Wire device address being used by the adapter as a String.
-    * This address is the last iButton or 1-Wire device found
-    * in a search (findNextDevice()...).
-    *
-    * @return <code>String</code> representation of the iButton address
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-   public String getAddressAsString ()
-   {
-      byte[] address = new byte [8];
-
-      getAddress(address);
-
-      return Address.toString(address);
-   }
-
-   /**
-    * Verifies that the iButton or 1-Wire device specified is present
-    * on the 1-Wire Network and in an alarm state. This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * @param  address  device address to verify is present and alarming
-    *
-    * @return  <code>true</code> if device is present and alarming, else
-    * <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-   public boolean isAlarming (byte[] address)
-      throws OneWireIOException, OneWireException
-   {
-      OWReset();
-      OWWriteByte((byte) 0xEC);   // Conditional search commands
-
-      return strongAccess(address);
-   }
-
-   /**
-    * Verifies that the iButton or 1-Wire device specified is present
-    * on the 1-Wire Network and in an alarm state. This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * @param  address  device address to verify is present and alarming
-    *
-    * @return  <code>true</code> if device is present and alarming, else
-    * <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-    public boolean isAlarming (long address)
-      throws OneWireIOException, OneWireException
-    {
-        return isAlarming(Address.toByteArray(address));
-    }
-   
-    /**
-    * Verifies that the iButton or 1-Wire device specified is present
-    * on the 1-Wire Network and in an alarm state. This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * @param  address  device address to verify is present and alarming
-    *
-    * @return  <code>true</code> if device is present and alarming, else
-    * <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-    public boolean isAlarming (String address)
-      throws OneWireIOException, OneWireException
-    {
-        return isAlarming(Address.toByteArray(address));
-    }
-   
-    /**
-     * <p>Find the "first" device on the 1-wire network</p>
-     * @author Bruce Juntti bjuntti at unixwizardry.com
-     * @return boolean TRUE if device found, ROM number in CurrentDevice buffer
-     */   
-    public boolean findFirstDevice() {
-        // reset the search state
-        LastDiscrepancy = 0;
-        LastDeviceFlag = false;
-        LastFamilyDiscrepancy = 0;
-        return OWSearch();
-    }
-    
-    /**
-     *<p>Finds the next device on the 1-wire bus.  Does not change the search state</p>
-     * @return TRUE if another device was found, otherwise false 
-     */
-    public boolean findNextDevice() {
-        // Leave the search state alone
-        return OWSearch();
-    }
-	
-    
-    public OneWireContainer getDeviceContainer () {
-      // Mask off the upper bit.
-      byte[] address = new byte [8];
-      getAddress(address);
-
-      return getDeviceContainer(CurrentDevice);
-   }
-    
-    /**
-    * Constructs a <code>OneWireContainer</code> object with a user supplied 
-    * 1-Wire network address.
-    *
-    * @param  address  device address with which to create a new container
-    *
-    * @return  The <code>OneWireContainer</code> object
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-    public OneWireContainer getDeviceContainer (byte[] address) {
-      int              family_code   = address [0] & 0x7F;
-      String           family_string =
-         ((family_code) < 16)
-         ? ("0" + Integer.toHexString(family_code)).toUpperCase()
-         : (Integer.toHexString(family_code)).toUpperCase();
-      Class            ibutton_class = null;
-      OneWireContainer new_ibutton;
-      //System.out.println("[getDeviceContainer] getDeviceContainer(" + bytesToHex(address));
-
-      // If we don't get one, do the normal lookup method.
-      if (ibutton_class == null)
-      {
-         // try to load the ibutton container class
-         try
-         {
-            ibutton_class =
-               Class.forName("com.unixwizardry.onewire.container.OneWireContainer"
-                             + family_string);
-         }
-         catch (Exception e)
-         {
-            ibutton_class = null;
-         }
-
-         // if did not get specific container try the general one
-         if (ibutton_class == null)
-         {
-
-            // try to load the ibutton container class
-            try
-            {
-               ibutton_class = Class.forName(
-                  "com.unixwizardry.onewire.container.OneWireContainer");
-            }
-            catch (Exception e)
-            {
-               System.out.println("EXCEPTION: Unable to load OneWireContainer"
-                                  + e);
-               return null;
-            }
-         }
-      }
-
-      // try to load the ibutton container class
-      try
-      {
-         // create the iButton container with a reference to this adapter
-         new_ibutton = ( OneWireContainer ) ibutton_class.newInstance();
-
-         new_ibutton.setupContainer(this, address);
-      }
-      catch (Exception e)
-      {
-         System.out.println(
-            "EXCEPTION: Unable to instantiate OneWireContainer "
-            + ibutton_class + ": " + e);
-         e.printStackTrace();
-
-         return null;
-      }
-
-      // return this new container
-      return new_ibutton;
-   }
-
-	
-   /**
-    * Returns a <code>OneWireContainer</code> object corresponding to the first iButton
-    * or 1-Wire device found on the 1-Wire Network. If no devices are found,
-    * then a <code>null</code> reference will be returned. In most cases, all further
-    * communication with the device is done through the <code>OneWireContainer</code>.
-    *
-    * @return  The first <code>OneWireContainer</code> object found on the
-    * 1-Wire Network, or <code>null</code> if no devices found.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public OneWireContainer getFirstDeviceContainer () throws OneWireIOException, OneWireException
-   {
-        if (findFirstDevice() == true) {
-            return getDeviceContainer();
-        }
-        else
-            return null;
-   }
-   
-   
-   /**
-    * Returns a <code>OneWireContainer</code> object corresponding to the next iButton
-    * or 1-Wire device found. The previous 1-Wire device found is used
-    * as a starting point in the search.  If no devices are found,
-    * then a <code>null</code> reference will be returned. In most cases, all further
-    * communication with the device is done through the <code>OneWireContainer</code>.
-    *
-    * @return  The next <code>OneWireContainer</code> object found on the
-    * 1-Wire Network, or <code>null</code> if no iButtons found.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public OneWireContainer getNextDeviceContainer () throws OneWireIOException, OneWireException
-   {
-      if (findNextDevice() == true)
-      {
-         return getDeviceContainer();
-      }
-      else
-         return null;
-   }
-   
-   
-   /**
-    * Returns an enumeration of <code>OneWireContainer</code> objects corresponding
-    * to all of the iButtons or 1-Wire devices found on the 1-Wire Network.
-    * If no devices are found, then an empty enumeration will be returned.
-    * In most cases, all further communication with the device is done
-    * through the OneWireContainer.
-    *
-    * @return  <code>Enumeration</code> of <code>OneWireContainer</code> objects
-    * found on the 1-Wire Network.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public Iterator getAllDeviceContainers() throws OneWireIOException, OneWireException
-   {      
-        ArrayList ibutton_list = new ArrayList();
-        OneWireContainer ibutton;
-
-        ibutton = getFirstDeviceContainer();
-        if (ibutton != null) {
-            msg = "Adding device container to list: " + ibutton;
-            printMessage(msg, "getAllDeviceContainers()", INFO);
-            ibutton_list.add(ibutton);
-
-         // loop to get all of the ibuttons
-         do {
-            ibutton = getNextDeviceContainer();           
-            if (ibutton != null) {
-                msg = "Adding device container to list: " + ibutton;
-                printMessage(msg, "getAllDeviceContainers()", INFO);               
-                ibutton_list.add(ibutton);
-            }
-         }
-         while (ibutton != null);
-      }
-      Iterator it = ibutton_list.iterator();
-      return it;
-   }
-
-	
-            
-    /*
-     * OWFirst
-     * <p>
-     * Find the "first" devices on the 1-wire network
-     * @version    0.00, 6 June 2015
-     * @author Bruce Juntti bjuntti at unixwizardry.com
-     * @return boolean TRUE if device found, ROM number in CurrentDeviceESS buffer;
-          FALSE if no device present
-     */
-
-    public boolean OWFirst() {
-        // reset the search state
-        LastDiscrepancy = 0;
-        LastDeviceFlag = false;
-        LastFamilyDiscrepancy = 0;
-        return OWSearch();
-    }
-    
-  
-    public boolean OWNext() {
-        // Leave the search state alone
-        return OWSearch();
-    }
-    
-    /**
-     * Resets the DS2482 1-wire bridge which does a global reset of the device 
-     * state-machine logic and terminates any ongoing 1-Wire communication.
-     * The command code for the device reset is 0xF0.
-     * <p>
-     * @version    0.00, 6 June 2015
-     * @author Bruce Juntti <bjuntti at unixwizardry.com>
-     * @return Status byte
-     * <p>
-     *  bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
-     *  ========================================
-     *  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
-     * 
-     */
-    public boolean DS2482Reset() {
-        int poll_count = 0;       
-        byte status = 0;
-        byte cmd = DS2482ResetCmd;
-        
-        //try {         
-            I2CwriteByte(cmd);
-        //} catch (OneWireException ex) {
-        //    Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-        //} catch (IOException ex) {
-        //    Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-        //} catch (Error ex) {
-        //    Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-        //}
-            do {            
-                status = I2CreadByte();
-                msg = " status = " + byteToHex(status);
-                printMessage(msg, "DS2482Reset()", INFO);
-                poll_count++;
-            } while (0x01 == (status & STATUS_1WB) && poll_count < POLL_LIMIT);
-        
-        
-        if ((status & STATUS_SD) == STATUS_SD) {
-            System.out.println("[DS2482Reset] Short detected");
-            return false;
-        }
-        //System.out.println("[DS2482Reset] Status: " + PrintBits(0, status));
-        return (((status & STATUS_RST) == STATUS_RST) ? true: false); 
-    }   
-        
-
-    /**
-     * Does a RESET on the DS2482 device
-     * @return TRUE if it went OK, otherwise FALSE
-     */
-    @Override
-    public boolean DS2482Detect() {       
-        if ( !DS2482Reset() ) {
-            msg = "Detect returned false";
-            printMessage(msg, "DS2482Detect()", ERROR);
-            return false;
-        }
-        //
-        // Putting config register back, setting APU
-        //
-        byte cfg = DS2482WrtCfg(DS2482Config);
-        msg = "cfg is now = " + PrintBits(1, cfg);
-        printMessage(msg, "DS2482Detect()", INFO );      
-        return true;  
-    }   
-
-    /**
-     * reset()
-     * (AKA OWreset)
-     * Does a reset of the 1-wire bus via the DS2482 I2C 1-wire bridge
-     * @return status byte from DS2482
-     * <p>
-     *  bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
-     *  ========================================
-     *  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
-     * 
-     */
-    public int OWReset() {     
-        byte reset_cmd = DS2482_1WireResetCmd;
-        int poll_count = 0;
-        byte status_reg = 0;
-        byte retval;
-        //I2CwriteBlock(tmp);
-        I2CwriteByte(reset_cmd);
-        do {
-        //    try {
-        //        Thread.sleep(200);
-        //    } catch (InterruptedException ex) {
-        //       Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-        //    }
-        //    
-            status_reg = I2CreadByte();
-            poll_count++;
-        } while (0x01 == (status_reg & STATUS_1WB) && poll_count < POLL_LIMIT);
-        msg = "status register: " + PrintBits(0, status_reg);
-        printMessage(msg, "OWReset()", INFO);
-        if((status_reg & STATUS_PPD) == STATUS_PPD)  {
-            msg = "returning RESET_PRESENCE";
-            printMessage(msg, "OWReset()", INFO);
-            return RESET_PRESENCE;
-        } else if ((status_reg & STATUS_SD) == STATUS_SD ) {
-            msg = "returning RESET_SHORT";
-            printMessage(msg, "OWReset()", INFO);
-            return RESET_SHORT;
-        } else {
-            msg = "returning RESET_NOPRESENCE";
-            printMessage(msg, "OWReset()", INFO);
-            return RESET_NOPRESENCE;
-        }
-    }
-    
-    /**
-     * <p>
-     * After a device reset (power-up cycle or initiated by the Device Reset command) 
-     * the Configuration register reads 00h. When writing to the Configuration register, 
-     * the new data is accepted only if the upper nibble (bits 7 to 4) is the one's complement 
-     * of the lower nibble (bits 3 to 0). When read, the upper nibble is always 0h.
-     * <pre>
-     * CONFIGURATON REGISTER
-     * bit t7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
-     * ========================================
-     * ___  ___  ___  ___
-     * 1WS  SPU  PPM  APU  1WS  SPU  PPM  APU
-     * </pre>
-     * @param config Lower nibble only used - the upper 1's complement is generated in this method
-     * @return
-     */
-    @Override
-    public byte DS2482WrtCfg(byte config) {
-        int bitmask = 0x00FF;
-        byte cfgreg;
-        byte cfg = (byte) ((config | ~config << 4) & bitmask) ;
-        byte result;
-        byte[] temp = {DS2482_WriteConfigRegCmd, cfg};    
-        msg = "Writing config " + byteToHex(cfg);
-        printMessage(msg, "DS2482WrtCfg()", INFO);
-        
-        I2CwriteBlock(temp);          
-        
-        cfgreg = I2CreadByte();
-        msg = "returned: " + PrintBits(1, cfgreg);
-        printMessage(msg, "DS2482WrtCfg()", INFO);   
-        return cfgreg;
-    }
-    
-
-   /**
-    * <p>
-    * Send 1 bit of communication to the 1-Wire Net and return the
-    * result 1 bit read from the 1-Wire Net. The parameter 'sendbit'
-    * least significant bit is used and the least significant bit
-    * of the result is the return bit.
-    * 
-    * @param sendbit the least significant bit is the bit to send
-    * @return True or False
-    */
-    public boolean OWTouchBit(byte sendbit) {
-        byte status_reg = 0;
-        int poll_count = 0;
-        byte[] tempp = {DS2482_1WireSingleBitCmd, sendbit};                 
-        I2CwriteBlock(tempp);                  
-        do {
-            status_reg = I2CreadByte();
-        } while (0x01 == (status_reg & STATUS_1WB) && poll_count++ < POLL_LIMIT);
-        if (poll_count == POLL_LIMIT) {            
-            DS2482Reset();
-            System.out.println("[OWTouchBit] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, status_reg));
-            return false;
-        }
-        if ((status_reg & STATUS_SBR) == STATUS_SBR) {
-            return true;
-        } else {
-            return false;
-        }
-    }
-       
-
-    /**
-     * Send 8 bits of communication to the 1-Wire Net and return the
-     * result 8 bits read from the 1-Wire Net. The parameter 'sendbyte'
-     * least significant 8 bits are used and the least significant 8 bits
-     * of the result are the return byte.
-     * <p>
-     * @param sendbyte - 8 bits to send (least significant byte)
-     * @return - 8 bits to send (least significant byte)
-     */
-        public byte OWTouchByte(byte sendbyte) {
-        if ( sendbyte == 0xFF) {
-            return OWReadByte();
-        } else {
-            OWWriteByte(sendbyte);
-            return sendbyte;
-        }
-    }
- 
-    
-   /**
-    * OWSearch does a 1-wire search using the DS2482 1-wire Triplet command.
-    * 
-    * This code was taken from the Dallas/Maxim Application note AN3684 "How
-    * to Use the DS2482 1-wire Master" and modified for Java ME.  Also see the 
-    * PDF for the DS2482-100 and DS2482-800 devices.
-    * 
-    * resetSearch - Reset the search (1), or not (0)
-    * lastdevice - If the last device has been found (1), or not (0)
-    * deviceAddress - the returned serial number
-    * This function continues from the previous search state. The search 
-    * state can be reset by using the 'OWFirst' function.
-    * 
-    * When 'doAlarmSearch' is TRUE (1) the find alarm command
-    * 0xEC is sent instead of the normal search command 0xF0.
-    * Using the find alarm command 0xEC will limit the search to only
-    * 1-Wire devices that are in an 'alarm' state.
-    * 
-    * @version    0.00, 6 June 2015
-    * @author Bruce Juntti <bjuntti at unixwizardry.com>
-    * @return 
-    * <p>
-    * TRUE (1) if 1-wire device was found and its Serial Number
-    * placed in the global ROM
-    * <p>
-    * FALSE (0): when no new device was found.  Either the are no devices
-    * on the 1-Wire Net.
-    * 
-    */   
-    public boolean OWSearch() {       
-        int id_bit_number = 1;
-        int last_zero = 0, rom_byte_number = 0;
-        boolean search_result = false;
-        int presence;
-        byte id_bit, cmp_id_bit;
-        byte rom_byte_mask = 0x01;
-        byte search_direction;
-        byte status;
-        
-        if (LastDeviceFlag) {
-            //System.out.println("1-wire search completed");
-            LastDiscrepancy = 0;
-        }
-        
-        // if the last call was not the last one
-        if (!LastDeviceFlag) {
-            presence = OWReset();        
-            if ( presence != RESET_PRESENCE ) {
-                // Then reset the search
-                LastDiscrepancy = 0;
-                LastDeviceFlag = false;
-                LastFamilyDiscrepancy = 0;
-                return false;
-            } 
-            
-            if (!doAlarmSearch)
-                OWWriteByte( (byte)OWSearchCmd);   
-            else
-                OWWriteByte( (byte)OWAlarmSearchCmd);
-            
-            // Loop to do the search
-            do {
-                // if this discrepancy is before the Last Discrepancy
-                // on a previous next then pick the same as last time                
-                if (id_bit_number < LastDiscrepancy) {
-                    if ( (CurrentDevice[rom_byte_number] & rom_byte_mask) > 0)                         
-                        search_direction = 1;
-                    else 
-                        search_direction = 0;                                                                                                    
-                } else {
-                    // if equal to last pick 1, if not then pick 0
-                    if (id_bit_number == LastDiscrepancy) 
-                        search_direction = 1;
-                     else 
-                        search_direction = 0;                    
-                }
-                
-                // Perform a 1-wire triplet operation on the DS2482 which will perform
-                // 2 read bits and 1 write bit               
-                status = DS2482OWTriplet(search_direction);                
-                                
-                id_bit = (byte) (status & STATUS_SBR);
-                cmp_id_bit = (byte) (status & STATUS_TSB);
-                int IDbit = 0, cmpIDbit = 0;
-                
-                if (id_bit > 0)
-                    IDbit = 1;
-                if (cmp_id_bit > 0)
-                    cmpIDbit = 1;
-                
-                if (IDbit == 1) {
-                    if (cmpIDbit == 1) {
-                        break;
-                    }
-                }
-                
-                search_direction = (byte) (((status & STATUS_DIRECTION_TAKEN) == STATUS_DIRECTION_TAKEN) ? 1 : 0);
-                               
-                if (id_bit == 0x20 && cmp_id_bit == 0x40) {         // If both id_bit and its complement are 1, 
-                    LastDiscrepancy = LastFamilyDiscrepancy = 0;    // then no 1-wire devices were found
-                    LastDeviceFlag = false;
-                    break;
-                } else {
-                    if (id_bit == 0 && cmp_id_bit == 0 && (search_direction == 0)) {
-                        last_zero = id_bit_number;
-                        // Check for last discrepancy in family
-                        if (last_zero < 9)
-                            LastFamilyDiscrepancy = last_zero;                        
-                    }
-                    // set or clear the bit in the ROM byte rom_byte_number
-                    // with mask rom_byte_mask
-                    if (search_direction == 1) {
-                        CurrentDevice[rom_byte_number] |= rom_byte_mask; 
-                    } else {
-                        CurrentDevice[rom_byte_number] &= ~rom_byte_mask;
-                    }
-                
-                    
-                    // increment the byte counter id_bit_number
-                    // and shift the mask rom_byte_mask
-                    id_bit_number++;
-                    rom_byte_mask <<= 1;
-                    
-                    // if the mask is 0 then go to new SerialNum byte rom_byte_number
-                    // and reset mask
-                    if (rom_byte_mask == 0) {                       
-                        rom_byte_number++;
-                        rom_byte_mask = 1;                        
-                    }                     
-                }
-                if (rom_byte_number < 7)
-                    device_serial_no[rom_byte_number] = CurrentDevice[rom_byte_number];
-                
-            } while (rom_byte_number < 8);  // Loop through all ROM bytes 0-7
-            
-            // if the search was successful then
-            if (!((id_bit_number < 65) || (crc8 != 0))) {
-                // search successful so set LastDiscrepancy, LastDeviceFlag, search_result
-                //System.out.println("Found device at " + bytesToHex(CurrentDevice));
-                // Getting the CRC8 value of the device serial needs work - it does the CRC of the FIRST device, then bails
-                //crc8 = computeCRC8(device_serial_no);  // Calculate the CRC               
-                //System.out.println("Calculated CRC of device serial " + bytesToHex(device_serial_no) + " is " + Integer.toHexString(crc8));
-                LastDiscrepancy = last_zero;                
-                // check for last device
-                if (LastDiscrepancy == 0) {
-                   LastDeviceFlag = true; 
-                }
-                search_result = true;
-            }
-        }
-                
-        // if no device found then reset counters so next
-        // 'search' will be like a first
-        if (!search_result || (CurrentDevice[0] == 0)) {
-            LastDiscrepancy = 0;
-            LastDeviceFlag = false;
-            LastFamilyDiscrepancy = 0;
-            search_result = false;
-        }
-        return search_result;
-    }
-    
-    //--------------------------------------------------------------------------
-    // Use the DS2482 help command '1-Wire triplet' to perform one bit of a
-    // 1-Wire search.
-    // This command does two read bits and one write bit. The write bit
-    // is either the default direction (all device have same bit) or in case of
-    // a discrepancy, the 'search_direction' parameter is used.
-    //
-    // Returns – The DS2482 status byte result from the triplet command
-    //
-    @Override
-    public byte DS2482OWTriplet(byte search_direction) {
-        byte direction;
-        int poll_count = 0;
-        byte received = 0;
-        direction = search_direction > 0 ? (byte) 0xFF : 0x0; 
-        @SuppressWarnings("LocalVariableHidesMemberVariable")
-        byte[] temp = {DS2482_1WireTripletCmd, direction};
-        I2CwriteBlock(temp);
-            
-        do {
-            received = I2CreadByte();
-        } while (0x01 == STATUS_1WB && poll_count++ < POLL_LIMIT);
-
-        if (poll_count == POLL_LIMIT) {
-            DS2482Reset();
-            System.out.println("[DS2482_OWtriplet] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, received));
-            return 0x0;
-        }
-        return received;
-    }
-      
-        
-    //--------------------------------------------------------------------------
-    // Select the 1-Wire channel on a DS2482-800.
-    //
-    // Returns: TRUE if channel selected
-    //          FALSE device not detected or failure to perform select
-    //
-    @Override
-    public boolean DS2482ChannelSelect(int channel) {
-        byte ch, ch_read, check;      
-       
-        switch (channel) {
-            default:
-            case 0:
-                ch = (byte) 0xF0;
-                ch_read = (byte) 0xB8;
-                break;
-            case 1:
-                ch = (byte) 0xE1;
-                ch_read = (byte) 0xB1;
-                break;
-            case 2:
-                ch = (byte) 0xD2;
-                ch_read = (byte) 0xAA;
-                break;
-            case 3:
-                ch = (byte) 0xC3;
-                ch_read = (byte) 0xA3;
-                break;
-            case 4:
-                ch = (byte) 0xB4;
-                ch_read = (byte) 0x9C;
-                break;
-            case 5:
-                ch = (byte) 0xA5;
-                ch_read = (byte) 0x95;
-                break;
-            case 6:
-                ch = (byte) 0x96;
-                ch_read = (byte) 0x8E;
-                break;
-            case 7:
-                ch = (byte) 0x87;
-                ch_read = (byte) 0x87;
-                break;
-        }
-
-        byte[] buffer = {DS2482_SEL_CHANNEL, (byte) ch}; 
-        msg = "sending = " + toHexString(buffer);
-        printMessage(msg, "DS2482ChannelSelect()", INFO);      
-        I2CwriteBlock(buffer);                 
-        check = I2CreadByte();
-        msg = "check = " + byteToHex(check);
-        printMessage(msg, "DS2482ChannelSelect()", INFO);
-        // check for failure due to incorrect read back of channel
-         
-        if (check == ch_read)
-            return true;
-        else
-            return false;
-    }
-         
-    /**
-     * OWWriteBit - Writes a single bit to the device
-     * @param sendbyte
-     * @return True for success or False for failure
-     */
-    public boolean OWWriteBit(byte sendbyte) {
-        byte byteToSend = (byte) (sendbyte & 0xFF);
-        byte received;
-        int poll_count = 0;
-        byte[] tempp = {DS2482_1WireWriteByteCmd};
-
-        I2CwriteBlock(tempp);
-            
-        do {
-            received = I2CreadByte();
-        } while (0x01 == (received & STATUS_1WB) && poll_count++ < POLL_LIMIT);
-        if (poll_count == POLL_LIMIT) {
-            DS2482Reset();
-            System.out.println("[OWWriteByte] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, received));
-            return false;
-        }
-        return true;
-    }        
-
-    /**
-     * Send 8 bits of communication to the 1-Wire Net 
-     * <p>
-     * The parameter 'sendbyte' least significant 8 bits are used.
-     * @param sendbyte - 8 bits to send (least significant byte)
-     */
-    public void OWWriteByte(byte sendbyte) {
-        byte byteToSend = (byte) (sendbyte & 0xFF);
-        byte received_status;
-        int poll_count = 0;
-        byte[] tempp = {DS2482_1WireWriteByteCmd, byteToSend};                   
-        I2CwriteBlock(tempp);                   
-        do {
-            received_status = I2CreadByte();
-        } while (0x01 == (received_status & STATUS_1WB) && poll_count++ < POLL_LIMIT);
-        if (poll_count == POLL_LIMIT) {
-            DS2482Reset();
-            System.out.println("[OWWriteByte] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, received_status));
-        }
-    }
-    
-   /**
-    *  Sends a block of data and returns the data received in the same array.
-    *  This method is used when sending a block that contains reads and writes.
-    *  The 'read' portions of the data block need to be pre-loaded with 0xFF's.
-    *  It starts sending data from the index at offset 'off' for length 'len'.
-    *
-    *  @param  dataBlock  array of data to transfer to and from the 1-Wire Network.
-    *  @param  off        offset into the array of data to start
-    *  @param  len        length of data to send / receive starting at 'off'
-    *
-    *  For family 10 device first incoming block looks like:
-    * 
-    *  read scratchpad cmd
-    *     /-- 9 bytes of all 1's --\
-    *  BE FF FF FF FF FF FF FF FF FF
-    *  BE 1F 00 1C 17 FF FF 06 4D 8D  // Real output
-    *  returns:
-    *  BE 01 02 03 04 05 06 07 08 09
-    *    |------ CRC8 ------------|
-    *
-    *  For family 26 device incoming first block looks like:
-    * 
-    *  Recall memory cmd
-    *  /
-    * B8 01<--- page number
-    *
-    * Second incoming block looks like
-    * read scratchpad cmd
-    *    /--- 10 bytes of all 1's ---\
-    * BE FF FF FF FF FF FF FF FF FF FF
-    * returns:
-    * BE FF 01 02 03 04 05 06 07 08 09
-    *       |------ CRC8 ------------|
-    */
-                                     
-    public void dataBlock(byte dataBlock[], int off, int len) {
-        int t_off, t_len;
-        t_off = off;
-        t_len = len;               
-        byte cmd1 = dataBlock[0];   
-        byte cmd2 = dataBlock[1];       
-        msg = "[I2CBridgeAdapter][dataBlock] dataBlock = " + bytesToHexLE(dataBlock) + " ,off = " 
-                + off + " ,len = " + len;
-        printMessage(msg, "dataBlock()", INFO);
-        
-        for (int i = 0; i < t_len; i++) {           
-            if (( dataBlock[i] & 0xFF) != 0xFF ) {                 
-                t_off++;
-                OWWriteByte(dataBlock[i]);
-            }
-        }
-                           
-        byte recv[] = new byte[t_len];    // allocate space for read from device 
-        int j = t_off;
-        for ( int i = 0; j < recv.length; i++, j++ ) {           
-            recv[i] = OWReadByte();           
-        }          
-        System.arraycopy(recv, 0, dataBlock, t_off, t_len - t_off);                          
-    }
-          
-    
-    //--------------------------------------------------------------------------
-    // Send 8 bits of read communication to the 1-Wire Net and return the
-    // result 8 bits read from the 1-Wire Net.
-    //
-    // Returns:  8 bits read from 1-Wire Net
-    //
-    // NOTE: To read the data byte received from the 1-Wire line, issue the Set
-    //       Read Pointer command and select the Read Data register. Then access
-    //       the DS2482 in read mode.
-    //
-
-    /**
-     *
-     * @return
-     */
-    public byte OWReadByte() {
-        byte received;
-        int poll_count = 0;
-        byte temp = DS2482_1WireReadByteCmd;
-        I2CwriteByte(temp);
-        
-        // loop checking 1WB bit for completion of 1-Wire operation
-        // abort if poll limit reached       
-        do {
-            received = I2CreadByte();
-        } while (0x01 == (received & STATUS_1WB) && poll_count++ < POLL_LIMIT);
-        if (poll_count == POLL_LIMIT) {
-            DS2482Reset();
-            System.out.println("[OWReadByte] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, received));
-        }    
-        byte [] toSend = {DS2482SetReadPointer, DS2482ReadDataRegister };       
-        I2CwriteBlock(toSend);
-            
-        do {
-            received = I2CreadByte();
-        } while (0x01 == (received & STATUS_1WB) && poll_count++ < POLL_LIMIT);
-        if (poll_count == POLL_LIMIT) {
-            DS2482Reset();
-            System.out.println("[OWReadByte] Poll count exceeded; DS2482 was reset: result was " + PrintBits(0, received));
-        }    
-        return received;
-    }
-   
-    
-    /**
-     *
-     * @return
-     */
-    public byte[] getCurrentDevice() {
-        return CurrentDevice;
-    }
-    
-   /**
-    * Returns the current data transfer speed on the 1-Wire Network. <p>
-    *
-    * @return <code>int</code> representing the current 1-Wire speed
-    * <ul>
-    * <li>     0 (SPEED_REGULAR) set to normal communication speed
-    * <li>     1 (SPEED_FLEX) set to flexible communication speed used
-    *            for long lines
-    * <li>     2 (SPEED_OVERDRIVE) set to normal communication speed to
-    *            overdrive
-    * <li>     3 (SPEED_HYPERDRIVE) set to normal communication speed to
-    *            hyperdrive
-    * <li>     3 future speeds
-    * </ul>
-    */
-   public int getSpeed ()
-   {
-      return SPEED_REGULAR;
-   }  
-   
-     /**
-    * Sets the new speed of data
-    * transfer on the 1-Wire Network.
-    * 
-    * DS2482 1-Wire Speed (1WS) Bit:
-    * ==============================
-    * The 1WS bit determines the timing of any 1-Wire communication generated by the 
-    * DS2482. All 1-Wire slave devices support standard speed (1WS = 0), where the transfer 
-    * of a single bit (tSLOT in Figure 4) is completed within 65μs. Many 1-Wire device 
-    * can also communicate at a higher data rate, called Overdrive speed. To change from
-    * standard to Overdrive speed, a 1-Wire device needs to receive an Overdrive Skip ROM 
-    * or Overdrive Match ROM command, as explained in the device data sheets. The change 
-    * in speed occurs immediately after the 1-Wire device has received the speed-changing 
-    * command code. The DS2482 must take part in this speed change to stay synchronized. 
-    * This is accomplished by writing to the Configuration register with the 1WS bit being 1 
-    * immediately after the 1-Wire Byte command that changes the speed of a 1-Wire device. 
-    * Writing to the Configuration register with the 1WS bit being 0 followed by a 1-Wire 
-    * Reset command changes the DS2482 and any 1-Wire devices on the active 1-Wire line back
-    * to standard speed.
-    * 
-    * @param speed
-    * <ul>
-    * <li>     0 (SPEED_REGULAR) set to normal communcation speed
-    * <li>     1 (SPEED_FLEX) set to flexible communcation speed used
-    *            for long lines
-    * <li>     2 (SPEED_OVERDRIVE) set to normal communcation speed to
-    *            overdrive
-    * <li>     3 (SPEED_HYPERDRIVE) set to normal communcation speed to
-    *            hyperdrive
-    * <li>     greater than 3 future speeds
-    * </ul>
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *         or the adapter does not support this operation
-    */
-   public void setSpeed (int speed) throws OneWireIOException, OneWireException
-   {
-      if (speed != SPEED_REGULAR)
-         throw new OneWireException(
-            "Non-regular 1-Wire speed not supported by this adapter type");
-   }
-   
-   /**
-    * Verifies that the iButton or 1-Wire device specified is present on
-    * the 1-Wire Network. This does not affect the 'current' device
-    * state information used in searches (findNextDevice...).
-    *
-    * @param  address  device address to verify is present
-    *
-    * @return  <code>true</code> if device is present, else
-    *         <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public boolean isPresent (byte[] address) throws OneWireIOException, OneWireException
-   {
-      OWReset();
-      I2CwriteByte((byte) 0xF0);   // Search ROM command
-      return true;
-   }
-     
-     
-   /**
-    * Verifies that the iButton or 1-Wire device specified is present on
-    * the 1-Wire Network. This does not affect the 'current' device
-    * state information used in searches (findNextDevice...).
-    *
-    * @param  address  device address to verify is present
-    *
-    * @return  <code>true</code> if device is present, else
-    *         <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-   public boolean isPresent (long address)
-      throws OneWireIOException, OneWireException
-   {
-      return isPresent(Address.toByteArray(address));
-   }
-
-   /**
-    * Verifies that the iButton or 1-Wire device specified is present on
-    * the 1-Wire Network. This does not affect the 'current' device
-    * state information used in searches (findNextDevice...).
-    *
-    * @param  address  device address to verify is present
-    *
-    * @return  <code>true</code> if device is present, else
-    *         <code>false</code>.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see   com.dalsemi.onewire.utils.Address
-    */
-   public boolean isPresent (String address)
-      throws OneWireIOException, OneWireException
-   {
-      return isPresent(Address.toByteArray(address));
-   }
-   
-   
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is referred to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @return  <code>true</code> if device address was sent, <code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see com.unixwizardry.onewire.utils.Address
-    */
-    public boolean OWSelect(byte[] address) throws OneWireIOException, OneWireException {
-        // send 1-Wire Reset
-        int rslt = OWReset();
-        if (rslt != RESET_PRESENCE) {
-            System.out.println("No presence pulse, rslt = " + rslt);
-            return false;
-        }
-
-        // broadcast the MATCH ROM command and address
-        byte[] send_packet = new byte[9];
-     
-        send_packet[0] = OWMatchROMCmd;   // MATCH ROM command
-        System.arraycopy(address, 0, send_packet, 1, 8);                 
-        /*
-       try {
-           sleep(500);
-       } catch (InterruptedException ex) {
-           Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-       }
-        */
-        
-        for(int i = 0; i < 9; i++) {
-            OWWriteByte(send_packet[i]);
-        }
-                      
-        return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
-    }
-    
-       /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is referred to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param address    address of iButton or 1-Wire device to select
-    * @param channel
-    *
-    * @return  <code>true</code> if device address was sent, <code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see com.unixwizardry.onewire.utils.Address
-    */
-    public boolean OWSelect(byte[] address, int channel) throws OneWireIOException, OneWireException {
-        // send 1-Wire Reset
-        //System.out.println("[I2CBridgeAdapter][select] address is " + bytesToHex(address) + " Doing reset()...");
-        int rslt = OWReset();   // Do a reset and after reset to the correct channel on the DS2482-800
-        DS2482ChannelSelect(channel);
-        if (rslt != RESET_PRESENCE) {
-            System.out.println("No presence pulse, rslt = " + rslt);
-            return false;
-        }
-
-        // broadcast the MATCH ROM command and address
-        byte[] send_packet = new byte[9];
-        
-        send_packet[0] = OWMatchROMCmd;   // MATCH ROM command
-        System.arraycopy(address, 0, send_packet, 1, 8);
-        //System.out.println("[I2CBridgeAdapter][select] sending OWMatchROMCmd + " + bytesToHex(address));
-        
-       try {
-           sleep(500);
-       } catch (InterruptedException ex) {
-           Logger.getLogger(I2CBridgeAdapter.class.getName()).log(Level.SEVERE, null, ex);
-       }
-        
-        for(int i = 0; i < 9; i++) {
-            OWWriteByte(send_packet[i]);
-        }
-                      
-        return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
-    }
-
-    /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @return  <code>true</code> if device address was sent,<code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public boolean OWSelect (long address)
-      throws OneWireIOException, OneWireException
-   {
-      return OWSelect(Address.toByteArray(address));
-   }
-
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @return  <code>true</code> if device address was sent,<code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public boolean OWSelect (String address)
-      throws OneWireIOException, OneWireException
-   {
-      return OWSelect(Address.toByteArray(address));
-   }
-
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @return  <code>true</code> if device address was sent, <code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public boolean OLDselect (byte[] address)
-      throws OneWireIOException, OneWireException
-   {
-      // send 1-Wire Reset
-      int rslt = OWReset();
-
-      // broadcast the MATCH ROM command and address
-      byte[] send_packet = new byte [9];
-
-      send_packet [0] = 0x55;   // MATCH ROM command
-
-      System.arraycopy(address, 0, send_packet, 1, 8);
-      dataBlock(send_packet, 0, 9);
-
-      // success if any device present on 1-Wire Network
-      return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
-   }
-
-   /**
-    * Writes the bit state in a byte array.
-    *
-    * @param state new state of the bit 1, 0
-    * @param index bit index into byte array
-    * @param buf byte array to manipulate
-    */
-    private void arrayWriteBit (int state, int index, byte[] buf) {
-      int nbyt = (index >>> 3);
-      int nbit = index - (nbyt << 3);
-
-      if (state == 1)
-         buf [nbyt] |= (0x01 << nbit);
-      else
-         buf [nbyt] &= ~(0x01 << nbit);
-    }
-   
-   /**
-    * Reads a bit state in a byte array.
-    *
-    * @param index bit index into byte array
-    * @param buf byte array to read from
-    *
-    * @return bit state 1 or 0
-    */
-    private int arrayReadBit (int index, byte[] buf) {
-      int nbyt = (index >>> 3);
-      int nbit = index - (nbyt << 3);
-
-      return ((buf [nbyt] >>> nbit) & 0x01);
-    }
-
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * In addition, this method asserts that the select did find some
-    * devices on the 1-Wire net.  If no devices were found, a OneWireException
-    * is thrown.
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @throws OneWireIOException on a 1-Wire communication error, or if their
-    *         are no devices on the 1-Wire net.
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public void assertSelect(byte[] address)
-      throws OneWireIOException, OneWireException
-   {
-      if(!OWSelect(address))
-         throw new OneWireIOException("Device " + Address.toString(address)
-             + " not present.");
-   }
-
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * In addition, this method asserts that the select did find some
-    * devices on the 1-Wire net.  If no devices were found, a OneWireException
-    * is thrown.
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @return  <code>true</code> if device address was sent,<code>false</code>
-    * otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error, or if their
-    *         are no devices on the 1-Wire net.
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public void assertSelect(long address)
-      throws OneWireIOException, OneWireException
-   {
-      if(!OWSelect(Address.toByteArray(address)))
-         throw new OneWireIOException("Device " + Address.toString(address)
-             + " not present.");
-   }
-
-   /**
-    * Selects the specified iButton or 1-Wire device by broadcasting its
-    * address.  This operation is refered to a 'MATCH ROM' operation
-    * in the iButton and 1-Wire device data sheets.  This does not
-    * affect the 'current' device state information used in searches
-    * (findNextDevice...).
-    *
-    * In addition, this method asserts that the select did find some
-    * devices on the 1-Wire net.  If no devices were found, a OneWireException
-    * is thrown.
-    *
-    * Warning, this does not verify that the device is currently present
-    * on the 1-Wire Network (See isPresent).
-    *
-    * @param  address    address of iButton or 1-Wire device to select
-    *
-    * @throws OneWireIOException on a 1-Wire communication error, or if their
-    *         are no devices on the 1-Wire net.
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *
-    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
-    * @see   com.unixwizardry.onewire.utils.Address
-    */
-   public void assertSelect(String address)
-      throws OneWireIOException, OneWireException
-   {
-      if(!OWSelect(Address.toByteArray(address)))
-         throw new OneWireIOException("Device " + address
-             + " not present.");
-   }
-       
-    
-    /**
-    * Returns whether the adapter can physically support strong 5 volt power
-    * mode.
-    * <p>
-    * Active Pullup (APU) (From DS2482-100 Specifications PDF)
-    * The APU bit controls whether an active pullup (controlled slew-rate transistor) 
-    * or a passive pullup (RWPU resistor) is used to drive a 1-Wire line from low to 
-    * high. When APU = 0, active pullup is disabled (resistor mode). Active Pullup
-    * should be selected if the 1-Wire line has a substantial length (several 10m) or 
-    * if there is a large number (~20 or more) of devices connected to a 1-Wire line. 
-    * The active pullup does not apply to the rising edge of a presence pulse or a 
-    * recovery after a short on the 1-Wire line. The circuit that controls rising edges 
-    * (Figure 2) operates as follows: At t1 the pulldown (from DS2482 or 1-Wire
-    * slave) ends. From this point on the 1-Wire bus is pulled high through RWPU internal 
-    * to the DS2482. VCC and the capacitive load of the 1-Wire line determine the slope. 
-    * In case that active pullup is disabled (APU = 0), the resistive pullup continues, 
-    * as represented by the solid line. With active pullup enabled (APU = 1), when at t2 
-    * the voltage has reached a level between VIL1max and VIH1min, the DS2482 actively 
-    * pulls the 1-Wire line high applying a controlled slew rate, as represented by the 
-    * dashed line. The active pullup continues until tAPUOT is expired at t3. From that time 
-    * on the resistive pullup will continue.
-    * </p>
-    * @return  <code>true</code> if this port adapter can do strong 5 volt
-    * mode, <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-    public boolean canDeliverPower () throws OneWireIOException, OneWireException
-    {
-        return true;
-    }
-
-   /**
-    * Returns whether the adapter can physically support "smart" strong 5
-    * volt power mode.  "smart" power delivery is the ability to deliver
-    * power until it is no longer needed.  The current drop it detected
-    * and power delivery is stopped.
-    *
-    * <p>
-    * Strong Pullup (SPU) (From DS2482-100 Specifications PDF)
-    * The SPU bit controls whether the DS2482 will apply a low impedance pullup 
-    * to VCC on the 1-Wire line after the last bit of either a 1-Wire Write Byte 
-    * command or after a 1-Wire Single Bit command has completed. The strong
-    * pullup feature is commonly used with 1-Wire EEPROM devices when copying 
-    * scratchpad data to the main memory or when performing a SHA-1 computation, 
-    * and with parasitically powered temperature sensors or A-to-D converters. 
-    * The respective device data sheets specify the location in the communications 
-    * protocol after which the strong pullup should be applied. The SPU bit in the 
-    * Configuration register of the DS2482 must be set immediately
-    * prior to issuing the command that puts the 1-Wire device into the state 
-    * where it needs the extra power.  If SPU is 1, the DS2482 applies active 
-    * pullup to the rising edge of the time slot in which the strong pullup starts,
-    * regardless of the APU bit setting. However, in contrast to setting APU = 1 for 
-    * active pullup, the low-impedance pullup does not end after tAPUOT is expired. 
-    * Instead, as shown in Figure 4, the low-impedance pullup remains active 
-    * until either the next 1-Wire communication command is issued (the typical case), 
-    * the Configuration register is written to with the SPU bit being 0, or the Device 
-    * Reset command is issued. The PCTLZ control output is active low for the entire 
-    * duration of the low-impedance pullup, enabling an external p-channel MOSFET to 
-    * supply additional  power to the 1-Wire line. PCTLZ remains inactive (high) 
-    * at all other time slots that do not use the strong pullup feature. Additionally, 
-    * when the pullup ends, the SPU bit is automatically reset to 0. Using the strong 
-    * pullup does not change the state of the APU bit in the Configuration register.
-    * </p>
-    * @return  <code>true</code> if this port adapter can do "smart" strong
-    * 5 volt mode, <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error with the adapter
-    * @throws OneWireException on a setup error with the 1-Wire
-    *         adapter
-    */
-    public boolean canDeliverSmartPower () throws OneWireIOException, OneWireException
-    {
-      return true;
-    }
-   
-   /**
-    * Set the 1-Wire Network search to find all iButtons and 1-Wire
-    * devices whether they are in an 'Alarm' state or not and
-    * restores the default setting of providing a 1-Wire reset
-    * command before each search. (see setNoResetSearch() method).
-    *
-    * @see #setNoResetSearch
-    */
-   public void setSearchAllDevices ()
-   {
-      doAlarmSearch     = false;
-      skipResetOnSearch = false;
-   }
-   
-    
-    /**
-    * Set the 1-Wire Network search to find only iButtons and 1-Wire
-    * devices that are in an 'Alarm' state that signals a need for
-    * attention.  Not all iButton types
-    * have this feature.  Some that do: DS1994, DS1920, DS2407.
-    * This selective searching can be canceled with the
-    * 'setSearchAllDevices()' method.
-    *
-    * @see #setNoResetSearch
-    */
-   public void setSearchOnlyAlarmingDevices ()
-   {
-      doAlarmSearch = true;
-   }
-   
-   /**
-    *  Set the 1-Wire Network search to not perform a 1-Wire
-    *  reset before a search.  This feature is chiefly used with
-    *  the DS2409 1-Wire coupler.
-    *  The normal reset before each search can be restored with the
-    *  'setSearchAllDevices()' method.
-    */
-   public void setNoResetSearch()
-   {
-      skipResetOnSearch = true;
-   }
-   
-   /**
-    * Sets the duration to supply power to the 1-Wire Network.
-    * This method takes a time parameter that indicates the program
-    * pulse length when the method startPowerDelivery().<p>
-    *
-    * Note: to avoid getting an exception,
-    * use the canDeliverPower() and canDeliverSmartPower()
-    * method to check it's availability.
-    *
-    * @param timeFactor
-    * <ul>
-    * <li>   0 (DELIVERY_HALF_SECOND) provide power for 1/2 second.
-    * <li>   1 (DELIVERY_ONE_SECOND) provide power for 1 second.
-    * <li>   2 (DELIVERY_TWO_SECONDS) provide power for 2 seconds.
-    * <li>   3 (DELIVERY_FOUR_SECONDS) provide power for 4 seconds.
-    * <li>   4 (DELIVERY_SMART_DONE) provide power until the
-    *          the device is no longer drawing significant power.
-    * <li>   5 (DELIVERY_INFINITE) provide power until the
-    *          setPowerNormal() method is called.
-    * </ul>
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public void setPowerDuration (int timeFactor) throws OneWireIOException, OneWireException
-   {
-      throw new OneWireException(
-         "Power delivery not supported by this adapter type");
-   }
-   
-   /**
-    * Sets the 1-Wire Network voltage to supply power to a 1-Wire device.
-    * This method takes a time parameter that indicates whether the
-    * power delivery should be done immediately, or after certain
-    * conditions have been met. <p>
-    *
-    * Note: to avoid getting an exception,
-    * use the canDeliverPower() and canDeliverSmartPower()
-    * method to check it's availability.
-    *
-    * @param changeCondition
-    * <ul>
-    * <li>   0 (CONDITION_NOW) operation should occur immediately.
-    * <li>   1 (CONDITION_AFTER_BIT) operation should be pending
-    *           execution immediately after the next bit is sent.
-    * <li>   2 (CONDITION_AFTER_BYTE) operation should be pending
-    *           execution immediately after next byte is sent.
-    * </ul>
-    *
-    * @return <code>true</code> if the voltage change was successful,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public boolean startPowerDelivery (int changeCondition) throws OneWireIOException, OneWireException
-   {
-      throw new OneWireException(
-         "Power delivery not supported by this adapter type");
-   }
-   
-   /**
-    * Sets the 1-Wire Network voltage to normal level.  This method is used
-    * to disable 1-Wire conditions created by startPowerDelivery and
-    * startProgramPulse.  This method will automatically be called if
-    * a communication method is called while an outstanding power
-    * command is taking place.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *         or the adapter does not support this operation
-    */
-   public void setPowerNormal () throws OneWireIOException, OneWireException
-   {
-     
-   } 
-    
-   /**
-    * Sets the 1-Wire Network voltage to eprom programming level.
-    * This method takes a time parameter that indicates whether the
-    * power delivery should be done immediately, or after certain
-    * conditions have been met. <p>
-    *
-    * Note: to avoid getting an exception,
-    * use the canProgram() method to check it's
-    * availability. <p>
-    *
-    * @param changeCondition
-    * <ul>
-    * <li>   0 (CONDITION_NOW) operation should occur immediately.
-    * <li>   1 (CONDITION_AFTER_BIT) operation should be pending
-    *           execution immediately after the next bit is sent.
-    * <li>   2 (CONDITION_AFTER_BYTE) operation should be pending
-    *           execution immediately after next byte is sent.
-    * </ul>
-    *
-    * @return <code>true</code> if the voltage change was successful,
-    * <code>false</code> otherwise.
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    *         or the adapter does not support this operation
-    */
-   public boolean startProgramPulse (int changeCondition)
-      throws OneWireIOException, OneWireException
-   {
-      throw new OneWireException(
-         "Program pulse delivery not supported by this adapter type");
-   }
-   
-   /**
-    * Sets the duration for providing a program pulse on the
-    * 1-Wire Network.
-    * This method takes a time parameter that indicates the program
-    * pulse length when the method startProgramPulse().<p>
-    *
-    * Note: to avoid getting an exception,
-    * use the canDeliverPower() method to check it's
-    * availability. <p>
-    *
-    * @param timeFactor
-    * <ul>
-    * <li>   7 (DELIVERY_EPROM) provide program pulse for 480 microseconds
-    * <li>   5 (DELIVERY_INFINITE) provide power until the
-    *          setPowerNormal() method is called.
-    * </ul>
-    *
-    * @throws OneWireIOException on a 1-Wire communication error
-    * @throws OneWireException on a setup error with the 1-Wire adapter
-    */
-   public void setProgramPulseDuration (int timeFactor)
-      throws OneWireIOException, OneWireException
-   {
-      throw new OneWireException(
-         "Program pulse delivery not supported by this adapter type");
-   } 
-   
-   /**
-    * Removes any selectivity during a search for iButtons or 1-Wire devices
-    * by family type.  The unique address for each iButton and 1-Wire device
-    * contains a family descriptor that indicates the capabilities of the
-    * device.
-    * @see    #targetFamily
-    * @see    #targetFamily(byte[])
-    * @see    #excludeFamily
-    * @see    #excludeFamily(byte[])
-    */
-   public void targetAllFamilies ()
-   {
-      include = null;
-      exclude = null;
-   }
-   
-   /**
-    * Takes an integer to selectively search for this desired family type.
-    * If this method is used, then no devices of other families will be
-    * found by any of the search methods.
-    *
-    * @param  family   the code of the family type to target for searches
-    * @see   com.unixwizardry.onewire.utils.Address
-    * @see    #targetAllFamilies
-    */
-   public void targetFamily (int family)
-   {
-      if ((include == null) || (include.length != 1))
-         include = new byte [1];
-
-      include [0] = ( byte ) family;
-   }
-   
-   /**
-    * Takes an array of bytes to use for selectively searching for acceptable
-    * family codes.  If used, only devices with family codes in this array
-    * will be found by any of the search methods.
-    *
-    * @param  family  array of the family types to target for searches
-    * @see   com.dalsemi.onewire.utils.Address
-    * @see    #targetAllFamilies
-    */
-    public void targetFamily (byte family [])
-    {
-        if ((include == null) || (include.length != family.length))
-            include = new byte [family.length];
-
-        System.arraycopy(family, 0, include, 0, family.length);
-    }
-   
-   
-   /**
-    * Takes an integer family code to avoid when searching for iButtons.
-    * or 1-Wire devices.
-    * If this method is used, then no devices of this family will be
-    * found by any of the search methods.
-    *
-    * @param  family   the code of the family type NOT to target in searches
-    * @see   com.unixwizardry.onewire.utils.Address
-    * @see    #targetAllFamilies
-    */
-   public void excludeFamily (int family)
-   {
-      if ((exclude == null) || (exclude.length != 1))
-         exclude = new byte [1];
-
-      exclude [0] = ( byte ) family;
-   }
-
-   /**
-    * Takes an array of bytes containing family codes to avoid when finding
-    * iButtons or 1-Wire devices.  If used, then no devices with family
-    * codes in this array will be found by any of the search methods.
-    *
-    * @param  family  array of family cods NOT to target for searches
-    * @see   com.unixwizardry.onewire.utils.Address
-    * @see    #targetAllFamilies
-    */
-   public void excludeFamily (byte family [])
-   {
-      if ((exclude == null) || (exclude.length != family.length))
-         exclude = new byte [family.length];
-
-      System.arraycopy(family, 0, exclude, 0, family.length);
-   }
-      
-   /**
-    * Performs a 'strongAccess' with the provided 1-Wire address.
-    * 1-Wire Network has already been reset and the 'search'
-    * command sent before this is called.
-    *
-    * @param  address  device address to do strongAccess on
-    *
-    * @return  true if device participated and was present
-    *         in the strongAccess search
-    */
-   private boolean strongAccess (byte[] address)
-      throws OneWireIOException, OneWireException
-   {
-      byte[] send_packet = new byte [24];
-      int    i;
-
-      // set all bits at first
-      for (i = 0; i < 24; i++)
-         send_packet [i] = ( byte ) 0xFF;
-
-      // now set or clear apropriate bits for search
-      for (i = 0; i < 64; i++)
-         arrayWriteBit(arrayReadBit(i, address), (i + 1) * 3 - 1,
-                       send_packet);
-
-      // send to 1-Wire Net
-      dataBlock(send_packet, 0, 24);
-
-      // check the results of last 8 triplets (should be no conflicts)
-      int cnt = 56, goodbits = 0, tst, s;
-
-      for (i = 168; i < 192; i += 3)
-      {
-         tst = (arrayReadBit(i, send_packet) << 1)
-               | arrayReadBit(i + 1, send_packet);
-         s   = arrayReadBit(cnt++, address);
-
-         if (tst == 0x03)   // no device on line
-         {
-            goodbits = 0;   // number of good bits set to zero
-
-            break;          // quit
-         }
-
-         if (((s == 0x01) && (tst == 0x02)) || ((s == 0x00) && (tst == 0x01)))   // correct bit
-            goodbits++;   // count as a good bit
-      }
-
-      // check too see if there were enough good bits to be successful
-      return (goodbits >= 8);
-   }
-}
+/*
+ * Portions of this code are from Oracle so I include this disclaimer
+ * @author Bruce Juntti
+ */
+/*---------------------------------------------------------------------------
+ * Copyright (C) 1999,2000 Dallas Semiconductor Corporation, All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+ * OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY,  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL DALLAS SEMICONDUCTOR BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * Except as contained in this notice, the name of Dallas Semiconductor
+ * shall not be used except as stated in the Dallas Semiconductor
+ * Branding Policy.
+ *---------------------------------------------------------------------------
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import static com.unixwizardry.onewire.adapter.DS2482.OWMatchROMCmd;
+import static com.unixwizardry.onewire.adapter.DS2482.OWSearchCmd;
+import static com.unixwizardry.onewire.adapter.DS2482.OWAlarmSearchCmd;
+import com.unixwizardry.accessProvider.BusClock;
+import com.unixwizardry.accessProvider.BusEvents;
+import com.unixwizardry.accessProvider.BusMetrics;
+import com.unixwizardry.accessProvider.I2C_Device;
+import com.unixwizardry.accessProvider.I2CTransport;
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.container.OneWireContainer;
+import com.unixwizardry.onewire.container.OneWireSensor;
+import com.unixwizardry.onewire.utils.Address;
+import static com.unixwizardry.onewire.utils.Convert.byteToHex;
+import static com.unixwizardry.onewire.utils.Convert.bytesToHexLE;
+import static com.unixwizardry.onewire.utils.Convert.toHexString;
+import static com.unixwizardry.onewire.utils.PrintBits.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+public class I2CBridgeAdapter extends I2C_Device implements DS2482 {    
+        
+    //private final int bufferSize = 1;           // Register size in bytes
+    //private static byte dscrc_table [];         // Empty CRC table to be filled by createCrcTable()   
+    private static final int POLL_LIMIT = 16;   // Number of times totest status 
+    private final BusLock busLock;
+    private final int REG_SIZE = 2;
+    int LastDiscrepancy = 0;
+    boolean LastDeviceFlag = false;
+    int LastFamilyDiscrepancy = 0;
+    byte[] device_serial_no;
+    private static final int ONEWIRE_ROM_BYTE_LENGTH = 8;
+    int crc8;                                   // CRC8 of the last ROM searched, 0 if good
+    private final byte[] searchRestart = new byte[8];   // ROM buffer at the start of a search pass
+    private static final int SEARCH_RETRIES = 3;        // passes repeated for a misread ROM
+    private static final int PASS_NONE  = 0;
+    private static final int PASS_FOUND = 1;
+    private static final int PASS_RETRY = 2;
+    private static final int CONVERT_T  = 0x44;         // DS18S20/DS18B20 Convert T
+    private static final int READ_POWER_SUPPLY = 0xB4;  // DS18S20/DS18B20 Read Power Supply
+    /* current device */
+    private byte[] CurrentDevice = new byte[8];
+    private String msg;
+    private final DS2482StatusPoller poller = new DS2482StatusPoller();
+    private final byte[] statusBurst = new byte[8];
+    private int selectedChannel = 0;            // DS2482-800 channel, 0 after a device reset
+    private int channelCount;                   // 8 on a DS2482-800, 1 on a DS2482-100, 0 until probed
+    private final ChannelMap deviceChannels = new ChannelMap();     // ROM to channel, under busLock
+    private final OWTransaction[] convertAll = new OWTransaction[8];  // Skip ROM Convert T per channel, with pullup
+    private final long[] convertAllMs = new long[8];                  // pullup time of convertAll[ch]
+    private long oneWireBytes;                  // bytes written and read on the 1-Wire, under busLock
+    private long triplets;                      // search triplets sent, under busLock
+
+    // Pre-encoded DS2482 command frames, reused for every command so the
+    // I/O path allocates nothing; the parameter byte is patched in place.
+    private final byte[] resetFrame     = {DS2482_1WireResetCmd};
+    private final byte[] singleBitFrame = {DS2482_1WireSingleBitCmd, 0};
+    private final byte[] writeByteFrame = {DS2482_1WireWriteByteCmd, 0};
+    private final byte[] readByteFrame  = {DS2482_1WireReadByteCmd};
+    private final byte[] tripletFrame   = {DS2482_1WireTripletCmd, 0};
+    private final byte[] readDataFrame  = {DS2482SetReadPointer, DS2482ReadDataRegister};
+    private final byte[] channelFrame   = {DS2482_SEL_CHANNEL, 0};
+    
+    // 
+    // The DS2482 understands eight function commands, which fall into four categories: device control, I²C
+    // communication, 1-Wire set-up and 1-Wire communication. The feedback path to the host is controlled by a read
+    // pointer, which is set automatically by each function command for the host to efficiently access relevant information.
+    // The host processor sends these commands and applicable parameters as strings of one or two bytes using the I²C
+    // interface. The I²C protocol requires that each byte be acknowledged by the receiving party to confirm acceptance
+    // or not be acknowledged to indicate an error condition (invalid code or parameter) or to end the communication.
+    // Details of the I²C protocol including acknowledge are found in the I²C interface description of this document.
+    
+    //DEVICE REGISTERS
+    // The DS2482 has three registers that the I²C host can read: Configuration, Status, and Read Data. These registers
+    // are addressed by a read pointer. The position of the read pointer, i.e., the register that the host reads in a
+    // subsequent read access, is defined by the instruction that the has DS2482 executed last. The host has read and
+    // write access to the Configuration register to enable certain 1-Wire features.
+    // Configuration Register
+    // The DS2482 supports allows four 1-Wire features that are enabled or selected through the Configuration register.
+    // These features are:
+    //     Active Pullup (APU)
+    //     Presence Pulse Masking (PPM)
+    //     Strong Pullup (SPU)
+    //     1-Wire Speed (1WS)
+    // These features can be selected in any combination. While APU, PPM, and 1WS maintain their state, SPU returns
+    // to its inactive state as soon as the strong pullup has ended.
+    //   
+    // DS2482 Commands
+    //
+    
+    //--------
+    //-------- Static Variables
+    //--------
+
+    private final static byte   DS2482_DEFAULT_ADDRESS   = 0x18;   // DS2482-100 default address
+    private final static int    DEFAULT_I2C_BUS          = 1;    
+    private I2CBridgeAdapter    ds2482_bridge;
+    
+    /** Version string for this adapter class */
+    private static final String CLASS_VERSION   = "0.5";  
+    private static final String ADAPTER_VERSION = "<n/a>";
+    
+    private static final byte DS2482SetReadPointer = (byte) 0xE1;         
+    //private static final byte OWSkipROMCmd = (byte) 0xCC;
+    //private static final byte OWConvertTemp = 0x44;
+    //private static final byte OWReadScratchPadCmd = (byte) 0xBE;                   
+    //private static final byte DS2482StatusRegister = (byte) 0xF0;
+    
+        // The read-only Status register is the general means for the DS2482 to report 
+        // bit-type data from the 1-Wire side, 1-Wire busy status and its own reset status 
+        // to the host processor.
+        // All 1-Wire communication commands and the Device Reset command position 
+        // the read pointer at the Status register for the host processor to read with minimal
+        // protocol overhead. Status information is updated during the execution of certain 
+        // commands only. Details are given in the description of the various status bits below.
+        
+        // bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
+        //========================================
+        //  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
+        //
+    private static final byte STATUS_1WB = 0x01;    // 1-wire busy
+    private static final byte STATUS_PPD = 0x02;    // Presence Pulse Detected
+    private static final byte STATUS_SD  = 0x04;    // Short Detected
+    private static final byte STATUS_LL  = 0x08;    // Logic Level of the selected 1-wire line withour initiating any 1-wire communication
+    private static final byte STATUS_RST = 0x10;    // If '1', the DS2482 has performed a reset
+    private static final byte STATUS_SBR = 0x20;    // Single-Bit Result - logic state of 1-wire line sampled at tMSR of a 
+                                                    // 1-wire Single Bit command or the 1st bit of a 1-wire Triplet command   
+    private static final byte STATUS_TSB = 0x40;    // Triplet Send Bit - reports state of the active 1-wire line sampled at tMSR of the 2nd bit
+                                                    // of a 1-wire Triplet command.  Power-on value = 0
+    private static final byte STATUS_DIRECTION_TAKEN = (byte) 0x80; // Branch Direction taken - search direction chosen by the 3rd bit of the triplet
+    
+   /** Flag to indicate next search will look only for alarming devices */
+   private boolean doAlarmSearch    = false;
+
+   /** Flag to indicate next search will be a 'first' */
+   private boolean resetSearch      = true;
+   
+   /** Flag to indicate next search will not be preceeded by a 1-Wire reset */
+   private boolean skipResetOnSearch    = false;
+    
+   /** Speed modes for 1-Wire Network, regular                    */
+   public static final int SPEED_REGULAR = 0;
+
+   /** Speed modes for 1-Wire Network, flexible for long lines    */
+   /** (Pretty sure not used for DS2482 devices                   */
+   public static final int SPEED_FLEX = 1;
+
+   /** Speed modes for 1-Wire Network, overdrive                  */
+   public static final int SPEED_OVERDRIVE = 2;
+
+   /** Speed modes for 1-Wire Network, hyperdrive                 */
+   /** (Pretty sure not used for DS2482 devices                   */
+   public static final int SPEED_HYPERDRIVE = 3;
+
+   /** 1-Wire Network level, normal (weak 5Volt pullup)                            */
+   public static final char LEVEL_NORMAL = 0;
+
+   /** 1-Wire Network level, (strong 5Volt pullup, used for power delivery) */
+   public static final char LEVEL_POWER_DELIVERY = 1;
+
+   /** 1-Wire Network level, (strong pulldown to 0Volts, reset 1-Wire)      */
+   public static final char LEVEL_BREAK = 2;
+
+   /** 1-Wire Network level, (strong 12Volt pullup, used to program eprom ) */
+   public static final char LEVEL_PROGRAM = 3;
+
+   /** 1-Wire Network reset result = no presence */
+   public static final int RESET_NOPRESENCE = 0x00;
+
+   /** 1-Wire Network reset result = presence    */
+   public static final int RESET_PRESENCE = 0x01;
+
+   /** 1-Wire Network reset result = alarm       */
+   public static final int RESET_ALARM = 0x02;
+
+   /** 1-Wire Network reset result = shorted     */
+   public static final int RESET_SHORT = 0x03;
+
+   /** Conversion time of a DS18S20, and of a DS18B20 at 12 bits, in ms */
+   public static final long TEMPERATURE_CONVERSION_MS = 750;
+
+   /** Most read slots {@link #waitForCompletion(long, TimeUnit)} spends on one wait */
+   public static final int COMPLETION_POLLS = 64;
+
+   // shortest time between those slots, so short waits do not flood the I2C bus
+   private static final long COMPLETION_POLL_MIN_NS = 1000000L;
+
+   /** Condition for power state change, immediate                      */
+   public static final int CONDITION_NOW = 0;
+
+   /** Condition for power state change, after next bit communication   */
+   public static final int CONDITION_AFTER_BIT = 1;
+
+   /** Condition for power state change, after next byte communication  */
+   public static final int CONDITION_AFTER_BYTE = 2;
+
+   /** Duration used in delivering power to the 1-Wire, 1/2 second         */
+   public static final int DELIVERY_HALF_SECOND = 0;
+
+   /** Duration used in delivering power to the 1-Wire, 1 second           */
+   public static final int DELIVERY_ONE_SECOND = 1;
+
+   /** Duration used in delivering power to the 1-Wire, 2 seconds          */
+   public static final int DELIVERY_TWO_SECONDS = 2;
+
+   /** Duration used in delivering power to the 1-Wire, 4 second           */
+   public static final int DELIVERY_FOUR_SECONDS = 3;
+
+   /** Duration used in delivering power to the 1-Wire, smart complete     */
+   public static final int DELIVERY_SMART_DONE = 4;
+
+   /** Duration used in delivering power to the 1-Wire, infinite           */
+   public static final int DELIVERY_INFINITE = 5;
+
+   /** Duration used in delivering power to the 1-Wire, current detect     */
+   public static final int DELIVERY_CURRENT_DETECT = 6;
+
+   /** Duration used in delivering power to the 1-Wire, 480 us             */
+   public static final int DELIVERY_EPROM = 7;
+
+   /**
+    * Byte array of families to include in search
+    */
+   private byte[] include;
+
+   /**
+    * Byte array of families to exclude from search
+    */
+   private byte[] exclude;
+
+   /**
+    * Index in 'include' of the family being searched
+    */
+   private int includeIndex;
+
+   /**
+    * ROM prefix and its length in bits for OWSearchPrefix()/OWNextPrefix()
+    */
+   private final byte[] prefixRom = new byte [8];
+   private int          prefixBits;
+   private boolean      prefixDone = true;
+
+   /**
+    * Search position of OWFirst()/OWNext() while a lazy enumeration steps
+    */
+   private final SearchPosition callerPosition = new SearchPosition();
+
+   /**
+    * Where one lazy enumeration has got to in the search.
+    */
+   static final class SearchPosition
+   {
+      private final byte[] rom = new byte [8];
+      private int          lastDiscrepancy;
+      private boolean      lastDeviceFlag;
+      private int          lastFamilyDiscrepancy;
+      private int          includeIndex;
+      private boolean      started;
+      private boolean      finished;
+      boolean              alarmOnly;         // alarm search (0xEC) whatever the adapter is set to
+
+      /** Starts the search again from the first device. */
+      void restart ()
+      {
+         started  = false;
+         finished = false;
+      }
+
+      /** @return ROM of the last device found */
+      long getAddressAsLong ()
+      {
+         return Address.toLong(rom);
+      }
+   }
+   
+   
+   final int c1WS = 0x00;
+   final int cSPU = 0x00;
+   final int cPPM = 0x00;
+   //int cAPU = CONFIG_APU;  
+      
+   final byte CONFIG_APU = 0x01;    // Set Active-Pullup
+   final byte CONFIG_1WS = 0x08;    // Overdrive speed
+       
+   public byte DS2482Config = (byte) (c1WS | cSPU | cPPM | CONFIG_APU);
+   //--------
+   //-------- Variables
+   //--------
+     
+    /**
+     * Constructor
+     * 
+     * @param address
+     * @param bus
+     */       
+    public I2CBridgeAdapter(byte address, byte bus) {
+        this(address, bus, false);
+    }   
+    
+    /**
+     * Constructor choosing how the bus is handed out between threads.
+     * 
+     * @param address
+     * @param bus
+     * @param fairLock <code>true</code> to grant exclusive access in arrival order
+     */       
+    public I2CBridgeAdapter(byte address, byte bus, boolean fairLock) {
+        super(address, bus);
+        busLock = new BusLock(fairLock);
+        DS2482WrtCfg(DS2482Config);
+        this.CurrentDevice = null;
+        this.CurrentDevice = new byte[8];
+        this.device_serial_no = new byte[7];
+        setVerbose(true);
+        // Initialize Dallas Semiconductor CRC table
+        //byte[] dscrc_table = new byte[256];
+    }   
+    
+    /**
+     * Constructor for a DS2482 reached through an already opened transport
+     * instead of the default jdk.dio device.
+     * 
+     * @param transport open I2C transport to the DS2482
+     */       
+    public I2CBridgeAdapter(I2CTransport transport) {
+        this(transport, false);
+    }   
+    
+    /**
+     * Constructor for a DS2482 reached through an already opened transport,
+     * choosing how the bus is handed out between threads.
+     * 
+     * @param transport open I2C transport to the DS2482
+     * @param fairLock <code>true</code> to grant exclusive access in arrival order
+     */       
+    public I2CBridgeAdapter(I2CTransport transport, boolean fairLock) {
+        super(transport);
+        busLock = new BusLock(fairLock);
+        DS2482WrtCfg(DS2482Config);
+        this.CurrentDevice = new byte[8];
+        this.device_serial_no = new byte[7];
+    }   
+    
+
+   /**
+    *  Retrieve the name of the port adapter as a string.  The 'Adapter'
+    *  is a device that connects to a 'port' that allows one to
+    *  communicate with an iButton or other 1-Wire device.  As example
+    *  of this is 'DS9097E'.
+    *
+    *  @return  <code>String</code> representation of the port adapter.
+    */
+   public String getAdapterName()
+   {
+      return "DS2482Family";
+   }
+
+   /**
+    * Retrieves the version of the adapter.
+    *
+    * @return  <code>String</code> of the adapter version.  It will return
+    * "<na>" if the adapter version is not or cannot be known.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error such as
+    *         no device present.  This could be
+    *         caused by a physical interruption in the 1-Wire Network due to
+    *         shorts or a newly arriving 1-Wire device issuing a 'presence pulse'.
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    */
+   public String getAdapterVersion ()
+      throws OneWireIOException, OneWireException
+   {
+      return ADAPTER_VERSION;
+   }
+   
+   /**
+    * Returns whether adapter can physically support overdrive mode.
+    *
+    * @return  <code>true</code> if this port adapter can do OverDrive,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+   public boolean canOverdrive ()
+      throws OneWireIOException, OneWireException
+   {
+      return false;
+   }
+
+   /**
+    * Returns whether the adapter can physically support hyperdrive mode.
+    *
+    * @return  <code>true</code> if this port adapter can do HyperDrive,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+   public boolean canHyperdrive ()
+      throws OneWireIOException, OneWireException
+   {
+      return false;
+   }
+
+   /**
+    * Returns whether the adapter can physically support flex speed mode.
+    *
+    * @return  <code>true</code> if this port adapter can do flex speed,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+   public boolean canFlex ()
+      throws OneWireIOException, OneWireException
+   {
+      return false;
+   }
+
+   /**
+    * Returns whether adapter can physically support 12 volt power mode.
+    *
+    * @return  <code>true</code> if this port adapter can do Program voltage,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+   public boolean canProgram ()
+      throws OneWireIOException, OneWireException
+   {
+      return false;
+   }
+
+   /**
+    * Gets exclusive use of the 1-Wire to communicate with an iButton or
+    * 1-Wire Device.
+    * This method should be used for critical sections of code where a
+    * sequence of commands must not be interrupted by communication of
+    * threads with other iButtons, and it is permissible to sustain
+    * a delay in the special case that another thread has already been
+    * granted exclusive access and this access has not yet been
+    * relinquished. <p>
+    *
+    * It can be called through the OneWireContainer
+    * class by the end application if they want to ensure exclusive
+    * use.  If it is not called around several methods then it
+    * will be called inside each method.
+    *
+    * <p>
+    * Exclusive access is reentrant: the thread that holds it can call it
+    * again, and every adapter primitive takes it for its own duration.
+    * Each call must be matched by an <code>endExclusive()</code>.
+    *
+    * @param blocking <code>true</code> if want to block waiting
+    *                 for an excluse access to the adapter
+    * @return <code>true</code> if an exclusive session with the adapter
+    *         was aquired; always <code>true</code> when blocking
+    *
+    */
+   public boolean beginExclusive (boolean blocking) {
+       if (blocking) {
+           busLock.lock();
+           return true;
+       }
+       return busLock.tryLock();
+   }
+
+   /**
+    * Gets exclusive use of the 1-Wire, waiting at most <code>timeout</code>
+    * for another thread to give it up.
+    *
+    * @param timeout longest wait
+    * @param unit unit of <code>timeout</code>
+    * @return <code>true</code> if an exclusive session was aquired,
+    *         <code>false</code> if the wait timed out
+    * @throws InterruptedException if the thread was interrupted while waiting
+    */
+   public boolean tryBeginExclusive (long timeout, TimeUnit unit) throws InterruptedException {
+       return busLock.tryLock(timeout, unit);
+   }
+
+   
+   /**
+    * Relinquishes exclusive control of the 1-Wire Network.
+    * This command dynamically marks the end of a critical section and
+    * should be used when exclusive control is no longer needed.
+    * It does nothing if the calling thread does not hold the bus.
+    */
+   public void endExclusive () {
+       if (busLock.isHeldByCurrentThread())
+           busLock.unlock();
+   }
+
+   /**
+    * @return the lock behind exclusive access, for its contention statistics
+    */
+   public BusLock getBusLock () {
+       return busLock;
+   }
+
+   
+     
+   /**
+    *  Retrieve a description of the port required by this port adapter.
+    *  An example of a 'Port' would 'serial communication port'.
+    *
+    *  @return  <code>String</code> description of the port type required.
+    */
+   public String getPortTypeDescription()
+   {
+      return "I2C 1-wire bridge";
+   }
+
+   /**
+    *  Retrieve a version string for this class.
+    *
+    *  @return  version string
+    */
+   public String getClassVersion()
+   {
+      return CLASS_VERSION;
+   }
+   
+   /**
+    *  Retrieve a list of the platform appropriate port names for this
+    *  adapter.  A port must be selected with the method 'selectPort'
+    *  before any other communication methods can be used.  Using
+    *  a communication method before 'selectPort' will result in
+    *  a <code>OneWireException</code> exception.
+    *
+    *  @return  enumeration of type <code>String</code> that contains the port
+    *  names
+    */
+   public Enumeration getPortNames()
+   {
+      return null;
+   }
+   
+   /**
+    *  Retrieve the name of the selected port as a <code>String</code>.
+    *
+    *  @return  <code>String</code> of selected port
+    *
+    *  @throws OneWireException if valid port not yet selected
+    */
+   public String getPortName() throws OneWireException
+   {
+      return "I2C port";
+   }
+   
+    /**
+     *
+     * @return 
+     */
+    public byte[] getReadableCurrentDeviceAddress() {
+        byte[] right_sized = new byte[8];
+        int i, j;
+        for (i = 7, j = 0; i >= 0; i--, j++ ) {         
+                right_sized[j] = CurrentDevice[i];
+        }
+        return right_sized;
+    }
+    
+    /**
+    *  Detect adapter presence on the selected port.
+    *
+    *  @return  <code>true</code> if the adapter is confirmed to be connected to
+    *  the selected port, <code>false</code> if the adapter is not connected.
+    *
+    *  @throws OneWireIOException
+    *  @throws OneWireException
+    */
+   public boolean adapterDetected() throws OneWireIOException, OneWireException {     
+      return adapterPresent;
+   }
+   
+   public void freePort() {
+       
+   }
+   
+    @Override
+    public void close() {
+        if (transport.isOpen()) {
+            try {
+                transport.close();                    
+            } catch (IOException ex) {
+                System.out.println("[I2CBridgeAdapter][close] Error encountered: " + ex.getMessage());              
+            }
+        }        
+    }
+    
+    /**
+     * Returns the "family" byte of the 1-wire device
+     * @return
+     */
+    public int getOWFamily() {
+        return CurrentDevice[0];
+    }
+    
+    /**
+     *
+     * @return
+     */
+    public byte getDeviceCRC() {
+        return CurrentDevice[7];
+    }
+    
+   /**
+    * Copies the 'current' iButton address being used by the adapter into
+    * the array.  This address is the last iButton or 1-Wire device found
+    * in a search (findNextDevice()...).
+    * This method copies into a user generated array to allow the
+    * reuse of the buffer.  When searching many iButtons on the one
+    * wire network, this will reduce the memory burn rate.
+    *
+    * @param  address An array to be filled with the current iButton address.
+    * @see    com.dalsemi.onewire.utils.Address
+    */
+   public void getAddress(byte[] address)
+   {
+      System.arraycopy(CurrentDevice, 0, address, 0, 8);
+   }
+    
+   /**
+    * Gets the 'current' 1-Wire device address being used by the adapter as a long.
+    * This address is the last iButton or 1-Wire device found
+    * in a search (findNextDevice()...).
+    *
+    * @return <code>long</code> representation of the iButton address
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+   public long getAddressAsLong ()
+   {
+      byte[] address = new byte [8];
+
+      getAddress(address);
+
+      return Address.toLong(address);
+   }
+
+   /**
+    * Gets the 'current' 1-Wire device address being used by the adapter as a String.
+    * This address is the last iButton or 1-Wire device found
+    * in a search (findNextDevice()...).
+    *
+    * @return <code>String</code> representation of the iButton address
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+   public String getAddressAsString ()
+   {
+      byte[] address = new byte [8];
+
+      getAddress(address);
+
+      return Address.toString(address);
+   }
+
+   /**
+    * Verifies that the iButton or 1-Wire device specified is present
+    * on the 1-Wire Network and in an alarm state. This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * @param  address  device address to verify is present and alarming
+    *
+    * @return  <code>true</code> if device is present and alarming, else
+    * <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+   public boolean isAlarming (byte[] address)
+      throws OneWireIOException, OneWireException
+   {
+      busLock.lock();
+      try
+      {
+         if (!selectDeviceChannel(address))
+            return false;
+         if (OWReset() != RESET_PRESENCE)
+            return false;
+         OWWriteByte(OWAlarmSearchCmd);   // Conditional search commands
+
+         return strongAccess(address);
+      }
+      finally
+      {
+         busLock.unlock();
+      }
+   }
+
+   /**
+    * Verifies that the iButton or 1-Wire device specified is present
+    * on the 1-Wire Network and in an alarm state. This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * @param  address  device address to verify is present and alarming
+    *
+    * @return  <code>true</code> if device is present and alarming, else
+    * <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+    public boolean isAlarming (long address)
+      throws OneWireIOException, OneWireException
+    {
+        return isAlarming(Address.toByteArray(address));
+    }
+   
+    /**
+    * Verifies that the iButton or 1-Wire device specified is present
+    * on the 1-Wire Network and in an alarm state. This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * @param  address  device address to verify is present and alarming
+    *
+    * @return  <code>true</code> if device is present and alarming, else
+    * <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+    public boolean isAlarming (String address)
+      throws OneWireIOException, OneWireException
+    {
+        return isAlarming(Address.toByteArray(address));
+    }
+   
+    /**
+     * <p>Find the "first" device on the 1-wire network</p>
+     * Honours {@link #targetFamily(int)} and {@link #excludeFamily(int)}:
+     * a targeted search jumps straight to each wanted family and stops when
+     * it leaves it, and an excluded family is skipped as a whole subtree,
+     * so neither walks past devices it is not going to return.
+     *
+     * @author Bruce Juntti bjuntti at unixwizardry.com
+     * @return boolean TRUE if device found, ROM number in CurrentDevice buffer
+     */   
+    public boolean findFirstDevice() {
+        busLock.lock();
+        try {
+            includeIndex = 0;
+            if (include != null) {
+                if (include.length == 0)
+                    return false;
+                OWTargetSetup(include[0]);
+            } else {
+                // reset the search state
+                LastDiscrepancy = 0;
+                LastDeviceFlag = false;
+                LastFamilyDiscrepancy = 0;
+            }
+            return findFiltered();
+        } finally {
+            busLock.unlock();
+        }
+    }
+    
+    /**
+     *<p>Finds the next device on the 1-wire bus.  Does not change the search state</p>
+     * @return TRUE if another device was found, otherwise false 
+     */
+    public boolean findNextDevice() {
+        busLock.lock();
+        try {
+            if (include != null && includeIndex >= include.length)
+                return false;
+            return findFiltered();
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    // One step of a lazy enumeration: swaps the enumeration's position in,
+    // finds its next device on 'channel' (-1 for the selected one) and
+    // swaps the OWFirst()/OWNext() position and the alarm search setting back.
+    boolean searchStep(SearchPosition position, int channel) {
+        busLock.lock();
+        try {
+            if (position.finished)
+                return false;
+            if (channel >= 0 && !selectChannel(channel)) {
+                System.out.println("[I2CBridgeAdapter][searchStep] Error encountered: channel " + channel
+                        + " could not be selected");
+                position.finished = true;
+                return false;
+            }
+            savePosition(callerPosition);
+            boolean wasAlarmSearch = doAlarmSearch;
+            try {
+                loadPosition(position);
+                doAlarmSearch = wasAlarmSearch || position.alarmOnly;
+                boolean found = position.started ? findNextDevice() : findFirstDevice();
+                savePosition(position);
+                position.started = true;
+                position.finished = !found;
+                return found;
+            } finally {
+                doAlarmSearch = wasAlarmSearch;
+                loadPosition(callerPosition);
+            }
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    // Every device under a ROM prefix, alarming or not, for the hot-plug
+    // watcher; leaves the OWFirst()/OWNext() and OWSearchPrefix() positions
+    // as they were.
+    long[] searchPrefix(long prefix, int bits) {
+        busLock.lock();
+        try {
+            savePosition(callerPosition);
+            byte[] savedPrefix = prefixRom.clone();
+            int savedBits = prefixBits;
+            boolean savedDone = prefixDone;
+            boolean wasAlarmSearch = doAlarmSearch;
+            doAlarmSearch = false;
+            try {
+                long[] roms = new long[4];
+                int n = 0;
+                for (boolean found = OWSearchPrefix(Address.toByteArray(prefix), bits); found; found = OWNextPrefix()) {
+                    if (n == roms.length)
+                        roms = Arrays.copyOf(roms, n * 2);
+                    roms[n++] = Address.toLong(CurrentDevice);
+                }
+                return Arrays.copyOf(roms, n);
+            } finally {
+                System.arraycopy(savedPrefix, 0, prefixRom, 0, ONEWIRE_ROM_BYTE_LENGTH);
+                prefixBits = savedBits;
+                prefixDone = savedDone;
+                doAlarmSearch = wasAlarmSearch;
+                loadPosition(callerPosition);
+            }
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    // One directed search along 'rom' for the hot-plug watcher: the bit
+    // where the path ended (64 if the device answered), -1 if nobody
+    // answered the reset.  getPathForks() and isPathNobody() tell the rest;
+    // hold the bus between the calls.
+    int tracePath(long rom) {
+        busLock.lock();
+        try {
+            if (OWReset() != RESET_PRESENCE)
+                return -1;
+            OWWriteByte(OWSearchCmd);
+            return followRom(rom);
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    long getPathForks() {
+        return pathForks;
+    }
+
+    boolean isPathNobody() {
+        return pathNobody;
+    }
+
+    private void savePosition(SearchPosition position) {
+        System.arraycopy(CurrentDevice, 0, position.rom, 0, ONEWIRE_ROM_BYTE_LENGTH);
+        position.lastDiscrepancy = LastDiscrepancy;
+        position.lastDeviceFlag = LastDeviceFlag;
+        position.lastFamilyDiscrepancy = LastFamilyDiscrepancy;
+        position.includeIndex = includeIndex;
+    }
+
+    private void loadPosition(SearchPosition position) {
+        System.arraycopy(position.rom, 0, CurrentDevice, 0, ONEWIRE_ROM_BYTE_LENGTH);
+        LastDiscrepancy = position.lastDiscrepancy;
+        LastDeviceFlag = position.lastDeviceFlag;
+        LastFamilyDiscrepancy = position.lastFamilyDiscrepancy;
+        includeIndex = position.includeIndex;
+    }
+
+    // Searches on from the current state until a device that passes the
+    // family filters turns up.  With targets, a device from outside the
+    // current target family means that family is done, so the search jumps
+    // to the next target; an excluded family is stepped over whole.
+    private boolean findFiltered() {
+        for (;;) {
+            if (!OWSearch()) {
+                if (include == null || ++includeIndex >= include.length)
+                    return false;
+                OWTargetSetup(include[includeIndex]);
+                continue;
+            }
+            byte family = CurrentDevice[0];
+            if (include != null) {
+                if (family != include[includeIndex]) {
+                    if (++includeIndex >= include.length)
+                        return false;
+                    OWTargetSetup(include[includeIndex]);
+                    continue;
+                }
+            } else if (isExcluded(family)) {
+                OWFamilySkipSetup();
+                continue;
+            }
+            return true;
+        }
+    }
+
+    private boolean isExcluded(byte family) {
+        if (exclude != null) {
+            for (int i = 0; i < exclude.length; i++) {
+                if (exclude[i] == family)
+                    return true;
+            }
+        }
+        return false;
+    }
+	
+    
+    public OneWireContainer getDeviceContainer () {
+      // Mask off the upper bit.
+      byte[] address = new byte [8];
+      getAddress(address);
+
+      return getDeviceContainer(CurrentDevice);
+   }
+    
+    /**
+    * Constructs a <code>OneWireContainer</code> object with a user supplied 
+    * 1-Wire network address.
+    *
+    * @param  address  device address with which to create a new container
+    *
+    * @return  The <code>OneWireContainer</code> object
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+    public OneWireContainer getDeviceContainer (byte[] address) {
+      int              family_code   = address [0] & 0x7F;
+      String           family_string =
+         ((family_code) < 16)
+         ? ("0" + Integer.toHexString(family_code)).toUpperCase()
+         : (Integer.toHexString(family_code)).toUpperCase();
+      Class            ibutton_class = null;
+      OneWireContainer new_ibutton;
+      //System.out.println("[getDeviceContainer] getDeviceContainer(" + bytesToHex(address));
+
+      // If we don't get one, do the normal lookup method.
+      if (ibutton_class == null)
+      {
+         // try to load the ibutton container class
+         try
+         {
+            ibutton_class =
+               Class.forName("com.unixwizardry.onewire.container.OneWireContainer"
+                             + family_string);
+         }
+         catch (Exception e)
+         {
+            ibutton_class = null;
+         }
+
+         // if did not get specific container try the general one
+         if (ibutton_class == null)
+         {
+
+            // try to load the ibutton container class
+            try
+            {
+               ibutton_class = Class.forName(
+                  "com.unixwizardry.onewire.container.OneWireContainer");
+            }
+            catch (Exception e)
+            {
+               System.out.println("EXCEPTION: Unable to load OneWireContainer"
+                                  + e);
+               return null;
+            }
+         }
+      }
+
+      // try to load the ibutton container class
+      try
+      {
+         // create the iButton container with a reference to this adapter
+         new_ibutton = ( OneWireContainer ) ibutton_class.newInstance();
+
+         new_ibutton.setupContainer(this, address);
+
+         // a device seen before keeps its DS2482-800 channel
+         int channel = getDeviceChannel(address);
+         if (channel >= 0)
+            new_ibutton.setChannel(channel);
+      }
+      catch (Exception e)
+      {
+         System.out.println(
+            "EXCEPTION: Unable to instantiate OneWireContainer "
+            + ibutton_class + ": " + e);
+         e.printStackTrace();
+
+         return null;
+      }
+
+      // return this new container
+      return new_ibutton;
+   }
+
+	
+   /**
+    * Returns a <code>OneWireContainer</code> object corresponding to the first iButton
+    * or 1-Wire device found on the 1-Wire Network. If no devices are found,
+    * then a <code>null</code> reference will be returned. In most cases, all further
+    * communication with the device is done through the <code>OneWireContainer</code>.
+    *
+    * @return  The first <code>OneWireContainer</code> object found on the
+    * 1-Wire Network, or <code>null</code> if no devices found.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public OneWireContainer getFirstDeviceContainer () throws OneWireIOException, OneWireException
+   {
+        if (findFirstDevice() == true) {
+            return getDeviceContainer();
+        }
+        else
+            return null;
+   }
+   
+   
+   /**
+    * Returns a <code>OneWireContainer</code> object corresponding to the next iButton
+    * or 1-Wire device found. The previous 1-Wire device found is used
+    * as a starting point in the search.  If no devices are found,
+    * then a <code>null</code> reference will be returned. In most cases, all further
+    * communication with the device is done through the <code>OneWireContainer</code>.
+    *
+    * @return  The next <code>OneWireContainer</code> object found on the
+    * 1-Wire Network, or <code>null</code> if no iButtons found.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public OneWireContainer getNextDeviceContainer () throws OneWireIOException, OneWireException
+   {
+      if (findNextDevice() == true)
+      {
+         return getDeviceContainer();
+      }
+      else
+         return null;
+   }
+   
+   
+   /**
+    * Returns an enumeration of <code>OneWireContainer</code> objects corresponding
+    * to all of the iButtons or 1-Wire devices found on the 1-Wire Network.
+    * If no devices are found, then an empty enumeration will be returned.
+    * In most cases, all further communication with the device is done
+    * through the OneWireContainer.
+    *
+    * @return  <code>Enumeration</code> of <code>OneWireContainer</code> objects
+    * found on the 1-Wire Network.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public Iterator getAllDeviceContainers() throws OneWireIOException, OneWireException
+   {      
+        // lazy: each next() runs one search step
+        return streamDeviceContainers().iterator();
+   }
+
+   /**
+    * Returns the ROMs of the devices on the selected channel as
+    * <code>long</code>s (see {@link Address#toLong(byte[])}) without making
+    * containers.  The search runs as the stream is consumed, one device per
+    * element, so <code>findFirst()</code> or <code>limit()</code> stop it
+    * early.  Family filters apply.  The stream has its own search position
+    * and does not change the one used by {@link #OWNext()}.
+    *
+    * @return lazy stream of ROMs
+    */
+   public LongStream streamAddresses()
+   {
+      return StreamSupport.longStream(new DeviceSearchSpliterator(this, null, false), false);
+   }
+
+   /**
+    * Like {@link #streamAddresses()}, searching the given DS2482-800
+    * channels one after the other.
+    *
+    * @param channels channels to search, in order
+    * @return lazy stream of ROMs
+    */
+   public LongStream streamAddresses(int... channels)
+   {
+      return StreamSupport.longStream(new DeviceSearchSpliterator(this, channels, false), false);
+   }
+
+   /**
+    * Like {@link #streamAddresses(int...)} with an alarm search, so only
+    * devices in an alarm state turn up, whatever
+    * {@link #setSearchOnlyAlarmingDevices()} is set to.
+    *
+    * @param channels channels to search, in order; none for the selected one
+    * @return lazy stream of the ROMs of alarming devices
+    */
+   public LongStream streamAlarmingAddresses(int... channels)
+   {
+      return StreamSupport.longStream(new DeviceSearchSpliterator(this, channels, true), false);
+   }
+
+   /**
+    * Returns a container for each device on the selected channel, making
+    * each one only when the stream gets to it.
+    *
+    * @return lazy stream of containers
+    * @see #streamAddresses()
+    */
+   public Stream<OneWireContainer> streamDeviceContainers()
+   {
+      return streamDeviceContainers((int[]) null);
+   }
+
+   /**
+    * Returns a container for each device on the given DS2482-800 channels,
+    * with {@link OneWireContainer#getChannel()} set to the channel it was
+    * found on.
+    *
+    * @param channels channels to search, in order
+    * @return lazy stream of containers
+    * @see #streamAddresses(int...)
+    */
+   public Stream<OneWireContainer> streamDeviceContainers(int... channels)
+   {
+      final DeviceSearchSpliterator search = new DeviceSearchSpliterator(this, channels, false);
+      return StreamSupport.stream(new Spliterators.AbstractSpliterator<OneWireContainer>(
+            Long.MAX_VALUE, search.characteristics())
+      {
+         @Override
+         public boolean tryAdvance(Consumer<? super OneWireContainer> action)
+         {
+            while (search.advance())
+            {
+               OneWireContainer ibutton = getDeviceContainer(Address.toByteArray(search.getRom()));
+               if (ibutton != null)
+               {
+                  ibutton.setChannel(search.getChannel());
+                  action.accept(ibutton);
+                  return true;
+               }
+            }
+            return false;
+         }
+      }, false);
+   }
+
+	
+            
+    /*
+     * OWFirst
+     * <p>
+     * Find the "first" devices on the 1-wire network
+     * @version    0.00, 6 June 2015
+     * @author Bruce Juntti bjuntti at unixwizardry.com
+     * @return boolean TRUE if device found, ROM number in CurrentDeviceESS buffer;
+          FALSE if no device present
+     */
+
+    public boolean OWFirst() {
+        // reset the search state
+        LastDiscrepancy = 0;
+        LastDeviceFlag = false;
+        LastFamilyDiscrepancy = 0;
+        return OWSearch();
+    }
+    
+  
+    public boolean OWNext() {
+        // Leave the search state alone
+        return OWSearch();
+    }
+
+    /**
+     * Sets the search state so the next {@link #OWNext()} finds the first
+     * device of <code>family</code>: the family code is preloaded into the
+     * ROM buffer and the last discrepancy put past the end of the ROM, so
+     * the first eight triplets follow the family bits instead of the lowest
+     * branch.  If no device of that family is present the search comes back
+     * with a device of some other family, which the caller has to check for.
+     *
+     * @param family family code to jump to
+     */
+    public void OWTargetSetup(byte family) {
+        busLock.lock();
+        try {
+            CurrentDevice[0] = family;
+            for (int i = 1; i < ONEWIRE_ROM_BYTE_LENGTH; i++)
+                CurrentDevice[i] = 0;
+            LastDiscrepancy = 64;
+            LastFamilyDiscrepancy = 0;
+            LastDeviceFlag = false;
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the first device whose ROM starts with the first
+     * <code>bits</code> bits of <code>prefix</code>, e.g. 8 for a family,
+     * 56 for family and serial number.  Together with
+     * {@link #OWNextPrefix()} this walks only the part of the search tree
+     * under the prefix, however many other devices are on the bus.
+     *
+     * @param prefix ROM to take the prefix from, least significant byte
+     *        (family code) first as everywhere else
+     * @param bits prefix length, 0 to 64, counted from bit 0 of the family code
+     * @return <code>true</code> if a device with that prefix was found, its
+     *         ROM in the current device buffer
+     */
+    public boolean OWSearchPrefix(byte[] prefix, int bits) {
+        if (bits < 0 || bits > 64 || prefix.length * 8 < bits)
+            throw new IllegalArgumentException("prefix of " + bits + " bits");
+        busLock.lock();
+        try {
+            System.arraycopy(prefix, 0, prefixRom, 0, (bits + 7) / 8);
+            for (int i = (bits + 7) / 8; i < ONEWIRE_ROM_BYTE_LENGTH; i++)
+                prefixRom[i] = 0;
+            if ((bits & 7) != 0)
+                prefixRom[bits / 8] &= (byte) ((1 << (bits & 7)) - 1);
+            prefixBits = bits;
+            prefixDone = false;
+            // follow the prefix bits at every discrepancy, then the lowest branch
+            System.arraycopy(prefixRom, 0, CurrentDevice, 0, ONEWIRE_ROM_BYTE_LENGTH);
+            LastDiscrepancy = 64;
+            LastFamilyDiscrepancy = 0;
+            LastDeviceFlag = false;
+            return OWNextPrefix();
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the next device under the prefix given to
+     * {@link #OWSearchPrefix(byte[], int)}.  Stops without another pass
+     * once the search would branch off inside the prefix.
+     *
+     * @return <code>true</code> if another device with the prefix was found
+     */
+    public boolean OWNextPrefix() {
+        busLock.lock();
+        try {
+            if (prefixDone)
+                return false;
+            if (!OWSearch() || !hasPrefix(CurrentDevice)) {
+                // a search that leaves the prefix found nothing under it
+                prefixDone = true;
+                return false;
+            }
+            // the next pass turns off at LastDiscrepancy; inside the prefix
+            // means the subtree is finished
+            if (LastDeviceFlag || LastDiscrepancy <= prefixBits)
+                prefixDone = true;
+            return true;
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    private boolean hasPrefix(byte[] rom) {
+        int whole = prefixBits / 8;
+        for (int i = 0; i < whole; i++) {
+            if (rom[i] != prefixRom[i])
+                return false;
+        }
+        int mask = (1 << (prefixBits & 7)) - 1;
+        return (mask == 0) || ((rom[whole] & mask) == prefixRom[whole]);
+    }
+
+    /**
+     * Sets the search state so the next {@link #OWNext()} skips every
+     * remaining device of the family just found, by resuming at the last
+     * discrepancy inside the family code.
+     */
+    public void OWFamilySkipSetup() {
+        busLock.lock();
+        try {
+            LastDiscrepancy = LastFamilyDiscrepancy;
+            LastFamilyDiscrepancy = 0;
+            // no discrepancy in the family code means no other family is left
+            if (LastDiscrepancy == 0)
+                LastDeviceFlag = true;
+        } finally {
+            busLock.unlock();
+        }
+    }
+    
+    /**
+     * Resets the DS2482 1-wire bridge which does a global reset of the device 
+     * state-machine logic and terminates any ongoing 1-Wire communication.
+     * The command code for the device reset is 0xF0.
+     * <p>
+     * @version    0.00, 6 June 2015
+     * @author Bruce Juntti <bjuntti at unixwizardry.com>
+     * @return Status byte
+     * <p>
+     *  bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
+     *  ========================================
+     *  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
+     * 
+     */
+    public boolean DS2482Reset() {
+        busLock.lock();
+        try {
+            int poll_count = 0;       
+            byte status = 0;
+            byte cmd = DS2482ResetCmd;
+        
+            // command and first status read in one combined transaction
+            status = I2CwriteReadByte(cmd);
+            if (isMessageEnabled(INFO))
+                printMessage(" status = " + byteToHex(status), "DS2482Reset()", INFO);
+            while (0x01 == (status & STATUS_1WB) && ++poll_count < POLL_LIMIT) {
+                status = I2CreadByte();
+                if (isMessageEnabled(INFO))
+                    printMessage(" status = " + byteToHex(status), "DS2482Reset()", INFO);
+            }
+        
+        
+            selectedChannel = 0;
+            if ((status & STATUS_SD) == STATUS_SD) {
+                System.out.println("[DS2482Reset] Short detected");
+                return false;
+            }
+            //System.out.println("[DS2482Reset] Status: " + PrintBits(0, status));
+            return (((status & STATUS_RST) == STATUS_RST) ? true: false); 
+        } finally {
+            busLock.unlock();
+        }
+    }   
+        
+
+    /**
+     * Does a RESET on the DS2482 device
+     * @return TRUE if it went OK, otherwise FALSE
+     */
+    @Override
+    public boolean DS2482Detect() {       
+        if ( !DS2482Reset() ) {
+            msg = "Detect returned false";
+            printMessage(msg, "DS2482Detect()", ERROR);
+            return false;
+        }
+        //
+        // Putting config register back, setting APU
+        //
+        byte cfg = DS2482WrtCfg(DS2482Config);
+        msg = "cfg is now = " + PrintBits(1, cfg);
+        printMessage(msg, "DS2482Detect()", INFO );      
+        return true;  
+    }   
+
+    /**
+     * reset()
+     * (AKA OWreset)
+     * Does a reset of the 1-wire bus via the DS2482 I2C 1-wire bridge
+     * @return status byte from DS2482
+     * <p>
+     *  bit7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
+     *  ========================================
+     *  DIR  TSB  SBR  RST   LL   SD  PPD  1WB
+     * 
+     */
+    public int OWReset() {     
+        busLock.lock();
+        long started = metrics.start();
+        Object event = events.begin(BusEvents.RESET);
+        int result = RESET_NOPRESENCE;
+        try {
+            metrics.count(BusMetrics.RESETS);
+            byte status_reg;
+            status_reg = runOneWireCommand(resetFrame, DS2482StatusPoller.OP_RESET);
+            if ((status_reg & STATUS_1WB) == STATUS_1WB) {
+                DS2482Reset();
+                System.out.println("[OWReset] 1-Wire reset timed out; DS2482 was reset: result was " + PrintBits(0, status_reg));
+                metrics.count(BusMetrics.NO_PRESENCE);
+                return result;
+            }
+            if (isMessageEnabled(INFO))
+                printMessage("status register: " + PrintBits(0, status_reg), "OWReset()", INFO);
+            if((status_reg & STATUS_PPD) == STATUS_PPD)  {
+                printMessage("returning RESET_PRESENCE", "OWReset()", INFO);
+                metrics.count(BusMetrics.PRESENCE);
+                result = RESET_PRESENCE;
+            } else if ((status_reg & STATUS_SD) == STATUS_SD ) {
+                printMessage("returning RESET_SHORT", "OWReset()", INFO);
+                metrics.count(BusMetrics.SHORTS);
+                result = RESET_SHORT;
+            } else {
+                printMessage("returning RESET_NOPRESENCE", "OWReset()", INFO);
+                metrics.count(BusMetrics.NO_PRESENCE);
+            }
+            return result;
+        } finally {
+            metrics.stop(BusMetrics.T_RESET, started);
+            if (event != null)
+                events.commitReset(event, getBridgeName(), selectedChannel, result);
+            busLock.unlock();
+        }
+    }
+    
+    /**
+     * <p>
+     * After a device reset (power-up cycle or initiated by the Device Reset command) 
+     * the Configuration register reads 00h. When writing to the Configuration register, 
+     * the new data is accepted only if the upper nibble (bits 7 to 4) is the one's complement 
+     * of the lower nibble (bits 3 to 0). When read, the upper nibble is always 0h.
+     * <pre>
+     * CONFIGURATON REGISTER
+     * bit t7 bit6 bit5 bit4 bit3 bit2 bit1 bit0
+     * ========================================
+     * ___  ___  ___  ___
+     * 1WS  SPU  PPM  APU  1WS  SPU  PPM  APU
+     * </pre>
+     * @param config Lower nibble only used - the upper 1's complement is generated in this method
+     * @return
+     */
+    @Override
+    public byte DS2482WrtCfg(byte config) {
+        busLock.lock();
+        try {
+            int bitmask = 0x00FF;
+            byte cfgreg;
+            byte cfg = (byte) ((config | ~config << 4) & bitmask) ;
+            byte result;
+            byte[] temp = {DS2482_WriteConfigRegCmd, cfg};    
+            if (isMessageEnabled(INFO))
+                printMessage("Writing config " + byteToHex(cfg), "DS2482WrtCfg()", INFO);
+        
+            // the write leaves the read pointer on the config register
+            cfgreg = I2CwriteReadByte(temp);
+            if (isMessageEnabled(INFO))
+                printMessage("returned: " + PrintBits(1, cfgreg), "DS2482WrtCfg()", INFO);   
+            return cfgreg;
+        } finally {
+            busLock.unlock();
+        }
+    }
+    
+
+   /**
+    * <p>
+    * Send 1 bit of communication to the 1-Wire Net and return the
+    * result 1 bit read from the 1-Wire Net. The parameter 'sendbit'
+    * least significant bit is used and the least significant bit
+    * of the result is the return bit.
+    * 
+    * @param sendbit the least significant bit is the bit to send
+    * @return True or False
+    */
+    public boolean OWTouchBit(byte sendbit) {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.BITS);
+            byte status_reg;
+            singleBitFrame[1] = (byte) (((sendbit & 0x01) != 0) ? 0x80 : 0x00);   // DS2482 takes the bit in bit 7
+            status_reg = runOneWireCommand(singleBitFrame, DS2482StatusPoller.OP_BIT);
+            if ((status_reg & STATUS_1WB) == STATUS_1WB) {            
+                DS2482Reset();
+                System.out.println("[OWTouchBit] 1-Wire bit timed out; DS2482 was reset: result was " + PrintBits(0, status_reg));
+                return false;
+            }
+            if ((status_reg & STATUS_SBR) == STATUS_SBR) {
+                return true;
+            } else {
+                return false;
+            }
+        } finally {
+            metrics.stop(BusMetrics.T_BIT, started);
+            busLock.unlock();
+        }
+    }
+       
+
+    /**
+     * Send 8 bits of communication to the 1-Wire Net and return the
+     * result 8 bits read from the 1-Wire Net. The parameter 'sendbyte'
+     * least significant 8 bits are used and the least significant 8 bits
+     * of the result are the return byte.
+     * <p>
+     * @param sendbyte - 8 bits to send (least significant byte)
+     * @return - 8 bits to send (least significant byte)
+     */
+        public byte OWTouchByte(byte sendbyte) {
+        if ( sendbyte == 0xFF) {
+            return OWReadByte();
+        } else {
+            OWWriteByte(sendbyte);
+            return sendbyte;
+        }
+    }
+ 
+    
+   /**
+    * OWSearch does a 1-wire search using the DS2482 1-wire Triplet command.
+    * 
+    * This code was taken from the Dallas/Maxim Application note AN3684 "How
+    * to Use the DS2482 1-wire Master" and modified for Java ME.  Also see the 
+    * PDF for the DS2482-100 and DS2482-800 devices.
+    * 
+    * resetSearch - Reset the search (1), or not (0)
+    * lastdevice - If the last device has been found (1), or not (0)
+    * deviceAddress - the returned serial number
+    * This function continues from the previous search state. The search 
+    * state can be reset by using the 'OWFirst' function.
+    * 
+    * When 'doAlarmSearch' is TRUE (1) the find alarm command
+    * 0xEC is sent instead of the normal search command 0xF0.
+    * Using the find alarm command 0xEC will limit the search to only
+    * 1-Wire devices that are in an 'alarm' state.
+    * 
+    * @version    0.00, 6 June 2015
+    * @author Bruce Juntti <bjuntti at unixwizardry.com>
+    * @return 
+    * <p>
+    * TRUE (1) if 1-wire device was found and its Serial Number
+    * placed in the global ROM
+    * <p>
+    * FALSE (0): when no new device was found.  Either the are no devices
+    * on the 1-Wire Net.
+    * 
+    */   
+    public boolean OWSearch() {       
+        busLock.lock();
+        long started = metrics.start();
+        Object event = events.begin(BusEvents.SEARCH);
+        long tripletsBefore = triplets;
+        boolean found = false;
+        try {
+            metrics.count(BusMetrics.SEARCHES);
+            // where this pass starts from, to go back to if the ROM is misread
+            System.arraycopy(CurrentDevice, 0, searchRestart, 0, ONEWIRE_ROM_BYTE_LENGTH);
+            int familyDiscrepancy = LastFamilyDiscrepancy;
+            int pass = searchPass();
+            for (int retry = 0; pass == PASS_RETRY; retry++) {
+                System.arraycopy(searchRestart, 0, CurrentDevice, 0, ONEWIRE_ROM_BYTE_LENGTH);
+                LastFamilyDiscrepancy = familyDiscrepancy;
+                if (retry == SEARCH_RETRIES) {
+                    // still unreadable, give up and start over next time
+                    LastDiscrepancy = 0;
+                    LastDeviceFlag = false;
+                    LastFamilyDiscrepancy = 0;
+                    pass = PASS_NONE;
+                } else {
+                    metrics.count(BusMetrics.SEARCH_RETRIES);
+                    pass = searchPass();
+                }
+            }
+            found = (pass == PASS_FOUND);
+            return found;
+        } finally {
+            metrics.stop(BusMetrics.T_SEARCH, started);
+            if (event != null)
+                events.commitSearch(event, getBridgeName(), selectedChannel,
+                        found ? Address.toString(CurrentDevice) : null, (int) (triplets - tripletsBefore));
+            busLock.unlock();
+        }
+    }
+    
+    // One pass of the search from the current state.  PASS_RETRY leaves
+    // the search state as it found it apart from the ROM buffer and
+    // LastFamilyDiscrepancy, which OWSearch() puts back.
+    private int searchPass() {
+        int id_bit_number = 1;
+        int crc = 0;
+        int last_zero = 0, rom_byte_number = 0;
+        boolean search_result = false;
+        int presence;
+        byte id_bit, cmp_id_bit;
+        byte rom_byte_mask = 0x01;
+        byte search_direction;
+        byte status;
+    
+        if (LastDeviceFlag) {
+            //System.out.println("1-wire search completed");
+            LastDiscrepancy = 0;
+        }
+    
+        // if the last call was not the last one
+        if (!LastDeviceFlag) {
+            presence = OWReset();        
+            if ( presence != RESET_PRESENCE ) {
+                // Then reset the search
+                LastDiscrepancy = 0;
+                LastDeviceFlag = false;
+                LastFamilyDiscrepancy = 0;
+                return PASS_NONE;
+            } 
+        
+            if (!doAlarmSearch)
+                OWWriteByte(OWSearchCmd);   
+            else
+                OWWriteByte(OWAlarmSearchCmd);
+        
+            // Loop to do the search
+            do {
+                // if this discrepancy is before the Last Discrepancy
+                // on a previous next then pick the same as last time                
+                if (id_bit_number < LastDiscrepancy) {
+                    if ( (CurrentDevice[rom_byte_number] & rom_byte_mask) != 0)                         
+                        search_direction = 1;
+                    else 
+                        search_direction = 0;                                                                                                    
+                } else {
+                    // if equal to last pick 1, if not then pick 0
+                    if (id_bit_number == LastDiscrepancy) 
+                        search_direction = 1;
+                     else 
+                        search_direction = 0;                    
+                }
+            
+                // Perform a 1-wire triplet operation on the DS2482 which will perform
+                // 2 read bits and 1 write bit               
+                status = DS2482OWTriplet(search_direction);                
+                            
+                id_bit = (byte) (status & STATUS_SBR);
+                cmp_id_bit = (byte) (status & STATUS_TSB);
+                int IDbit = 0, cmpIDbit = 0;
+            
+                if (id_bit > 0)
+                    IDbit = 1;
+                if (cmp_id_bit > 0)
+                    cmpIDbit = 1;
+            
+                if (IDbit == 1) {
+                    if (cmpIDbit == 1) {
+                        break;
+                    }
+                }
+            
+                search_direction = (byte) (((status & STATUS_DIRECTION_TAKEN) == STATUS_DIRECTION_TAKEN) ? 1 : 0);
+                           
+                if (id_bit == 0x20 && cmp_id_bit == 0x40) {         // If both id_bit and its complement are 1, 
+                    LastDiscrepancy = LastFamilyDiscrepancy = 0;    // then no 1-wire devices were found
+                    LastDeviceFlag = false;
+                    break;
+                } else {
+                    if (id_bit == 0 && cmp_id_bit == 0 && (search_direction == 0)) {
+                        last_zero = id_bit_number;
+                        // Check for last discrepancy in family
+                        if (last_zero < 9)
+                            LastFamilyDiscrepancy = last_zero;                        
+                    }
+                    // set or clear the bit in the ROM byte rom_byte_number
+                    // with mask rom_byte_mask
+                    if (search_direction == 1) {
+                        CurrentDevice[rom_byte_number] |= rom_byte_mask; 
+                    } else {
+                        CurrentDevice[rom_byte_number] &= ~rom_byte_mask;
+                    }
+                    // Dallas CRC8 (x^8 + x^5 + x^4 + 1), one ROM bit at a time,
+                    // LSB first as the bits come off the wire
+                    if (((crc ^ search_direction) & 0x01) != 0)
+                        crc = (crc >>> 1) ^ 0x8C;
+                    else
+                        crc >>>= 1;
+            
+                
+                    // increment the byte counter id_bit_number
+                    // and shift the mask rom_byte_mask
+                    id_bit_number++;
+                    rom_byte_mask <<= 1;
+                
+                    // if the mask is 0 then go to new SerialNum byte rom_byte_number
+                    // and reset mask
+                    if (rom_byte_mask == 0) {                       
+                        rom_byte_number++;
+                        rom_byte_mask = 1;                        
+                    }                     
+                }
+                if (rom_byte_number < 7)
+                    device_serial_no[rom_byte_number] = CurrentDevice[rom_byte_number];
+            
+            } while (rom_byte_number < 8);  // Loop through all ROM bytes 0-7
+        
+            crc8 = crc;
+            // a ROM that broke off part way or fails its CRC was misread;
+            // somebody answered, so the same branch is worth another pass
+            if (id_bit_number > 1 && (id_bit_number < 65 || crc8 != 0)) {
+                if (id_bit_number == 65)
+                    metrics.count(BusMetrics.CRC8_FAILURES);
+                return PASS_RETRY;
+            }
+            // if the search was successful then
+            if (!((id_bit_number < 65) || (crc8 != 0))) {
+                // search successful so set LastDiscrepancy, LastDeviceFlag, search_result
+                LastDiscrepancy = last_zero;                
+                // check for last device
+                if (LastDiscrepancy == 0) {
+                   LastDeviceFlag = true; 
+                }
+                search_result = true;
+            }
+        }
+            
+        // if no device found then reset counters so next
+        // 'search' will be like a first
+        if (!search_result || (CurrentDevice[0] == 0)) {
+            LastDiscrepancy = 0;
+            LastDeviceFlag = false;
+            LastFamilyDiscrepancy = 0;
+            search_result = false;
+        }
+        return search_result ? PASS_FOUND : PASS_NONE;
+    }
+
+    //--------------------------------------------------------------------------
+    // Use the DS2482 help command '1-Wire triplet' to perform one bit of a
+    // 1-Wire search.
+    // This command does two read bits and one write bit. The write bit
+    // is either the default direction (all device have same bit) or in case of
+    // a discrepancy, the 'search_direction' parameter is used.
+    //
+    // Returns – The DS2482 status byte result from the triplet command
+    //
+    @Override
+    public byte DS2482OWTriplet(byte search_direction) {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.TRIPLETS);
+            triplets++;
+            byte direction;
+            byte received;
+            direction = search_direction > 0 ? (byte) 0xFF : 0x0; 
+            tripletFrame[1] = direction;
+            received = runOneWireCommand(tripletFrame, DS2482StatusPoller.OP_TRIPLET);
+
+            if ((received & STATUS_1WB) == STATUS_1WB) {
+                DS2482Reset();
+                System.out.println("[DS2482_OWtriplet] 1-Wire triplet timed out; DS2482 was reset: result was " + PrintBits(0, received));
+                return 0x0;
+            }
+            return received;
+        } finally {
+            metrics.stop(BusMetrics.T_TRIPLET, started);
+            busLock.unlock();
+        }
+    }
+      
+        
+    //--------------------------------------------------------------------------
+    // Select the 1-Wire channel on a DS2482-800.
+    //
+    // Returns: TRUE if channel selected
+    //          FALSE device not detected or failure to perform select
+    //
+    @Override
+    public boolean DS2482ChannelSelect(int channel) {
+        busLock.lock();
+        long started = metrics.start();
+        Object event = events.begin(BusEvents.CHANNEL_SELECT);
+        boolean ok = false;
+        try {
+            metrics.count(BusMetrics.CHANNEL_SWITCHES);
+            byte ch, ch_read, check;      
+       
+            switch (channel) {
+                default:
+                case 0:
+                    ch = (byte) 0xF0;
+                    ch_read = (byte) 0xB8;
+                    break;
+                case 1:
+                    ch = (byte) 0xE1;
+                    ch_read = (byte) 0xB1;
+                    break;
+                case 2:
+                    ch = (byte) 0xD2;
+                    ch_read = (byte) 0xAA;
+                    break;
+                case 3:
+                    ch = (byte) 0xC3;
+                    ch_read = (byte) 0xA3;
+                    break;
+                case 4:
+                    ch = (byte) 0xB4;
+                    ch_read = (byte) 0x9C;
+                    break;
+                case 5:
+                    ch = (byte) 0xA5;
+                    ch_read = (byte) 0x95;
+                    break;
+                case 6:
+                    ch = (byte) 0x96;
+                    ch_read = (byte) 0x8E;
+                    break;
+                case 7:
+                    ch = (byte) 0x87;
+                    ch_read = (byte) 0x87;
+                    break;
+            }
+
+            channelFrame[1] = ch;
+            if (isMessageEnabled(INFO))
+                printMessage("sending = " + toHexString(channelFrame), "DS2482ChannelSelect()", INFO);      
+            check = I2CwriteReadByte(channelFrame);
+            if (isMessageEnabled(INFO))
+                printMessage("check = " + byteToHex(check), "DS2482ChannelSelect()", INFO);
+            // check for failure due to incorrect read back of channel
+         
+            if (check == ch_read) {
+                selectedChannel = (channel > 0 && channel < 8) ? channel : 0;
+                ok = true;
+            }
+            return ok;
+        } finally {
+            metrics.stop(BusMetrics.T_CHANNEL, started);
+            if (event != null)
+                events.commitChannelSelect(event, getBridgeName(), channel, ok);
+            busLock.unlock();
+        }
+    }
+         
+    /**
+     * OWWriteBit - Writes a single bit to the device, with the same
+     * pre-encoded 1-Wire Single Bit frame as {@link #OWTouchBit(byte)}
+     * @param sendbyte the bit to write, in the least significant bit
+     * @return True for success or False for failure
+     */
+    public boolean OWWriteBit(byte sendbyte) {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.BITS);
+            byte received;
+            singleBitFrame[1] = (byte) (((sendbyte & 0x01) != 0) ? 0x80 : 0x00);   // DS2482 takes the bit in bit 7
+
+            received = runOneWireCommand(singleBitFrame, DS2482StatusPoller.OP_BIT);
+            if ((received & STATUS_1WB) == STATUS_1WB) {
+                DS2482Reset();
+                System.out.println("[OWWriteBit] 1-Wire bit timed out; DS2482 was reset: result was " + PrintBits(0, received));
+                return false;
+            }
+            return true;
+        } finally {
+            metrics.stop(BusMetrics.T_BIT, started);
+            busLock.unlock();
+        }
+    }        
+
+    /**
+     * Send 8 bits of communication to the 1-Wire Net 
+     * <p>
+     * The parameter 'sendbyte' least significant 8 bits are used.
+     * @param sendbyte - 8 bits to send (least significant byte)
+     */
+    public void OWWriteByte(byte sendbyte) {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.BYTES_WRITTEN);
+            oneWireBytes++;
+            byte byteToSend = (byte) (sendbyte & 0xFF);
+            byte received_status;
+            writeByteFrame[1] = byteToSend;
+            received_status = runOneWireCommand(writeByteFrame, DS2482StatusPoller.OP_BYTE);
+            if ((received_status & STATUS_1WB) == STATUS_1WB) {
+                DS2482Reset();
+                System.out.println("[OWWriteByte] 1-Wire write timed out; DS2482 was reset: result was " + PrintBits(0, received_status));
+            }
+        } finally {
+            metrics.stop(BusMetrics.T_WRITE_BYTE, started);
+            busLock.unlock();
+        }
+    }
+    
+   /**
+    *  Sends a block of data and returns the data received in the same array.
+    *  This method is used when sending a block that contains reads and writes.
+    *  The 'read' portions of the data block need to be pre-loaded with 0xFF's.
+    *  It starts sending data from the index at offset 'off' for length 'len'.
+    *
+    *  @param  dataBlock  array of data to transfer to and from the 1-Wire Network.
+    *  @param  off        offset into the array of data to start
+    *  @param  len        length of data to send / receive starting at 'off'
+    *
+    *  For family 10 device first incoming block looks like:
+    * 
+    *  read scratchpad cmd
+    *     /-- 9 bytes of all 1's --\
+    *  BE FF FF FF FF FF FF FF FF FF
+    *  BE 1F 00 1C 17 FF FF 06 4D 8D  // Real output
+    *  returns:
+    *  BE 01 02 03 04 05 06 07 08 09
+    *    |------ CRC8 ------------|
+    *
+    *  For family 26 device incoming first block looks like:
+    * 
+    *  Recall memory cmd
+    *  /
+    * B8 01<--- page number
+    *
+    * Second incoming block looks like
+    * read scratchpad cmd
+    *    /--- 10 bytes of all 1's ---\
+    * BE FF FF FF FF FF FF FF FF FF FF
+    * returns:
+    * BE FF 01 02 03 04 05 06 07 08 09
+    *       |------ CRC8 ------------|
+    */
+                                     
+    public void dataBlock(byte dataBlock[], int off, int len) {
+        busLock.lock();
+        try {
+            if (isMessageEnabled(INFO)) {
+                msg = "[I2CBridgeAdapter][dataBlock] dataBlock = " + bytesToHexLE(dataBlock) + " ,off = " 
+                        + off + " ,len = " + len;
+                printMessage(msg, "dataBlock()", INFO);
+            }
+        
+            // Each byte is touched in order, in place.  Sending 0xFF is the same
+            // as reading a byte on the 1-Wire, so those slots are read back and
+            // everything else is written.
+            for (int i = off; i < off + len; i++) {           
+                if (( dataBlock[i] & 0xFF) == 0xFF ) {                 
+                    dataBlock[i] = OWReadByte();           
+                } else {
+                    OWWriteByte(dataBlock[i]);
+                }
+            }
+        } finally {
+            busLock.unlock();
+        }
+    }
+          
+    
+    //--------------------------------------------------------------------------
+    // Send 8 bits of read communication to the 1-Wire Net and return the
+    // result 8 bits read from the 1-Wire Net.
+    //
+    // Returns:  8 bits read from 1-Wire Net
+    //
+    // NOTE: To read the data byte received from the 1-Wire line, issue the Set
+    //       Read Pointer command and select the Read Data register. Then access
+    //       the DS2482 in read mode.
+    //
+
+    /**
+     *
+     * @return
+     */
+    public byte OWReadByte() {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.BYTES_READ);
+            oneWireBytes++;
+            byte received;
+            // wait for 1WB to clear, give up if the read never finishes
+            received = runOneWireCommand(readByteFrame, DS2482StatusPoller.OP_BYTE);
+            if ((received & STATUS_1WB) == STATUS_1WB) {
+                DS2482Reset();
+                System.out.println("[OWReadByte] 1-Wire read timed out; DS2482 was reset: result was " + PrintBits(0, received));
+            }    
+            // point at the data register and read it in the same transaction;
+            // the data register has no busy bit, so there is nothing to poll
+            received = I2CwriteReadByte(readDataFrame);
+            return received;
+        } finally {
+            metrics.stop(BusMetrics.T_READ_BYTE, started);
+            busLock.unlock();
+        }
+    }
+   
+    
+    /**
+     * Sends a 1-Wire command and waits for the DS2482 to finish it.
+     * <p>
+     * Rather than reading the status register until 1WB clears, the wait is
+     * sized by the poller: operations shorter than one status read get their
+     * status in the same combined transfer as the command; longer ones sleep
+     * for the learned duration first and then read a burst of status bytes
+     * in one transfer.  Polling stops at the poller's time limit.
+     *
+     * @param cmd DS2482 1-Wire command and its parameter byte, if any
+     * @param op <code>DS2482StatusPoller</code> operation the command starts
+     * @return the status register; 1WB is still set if the operation timed out
+     */
+    private byte runOneWireCommand(byte[] cmd, int op) {
+        boolean overdrive = (DS2482Config & CONFIG_1WS) == CONFIG_1WS;
+        BusClock clock = getClock();
+        long expected = poller.expectedNs(op, overdrive);
+        long timeout = poller.timeoutNs(op, overdrive);
+        boolean learn;
+        long start;
+        int reads = 0;
+        int n;
+
+        if (poller.readWithCommand(op, overdrive)) {
+            start = clock.nanoTime();
+            n = I2CwriteReadBlock(cmd, statusBurst, 1);
+            learn = false;
+        } else {
+            I2CwriteBlock(cmd);
+            start = clock.nanoTime();
+            pause(clock, poller.initialWaitNs(op, overdrive));
+            n = I2CreadBlock(statusBurst, poller.burstLength(expected - (clock.nanoTime() - start)));
+            learn = true;
+        }
+
+        boolean firstRead = true;
+        while (n > 0) {
+            reads += n;
+            metrics.count(BusMetrics.STATUS_POLLS, n);
+            long elapsed = clock.nanoTime() - start;
+            for (int i = 0; i < n; i++) {
+                if ((statusBurst[i] & STATUS_1WB) == 0) {
+                    if (learn) {
+                        long sampled = elapsed - (n - 1 - i) * poller.statusByteNs();
+                        poller.record(op, overdrive, sampled, firstRead && i == 0, reads);
+                    } else {
+                        poller.recordReads(reads);
+                    }
+                    return statusBurst[i];
+                }
+            }
+            if (elapsed > timeout)
+                break;
+            firstRead = false;
+            n = I2CreadBlock(statusBurst, poller.burstLength(expected - elapsed));
+        }
+        poller.recordTimeout(reads);
+        metrics.count(BusMetrics.POLL_TIMEOUT_RESETS);
+        return (n > 0) ? statusBurst[n - 1] : STATUS_1WB;
+    }
+
+    // sleep that gives way to an interrupt without losing it
+    private static void pause(BusClock clock, long nanos) {
+        if (nanos <= 0)
+            return;
+        try {
+            clock.sleepNanos(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return bytes written and read on the 1-Wire since the adapter was
+     *         created, for working out what one operation moved
+     */
+    public long getOneWireByteCount() {
+        busLock.lock();
+        try {
+            return oneWireBytes;
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * @return the DS2482-800 channel last selected, 0 after a device reset
+     *         and always 0 on a DS2482-100
+     */
+    public int getSelectedChannel() {
+        busLock.lock();
+        try {
+            return selectedChannel;
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Selects a DS2482-800 channel unless it is already selected, so
+     * callers can ask for the channel before every operation and only pay
+     * for real switches.
+     *
+     * @param channel channel, 0 to 7
+     * @return <code>true</code> if the channel is selected
+     */
+    public boolean selectChannel(int channel) {
+        busLock.lock();
+        try {
+            return channel == selectedChannel || DS2482ChannelSelect(channel);
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Finds out once whether the bridge is a DS2482-800, by trying to
+     * select channel 1; the selected channel is put back afterwards.
+     *
+     * @return 8 for a DS2482-800, 1 for a DS2482-100
+     */
+    public int getChannelCount() {
+        busLock.lock();
+        try {
+            if (channelCount == 0) {
+                int was = selectedChannel;
+                if (selectChannel(was == 1 ? 2 : 1)) {
+                    channelCount = 8;
+                    selectChannel(was);
+                } else {
+                    channelCount = 1;
+                }
+            }
+            return channelCount;
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Records which DS2482-800 channel a device is on, so that
+     * {@link #OWSelect(byte[])} switches to it.  Containers call this from
+     * <code>setChannel()</code>.
+     *
+     * @param address device address
+     * @param channel channel, 0 to 7
+     */
+    public void setDeviceChannel(byte[] address, int channel) {
+        if (channel < 0 || channel > 7)
+            throw new IllegalArgumentException("channel " + channel);
+        busLock.lock();
+        try {
+            deviceChannels.put(Address.toLong(address), channel);
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * @param address device address
+     * @return the DS2482-800 channel the device was found on, -1 if not known
+     */
+    public int getDeviceChannel(byte[] address) {
+        busLock.lock();
+        try {
+            return deviceChannels.get(Address.toLong(address));
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Searches every channel of the bridge, all eight on a DS2482-800, and
+     * records the channel of each device found, so that later selects
+     * switch channels by themselves.  The ROM to channel map starts afresh,
+     * as devices may have been moved.
+     *
+     * @return a container for each device, with its channel set
+     */
+    public List<OneWireContainer> discoverAllChannels() {
+        List<OneWireContainer> found = new ArrayList<OneWireContainer>();
+        busLock.lock();
+        try {
+            int[] channels = new int[getChannelCount()];
+            if (channels.length == 1) {
+                channels[0] = selectedChannel;
+            } else {
+                for (int i = 0; i < channels.length; i++)
+                    channels[i] = i;
+            }
+            deviceChannels.clear();
+            for (Iterator<OneWireContainer> it = streamDeviceContainers(channels).iterator(); it.hasNext();)
+                found.add(it.next());
+        } finally {
+            busLock.unlock();
+        }
+        return found;
+    }
+
+    /**
+     * Runs a transaction on this bridge with the bus held throughout.
+     *
+     * @param transaction work to run, e.g. one built with
+     *        {@link OWTransaction#builder()}
+     * @return what the transaction read
+     * @throws OneWireException if the transaction failed
+     */
+    public byte[] execute(OWTransaction transaction) throws OneWireException {
+        busLock.lock();
+        try {
+            return transaction.execute(this);
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a temperature conversion in every thermometer on a channel at
+     * once, waiting out the DS18S20's worst case of
+     * {@link #TEMPERATURE_CONVERSION_MS}.
+     *
+     * @param channel DS2482-800 channel, -1 for the one selected
+     * @throws OneWireException if there was no presence pulse, the
+     *         channel could not be selected or the conversion did not end
+     *         in time
+     * @see #convertAllTemperatures(int, long)
+     */
+    public void convertAllTemperatures(int channel) throws OneWireException {
+        convertAllTemperatures(channel, TEMPERATURE_CONVERSION_MS);
+    }
+
+    /**
+     * Starts a temperature conversion in every thermometer on a channel at
+     * once with Skip ROM, Convert T, and waits for it, so N thermometers
+     * cost one conversion time rather than N.  A Skip ROM, Read Power
+     * Supply first finds out whether any of them is parasite powered: if
+     * so the strong pullup is held for <code>conversionMs</code>,
+     * otherwise time slots are read until all of them let the line go
+     * (see {@link #waitForCompletion(long, TimeUnit)}).  Read Power Supply
+     * is Convert V to a DS2438, which then holds the line low for a few
+     * ms; a channel with one is taken as parasite powered.
+     * <p>
+     * Afterwards each device's result is read with its
+     * <code>readDevice()</code>, or with
+     * {@link #convertAllTemperatures(int, long, OneWireSensor[])}.  To
+     * convert behind a DS2409, open the <code>OWPath</code> to the branch
+     * first and pass -1.
+     *
+     * @param channel DS2482-800 channel, -1 for the one selected
+     * @param conversionMs worst case conversion time of the slowest
+     *        device, e.g. 94 ms for DS18B20s at 9 bits
+     * @throws IllegalArgumentException if the bridge has no such channel
+     * @throws OneWireException if there was no presence pulse, the
+     *         channel could not be selected or the conversion did not end
+     *         in time
+     */
+    public void convertAllTemperatures(int channel, long conversionMs) throws OneWireException {
+        if (channel < -1 || channel > 7 || channel >= getChannelCount())
+            throw new IllegalArgumentException("channel " + channel);
+        busLock.lock();
+        try {
+            int ch = (channel < 0) ? selectedChannel : channel;
+            if (!selectChannel(ch))
+                throw new OneWireIOException("convertAllTemperatures: could not select channel " + ch);
+            if (OWReset() != RESET_PRESENCE)
+                throw new OneWireIOException("convertAllTemperatures: no presence pulse on channel " + ch);
+            OWWriteByte(OWSkipRomCmd);
+            OWWriteByte((byte) READ_POWER_SUPPLY);
+            boolean parasite = !OWTouchBit((byte) 1);   // any parasite powered device pulls the slot low
+
+            if (parasite) {
+                if (convertAll[ch] == null || convertAllMs[ch] != conversionMs) {
+                    convertAll[ch] = OWTransaction.builder().channel(ch).skipRom().write(CONVERT_T)
+                            .strongPullup(conversionMs, TimeUnit.MILLISECONDS).build();
+                    convertAllMs[ch] = conversionMs;
+                }
+                convertAll[ch].execute(this);
+            } else {
+                if (OWReset() != RESET_PRESENCE)
+                    throw new OneWireIOException("convertAllTemperatures: no presence pulse on channel " + ch);
+                OWWriteByte(OWSkipRomCmd);
+                OWWriteByte((byte) CONVERT_T);
+                if (!waitForCompletion(conversionMs, TimeUnit.MILLISECONDS))
+                    throw new OneWireIOException("convertAllTemperatures: conversion not complete on channel " + ch);
+            }
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * Converts every thermometer on a channel at once, as
+     * {@link #convertAllTemperatures(int, long)} does, then reads each of
+     * <code>devices</code>.  A device that cannot be read is reported and
+     * gets <code>null</code>.
+     *
+     * @param channel DS2482-800 channel, -1 for the one selected
+     * @param conversionMs worst case conversion time of the slowest
+     *        device
+     * @param devices the thermometers on the channel to read
+     * @return what each device's <code>readDevice()</code> returned, in
+     *         the order given, for its <code>getTemperature()</code>
+     * @throws IllegalArgumentException if the bridge has no such channel
+     * @throws OneWireException if the conversion failed
+     */
+    public byte[][] convertAllTemperatures(int channel, long conversionMs, OneWireSensor[] devices)
+            throws OneWireException {
+        byte[][] states = new byte[devices.length][];
+        busLock.lock();
+        try {
+            convertAllTemperatures(channel, conversionMs);
+            for (int i = 0; i < devices.length; i++) {
+                try {
+                    states[i] = devices[i].readDevice();
+                } catch (OneWireException ex) {
+                    System.out.println("[I2CBridgeAdapter][convertAllTemperatures] Error encountered: "
+                            + ((OneWireContainer) devices[i]).getAddressAsString() + ": " + ex.getMessage());
+                }
+            }
+        } finally {
+            busLock.unlock();
+        }
+        return states;
+    }
+
+    /**
+     * Waits for the selected device to finish a conversion or copy by
+     * reading time slots: an externally powered DS18S20, DS2438 or DS2450
+     * holds the line low while busy and lets it go when done.  Slots are
+     * read at most {@link #COMPLETION_POLLS} times over the timeout (but
+     * not more often than every millisecond), so the wait ends within a
+     * small fraction of the worst case after the device does.
+     * <p>
+     * Not for parasite powered devices: the strong pullup they need keeps
+     * the line high whether they are done or not.
+     *
+     * @param timeout the worst case time for the operation
+     * @param unit unit of <code>timeout</code>
+     * @return <code>true</code> if the device let the line go in time,
+     *         <code>false</code> on timeout or interrupt
+     */
+    public boolean waitForCompletion(long timeout, TimeUnit unit) {
+        busLock.lock();
+        try {
+            BusClock clock = getClock();
+            long limit = unit.toNanos(timeout);
+            long interval = Math.max(COMPLETION_POLL_MIN_NS, limit / COMPLETION_POLLS);
+            long start = clock.nanoTime();
+            while (true) {
+                if (OWTouchBit((byte) 1))
+                    return true;
+                long left = limit - (clock.nanoTime() - start);
+                if (left <= 0 || Thread.currentThread().isInterrupted())
+                    return false;
+                pause(clock, Math.min(interval, left));
+            }
+        } finally {
+            busLock.unlock();
+        }
+    }
+
+    /**
+     * @return the timing model this adapter polls the DS2482 status with
+     */
+    public DS2482StatusPoller getStatusPoller() {
+        return poller;
+    }
+
+    /**
+     *
+     * @return
+     */
+    public byte[] getCurrentDevice() {
+        return CurrentDevice;
+    }
+    
+   /**
+    * Returns the current data transfer speed on the 1-Wire Network. <p>
+    *
+    * @return <code>int</code> representing the current 1-Wire speed
+    * <ul>
+    * <li>     0 (SPEED_REGULAR) set to normal communication speed
+    * <li>     1 (SPEED_FLEX) set to flexible communication speed used
+    *            for long lines
+    * <li>     2 (SPEED_OVERDRIVE) set to normal communication speed to
+    *            overdrive
+    * <li>     3 (SPEED_HYPERDRIVE) set to normal communication speed to
+    *            hyperdrive
+    * <li>     3 future speeds
+    * </ul>
+    */
+   public int getSpeed ()
+   {
+      return SPEED_REGULAR;
+   }  
+   
+     /**
+    * Sets the new speed of data
+    * transfer on the 1-Wire Network.
+    * 
+    * DS2482 1-Wire Speed (1WS) Bit:
+    * ==============================
+    * The 1WS bit determines the timing of any 1-Wire communication generated by the 
+    * DS2482. All 1-Wire slave devices support standard speed (1WS = 0), where the transfer 
+    * of a single bit (tSLOT in Figure 4) is completed within 65μs. Many 1-Wire device 
+    * can also communicate at a higher data rate, called Overdrive speed. To change from
+    * standard to Overdrive speed, a 1-Wire device needs to receive an Overdrive Skip ROM 
+    * or Overdrive Match ROM command, as explained in the device data sheets. The change 
+    * in speed occurs immediately after the 1-Wire device has received the speed-changing 
+    * command code. The DS2482 must take part in this speed change to stay synchronized. 
+    * This is accomplished by writing to the Configuration register with the 1WS bit being 1 
+    * immediately after the 1-Wire Byte command that changes the speed of a 1-Wire device. 
+    * Writing to the Configuration register with the 1WS bit being 0 followed by a 1-Wire 
+    * Reset command changes the DS2482 and any 1-Wire devices on the active 1-Wire line back
+    * to standard speed.
+    * 
+    * @param speed
+    * <ul>
+    * <li>     0 (SPEED_REGULAR) set to normal communcation speed
+    * <li>     1 (SPEED_FLEX) set to flexible communcation speed used
+    *            for long lines
+    * <li>     2 (SPEED_OVERDRIVE) set to normal communcation speed to
+    *            overdrive
+    * <li>     3 (SPEED_HYPERDRIVE) set to normal communcation speed to
+    *            hyperdrive
+    * <li>     greater than 3 future speeds
+    * </ul>
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *         or the adapter does not support this operation
+    */
+   public void setSpeed (int speed) throws OneWireIOException, OneWireException
+   {
+      if (speed != SPEED_REGULAR)
+         throw new OneWireException(
+            "Non-regular 1-Wire speed not supported by this adapter type");
+   }
+   
+   /**
+    * Verifies that the iButton or 1-Wire device specified is present on
+    * the 1-Wire Network. This does not affect the 'current' device
+    * state information used in searches (findNextDevice...).  On a
+    * DS2482-800 the device's channel is selected first, if it is known.
+    *
+    * @param  address  device address to verify is present
+    *
+    * @return  <code>true</code> if device is present, else
+    *         <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public boolean isPresent (byte[] address) throws OneWireIOException, OneWireException
+   {
+      busLock.lock();
+      try
+      {
+         if (!selectDeviceChannel(address))
+            return false;
+         if (OWReset() != RESET_PRESENCE)
+            return false;
+         OWWriteByte(OWSearchCmd);   // Search ROM command
+         return strongAccess(address);
+      }
+      finally
+      {
+         busLock.unlock();
+      }
+   }
+
+   /**
+    * Checks a whole list of devices at once, e.g. for a census of a known
+    * bus.  The ROMs are taken channel by channel, those with no recorded
+    * channel first on the channel selected now, and in search order within
+    * each channel; each directed search records where the bus branches
+    * along its path, so a ROM that leaves the last path where nothing
+    * branches, or that shares the part of the path where the last search
+    * found nobody, is known to be missing without touching the bus.
+    * Present devices cost one directed search each, no more than a plain
+    * search pass per device.
+    *
+    * @param  roms  device addresses as longs (see Address.toLong())
+    *
+    * @return  for each address, in the same order, <code>true</code> if
+    *          the device is present
+    *
+    * @see   #isPresent(byte[])
+    */
+   public boolean[] isPresentAll (long[] roms)
+   {
+      int       n       = roms.length;
+      boolean[] present = new boolean [n];
+      int[]     channel = new int [n];
+
+      busLock.lock();
+      try
+      {
+         for (int i = 0; i < n; i++)
+            channel [i] = deviceChannels.get(roms [i]);
+
+         // -1 first, so those are checked on the channel selected on entry
+         for (int c = -1; c < 8; c++)
+         {
+            int count = 0;
+            for (int i = 0; i < n; i++)
+               if (channel [i] == c)
+                  count++;
+            if (count == 0)
+               continue;
+            if (c >= 0 && !selectChannel(c))
+            {
+               System.out.println("[I2CBridgeAdapter][isPresentAll] Error encountered: channel " + c
+                       + " could not be selected");
+               continue;
+            }
+
+            long[] group = new long [count];
+            for (int i = 0, k = 0; i < n; i++)
+               if (channel [i] == c)
+                  group [k++] = roms [i];
+            boolean[] found = presentOnChannel(group);
+            for (int i = 0, k = 0; i < n; i++)
+               if (channel [i] == c)
+                  present [i] = found [k++];
+         }
+      }
+      finally
+      {
+         busLock.unlock();
+      }
+      return present;
+   }
+
+   /**
+    * The census of {@link #isPresentAll(long[])} for the devices of one
+    * channel, with the channel already selected and the bus held.
+    */
+   private boolean[] presentOnChannel (long[] roms)
+   {
+      int       n       = roms.length;
+      boolean[] present = new boolean [n];
+      long[]    keys    = new long [n];
+
+      // bit-reversed, sign flipped: sorts in the order the search walks
+      for (int i = 0; i < n; i++)
+         keys [i] = Long.reverse(roms [i]) ^ Long.MIN_VALUE;
+      Arrays.sort(keys);
+
+      boolean[] found = new boolean [n];
+      long      last  = 0;
+      int       lastReach = -1;            // bits of 'last' that answered, -1 before the first search
+      boolean   lastNobody = false;        // its path ran out because nobody answered
+      long      lastForks = 0;
+
+      for (int j = 0; j < n; j++)
+      {
+         if (j > 0 && keys [j] == keys [j - 1])
+         {
+            found [j] = found [j - 1];
+            continue;
+         }
+         long rom = Long.reverse(keys [j] ^ Long.MIN_VALUE);
+
+         if (lastReach >= 0)
+         {
+            int k = Long.numberOfTrailingZeros(rom ^ last);   // where it leaves the last path
+            if (k > lastReach)
+               continue;                                      // same dead end
+            if (k == lastReach ? lastNobody : ((lastForks & (1L << k)) == 0))
+               continue;                                      // no branch to take
+         }
+
+         if (OWReset() != RESET_PRESENCE)
+            break;                                            // nobody at all
+         OWWriteByte(OWSearchCmd);
+         lastReach  = followRom(rom);
+         lastNobody = pathNobody;
+         lastForks  = pathForks;
+         last       = rom;
+         found [j]  = (lastReach == 64);
+      }
+
+      for (int i = 0; i < n; i++)
+         present [i] = found [Arrays.binarySearch(keys, Long.reverse(roms [i]) ^ Long.MIN_VALUE)];
+      return present;
+   }
+     
+     
+   /**
+    * Verifies that the iButton or 1-Wire device specified is present on
+    * the 1-Wire Network. This does not affect the 'current' device
+    * state information used in searches (findNextDevice...).
+    *
+    * @param  address  device address to verify is present
+    *
+    * @return  <code>true</code> if device is present, else
+    *         <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+   public boolean isPresent (long address)
+      throws OneWireIOException, OneWireException
+   {
+      return isPresent(Address.toByteArray(address));
+   }
+
+   /**
+    * Verifies that the iButton or 1-Wire device specified is present on
+    * the 1-Wire Network. This does not affect the 'current' device
+    * state information used in searches (findNextDevice...).
+    *
+    * @param  address  device address to verify is present
+    *
+    * @return  <code>true</code> if device is present, else
+    *         <code>false</code>.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see   com.dalsemi.onewire.utils.Address
+    */
+   public boolean isPresent (String address)
+      throws OneWireIOException, OneWireException
+   {
+      return isPresent(Address.toByteArray(address));
+   }
+   
+   
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is referred to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @return  <code>true</code> if device address was sent, <code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see com.unixwizardry.onewire.utils.Address
+    */
+    public boolean OWSelect(byte[] address) throws OneWireIOException, OneWireException {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.SELECTS);
+            // switch to the device's channel if it is known and not selected
+            int channel = deviceChannels.get(Address.toLong(address));
+            if (channel >= 0 && !selectChannel(channel)) {
+                System.out.println("[I2CBridgeAdapter][OWSelect] Error encountered: channel " + channel
+                        + " could not be selected");
+                return false;
+            }
+            // send 1-Wire Reset
+            int rslt = OWReset();
+            if (rslt != RESET_PRESENCE) {
+                System.out.println("No presence pulse, rslt = " + rslt);
+                return false;
+            }
+
+            // broadcast the MATCH ROM command and address
+            OWWriteByte(OWMatchROMCmd);
+            for(int i = 0; i < 8; i++) {
+                OWWriteByte(address[i]);
+            }
+                      
+            return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
+        } finally {
+            metrics.stop(BusMetrics.T_SELECT, started);
+            busLock.unlock();
+        }
+    }
+    
+       /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is referred to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param address    address of iButton or 1-Wire device to select
+    * @param channel
+    *
+    * @return  <code>true</code> if device address was sent, <code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see com.unixwizardry.onewire.utils.Address
+    */
+    public boolean OWSelect(byte[] address, int channel) throws OneWireIOException, OneWireException {
+        busLock.lock();
+        long started = metrics.start();
+        try {
+            metrics.count(BusMetrics.SELECTS);
+            // switch channel first, only if it differs, so the reset is on the right channel
+            if (!selectChannel(channel)) {
+                System.out.println("[I2CBridgeAdapter][OWSelect] Error encountered: channel " + channel
+                        + " could not be selected");
+                return false;
+            }
+            if (channel >= 0 && channel < 8)
+                deviceChannels.put(Address.toLong(address), channel);
+            // send 1-Wire Reset
+            int rslt = OWReset();
+            if (rslt != RESET_PRESENCE) {
+                System.out.println("No presence pulse, rslt = " + rslt);
+                return false;
+            }
+
+            // broadcast the MATCH ROM command and address
+            OWWriteByte(OWMatchROMCmd);
+            for(int i = 0; i < 8; i++) {
+                OWWriteByte(address[i]);
+            }
+                      
+            return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
+        } finally {
+            metrics.stop(BusMetrics.T_SELECT, started);
+            busLock.unlock();
+        }
+    }
+
+    /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @return  <code>true</code> if device address was sent,<code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public boolean OWSelect (long address)
+      throws OneWireIOException, OneWireException
+   {
+      return OWSelect(Address.toByteArray(address));
+   }
+
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @return  <code>true</code> if device address was sent,<code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public boolean OWSelect (String address)
+      throws OneWireIOException, OneWireException
+   {
+      return OWSelect(Address.toByteArray(address));
+   }
+
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @return  <code>true</code> if device address was sent, <code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public boolean OLDselect (byte[] address)
+      throws OneWireIOException, OneWireException
+   {
+      // send 1-Wire Reset
+      int rslt = OWReset();
+
+      // broadcast the MATCH ROM command and address
+      byte[] send_packet = new byte [9];
+
+      send_packet [0] = 0x55;   // MATCH ROM command
+
+      System.arraycopy(address, 0, send_packet, 1, 8);
+      dataBlock(send_packet, 0, 9);
+
+      // success if any device present on 1-Wire Network
+      return ((rslt == RESET_PRESENCE) || (rslt == RESET_ALARM));
+   }
+
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * In addition, this method asserts that the select did find some
+    * devices on the 1-Wire net.  If no devices were found, a OneWireException
+    * is thrown.
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @throws OneWireIOException on a 1-Wire communication error, or if their
+    *         are no devices on the 1-Wire net.
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public void assertSelect(byte[] address)
+      throws OneWireIOException, OneWireException
+   {
+      if(!OWSelect(address))
+         throw new OneWireIOException("Device " + Address.toString(address)
+             + " not present.");
+   }
+
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * In addition, this method asserts that the select did find some
+    * devices on the 1-Wire net.  If no devices were found, a OneWireException
+    * is thrown.
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @return  <code>true</code> if device address was sent,<code>false</code>
+    * otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error, or if their
+    *         are no devices on the 1-Wire net.
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public void assertSelect(long address)
+      throws OneWireIOException, OneWireException
+   {
+      if(!OWSelect(Address.toByteArray(address)))
+         throw new OneWireIOException("Device " + Address.toString(address)
+             + " not present.");
+   }
+
+   /**
+    * Selects the specified iButton or 1-Wire device by broadcasting its
+    * address.  This operation is refered to a 'MATCH ROM' operation
+    * in the iButton and 1-Wire device data sheets.  This does not
+    * affect the 'current' device state information used in searches
+    * (findNextDevice...).
+    *
+    * In addition, this method asserts that the select did find some
+    * devices on the 1-Wire net.  If no devices were found, a OneWireException
+    * is thrown.
+    *
+    * Warning, this does not verify that the device is currently present
+    * on the 1-Wire Network (See isPresent).
+    *
+    * @param  address    address of iButton or 1-Wire device to select
+    *
+    * @throws OneWireIOException on a 1-Wire communication error, or if their
+    *         are no devices on the 1-Wire net.
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *
+    * @see com.unixwizardry.onewire.adapter.DSPortAdapter#isPresent(byte[])
+    * @see   com.unixwizardry.onewire.utils.Address
+    */
+   public void assertSelect(String address)
+      throws OneWireIOException, OneWireException
+   {
+      if(!OWSelect(Address.toByteArray(address)))
+         throw new OneWireIOException("Device " + address
+             + " not present.");
+   }
+       
+    
+    /**
+    * Returns whether the adapter can physically support strong 5 volt power
+    * mode.
+    * <p>
+    * Active Pullup (APU) (From DS2482-100 Specifications PDF)
+    * The APU bit controls whether an active pullup (controlled slew-rate transistor) 
+    * or a passive pullup (RWPU resistor) is used to drive a 1-Wire line from low to 
+    * high. When APU = 0, active pullup is disabled (resistor mode). Active Pullup
+    * should be selected if the 1-Wire line has a substantial length (several 10m) or 
+    * if there is a large number (~20 or more) of devices connected to a 1-Wire line. 
+    * The active pullup does not apply to the rising edge of a presence pulse or a 
+    * recovery after a short on the 1-Wire line. The circuit that controls rising edges 
+    * (Figure 2) operates as follows: At t1 the pulldown (from DS2482 or 1-Wire
+    * slave) ends. From this point on the 1-Wire bus is pulled high through RWPU internal 
+    * to the DS2482. VCC and the capacitive load of the 1-Wire line determine the slope. 
+    * In case that active pullup is disabled (APU = 0), the resistive pullup continues, 
+    * as represented by the solid line. With active pullup enabled (APU = 1), when at t2 
+    * the voltage has reached a level between VIL1max and VIH1min, the DS2482 actively 
+    * pulls the 1-Wire line high applying a controlled slew rate, as represented by the 
+    * dashed line. The active pullup continues until tAPUOT is expired at t3. From that time 
+    * on the resistive pullup will continue.
+    * </p>
+    * @return  <code>true</code> if this port adapter can do strong 5 volt
+    * mode, <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+    public boolean canDeliverPower () throws OneWireIOException, OneWireException
+    {
+        return true;
+    }
+
+   /**
+    * Returns whether the adapter can physically support "smart" strong 5
+    * volt power mode.  "smart" power delivery is the ability to deliver
+    * power until it is no longer needed.  The current drop it detected
+    * and power delivery is stopped.
+    *
+    * <p>
+    * Strong Pullup (SPU) (From DS2482-100 Specifications PDF)
+    * The SPU bit controls whether the DS2482 will apply a low impedance pullup 
+    * to VCC on the 1-Wire line after the last bit of either a 1-Wire Write Byte 
+    * command or after a 1-Wire Single Bit command has completed. The strong
+    * pullup feature is commonly used with 1-Wire EEPROM devices when copying 
+    * scratchpad data to the main memory or when performing a SHA-1 computation, 
+    * and with parasitically powered temperature sensors or A-to-D converters. 
+    * The respective device data sheets specify the location in the communications 
+    * protocol after which the strong pullup should be applied. The SPU bit in the 
+    * Configuration register of the DS2482 must be set immediately
+    * prior to issuing the command that puts the 1-Wire device into the state 
+    * where it needs the extra power.  If SPU is 1, the DS2482 applies active 
+    * pullup to the rising edge of the time slot in which the strong pullup starts,
+    * regardless of the APU bit setting. However, in contrast to setting APU = 1 for 
+    * active pullup, the low-impedance pullup does not end after tAPUOT is expired. 
+    * Instead, as shown in Figure 4, the low-impedance pullup remains active 
+    * until either the next 1-Wire communication command is issued (the typical case), 
+    * the Configuration register is written to with the SPU bit being 0, or the Device 
+    * Reset command is issued. The PCTLZ control output is active low for the entire 
+    * duration of the low-impedance pullup, enabling an external p-channel MOSFET to 
+    * supply additional  power to the 1-Wire line. PCTLZ remains inactive (high) 
+    * at all other time slots that do not use the strong pullup feature. Additionally, 
+    * when the pullup ends, the SPU bit is automatically reset to 0. Using the strong 
+    * pullup does not change the state of the APU bit in the Configuration register.
+    * </p>
+    * @return  <code>true</code> if this port adapter can do "smart" strong
+    * 5 volt mode, <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error with the adapter
+    * @throws OneWireException on a setup error with the 1-Wire
+    *         adapter
+    */
+    public boolean canDeliverSmartPower () throws OneWireIOException, OneWireException
+    {
+      return true;
+    }
+   
+   /**
+    * Set the 1-Wire Network search to find all iButtons and 1-Wire
+    * devices whether they are in an 'Alarm' state or not and
+    * restores the default setting of providing a 1-Wire reset
+    * command before each search. (see setNoResetSearch() method).
+    *
+    * @see #setNoResetSearch
+    */
+   public void setSearchAllDevices ()
+   {
+      doAlarmSearch     = false;
+      skipResetOnSearch = false;
+   }
+   
+    
+    /**
+    * Set the 1-Wire Network search to find only iButtons and 1-Wire
+    * devices that are in an 'Alarm' state that signals a need for
+    * attention.  Not all iButton types
+    * have this feature.  Some that do: DS1994, DS1920, DS2407.
+    * This selective searching can be canceled with the
+    * 'setSearchAllDevices()' method.
+    *
+    * @see #setNoResetSearch
+    */
+   public void setSearchOnlyAlarmingDevices ()
+   {
+      doAlarmSearch = true;
+   }
+   
+   /**
+    *  Set the 1-Wire Network search to not perform a 1-Wire
+    *  reset before a search.  This feature is chiefly used with
+    *  the DS2409 1-Wire coupler.
+    *  The normal reset before each search can be restored with the
+    *  'setSearchAllDevices()' method.
+    */
+   public void setNoResetSearch()
+   {
+      skipResetOnSearch = true;
+   }
+   
+   /**
+    * Sets the duration to supply power to the 1-Wire Network.
+    * This method takes a time parameter that indicates the program
+    * pulse length when the method startPowerDelivery().<p>
+    *
+    * Note: to avoid getting an exception,
+    * use the canDeliverPower() and canDeliverSmartPower()
+    * method to check it's availability.
+    *
+    * @param timeFactor
+    * <ul>
+    * <li>   0 (DELIVERY_HALF_SECOND) provide power for 1/2 second.
+    * <li>   1 (DELIVERY_ONE_SECOND) provide power for 1 second.
+    * <li>   2 (DELIVERY_TWO_SECONDS) provide power for 2 seconds.
+    * <li>   3 (DELIVERY_FOUR_SECONDS) provide power for 4 seconds.
+    * <li>   4 (DELIVERY_SMART_DONE) provide power until the
+    *          the device is no longer drawing significant power.
+    * <li>   5 (DELIVERY_INFINITE) provide power until the
+    *          setPowerNormal() method is called.
+    * </ul>
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public void setPowerDuration (int timeFactor) throws OneWireIOException, OneWireException
+   {
+      throw new OneWireException(
+         "Power delivery not supported by this adapter type");
+   }
+   
+   /**
+    * Sets the 1-Wire Network voltage to supply power to a 1-Wire device.
+    * This method takes a time parameter that indicates whether the
+    * power delivery should be done immediately, or after certain
+    * conditions have been met. <p>
+    *
+    * Note: to avoid getting an exception,
+    * use the canDeliverPower() and canDeliverSmartPower()
+    * method to check it's availability.
+    *
+    * @param changeCondition
+    * <ul>
+    * <li>   0 (CONDITION_NOW) operation should occur immediately.
+    * <li>   1 (CONDITION_AFTER_BIT) operation should be pending
+    *           execution immediately after the next bit is sent.
+    * <li>   2 (CONDITION_AFTER_BYTE) operation should be pending
+    *           execution immediately after next byte is sent.
+    * </ul>
+    *
+    * @return <code>true</code> if the voltage change was successful,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public boolean startPowerDelivery (int changeCondition) throws OneWireIOException, OneWireException
+   {
+      throw new OneWireException(
+         "Power delivery not supported by this adapter type");
+   }
+   
+   /**
+    * Sets the 1-Wire Network voltage to normal level.  This method is used
+    * to disable 1-Wire conditions created by startPowerDelivery and
+    * startProgramPulse.  This method will automatically be called if
+    * a communication method is called while an outstanding power
+    * command is taking place.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *         or the adapter does not support this operation
+    */
+   public void setPowerNormal () throws OneWireIOException, OneWireException
+   {
+     
+   } 
+    
+   /**
+    * Sets the 1-Wire Network voltage to eprom programming level.
+    * This method takes a time parameter that indicates whether the
+    * power delivery should be done immediately, or after certain
+    * conditions have been met. <p>
+    *
+    * Note: to avoid getting an exception,
+    * use the canProgram() method to check it's
+    * availability. <p>
+    *
+    * @param changeCondition
+    * <ul>
+    * <li>   0 (CONDITION_NOW) operation should occur immediately.
+    * <li>   1 (CONDITION_AFTER_BIT) operation should be pending
+    *           execution immediately after the next bit is sent.
+    * <li>   2 (CONDITION_AFTER_BYTE) operation should be pending
+    *           execution immediately after next byte is sent.
+    * </ul>
+    *
+    * @return <code>true</code> if the voltage change was successful,
+    * <code>false</code> otherwise.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    *         or the adapter does not support this operation
+    */
+   public boolean startProgramPulse (int changeCondition)
+      throws OneWireIOException, OneWireException
+   {
+      throw new OneWireException(
+         "Program pulse delivery not supported by this adapter type");
+   }
+   
+   /**
+    * Sets the duration for providing a program pulse on the
+    * 1-Wire Network.
+    * This method takes a time parameter that indicates the program
+    * pulse length when the method startProgramPulse().<p>
+    *
+    * Note: to avoid getting an exception,
+    * use the canDeliverPower() method to check it's
+    * availability. <p>
+    *
+    * @param timeFactor
+    * <ul>
+    * <li>   7 (DELIVERY_EPROM) provide program pulse for 480 microseconds
+    * <li>   5 (DELIVERY_INFINITE) provide power until the
+    *          setPowerNormal() method is called.
+    * </ul>
+    *
+    * @throws OneWireIOException on a 1-Wire communication error
+    * @throws OneWireException on a setup error with the 1-Wire adapter
+    */
+   public void setProgramPulseDuration (int timeFactor)
+      throws OneWireIOException, OneWireException
+   {
+      throw new OneWireException(
+         "Program pulse delivery not supported by this adapter type");
+   } 
+   
+   /**
+    * Removes any selectivity during a search for iButtons or 1-Wire devices
+    * by family type.  The unique address for each iButton and 1-Wire device
+    * contains a family descriptor that indicates the capabilities of the
+    * device.
+    * @see    #targetFamily
+    * @see    #targetFamily(byte[])
+    * @see    #excludeFamily
+    * @see    #excludeFamily(byte[])
+    */
+   public void targetAllFamilies ()
+   {
+      include = null;
+      exclude = null;
+   }
+   
+   /**
+    * Takes an integer to selectively search for this desired family type.
+    * If this method is used, then no devices of other families will be
+    * found by any of the search methods.
+    *
+    * @param  family   the code of the family type to target for searches
+    * @see   com.unixwizardry.onewire.utils.Address
+    * @see    #targetAllFamilies
+    */
+   public void targetFamily (int family)
+   {
+      if ((include == null) || (include.length != 1))
+         include = new byte [1];
+
+      include [0] = ( byte ) family;
+   }
+   
+   /**
+    * Takes an array of bytes to use for selectively searching for acceptable
+    * family codes.  If used, only devices with family codes in this array
+    * will be found by any of the search methods.
+    *
+    * @param  family  array of the family types to target for searches
+    * @see   com.dalsemi.onewire.utils.Address
+    * @see    #targetAllFamilies
+    */
+    public void targetFamily (byte family [])
+    {
+        if ((include == null) || (include.length != family.length))
+            include = new byte [family.length];
+
+        System.arraycopy(family, 0, include, 0, family.length);
+    }
+   
+   
+   /**
+    * Takes an integer family code to avoid when searching for iButtons.
+    * or 1-Wire devices.
+    * If this method is used, then no devices of this family will be
+    * found by any of the search methods.
+    *
+    * @param  family   the code of the family type NOT to target in searches
+    * @see   com.unixwizardry.onewire.utils.Address
+    * @see    #targetAllFamilies
+    */
+   public void excludeFamily (int family)
+   {
+      if ((exclude == null) || (exclude.length != 1))
+         exclude = new byte [1];
+
+      exclude [0] = ( byte ) family;
+   }
+
+   /**
+    * Takes an array of bytes containing family codes to avoid when finding
+    * iButtons or 1-Wire devices.  If used, then no devices with family
+    * codes in this array will be found by any of the search methods.
+    *
+    * @param  family  array of family cods NOT to target for searches
+    * @see   com.unixwizardry.onewire.utils.Address
+    * @see    #targetAllFamilies
+    */
+   public void excludeFamily (byte family [])
+   {
+      if ((exclude == null) || (exclude.length != family.length))
+         exclude = new byte [family.length];
+
+      System.arraycopy(family, 0, exclude, 0, family.length);
+   }
+      
+   /**
+    * Switches to the channel recorded for a device, as
+    * {@link #OWSelect(byte[])} does, before a directed search for it.
+    * Devices with no recorded channel are looked for on the channel
+    * selected now.
+    *
+    * @param  address  device address
+    *
+    * @return  false if its channel could not be selected
+    */
+   private boolean selectDeviceChannel (byte[] address)
+   {
+      int channel = deviceChannels.get(Address.toLong(address));
+      if (channel >= 0 && !selectChannel(channel))
+      {
+         System.out.println("[I2CBridgeAdapter][selectDeviceChannel] Error encountered: channel " + channel
+                 + " could not be selected");
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * Performs a 'strongAccess' with the provided 1-Wire address.
+    * 1-Wire Network has already been reset and the 'search'
+    * command sent before this is called.
+    *
+    * @param  address  device address to do strongAccess on
+    *
+    * @return  true if device participated and was present
+    *         in the strongAccess search
+    */
+   private boolean strongAccess (byte[] address)
+      throws OneWireIOException, OneWireException
+   {
+      return followRom(Address.toLong(address)) == 64;
+   }
+
+   /**
+    * Bits where both branches were seen by the last followRom(), and
+    * whether it stopped because nobody answered at all.
+    */
+   private long    pathForks;
+   private boolean pathNobody;
+
+   /**
+    * Directed search along one ROM, one triplet per bit with the ROM's bit
+    * as the direction, after the reset and search command.  Stops at the
+    * first bit where no device on the path has the ROM's value.
+    *
+    * @param  rom  address as a long, bit 0 first on the wire
+    *
+    * @return  64 if every bit answered, else the bit where the path ended
+    */
+   private int followRom (long rom)
+   {
+      pathForks  = 0;
+      pathNobody = false;
+      for (int i = 0; i < 64; i++)
+      {
+         int  bit    = (int) (rom >>> i) & 0x01;
+         byte status = DS2482OWTriplet((byte) bit);
+         boolean id  = (status & STATUS_SBR) != 0;
+         boolean cmp = (status & STATUS_TSB) != 0;
+
+         if (id && cmp)
+         {
+            pathNobody = true;   // every device dropped out
+            return i;
+         }
+         if (!id && !cmp)
+            pathForks |= 1L << i;
+         if ((((status & STATUS_DIRECTION_TAKEN) != 0) ? 1 : 0) != bit)
+            return i;            // only the other branch is there
+      }
+      return 64;
+   }
+}
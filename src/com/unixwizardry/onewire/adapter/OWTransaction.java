@@ -0,0 +1,38 @@
+/*
+ * A unit of 1-Wire work run while holding the bridge.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import com.unixwizardry.onewire.OneWireException;
+
+/**
+ * A sequence of 1-Wire operations that has to run without another thread
+ * getting onto the bus in between, e.g. select a device, send a command and
+ * read the answer back.
+ * <p>
+ * {@link AsyncBridge} runs transactions on the bridge's I/O thread with the
+ * bus already held, so <code>execute()</code> only issues adapter calls and
+ * returns what it read.  {@link #builder()} describes the usual select,
+ * write, read and check sequences without any code.
+ */
+public interface OWTransaction {
+
+    /**
+     * @return a builder for a transaction made of the usual 1-Wire steps
+     */
+    static OWTransactionBuilder builder() {
+        return new OWTransactionBuilder();
+    }
+
+    /**
+     * Runs the transaction.
+     *
+     * @param adapter bridge to run on; the calling thread holds its bus
+     * @return bytes read from the 1-Wire, or <code>null</code> if the
+     *         transaction reads nothing
+     * @throws OneWireException if the transaction failed
+     */
+    byte[] execute(I2CBridgeAdapter adapter) throws OneWireException;
+}
@@ -0,0 +1,472 @@
+/*
+ * Declarative description of a 1-Wire transaction.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.adapter;
+
+import static com.unixwizardry.onewire.adapter.DS2482.OWMatchROMCmd;
+import static com.unixwizardry.onewire.adapter.DS2482.OWResumeCmd;
+import static com.unixwizardry.onewire.adapter.DS2482.OWSkipRomCmd;
+import com.unixwizardry.accessProvider.BusMetrics;
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.utils.CRC16;
+import com.unixwizardry.onewire.utils.CRC8;
+import static com.unixwizardry.onewire.utils.Convert.toHexString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds an {@link OWTransaction} out of the usual 1-Wire steps, e.g. the
+ * page read of a DS2438:
+ * <pre>
+ *     OWTransaction readPage = OWTransaction.builder()
+ *             .matchRom(address).write(RECALL_MEMORY_COMMAND, page)
+ *             .matchRom(address).write(READ_SCRATCHPAD_COMMAND, page)
+ *             .read(9).expectCrc8()
+ *             .build();
+ *     byte[] page = adapter.execute(readPage);
+ * </pre>
+ * <p>
+ * A ROM command (match, skip, resume) always starts with a 1-Wire reset,
+ * so it need not be asked for.  <code>build()</code> drops what would be sent
+ * for nothing: a reset right after a reset, a reset and match of the device
+ * that is already selected with no traffic in between, and a channel switch
+ * overridden by the next one.  When the transaction runs, a channel switch
+ * to the channel the DS2482-800 is already on is skipped too.
+ * <p>
+ * The transaction returns the bytes of all <code>read()</code> steps, in
+ * order.  A failed check, a missing presence pulse before a ROM command or
+ * a failed channel switch throws <code>OneWireIOException</code>.
+ * <p>
+ * A built transaction is immutable and can be run any number of times, on
+ * any adapter.  The builder is not thread safe.
+ */
+public final class OWTransactionBuilder {
+
+    static final int RESET     = 0;
+    static final int MATCH_ROM = 1;
+    static final int SKIP_ROM  = 2;
+    static final int RESUME    = 3;
+    static final int CHANNEL   = 4;
+    static final int WRITE     = 5;
+    static final int READ      = 6;
+    static final int DELAY     = 7;
+    static final int PULLUP    = 8;
+    static final int CRC8_     = 9;
+    static final int CRC16_    = 10;
+
+    private static final String[] NAMES = {
+        "reset", "matchRom", "skipRom", "resume", "channel", "write", "read",
+        "delay", "strongPullup", "expectCrc8", "expectCrc16"
+    };
+
+    private static final class Step {
+        final int    op;
+        final byte[] data;                              // ROM or bytes to write
+        final long   value;                             // channel, byte count or ns
+
+        Step(int op, byte[] data, long value) {
+            this.op = op;
+            this.data = data;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            if (data != null)
+                return NAMES[op] + "(" + toHexString(data) + ")";
+            if (op == DELAY || op == PULLUP)
+                return NAMES[op] + "(" + (value / 1000L) + " us)";
+            if (op == CHANNEL || op == READ)
+                return NAMES[op] + "(" + value + ")";
+            return NAMES[op] + "()";
+        }
+    }
+
+    private final ArrayList<Step> steps = new ArrayList<Step>();
+
+    /**
+     * Use {@link OWTransaction#builder()}.
+     */
+    OWTransactionBuilder() {
+    }
+
+    /**
+     * 1-Wire reset.  Only needed on its own, e.g. to end a command that is
+     * not followed by a ROM command.
+     *
+     * @return this builder
+     */
+    public OWTransactionBuilder reset() {
+        return add(RESET, null, 0);
+    }
+
+    /**
+     * Reset and MATCH ROM: selects one device.
+     *
+     * @param address 8 byte ROM, family code first
+     * @return this builder
+     */
+    public OWTransactionBuilder matchRom(byte[] address) {
+        if (address == null || address.length < 8)
+            throw new IllegalArgumentException("matchRom needs an 8 byte address");
+        byte[] rom = new byte[8];
+        System.arraycopy(address, 0, rom, 0, 8);
+        return add(MATCH_ROM, rom, 0);
+    }
+
+    /**
+     * Reset and SKIP ROM: every device on the line listens.
+     *
+     * @return this builder
+     */
+    public OWTransactionBuilder skipRom() {
+        return add(SKIP_ROM, null, 0);
+    }
+
+    /**
+     * Reset and RESUME: selects the device last selected by MATCH ROM again,
+     * for devices that support it.
+     *
+     * @return this builder
+     */
+    public OWTransactionBuilder resume() {
+        return add(RESUME, null, 0);
+    }
+
+    /**
+     * Switches a DS2482-800 to another 1-Wire channel.  Put it before the
+     * reset or ROM command it applies to.
+     *
+     * @param channel 0 to 7
+     * @return this builder
+     */
+    public OWTransactionBuilder channel(int channel) {
+        if (channel < 0 || channel > 7)
+            throw new IllegalArgumentException("channel " + channel + " is not 0 to 7");
+        return add(CHANNEL, null, channel);
+    }
+
+    /**
+     * Writes bytes.
+     *
+     * @param data bytes to write
+     * @return this builder
+     */
+    public OWTransactionBuilder write(byte... data) {
+        return write(data, 0, data.length);
+    }
+
+    /**
+     * Writes bytes.  Ints are truncated, so command constants can be passed
+     * without casts.
+     *
+     * @param data bytes to write, low 8 bits each
+     * @return this builder
+     */
+    public OWTransactionBuilder write(int... data) {
+        byte[] b = new byte[data.length];
+        for (int i = 0; i < data.length; i++)
+            b[i] = (byte) data[i];
+        return write(b, 0, b.length);
+    }
+
+    /**
+     * Writes <code>len</code> bytes of <code>data</code> starting at
+     * <code>off</code>.  They are copied, so the array can be reused.
+     *
+     * @param data bytes to write
+     * @param off first byte
+     * @param len number of bytes
+     * @return this builder
+     */
+    public OWTransactionBuilder write(byte[] data, int off, int len) {
+        if (len <= 0)
+            throw new IllegalArgumentException("nothing to write");
+        byte[] b = new byte[len];
+        System.arraycopy(data, off, b, 0, len);
+        return add(WRITE, b, 0);
+    }
+
+    /**
+     * Reads bytes; they are part of the transaction's result.
+     *
+     * @param count number of bytes
+     * @return this builder
+     */
+    public OWTransactionBuilder read(int count) {
+        if (count <= 0)
+            throw new IllegalArgumentException("nothing to read");
+        return add(READ, null, count);
+    }
+
+    /**
+     * Waits without touching the bus.
+     *
+     * @param time how long
+     * @param unit unit of <code>time</code>
+     * @return this builder
+     */
+    public OWTransactionBuilder delay(long time, TimeUnit unit) {
+        return add(DELAY, null, unit.toNanos(time));
+    }
+
+    /**
+     * Holds the line at strong pullup for a while after the last byte of the
+     * preceding <code>write()</code>, e.g. while a parasite powered sensor
+     * converts or an EEPROM copies its scratchpad.
+     *
+     * @param time how long
+     * @param unit unit of <code>time</code>
+     * @return this builder
+     */
+    public OWTransactionBuilder strongPullup(long time, TimeUnit unit) {
+        if (last() != WRITE)
+            throw new IllegalStateException("strongPullup must follow a write");
+        return add(PULLUP, null, unit.toNanos(time));
+    }
+
+    /**
+     * Checks the CRC8 over the bytes of the preceding <code>read()</code>,
+     * the last of which is the CRC sent by the device.
+     *
+     * @return this builder
+     */
+    public OWTransactionBuilder expectCrc8() {
+        if (last() != READ)
+            throw new IllegalStateException("expectCrc8 must follow a read");
+        return add(CRC8_, null, 0);
+    }
+
+    /**
+     * Checks the CRC16 over everything written and read since the last ROM
+     * command, ending with the inverted CRC16 sent by the device.
+     *
+     * @return this builder
+     */
+    public OWTransactionBuilder expectCrc16() {
+        if (last() != READ)
+            throw new IllegalStateException("expectCrc16 must follow a read");
+        return add(CRC16_, null, 0);
+    }
+
+    /**
+     * @return the transaction, with redundant resets, selects and channel
+     *         switches left out
+     */
+    public Sequence build() {
+        ArrayList<Step> out = new ArrayList<Step>(steps.size() + 4);
+        int elided = 0;
+        for (Step s : steps) {
+            int n = out.size();
+            int prev = (n > 0) ? out.get(n - 1).op : -1;
+            switch (s.op) {
+                case RESET:
+                    if (prev == RESET) {
+                        elided++;
+                        continue;
+                    }
+                    break;
+
+                case MATCH_ROM:
+                    // reset, match A, reset, match A: the device is still selected
+                    if (n >= 3 && prev == RESET && out.get(n - 2).op == MATCH_ROM
+                            && Arrays.equals(out.get(n - 2).data, s.data)
+                            && out.get(n - 3).op == RESET) {
+                        out.remove(n - 1);
+                        elided += 2;
+                        continue;
+                    }
+                    if (n >= 2 && prev == MATCH_ROM && Arrays.equals(out.get(n - 1).data, s.data)
+                            && out.get(n - 2).op == RESET) {
+                        elided++;
+                        continue;
+                    }
+                    if (prev != RESET)
+                        out.add(new Step(RESET, null, 0));
+                    break;
+
+                case SKIP_ROM:
+                case RESUME:
+                    if (prev != RESET)
+                        out.add(new Step(RESET, null, 0));
+                    break;
+
+                case CHANNEL:
+                    if (prev == CHANNEL) {
+                        out.remove(n - 1);
+                        elided++;
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+            out.add(s);
+        }
+        return new Sequence(out.toArray(new Step[out.size()]), elided);
+    }
+
+    private int last() {
+        return steps.isEmpty() ? -1 : steps.get(steps.size() - 1).op;
+    }
+
+    private OWTransactionBuilder add(int op, byte[] data, long value) {
+        steps.add(new Step(op, data, value));
+        return this;
+    }
+
+    /**
+     * A built transaction.
+     */
+    public static final class Sequence implements OWTransaction {
+
+        private static final int SPU = 0x04;            // strong pullup config bit
+
+        private final Step[] steps;
+        private final int    readLength;
+        private final int    elided;
+
+        private Sequence(Step[] steps, int elided) {
+            this.steps = steps;
+            this.elided = elided;
+            int n = 0;
+            for (Step s : steps) {
+                if (s.op == READ)
+                    n += (int) s.value;
+            }
+            readLength = n;
+        }
+
+        /**
+         * @return steps left after optimisation, implied resets included
+         */
+        public int getStepCount() {
+            return steps.length;
+        }
+
+        /**
+         * @return resets, selects and channel switches <code>build()</code>
+         *         left out
+         */
+        public int getElidedCount() {
+            return elided;
+        }
+
+        /**
+         * @return number of bytes the transaction returns
+         */
+        public int getReadLength() {
+            return readLength;
+        }
+
+        @Override
+        public byte[] execute(I2CBridgeAdapter adapter) throws OneWireException {
+            byte[] result = new byte[readLength];
+            int pos = 0;
+            int readStart = 0;
+            int crc16 = 0;
+            boolean presence = false;
+
+            for (int i = 0; i < steps.length; i++) {
+                Step s = steps[i];
+                switch (s.op) {
+                    case RESET:
+                        presence = adapter.OWReset() == I2CBridgeAdapter.RESET_PRESENCE;
+                        break;
+
+                    case MATCH_ROM:
+                    case SKIP_ROM:
+                    case RESUME:
+                        if (!presence)
+                            throw new OneWireIOException("OWTransaction: no presence pulse before " + s);
+                        if (s.op == MATCH_ROM) {
+                            adapter.OWWriteByte(OWMatchROMCmd);
+                            for (int j = 0; j < 8; j++)
+                                adapter.OWWriteByte(s.data[j]);
+                        } else {
+                            adapter.OWWriteByte((s.op == SKIP_ROM) ? OWSkipRomCmd : OWResumeCmd);
+                        }
+                        crc16 = 0;
+                        break;
+
+                    case CHANNEL:
+                        if (!adapter.selectChannel((int) s.value))
+                            throw new OneWireIOException("OWTransaction: could not select channel " + s.value);
+                        break;
+
+                    case WRITE: {
+                        boolean pullup = i + 1 < steps.length && steps[i + 1].op == PULLUP;
+                        int last = s.data.length - 1;
+                        for (int j = 0; j <= last; j++) {
+                            if (pullup && j == last)
+                                adapter.DS2482WrtCfg((byte) (adapter.DS2482Config | SPU));
+                            adapter.OWWriteByte(s.data[j]);
+                            crc16 = CRC16.compute(s.data[j] & 0xFF, crc16);
+                        }
+                        break;
+                    }
+
+                    case READ:
+                        readStart = pos;
+                        for (int j = 0; j < (int) s.value; j++) {
+                            byte b = adapter.OWReadByte();
+                            result[pos++] = b;
+                            crc16 = CRC16.compute(b & 0xFF, crc16);
+                        }
+                        break;
+
+                    case DELAY:
+                        sleep(adapter, s.value);
+                        break;
+
+                    case PULLUP:
+                        sleep(adapter, s.value);
+                        adapter.DS2482WrtCfg(adapter.DS2482Config);     // SPU off, back to normal pullup
+                        break;
+
+                    case CRC8_:
+                        if (CRC8.compute(result, readStart, pos - readStart) != 0) {
+                            adapter.getMetrics().count(BusMetrics.CRC8_FAILURES);
+                            throw new OneWireIOException("OWTransaction: bad CRC8 "
+                                    + toHexString(Arrays.copyOfRange(result, readStart, pos)));
+                        }
+                        break;
+
+                    case CRC16_:
+                        if (crc16 != 0xB001) {
+                            adapter.getMetrics().count(BusMetrics.CRC16_FAILURES);
+                            throw new OneWireIOException("OWTransaction: bad CRC16 " + Integer.toHexString(crc16));
+                        }
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("OWTransaction[");
+            for (int i = 0; i < steps.length; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                sb.append(steps[i]);
+            }
+            return sb.append(']').toString();
+        }
+
+        private static void sleep(I2CBridgeAdapter adapter, long nanos) throws OneWireIOException {
+            try {
+                adapter.getClock().sleepNanos(nanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new OneWireIOException("OWTransaction: interrupted");
+            }
+        }
+    }
+}
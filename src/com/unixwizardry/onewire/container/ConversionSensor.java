@@ -0,0 +1,33 @@
+/*
+ * Sensors whose conversion can run while the bus does other work.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.container;
+
+import com.unixwizardry.onewire.OneWireException;
+import com.unixwizardry.onewire.adapter.OneWireIOException;
+
+/**
+ * A sensor whose measurement is split in two: {@link #startConversion()}
+ * sends the convert command and lets go of the bus, and once the time it
+ * returned has passed <code>readDevice()</code> returns the new value.
+ * In between the bus is free for other devices, which is what
+ * <code>ConversionScheduler</code> uses it for.
+ */
+public interface ConversionSensor extends OneWireSensor
+{
+   /**
+    * Starts a conversion.  A device that needs the bus to itself while it
+    * converts, e.g. a parasite powered thermometer, is waited out here and
+    * 0 is returned.
+    *
+    * @return milliseconds until the result can be read with
+    *         <code>readDevice()</code>; 0 if it can be read now
+    *
+    * @throws OneWireIOException if the device is not present
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    */
+   public long startConversion () throws OneWireIOException, OneWireException;
+}
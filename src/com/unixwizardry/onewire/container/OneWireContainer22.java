@@ -0,0 +1,94 @@
+/*
+ * DS1822 econo thermometer, family 0x22.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.container;
+
+import com.unixwizardry.onewire.adapter.I2CBridgeAdapter;
+
+
+/**
+ * <P> 1-Wire container for the DS1822 thermometer, family type <B>22</B>
+ * (hex).  It has the command set, scratchpad and 9 to 12 bit resolution
+ * of the DS18B20, at &#177 2&#176C accuracy; see
+ * {@link OneWireContainer28}.</P>
+ *
+ * <H3> DataSheet </H3>
+ * <DL>
+ * <DD><A HREF="http://pdfserv.maxim-ic.com/en/ds/DS1822.pdf"> http://pdfserv.maxim-ic.com/en/ds/DS1822.pdf</A>
+ * </DL>
+ */
+public class OneWireContainer22 extends OneWireContainer28
+{
+   /**
+    * Creates an empty <code>OneWireContainer22</code>.  Must call
+    * <code>setupContainer()</code> before using this new container.
+    */
+   public OneWireContainer22 ()
+   {
+      super();
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer22 (I2CBridgeAdapter sourceAdapter, byte[] newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer22 (I2CBridgeAdapter sourceAdapter, long newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer22 (I2CBridgeAdapter sourceAdapter, String newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @return "DS1822"
+    */
+   @Override
+   public String getName ()
+   {
+      return "DS1822";
+   }
+
+   /**
+    * @return no alternate names
+    */
+   @Override
+   public String getAlternateNames ()
+   {
+      return "";
+   }
+
+   /**
+    * @return <code>OneWireContainer22</code> functional description
+    */
+   @Override
+   public String getDescription ()
+   {
+      return "Econo digital thermometer measures temperatures from "
+             + "-55C to 125C in 0.75 seconds (max) at 12 bits.  +/- 2C "
+             + "Accuracy between -10C and 85C.  Resolution of 9 to 12 "
+             + "bits, with shorter conversions at lower resolution.  "
+             + "Contains high and low temperature set points for "
+             + "generation of alarm.";
+   }
+}
@@ -0,0 +1,665 @@
+/*
+ * DS18B20 programmable resolution thermometer, family 0x28.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.container;
+
+// imports
+import com.unixwizardry.accessProvider.BusMetrics;
+import com.unixwizardry.onewire.adapter.OneWireIOException;
+import com.unixwizardry.onewire.*;
+import com.unixwizardry.onewire.utils.*;
+import com.unixwizardry.onewire.adapter.*;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <P> 1-Wire container for the DS18B20 thermometer, which measures
+ * temperatures from -55&#176C to +125&#176C at a resolution of 9 to 12 bits.
+ * This container encapsulates the functionality of the 1-Wire family type
+ * <B>28</B> (hex).  The DS1822 (family 22) and DS1825 (family 3B) work the
+ * same way and have their own subclasses.</P>
+ *
+ * <H3> Features </H3>
+ * <UL>
+ *   <LI> Measures temperatures from -55&#176C to +125&#176C
+ *   <LI> &#177 0.5&#176C accuracy from -10&#176C to +85&#176C
+ *   <LI> Resolution of 9, 10, 11 or 12 bits (0.5&#176C down to 0.0625&#176C),
+ *        kept in EEPROM
+ *   <LI> Conversion time of 93.75 ms at 9 bits, doubling with each bit up
+ *        to 750 ms at 12 bits
+ *   <LI> 8-bit device-generated CRC for data integrity
+ *   <LI> 2 bytes of EEPROM to be used either as alarm triggers or user memory
+ *   <LI> Alarm search directly indicates which device senses alarming temperatures
+ * </UL>
+ *
+ * <H3> Usage </H3>
+ *
+ * <DL>
+ * <DD> See the usage example in
+ * {@link com.unixwizardry.onewire.container.TemperatureContainer TemperatureContainer}
+ * for temperature specific operations.  A lower resolution converts
+ * faster: set it with <code>setTemperatureResolution()</code> and
+ * <code>writeDevice()</code>, and the conversion waits shrink to match.
+ * </DL>
+ *
+ * <H3> DataSheet </H3>
+ * <DL>
+ * <DD><A HREF="http://pdfserv.maxim-ic.com/en/ds/DS18B20.pdf"> http://pdfserv.maxim-ic.com/en/ds/DS18B20.pdf</A>
+ * </DL>
+ *
+ * @see com.unixwizardry.onewire.container.TemperatureContainer
+ * @see OneWireContainer22
+ * @see OneWireContainer3B
+ */
+public class OneWireContainer28 extends OneWireContainer implements TemperatureContainer, ConversionSensor
+{
+   // configuration register last read, 12 bits until then
+   private volatile byte config = CONFIG_12_BIT;
+   private int  powerSupply = -1;         // 1 external, 0 parasite, -1 not read yet
+
+   //--------
+   //-------- Static Final Variables
+   //--------
+
+   /** 9 bit temperature resolution, 0.5 degrees Celsius */
+   public static final double RESOLUTION_9_BIT = 0.5;
+
+   /** 10 bit temperature resolution, 0.25 degrees Celsius */
+   public static final double RESOLUTION_10_BIT = 0.25;
+
+   /** 11 bit temperature resolution, 0.125 degrees Celsius */
+   public static final double RESOLUTION_11_BIT = 0.125;
+
+   /** 12 bit temperature resolution, 0.0625 degrees Celsius (power-on default) */
+   public static final double RESOLUTION_12_BIT = 0.0625;
+
+   /** Configuration register value for 12 bit resolution */
+   private static final byte CONFIG_12_BIT = ( byte ) 0x7F;
+
+   /** Resolutions by the R1 R0 bits of the configuration register */
+   private static final double[] RESOLUTIONS = {
+      RESOLUTION_9_BIT, RESOLUTION_10_BIT, RESOLUTION_11_BIT, RESOLUTION_12_BIT
+   };
+
+   /** Worst case conversion times in ms by the R1 R0 bits */
+   private static final long[] CONVERSION_MS = { 94, 188, 375, 750 };
+
+   /** Copy scratchpad to EEPROM time in ms */
+   private static final long COPY_MS = 10;
+
+   /** DS18B20 convert temperature command  */
+   private static final byte CONVERT_TEMPERATURE_COMMAND = 0x44;
+
+   /** DS18B20 read data from scratchpad command      */
+   private static final byte READ_SCRATCHPAD_COMMAND = ( byte ) 0xBE;
+
+   /** DS18B20 write data to scratchpad command     */
+   private static final byte WRITE_SCRATCHPAD_COMMAND = ( byte ) 0x4E;
+
+   /** DS18B20 copy data from scratchpad to EEPROM command     */
+   private static final byte COPY_SCRATCHPAD_COMMAND = ( byte ) 0x48;
+
+   /** DS18B20 read power supply command       */
+   private static final byte READ_POWER_SUPPLY_COMMAND = ( byte ) 0xB4;
+
+
+   /**
+    * Creates an empty <code>OneWireContainer28</code>.  Must call
+    * <code>setupContainer()</code> before using this new container.
+    *
+    * @see #OneWireContainer28(I2CBridgeAdapter,byte[])
+    * @see #OneWireContainer28(I2CBridgeAdapter,long)
+    * @see #OneWireContainer28(I2CBridgeAdapter,String)
+    */
+   public OneWireContainer28 ()
+   {
+      super();
+   }
+
+   /**
+    * Create a container with the provided adapter instance
+    * and the address of the 1-Wire device.
+    *
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        {@link com.unixwizardry.onewire.utils.Address Address}
+    *                           of this 1-Wire device
+    */
+   public OneWireContainer28 (I2CBridgeAdapter sourceAdapter, byte[] newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * Create a container with the provided adapter instance
+    * and the address of the 1-Wire device.
+    *
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        {@link com.unixwizardry.onewire.utils.Address Address}
+    *                           of this 1-Wire device
+    */
+   public OneWireContainer28 (I2CBridgeAdapter sourceAdapter, long newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * Create a container with the provided adapter instance
+    * and the address of the 1-Wire device.
+    *
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        {@link com.unixwizardry.onewire.utils.Address Address}
+    *                           of this 1-Wire device
+    */
+   public OneWireContainer28 (I2CBridgeAdapter sourceAdapter, String newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   //--------
+   //-------- Information methods
+   //--------
+
+   /**
+    * Retrieves the Dallas Semiconductor part number of this
+    * <code>OneWireContainer28</code> as a <code>String</code>.
+    *
+    * @return this <code>OneWireContainer28</code> name
+    */
+   @Override
+   public String getName ()
+   {
+      return "DS18B20";
+   }
+
+   /**
+    * Retrieves the alternate Dallas Semiconductor part numbers or names.
+    *
+    * @return this <code>OneWireContainer28</code> alternate names
+    */
+   @Override
+   public String getAlternateNames ()
+   {
+      return "DS1820B, DS18B20X";
+   }
+
+   /**
+    * Retrieves a short description of the function of this
+    * <code>OneWireContainer28</code> type.
+    *
+    * @return <code>OneWireContainer28</code> functional description
+    */
+   @Override
+   public String getDescription ()
+   {
+      return "Digital thermometer measures temperatures from "
+             + "-55C to 125C in 0.75 seconds (max) at 12 bits.  +/- 0.5C "
+             + "Accuracy between -10C and 85C.  Resolution of 9 to 12 "
+             + "bits, with shorter conversions at lower resolution.  "
+             + "Contains high and low temperature set points for "
+             + "generation of alarm.";
+   }
+
+   //--------
+   //-------- Temperature Feature methods
+   //--------
+
+   /**
+    * Checks to see if this temperature measuring device has high/low
+    * trip alarms.
+    *
+    * @return <code>true</code>
+    */
+   @Override
+   public boolean hasTemperatureAlarmCapability ()
+   {
+      return true;
+   }
+
+   /**
+    * Checks to see if this device has selectable temperature resolution.
+    *
+    * @return <code>true</code>
+    */
+   @Override
+   public boolean hasSelectableTemperatureResolution ()
+   {
+      return true;
+   }
+
+   /**
+    * Gets an array of available temperature resolutions in Celsius.
+    *
+    * @return the four resolutions, 9 bits (coarsest) first
+    */
+   @Override
+   public double[] getTemperatureResolutions ()
+   {
+      return RESOLUTIONS.clone();
+   }
+
+   /**
+    * Gets the temperature alarm resolution in Celsius.
+    *
+    * @return 1.0
+    */
+   @Override
+   public double getTemperatureAlarmResolution ()
+   {
+      return 1.0;
+   }
+
+   /**
+    * Gets the maximum temperature in Celsius.
+    *
+    * @return 125.0
+    */
+   @Override
+   public double getMaxTemperature ()
+   {
+      return 125.0;
+   }
+
+   /**
+    * Gets the minimum temperature in Celsius.
+    *
+    * @return -55.0
+    */
+   @Override
+   public double getMinTemperature ()
+   {
+      return -55.0;
+   }
+
+   /**
+    * Gets the worst case conversion time at the resolution in
+    * <code>state</code>.
+    *
+    * @param  state byte array with device state information
+    *
+    * @return 94, 188, 375 or 750 ms for 9 to 12 bits
+    */
+   public long getConversionTime (byte[] state)
+   {
+      return CONVERSION_MS [(state [4] >> 5) & 0x03];
+   }
+
+   //--------
+   //-------- Temperature I/O Methods
+   //--------
+
+   /**
+    * Performs a temperature conversion on <code>state</code> information,
+    * waiting only as long as the resolution in <code>state</code> needs.
+    *
+    * @param  state byte array with device state information
+    *
+    * @throws OneWireIOException on a 1-Wire communication error such as
+    *         reading an incorrect CRC from this <code>OneWireContainer28</code>.
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    *
+    * @see    #getTemperature
+    */
+   @Override
+   public void doTemperatureConvert (byte[] state) throws OneWireIOException, OneWireException {
+      Object event = deviceOperationStarted();
+      try {
+         convertTemperature(state);
+      } finally {
+         deviceOperationFinished(event, "doTemperatureConvert");
+      }
+   }
+
+   private void convertTemperature (byte[] state) throws OneWireIOException, OneWireException {
+      long ms = getConversionTime(state);
+      boolean external = isPowerExternal();
+
+      adapter.beginExclusive(true);
+      try {
+         if (external)
+         {
+            if (!adapter.OWSelect(address))
+               throw new OneWireIOException(
+                  "OneWireContainer28-device not present");
+            adapter.OWWriteByte(CONVERT_TEMPERATURE_COMMAND);
+            if (!adapter.waitForCompletion(ms, TimeUnit.MILLISECONDS))
+               throw new OneWireIOException(
+                  "OneWireContainer28-temperature conversion not complete");
+         }
+         else
+            writeWithPullup(CONVERT_TEMPERATURE_COMMAND, ms);
+      } finally {
+         adapter.endExclusive();
+      }
+
+      readScratch(state);
+   }
+
+   /**
+    * Starts a temperature conversion and returns without waiting for it.
+    * A parasite powered part cannot share the bus while converting, so it
+    * is waited out here with the strong pullup on.
+    *
+    * @return the conversion time at the resolution last read, 750 ms
+    *         before the first read; 0 if the conversion is already over
+    *
+    * @throws OneWireIOException if the device is not present
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    *
+    * @see    ConversionSensor
+    */
+   @Override
+   public long startConversion () throws OneWireIOException, OneWireException {
+      Object event = deviceOperationStarted();
+      adapter.beginExclusive(true);
+      try {
+         long ms = CONVERSION_MS [(config >> 5) & 0x03];
+         if (!isPowerExternal())
+         {
+            writeWithPullup(CONVERT_TEMPERATURE_COMMAND, ms);
+            return 0;
+         }
+         if (!adapter.OWSelect(address))
+            throw new OneWireIOException(
+               "OneWireContainer28-device not present");
+         adapter.OWWriteByte(CONVERT_TEMPERATURE_COMMAND);
+         return ms;
+      } finally {
+         adapter.endExclusive();
+         deviceOperationFinished(event, "startConversion");
+      }
+   }
+
+   //--------
+   //-------- Temperature 'get' Methods
+   //--------
+
+   /**
+    * Gets the temperature value in Celsius from the <code>state</code>
+    * data retrieved from the <code>readDevice()</code> method.  The bits
+    * below the selected resolution are undefined and are ignored.
+    *
+    * @param  state byte array with device state information
+    *
+    * @return temperature in Celsius from the last
+    *                     <code>doTemperatureConvert()</code>
+    *
+    * @throws OneWireIOException if the sign bits do not agree, which
+    *         only a misread can cause
+    *
+    * @see    #doTemperatureConvert
+    */
+   @Override
+   public double getTemperature (byte[] state) throws OneWireIOException {
+
+      // the five upper bits of the MSB are all copies of the sign
+      int sign = state [1] & 0xF8;
+      if (sign != 0x00 && sign != 0xF8)
+         throw new OneWireIOException("Invalid temperature data!");
+
+      int raw   = ( short ) ((state [0] & 0x0ff) | (state [1] << 8));
+      int shift = 3 - ((state [4] >> 5) & 0x03);
+
+      return (raw >> shift << shift) / 16.0;
+   }
+
+   /**
+    * Gets the specified temperature alarm value in Celsius from the
+    * <code>state</code> data retrieved from the  <code>readDevice()</code>
+    * method.
+    *
+    * @param  alarmType valid value: <code>ALARM_HIGH</code> or
+    *                   <code>ALARM_LOW</code>
+    * @param  state     byte array with device state information
+    *
+    * @return temperature alarm trip values in Celsius
+    */
+   @Override
+   public double getTemperatureAlarm (int alarmType, byte[] state)
+   {
+      return ( double ) state [alarmType == ALARM_LOW ? 3
+                                                      : 2];
+   }
+
+   /**
+    * Gets the current temperature resolution in Celsius from the
+    * <code>state</code> data retrieved from the <code>readDevice()</code>
+    * method.
+    *
+    * @param  state byte array with device state information
+    *
+    * @return one of the <code>RESOLUTION_</code> values
+    */
+   @Override
+   public double getTemperatureResolution (byte[] state)
+   {
+      return RESOLUTIONS [(state [4] >> 5) & 0x03];
+   }
+
+   //--------
+   //-------- Temperature 'set' Methods
+   //--------
+
+   /**
+    * Sets the temperature alarm value in Celsius in the provided
+    * <code>state</code> data.
+    * Use the method <code>writeDevice()</code> with
+    * this data to finalize the change to the device.
+    *
+    * @param  alarmType  valid value: <code>ALARM_HIGH</code> or
+    *                    <code>ALARM_LOW</code>
+    * @param  alarmValue alarm trip value in Celsius
+    * @param  state      byte array with device state information
+    */
+   @Override
+   public void setTemperatureAlarm (int alarmType, double alarmValue, byte[] state)
+   {
+      if ((alarmType != ALARM_LOW) && (alarmType != ALARM_HIGH))
+         throw new IllegalArgumentException("Invalid alarm type.");
+
+      if (alarmValue > 125.0 || alarmValue < -55.0)
+         throw new IllegalArgumentException(
+            "Value for alarm not in accepted range.  Must be -55 C <-> +125 C.");
+
+      state [(alarmType == ALARM_LOW) ? 3 : 2] = ( byte ) alarmValue;
+   }
+
+   /**
+    * Sets the temperature resolution in Celsius in the provided
+    * <code>state</code> data.   Use the method <code>writeDevice()</code>
+    * with this data to finalize the change to the device.
+    *
+    * @param  resolution one of <code>RESOLUTION_9_BIT</code>,
+    *                    <code>RESOLUTION_10_BIT</code>,
+    *                    <code>RESOLUTION_11_BIT</code> or
+    *                    <code>RESOLUTION_12_BIT</code>
+    * @param  state      byte array with device state information
+    */
+   @Override
+   public void setTemperatureResolution (double resolution, byte[] state)
+   {
+      for (int r = 0; r < RESOLUTIONS.length; r++)
+      {
+         if (RESOLUTIONS [r] == resolution)
+         {
+            state [4] = ( byte ) ((state [4] & 0x9F) | (r << 5));
+            return;
+         }
+      }
+      throw new IllegalArgumentException("Invalid resolution: " + resolution);
+   }
+
+   /**
+    * Retrieves this <code>OneWireContainer28</code> state information.
+    * Device state looks like this:
+    * <pre>
+    *   0 : temperature LSB
+    *   1 : temperature MSB
+    *   2 : trip high
+    *   3 : trip low
+    *   4 : configuration register (resolution in bits 5 and 6)
+    *   5-7 : reserved
+    * </pre>
+    *
+    * @return <code>OneWireContainer28</code> state information.
+    *
+    * @throws OneWireIOException on a 1-Wire communication error such as
+    *         reading an incorrect CRC from this <code>OneWireContainer28</code>.
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    *
+    * @see    #writeDevice
+    */
+   @Override
+   public byte[] readDevice () throws OneWireIOException, OneWireException
+   {
+      long start = readDeviceStarted();
+      Object event = deviceOperationStarted();
+      try
+      {
+         byte[] state = new byte [8];
+         readScratch(state);
+         return state;
+      }
+      finally
+      {
+         readDeviceFinished(start);
+         deviceOperationFinished(event, "readDevice");
+      }
+   }
+
+   /**
+    * Writes the alarm values and the resolution in <code>state</code> to
+    * the device and copies them to its EEPROM.
+    *
+    * @param  state      byte array with device state information
+    *
+    * @throws OneWireIOException on a 1-Wire communication error or if the
+    *         scratchpad did not read back as written
+    * @throws OneWireException on a communication or setup error with the 1-Wire
+    *         adapter
+    *
+    * @see    #readDevice
+    */
+   @Override
+   public void writeDevice (byte[] state) throws OneWireIOException, OneWireException
+   {
+      Object event = deviceOperationStarted();
+      try
+      {
+         writeScratchpad(state [2], state [3], state [4]);
+         copyScratchpad();
+      }
+      finally
+      {
+         deviceOperationFinished(event, "writeDevice");
+      }
+   }
+
+   //--------
+   //-------- Private Methods
+   //--------
+
+   /**
+    * Reads the scratchpad, checks its CRC and copies the first 8 bytes
+    * to <code>data</code>.
+    */
+   private void readScratch (byte[] data) throws OneWireIOException, OneWireException
+   {
+      byte[] scratchpad = new byte [9];
+
+      if (!adapter.OWSelect(address))
+         throw new OneWireIOException(
+            "OneWireContainer28-Device not found on 1-Wire Network");
+
+      adapter.OWWriteByte(READ_SCRATCHPAD_COMMAND);
+      for (int i = 0; i < 9; i++)
+         scratchpad [i] = adapter.OWReadByte();
+
+      if (CRC8.compute(scratchpad) != 0)
+      {
+         adapter.getMetrics().count(BusMetrics.CRC8_FAILURES);
+         throw new OneWireIOException(
+            "OneWireContainer28-Error reading CRC8 from device.");
+      }
+      System.arraycopy(scratchpad, 0, data, 0, 8);
+      config = scratchpad [4];
+   }
+
+   /**
+    * Writes TH, TL and the configuration register and reads them back.
+    */
+   private void writeScratchpad (byte th, byte tl, byte cfg)
+      throws OneWireIOException, OneWireException
+   {
+      if (!adapter.OWSelect(address))
+         throw new OneWireIOException(
+            "OneWireContainer28 - Device not found");
+      adapter.OWWriteByte(WRITE_SCRATCHPAD_COMMAND);
+      adapter.OWWriteByte(th);
+      adapter.OWWriteByte(tl);
+      adapter.OWWriteByte(cfg);
+
+      byte[] buffer = new byte [8];
+      readScratch(buffer);
+      // only R1 R0 of the configuration register are writable
+      if ((buffer [2] != th) || (buffer [3] != tl) || ((buffer [4] & 0x60) != (cfg & 0x60)))
+         throw new OneWireIOException(
+            "OneWireContainer28 - data read back incorrect");
+   }
+
+   /**
+    * Copies the scratchpad to EEPROM.
+    */
+   private void copyScratchpad () throws OneWireIOException, OneWireException
+   {
+      if (!isPowerExternal())
+      {
+         writeWithPullup(COPY_SCRATCHPAD_COMMAND, COPY_MS);
+         return;
+      }
+
+      if (!adapter.OWSelect(address))
+         throw new OneWireIOException(
+            "OneWireContainer28 - Device not found");
+      adapter.OWWriteByte(COPY_SCRATCHPAD_COMMAND);
+
+      // 10 ms, or until the device says it is done
+      adapter.waitForCompletion(COPY_MS, TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Sends <code>command</code> and holds the strong pullup for
+    * <code>ms</code>, which a parasite powered part needs to convert or to
+    * write its EEPROM; see <code>I2CBridgeAdapter.convertAllTemperatures</code>.
+    */
+   private void writeWithPullup (byte command, long ms)
+      throws OneWireIOException, OneWireException
+   {
+      adapter.execute(OWTransaction.builder().matchRom(address).write(command)
+                         .strongPullup(ms, TimeUnit.MILLISECONDS).build());
+   }
+
+   /**
+    * Asks the device once whether it has its own supply and remembers
+    * the answer; see <code>OneWireContainer10</code>.
+    */
+   private boolean isPowerExternal () throws OneWireIOException, OneWireException
+   {
+      if (powerSupply < 0)
+      {
+         if (!adapter.OWSelect(address))
+            throw new OneWireIOException(
+               "OneWireContainer28-Device not found on 1-Wire Network");
+         adapter.OWWriteByte(READ_POWER_SUPPLY_COMMAND);
+         powerSupply = adapter.OWTouchBit(( byte ) 1) ? 1 : 0;
+      }
+      return powerSupply == 1;
+   }
+}
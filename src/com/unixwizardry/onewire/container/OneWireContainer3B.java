@@ -0,0 +1,95 @@
+/*
+ * DS1825 addressable thermometer, family 0x3B.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.container;
+
+import com.unixwizardry.onewire.adapter.I2CBridgeAdapter;
+
+
+/**
+ * <P> 1-Wire container for the DS1825 thermometer, family type <B>3B</B>
+ * (hex).  It has the command set, scratchpad and 9 to 12 bit resolution
+ * of the DS18B20; bits 0 to 3 of its configuration register are the
+ * AD3-AD0 location pins, read only.  See
+ * {@link OneWireContainer28}.</P>
+ *
+ * <H3> DataSheet </H3>
+ * <DL>
+ * <DD><A HREF="http://pdfserv.maxim-ic.com/en/ds/DS1825.pdf"> http://pdfserv.maxim-ic.com/en/ds/DS1825.pdf</A>
+ * </DL>
+ */
+public class OneWireContainer3B extends OneWireContainer28
+{
+   /**
+    * Creates an empty <code>OneWireContainer3B</code>.  Must call
+    * <code>setupContainer()</code> before using this new container.
+    */
+   public OneWireContainer3B ()
+   {
+      super();
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer3B (I2CBridgeAdapter sourceAdapter, byte[] newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer3B (I2CBridgeAdapter sourceAdapter, long newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @param  sourceAdapter     adapter instance used to communicate with
+    * this 1-Wire device
+    * @param  newAddress        address of this 1-Wire device
+    */
+   public OneWireContainer3B (I2CBridgeAdapter sourceAdapter, String newAddress)
+   {
+      super(sourceAdapter, newAddress);
+   }
+
+   /**
+    * @return "DS1825"
+    */
+   @Override
+   public String getName ()
+   {
+      return "DS1825";
+   }
+
+   /**
+    * @return no alternate names
+    */
+   @Override
+   public String getAlternateNames ()
+   {
+      return "";
+   }
+
+   /**
+    * @return <code>OneWireContainer3B</code> functional description
+    */
+   @Override
+   public String getDescription ()
+   {
+      return "Digital thermometer with four address pins measures temperatures from "
+             + "-55C to 125C in 0.75 seconds (max) at 12 bits.  +/- 0.5C "
+             + "Accuracy between -10C and 85C.  Resolution of 9 to 12 "
+             + "bits, with shorter conversions at lower resolution.  "
+             + "Contains high and low temperature set points for "
+             + "generation of alarm.";
+   }
+}
@@ -0,0 +1,30 @@
+/*
+ * Flight recorder event for one DS2482-800 channel selection.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One channel selection on a DS2482-800.
+ */
+@Name("com.unixwizardry.onewire.ChannelSelect")
+@Label("Channel Select")
+@Category({"1-Wire", "Bridge"})
+@Description("DS2482-800 1-Wire channel selection")
+class ChannelSelectEvent extends jdk.jfr.Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Channel")
+    int channel;
+
+    @Label("Succeeded")
+    boolean ok;
+}
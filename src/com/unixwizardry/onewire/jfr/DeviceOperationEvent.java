@@ -0,0 +1,43 @@
+/*
+ * Flight recorder event for one container operation.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A <code>readDevice()</code>, <code>writeDevice()</code> or conversion on
+ * one device.
+ */
+@Name("com.unixwizardry.onewire.DeviceOperation")
+@Label("1-Wire Device Operation")
+@Category({"1-Wire", "Device"})
+@Description("readDevice, writeDevice or a conversion on one 1-Wire device")
+class DeviceOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Channel")
+    int channel;
+
+    @Label("ROM")
+    String rom;
+
+    @Label("Device")
+    String device;
+
+    @Label("1-Wire Bytes")
+    @Description("Bytes written and read on the bridge while the operation ran")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,39 @@
+/*
+ * Flight recorder event for one DS2482 I2C transfer.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One I2C write, read or combined write/read.  Off by default since there
+ * are several per 1-Wire byte; turn it on in a recording settings file.
+ */
+@Name("com.unixwizardry.onewire.I2CTransfer")
+@Label("I2C Transfer")
+@Category({"1-Wire", "Bridge"})
+@Description("One I2C transfer to or from a DS2482")
+@Enabled(false)
+class I2CTransferEvent extends jdk.jfr.Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Bytes Out")
+    @DataAmount
+    int bytesOut;
+
+    @Label("Bytes In")
+    @DataAmount
+    int bytesIn;
+
+    @Label("Succeeded")
+    boolean ok;
+}
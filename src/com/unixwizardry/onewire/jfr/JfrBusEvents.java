@@ -0,0 +1,132 @@
+/*
+ * BusEvents backed by JDK Flight Recorder.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import com.unixwizardry.accessProvider.BusEvents;
+import jdk.jfr.EventType;
+
+/**
+ * Writes the bus events to JDK Flight Recorder.  Loaded reflectively by
+ * {@link BusEvents#get()}, so nothing else in the library refers to
+ * <code>jdk.jfr</code>.
+ * <p>
+ * {@link #begin(int)} asks the event type whether any recording wants it
+ * before allocating the event, so a kind that is not being recorded costs
+ * a flag test.
+ */
+public final class JfrBusEvents extends BusEvents {
+
+    private static final EventType[] TYPES = {
+        EventType.getEventType(I2CTransferEvent.class),
+        EventType.getEventType(ResetEvent.class),
+        EventType.getEventType(SearchEvent.class),
+        EventType.getEventType(ChannelSelectEvent.class),
+        EventType.getEventType(DeviceOperationEvent.class),
+        EventType.getEventType(PathEvent.class)
+    };
+
+    private static final String[] RESULTS = {"no presence", "presence", "alarm", "short"};
+
+    /**
+     * Called by {@link BusEvents#get()}.
+     */
+    public JfrBusEvents() {
+    }
+
+    @Override
+    public boolean isEnabled(int kind) {
+        return TYPES[kind].isEnabled();
+    }
+
+    @Override
+    public Object begin(int kind) {
+        if (!TYPES[kind].isEnabled())
+            return null;
+        jdk.jfr.Event event;
+        switch (kind) {
+            case I2C_TRANSFER:     event = new I2CTransferEvent(); break;
+            case RESET:            event = new ResetEvent(); break;
+            case SEARCH:           event = new SearchEvent(); break;
+            case CHANNEL_SELECT:   event = new ChannelSelectEvent(); break;
+            case DEVICE_OPERATION: event = new DeviceOperationEvent(); break;
+            case PATH:             event = new PathEvent(); break;
+            default:               return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginDeviceOperation(long oneWireBytes) {
+        DeviceOperationEvent event = (DeviceOperationEvent) begin(DEVICE_OPERATION);
+        if (event != null)
+            event.bytes = oneWireBytes;
+        return event;
+    }
+
+    @Override
+    public void commitTransfer(Object event, String bridge, int bytesOut, int bytesIn, boolean ok) {
+        I2CTransferEvent e = (I2CTransferEvent) event;
+        e.bridge = bridge;
+        e.bytesOut = bytesOut;
+        e.bytesIn = bytesIn;
+        e.ok = ok;
+        e.commit();
+    }
+
+    @Override
+    public void commitReset(Object event, String bridge, int channel, int result) {
+        ResetEvent e = (ResetEvent) event;
+        e.bridge = bridge;
+        e.channel = channel;
+        e.result = (result >= 0 && result < RESULTS.length) ? RESULTS[result] : Integer.toString(result);
+        e.commit();
+    }
+
+    @Override
+    public void commitSearch(Object event, String bridge, int channel, String rom, int triplets) {
+        SearchEvent e = (SearchEvent) event;
+        e.bridge = bridge;
+        e.channel = channel;
+        e.rom = (rom == null) ? "" : rom;
+        e.triplets = triplets;
+        e.commit();
+    }
+
+    @Override
+    public void commitChannelSelect(Object event, String bridge, int channel, boolean ok) {
+        ChannelSelectEvent e = (ChannelSelectEvent) event;
+        e.bridge = bridge;
+        e.channel = channel;
+        e.ok = ok;
+        e.commit();
+    }
+
+    @Override
+    public void commitDeviceOperation(Object event, String operation, String bridge, int channel,
+            String rom, String device, long oneWireBytes) {
+        DeviceOperationEvent e = (DeviceOperationEvent) event;
+        e.operation = operation;
+        e.bridge = bridge;
+        e.channel = channel;
+        e.rom = rom;
+        e.device = device;
+        e.bytes = oneWireBytes - e.bytes;
+        e.commit();
+    }
+
+    @Override
+    public void commitPath(Object event, String operation, String bridge, int channel, String path,
+            int switches) {
+        PathEvent e = (PathEvent) event;
+        e.operation = operation;
+        e.bridge = bridge;
+        e.channel = channel;
+        e.path = path;
+        e.switches = switches;
+        e.commit();
+    }
+}
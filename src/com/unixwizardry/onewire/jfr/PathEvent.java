@@ -0,0 +1,37 @@
+/*
+ * Flight recorder event for opening or closing a 1-Wire path.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One <code>OWPath.open()</code> or <code>close()</code>.
+ */
+@Name("com.unixwizardry.onewire.Path")
+@Label("1-Wire Path")
+@Category({"1-Wire", "Device"})
+@Description("Opening or closing the couplers on a 1-Wire path")
+class PathEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Channel")
+    @Description("Coupler channel of the last element, -1 for an empty path")
+    int channel;
+
+    @Label("Path")
+    String path;
+
+    @Label("Switches")
+    int switches;
+}
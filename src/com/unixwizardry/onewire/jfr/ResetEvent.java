@@ -0,0 +1,31 @@
+/*
+ * Flight recorder event for one 1-Wire reset.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One 1-Wire reset and what answered it.
+ */
+@Name("com.unixwizardry.onewire.Reset")
+@Label("1-Wire Reset")
+@Category({"1-Wire", "Bridge"})
+@Description("1-Wire reset pulse and presence detect")
+class ResetEvent extends jdk.jfr.Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Channel")
+    int channel;
+
+    @Label("Result")
+    @Description("presence, no presence or short")
+    String result;
+}
@@ -0,0 +1,35 @@
+/*
+ * Flight recorder event for one 1-Wire search pass.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One search pass, i.e. one device found or the end of the search.
+ */
+@Name("com.unixwizardry.onewire.Search")
+@Label("1-Wire Search Pass")
+@Category({"1-Wire", "Bridge"})
+@Description("One pass of the 1-Wire search algorithm")
+class SearchEvent extends jdk.jfr.Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Channel")
+    int channel;
+
+    @Label("ROM")
+    @Description("Device found, empty if none")
+    String rom;
+
+    @Label("Triplets")
+    @Description("Triplet commands sent, one per ROM bit")
+    int triplets;
+}
@@ -0,0 +1,140 @@
+/*
+ * Checks that the bridge I/O path allocates nothing, against the simulator.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.adapter.I2CBridgeAdapter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+/**
+ * Runs each 1-Wire primitive of <code>I2CBridgeAdapter</code>, and a
+ * search step through <code>findFirstDevice()</code>/
+ * <code>findNextDevice()</code>, many times against a
+ * {@link DS2482Simulator} and reports the bytes the calling
+ * thread allocated per call, read from the JVM's per-thread allocation
+ * counter (<code>com.sun.management.ThreadMXBean</code>, as on HotSpot
+ * and OpenJ9).  Every primitive is warmed up first so class loading and
+ * JIT compilation are not counted.
+ * <pre>
+ *   java -cp classes com.unixwizardry.onewire.simulator.AllocationCheck
+ * </pre>
+ * Exits with status 1 if any primitive allocated, 2 if the JVM cannot
+ * count allocations.
+ */
+public final class AllocationCheck {
+
+    private static final int WARMUP = 20000;
+    private static final int CALLS  = 10000;
+
+    private interface Primitive {
+        void run(I2CBridgeAdapter adapter) throws Exception;
+    }
+
+    private static final String[] NAMES = {
+        "OWReset", "OWWriteByte", "OWReadByte", "OWWriteBit", "OWTouchBit", "DS2482OWTriplet", "OWSelect",
+        "OWSearch step"
+    };
+
+    private static final byte[] ROM = new byte[8];
+
+    private static final Primitive[] PRIMITIVES = {
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.OWReset();
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.OWWriteByte((byte) 0x55);
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.OWReadByte();
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.OWWriteBit((byte) 0);
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.OWTouchBit((byte) 1);
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                adapter.DS2482OWTriplet((byte) 0);
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) throws Exception {
+                adapter.OWSelect(ROM);
+            }
+        },
+        new Primitive() {
+            @Override
+            public void run(I2CBridgeAdapter adapter) {
+                // one device per call, starting over after the last
+                if (!adapter.findNextDevice())
+                    adapter.findFirstDevice();
+            }
+        }
+    };
+
+    private AllocationCheck() {
+    }
+
+    /**
+     * @param args not used
+     * @throws Exception if the simulated bridge fails
+     */
+    public static void main(String[] args) throws Exception {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (!(mx instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) mx).isThreadAllocatedMemorySupported()) {
+            System.out.println("AllocationCheck: this JVM does not count allocated bytes per thread");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) mx;
+        counter.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        VirtualBus bus = new VirtualBus(new VirtualClock());
+        Random random = new Random(1);
+        for (int i = 0; i < 20; i++)
+            bus.add(new VirtualDS18S20(random.nextLong() & 0xFFFFFFFFFFFFL));
+        System.arraycopy(bus.getDevices().get(0).getAddressBytes(), 0, ROM, 0, 8);
+        I2CBridgeAdapter adapter = new I2CBridgeAdapter(new DS2482Simulator(bus));
+
+        for (int p = 0; p < PRIMITIVES.length; p++) {
+            for (int i = 0; i < WARMUP; i++)
+                PRIMITIVES[p].run(adapter);
+        }
+
+        boolean clean = true;
+        for (int p = 0; p < PRIMITIVES.length; p++) {
+            long before = counter.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < CALLS; i++)
+                PRIMITIVES[p].run(adapter);
+            long bytes = counter.getThreadAllocatedBytes(thread) - before;
+            System.out.println(NAMES[p] + ": " + ((double) bytes / CALLS) + " bytes per call");
+            if (bytes > 0)
+                clean = false;
+        }
+        System.out.println(clean ? "AllocationCheck: no allocations" : "AllocationCheck: FAILED");
+        System.exit(clean ? 0 : 1);
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * Software model of the DS2482-100 / DS2482-800 I2C to 1-Wire bridge.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.accessProvider.BusClock;
+import com.unixwizardry.accessProvider.I2CTransport;
+import com.unixwizardry.onewire.utils.Convert;
+import java.io.IOException;
+
+/**
+ * An <code>I2CTransport</code> that behaves like a DS2482 on the other end of
+ * the I2C bus, driving one (DS2482-100) or eight (DS2482-800)
+ * {@link VirtualBus}es.  Hand it to <code>I2CBridgeAdapter(I2CTransport)</code>
+ * and the adapter and every container run unchanged against simulated parts:
+ * <pre>
+ *   VirtualClock clock = new VirtualClock();
+ *   VirtualBus   bus   = new VirtualBus(clock);
+ *   bus.add(new VirtualDS18S20(0x1234L));
+ *   I2CBridgeAdapter adapter = new I2CBridgeAdapter(new DS2482Simulator(bus));
+ * </pre>
+ * Modelled: the status, data, configuration and channel selection registers
+ * and the read pointer; Device Reset, Set Read Pointer, Write Configuration,
+ * Channel Select (-800 only), 1-Wire Reset, Single Bit, Write Byte, Read
+ * Byte and Triplet.  A 1-Wire command keeps 1WB set for as long as it would
+ * on the wire (standard or overdrive timing from the 1WS bit), and every I2C
+ * transfer moves the clock by its duration at the configured SCL rate, so
+ * polling loops see realistic busy counts.  Combined write/read transfers
+ * (repeated start) are accepted after any command.  Like the part, it does not
+ * acknowledge (an <code>IOException</code> here) a 1-Wire command or a
+ * configuration write while 1WB is set, an unknown command, or a bad
+ * register code.
+ * <p>
+ * With SPU set, a Write Byte, Read Byte or Single Bit leaves the line at
+ * strong pullup ({@link VirtualBus#isStrongPullup()}) until the next 1-Wire
+ * command, a configuration write with SPU clear or a Device Reset, and SPU
+ * is cleared when the pullup ends, as on the part.  Parasite powered device
+ * models lose power if it ends while they convert or write EEPROM.
+ */
+public class DS2482Simulator implements I2CTransport {
+
+    // status register bits
+    private static final int STATUS_1WB = 0x01;
+    private static final int STATUS_PPD = 0x02;
+    private static final int STATUS_SD  = 0x04;
+    private static final int STATUS_LL  = 0x08;
+    private static final int STATUS_RST = 0x10;
+    private static final int STATUS_SBR = 0x20;
+    private static final int STATUS_TSB = 0x40;
+    private static final int STATUS_DIR = 0x80;
+
+    // configuration register bits
+    private static final int CONFIG_SPU = 0x04;
+    private static final int CONFIG_1WS = 0x08;
+
+    // register codes for Set Read Pointer
+    private static final int REG_STATUS  = 0xF0;
+    private static final int REG_DATA    = 0xE1;
+    private static final int REG_CONFIG  = 0xC3;
+    private static final int REG_CHANNEL = 0xD2;
+
+    // channel select codes and what the channel register reads back
+    private static final int[] CHANNEL_CODE     = { 0xF0, 0xE1, 0xD2, 0xC3, 0xB4, 0xA5, 0x96, 0x87 };
+    private static final int[] CHANNEL_READBACK = { 0xB8, 0xB1, 0xAA, 0xA3, 0x9C, 0x95, 0x8E, 0x87 };
+
+    // 1-Wire timing in nanoseconds, standard and overdrive
+    private static final long RESET_NS_STD = 1148000L;
+    private static final long RESET_NS_OD  = 146000L;
+    private static final long SLOT_NS_STD  = 69000L;
+    private static final long SLOT_NS_OD   = 10500L;
+
+    private final VirtualClock clock;
+    private final VirtualBus[] channels;
+    private boolean            open = true;
+    private long               sclHz = 100000L;
+
+    private int  status;
+    private int  statusBeforeBusy;
+    private int  config;
+    private int  data;
+    private int  pointer;
+    private int  channel;
+    private long busyUntil;
+    private VirtualBus pullupBus;                       // held at strong pullup, or null
+
+    private long transactions;
+    private long nacks;
+
+    /**
+     * A DS2482-100: one 1-Wire channel.
+     *
+     * @param bus the 1-Wire line
+     */
+    public DS2482Simulator(VirtualBus bus) {
+        this(new VirtualBus[] { bus });
+    }
+
+    /**
+     * A DS2482-100 (one bus) or DS2482-800 (eight buses).
+     *
+     * @param buses one or eight 1-Wire lines, all on the same clock
+     * @throws IllegalArgumentException on any other count or mixed clocks
+     */
+    public DS2482Simulator(VirtualBus[] buses) {
+        if (buses.length != 1 && buses.length != 8)
+            throw new IllegalArgumentException("DS2482Simulator needs 1 or 8 channels, not " + buses.length);
+        this.clock = buses[0].getClock();
+        for (VirtualBus b : buses) {
+            if (b.getClock() != clock)
+                throw new IllegalArgumentException("DS2482Simulator channels must share one VirtualClock");
+        }
+        this.channels = buses.clone();
+        deviceReset();
+    }
+
+    /**
+     * @return the bus on the given channel
+     */
+    public VirtualBus getBus(int channel) {
+        return channels[channel];
+    }
+
+    /**
+     * @return 1 for a DS2482-100, 8 for a DS2482-800
+     */
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    /**
+     * @return the channel currently selected
+     */
+    public synchronized int getSelectedChannel() {
+        return channel;
+    }
+
+    /**
+     * Sets the I2C clock used to charge transfer time, 100 kHz by default.
+     *
+     * @param hz SCL frequency
+     */
+    public synchronized void setI2CClock(long hz) {
+        if (hz <= 0)
+            throw new IllegalArgumentException("SCL frequency must be positive");
+        sclHz = hz;
+    }
+
+    /**
+     * @return I2C transactions (reads, writes and combined write/reads,
+     *         acknowledged or not) so far
+     */
+    public synchronized long getTransactionCount() {
+        return transactions;
+    }
+
+    /**
+     * @return transactions that were not acknowledged
+     */
+    public synchronized long getNackCount() {
+        return nacks;
+    }
+
+    //--------
+    //-------- I2CTransport
+    //--------
+
+    @Override
+    public synchronized int write(byte[] buffer, int off, int len) throws IOException {
+        checkOpen();
+        transactions++;
+        clock.advance(bitTime(2 + 9 * (len + 1)));      // START, address+W, data, STOP
+        if (len == 0)
+            return 0;
+        command(buffer, off, len);
+        return len;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int off, int len) throws IOException {
+        checkOpen();
+        transactions++;
+        clock.advance(bitTime(11));                     // START, address+R, STOP
+        readRegisters(buffer, off, len);
+        return len;
+    }
+
+    @Override
+    public synchronized int writeRead(byte[] out, int outOff, int outLen, byte[] in, int inOff, int inLen)
+            throws IOException {
+        checkOpen();
+        transactions++;
+        // START, address+W, data, repeated START, address+R, data, STOP
+        clock.advance(bitTime(2 + 9 * (outLen + 1)));
+        if (outLen > 0)
+            command(out, outOff, outLen);
+        clock.advance(bitTime(10));
+        readRegisters(in, inOff, inLen);
+        return inLen;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public BusClock getClock() {
+        return clock;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+    }
+
+    //--------
+    //-------- Registers
+    //--------
+
+    // a write transfer: command code and optional parameter byte
+    private void command(byte[] buffer, int off, int len) throws IOException {
+        int cmd = buffer[off] & 0xFF;
+        int arg = (len > 1) ? (buffer[off + 1] & 0xFF) : -1;
+        boolean busy = isBusy();
+
+        switch (cmd) {
+            case 0xF0:                                  // Device Reset
+                deviceReset();
+                break;
+
+            case 0xE1:                                  // Set Read Pointer
+                if (arg != REG_STATUS && arg != REG_DATA && arg != REG_CONFIG
+                        && !(arg == REG_CHANNEL && channels.length == 8))
+                    throw nack(cmd, arg);
+                pointer = arg;
+                break;
+
+            case 0xD2:                                  // Write Configuration
+                if (busy || arg < 0)
+                    throw nack(cmd, arg);
+                if (((arg >>> 4) ^ 0x0F) == (arg & 0x0F)) {
+                    if ((arg & CONFIG_SPU) == 0)
+                        endPullup();
+                    config = arg & 0x0F;
+                }
+                pointer = REG_CONFIG;
+                break;
+
+            case 0xC3:                                  // Channel Select, -800 only
+                if (channels.length != 8 || busy || arg < 0)
+                    throw nack(cmd, arg);
+                int ch = indexOf(CHANNEL_CODE, arg);
+                if (ch < 0)
+                    throw nack(cmd, arg);
+                channel = ch;
+                pointer = REG_CHANNEL;
+                break;
+
+            case 0xB4:                                  // 1-Wire Reset
+                if (busy)
+                    throw nack(cmd, arg);
+                oneWireReset();
+                break;
+
+            case 0x87:                                  // 1-Wire Single Bit
+                if (busy || arg < 0)
+                    throw nack(cmd, arg);
+                singleBit(arg >>> 7);
+                break;
+
+            case 0xA5:                                  // 1-Wire Write Byte
+                if (busy || arg < 0)
+                    throw nack(cmd, arg);
+                writeByte(arg);
+                break;
+
+            case 0x96:                                  // 1-Wire Read Byte
+                if (busy)
+                    throw nack(cmd, arg);
+                readByte();
+                break;
+
+            case 0x78:                                  // 1-Wire Triplet
+                if (busy || arg < 0)
+                    throw nack(cmd, arg);
+                triplet(arg >>> 7);
+                break;
+
+            default:
+                throw nack(cmd, arg);
+        }
+    }
+
+    // the bytes of a read transfer, each from the register under the read pointer
+    private void readRegisters(byte[] buffer, int off, int len) {
+        for (int i = 0; i < len; i++) {
+            clock.advance(bitTime(9));
+            buffer[off + i] = (byte) readRegister();
+        }
+    }
+
+    private int readRegister() {
+        switch (pointer) {
+            case REG_STATUS:
+                return isBusy() ? (statusBeforeBusy | STATUS_1WB) : status;
+            case REG_DATA:
+                return data;
+            case REG_CONFIG:
+                return config;
+            default:
+                return CHANNEL_READBACK[channel];
+        }
+    }
+
+    private boolean isBusy() {
+        return clock.nanoTime() < busyUntil;
+    }
+
+    private void deviceReset() {
+        endPullup();
+        config = 0;
+        channel = 0;
+        data = 0;
+        status = STATUS_RST | STATUS_LL;
+        statusBeforeBusy = status;
+        busyUntil = 0;
+        pointer = REG_STATUS;
+    }
+
+    //--------
+    //-------- 1-Wire commands
+    //--------
+
+    // Starts a 1-Wire operation: the result is computed now but stays hidden
+    // behind 1WB until the operation would have finished on the wire.  Ends
+    // a strong pullup left on by the one before; with 'pullup' and SPU set
+    // the line goes to strong pullup after this one.  The bits are exchanged
+    // all at once here, so the pullup is on when the devices see the last.
+    private void begin(long durationNs, boolean pullup) {
+        endPullup();
+        statusBeforeBusy = status & ~STATUS_1WB;
+        busyUntil = clock.nanoTime() + durationNs;
+        pointer = REG_STATUS;
+        if (pullup && (config & CONFIG_SPU) != 0) {
+            pullupBus = channels[channel];
+            pullupBus.setStrongPullup(true);
+        } else {
+            config &= ~CONFIG_SPU;
+        }
+    }
+
+    private void endPullup() {
+        if (pullupBus != null) {
+            VirtualBus bus = pullupBus;
+            pullupBus = null;
+            config &= ~CONFIG_SPU;
+            bus.setStrongPullup(false);
+        }
+    }
+
+    private void oneWireReset() {
+        VirtualBus bus = channels[channel];
+        begin(overdrive() ? RESET_NS_OD : RESET_NS_STD, false);
+        boolean presence = bus.reset();
+        status &= ~(STATUS_RST | STATUS_PPD | STATUS_SD);
+        if (bus.isShorted())
+            status |= STATUS_SD;
+        else if (presence)
+            status |= STATUS_PPD;
+        setLineLevel(bus);
+    }
+
+    private void singleBit(int bit) {
+        VirtualBus bus = channels[channel];
+        begin(slotTime(), true);
+        int sample = bus.touchBit(bit);
+        status = (sample != 0) ? (status | STATUS_SBR) : (status & ~STATUS_SBR);
+        setLineLevel(bus);
+    }
+
+    private void writeByte(int b) {
+        VirtualBus bus = channels[channel];
+        begin(8 * slotTime(), true);
+        bus.touchByte(b);
+        setLineLevel(bus);
+    }
+
+    private void readByte() {
+        VirtualBus bus = channels[channel];
+        begin(8 * slotTime(), true);
+        data = bus.touchByte(0xFF);
+        setLineLevel(bus);
+    }
+
+    private void triplet(int direction) {
+        VirtualBus bus = channels[channel];
+        begin(3 * slotTime(), false);
+        int id  = bus.touchBit(1);
+        int cmp = bus.touchBit(1);
+        int dir;
+        if (id != cmp)
+            dir = id;                                   // all remaining devices agree
+        else if (id == 0)
+            dir = direction;                            // discrepancy, master decides
+        else
+            dir = 1;                                    // nobody answered
+        bus.touchBit(dir);
+        status &= ~(STATUS_SBR | STATUS_TSB | STATUS_DIR);
+        if (id != 0)
+            status |= STATUS_SBR;
+        if (cmp != 0)
+            status |= STATUS_TSB;
+        if (dir != 0)
+            status |= STATUS_DIR;
+        setLineLevel(bus);
+    }
+
+    private void setLineLevel(VirtualBus bus) {
+        status = bus.isShorted() ? (status & ~STATUS_LL) : (status | STATUS_LL);
+    }
+
+    private boolean overdrive() {
+        return (config & CONFIG_1WS) != 0;
+    }
+
+    private long slotTime() {
+        return overdrive() ? SLOT_NS_OD : SLOT_NS_STD;
+    }
+
+    //--------
+    //-------- I2C bookkeeping
+    //--------
+
+    private long bitTime(int bits) {
+        return bits * 1000000000L / sclHz;
+    }
+
+    private IOException nack(int cmd, int arg) {
+        nacks++;
+        return new IOException("DS2482Simulator: command " + Convert.toHexString((byte) cmd)
+                + ((arg < 0) ? "" : " " + Convert.toHexString((byte) arg)) + " not acknowledged");
+    }
+
+    private void checkOpen() throws IOException {
+        if (!open)
+            throw new IOException("DS2482Simulator: transport is closed");
+    }
+
+    private static int indexOf(int[] values, int v) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == v)
+                return i;
+        }
+        return -1;
+    }
+}
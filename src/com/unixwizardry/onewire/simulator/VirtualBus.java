@@ -0,0 +1,481 @@
+/*
+ * Simulated 1-Wire network for the DS2482 simulator.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * One 1-Wire line with any number of {@link VirtualDevice}s on it.
+ * <p>
+ * The bus plays the ROM layer for all of its devices at once: reset and
+ * presence, SEARCH ROM (F0), ALARM SEARCH (EC), MATCH ROM (55), SKIP ROM
+ * (CC), READ ROM (33) and RESUME (A5).  After a device is selected the time slots go to
+ * the device itself.  Several devices selected by SKIP ROM answer as a
+ * wired-AND, just like the real line.
+ * <p>
+ * Searches do not ask every device for every bit.  The reachable devices are
+ * kept sorted by their address read backwards (bit 0 first, which is the
+ * order a search walks), so the devices that still match the bits chosen so
+ * far are always one contiguous run, and each triplet is answered by a
+ * binary search inside that run.  A full discovery of N devices costs
+ * O(N log N), which keeps load tests with thousands of devices quick.
+ * <p>
+ * Devices behind a {@link VirtualDS2409} branch are only reachable while
+ * that branch is switched on.
+ */
+public class VirtualBus {
+
+    private static final int IDLE        = 0;   // no one listening until the next reset
+    private static final int ROM_COMMAND = 1;
+    private static final int SEARCH      = 2;
+    private static final int MATCH       = 3;
+    private static final int READ_ROM    = 4;
+    private static final int FUNCTION    = 5;
+
+    private final VirtualClock                   clock;
+    private final List<VirtualDevice>            devices = new ArrayList<VirtualDevice>();
+    private final HashMap<Long, VirtualDevice>   byAddress = new HashMap<Long, VirtualDevice>();
+    private boolean                              shorted;
+    private boolean                              strongPullup;
+
+    // reachable devices in search order, rebuilt after a topology change
+    private boolean         dirty = true;
+    private VirtualDevice[] reachable = new VirtualDevice[0];
+    private long[]          reachableKeys = new long[0];
+
+    // ROM layer state
+    private int             state = IDLE;
+    private int             bitCount;
+    private long            shift;
+    private VirtualDevice[] searchDevices;
+    private long[]          searchKeys;
+    private int             lo, hi, split, phase;
+    private VirtualDevice[] selected = new VirtualDevice[0];
+    private int             selectedFrom, selectedTo;
+    private long            resumeAddress;      // last device selected by match ROM
+    private boolean         resumable;
+
+    /**
+     * @param clock clock shared with the simulated bridge and the devices
+     */
+    public VirtualBus(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return the clock this bus runs on
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Attaches a device to the trunk of this bus.
+     *
+     * @param device device to attach
+     * @throws IllegalArgumentException if a device with the same address is
+     *         already on this bus, or the device is on another bus
+     */
+    public void add(VirtualDevice device) {
+        add(device, null);
+    }
+
+    /**
+     * Attaches a device behind a DS2409 branch.
+     *
+     * @param device device to attach
+     * @param branch branch of a coupler on this bus, or <code>null</code> for
+     *        the trunk
+     * @throws IllegalArgumentException if a device with the same address is
+     *         already on this bus, or the device is on another bus
+     */
+    public synchronized void add(VirtualDevice device, VirtualDS2409.Branch branch) {
+        Long key = Long.valueOf(device.getAddress());
+        if (device.bus != null || byAddress.containsKey(key))
+            throw new IllegalArgumentException("VirtualBus: " + device + " is already attached");
+        device.bus = this;
+        device.branch = branch;
+        devices.add(device);
+        byAddress.put(key, device);
+        dirty = true;
+    }
+
+    /**
+     * Detaches a device, as if it were unplugged.
+     *
+     * @param device device to remove
+     * @return <code>true</code> if the device was on this bus
+     */
+    public synchronized boolean remove(VirtualDevice device) {
+        if (device.bus != this)
+            return false;
+        devices.remove(device);
+        byAddress.remove(Long.valueOf(device.getAddress()));
+        device.bus = null;
+        device.branch = null;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * @param address 64 bit address
+     * @return the device with that address, or <code>null</code>
+     */
+    public synchronized VirtualDevice getDevice(long address) {
+        return byAddress.get(Long.valueOf(address));
+    }
+
+    /**
+     * @return a copy of the list of attached devices, reachable or not
+     */
+    public synchronized List<VirtualDevice> getDevices() {
+        return new ArrayList<VirtualDevice>(devices);
+    }
+
+    /**
+     * @return number of attached devices
+     */
+    public synchronized int size() {
+        return devices.size();
+    }
+
+    /**
+     * @return number of devices a reset would currently reach
+     */
+    public synchronized int reachableCount() {
+        rebuild();
+        return reachable.length;
+    }
+
+    /**
+     * Shorts the line to ground, or removes the short.
+     *
+     * @param shorted <code>true</code> to short the line
+     */
+    public synchronized void setShorted(boolean shorted) {
+        this.shorted = shorted;
+    }
+
+    /**
+     * @return <code>true</code> if the line is shorted
+     */
+    public synchronized boolean isShorted() {
+        return shorted;
+    }
+
+    /**
+     * @return <code>true</code> while the master holds the line at strong
+     *         pullup, which is what powers a parasite device through a
+     *         conversion or an EEPROM write
+     */
+    public synchronized boolean isStrongPullup() {
+        return strongPullup;
+    }
+
+    //--------
+    //-------- Master side, used by DS2482Simulator
+    //--------
+
+    /**
+     * Switches the strong pullup.  Every device hears when it ends, so a
+     * parasite device still busy loses its power.
+     *
+     * @param on <code>true</code> to hold the line at strong pullup
+     */
+    public synchronized void setStrongPullup(boolean on) {
+        if (strongPullup == on)
+            return;
+        strongPullup = on;
+        if (!on) {
+            for (VirtualDevice d : devices)
+                d.strongPullupEnded();
+        }
+    }
+
+    /**
+     * Reset pulse.
+     *
+     * @return <code>true</code> if at least one device answered with a
+     *         presence pulse
+     */
+    public synchronized boolean reset() {
+        rebuild();
+        selectedFrom = selectedTo = 0;
+        bitCount = 0;
+        shift = 0;
+        if (shorted || reachable.length == 0) {
+            state = IDLE;
+            return false;
+        }
+        state = ROM_COMMAND;
+        return true;
+    }
+
+    /**
+     * One time slot.
+     *
+     * @param bit bit the master writes; 1 is also a read slot
+     * @return level of the line sampled by the master
+     */
+    public synchronized int touchBit(int bit) {
+        bit &= 0x01;
+        if (shorted)
+            return 0;
+
+        switch (state) {
+            case ROM_COMMAND:
+                shift |= (long) bit << bitCount;
+                if (++bitCount == 8)
+                    romCommand((int) shift);
+                return bit;
+
+            case SEARCH:
+                return searchSlot(bit);
+
+            case MATCH:
+                shift |= (long) bit << bitCount;
+                if (++bitCount == 64) {
+                    int i = indexOfReachable(shift);
+                    if (i >= 0) {
+                        select(reachable, i, i + 1);
+                        resumeAddress = shift;
+                        resumable = true;
+                    } else {
+                        state = IDLE;
+                    }
+                }
+                return bit;
+
+            case READ_ROM:
+                int out = bit & (int) (shift >>> bitCount) & 0x01;
+                if (++bitCount == 64)
+                    select(reachable, 0, reachable.length);
+                return out;
+
+            case FUNCTION:
+                int line = bit;
+                for (int i = selectedFrom; i < selectedTo; i++)
+                    line &= selected[i].touchBit(bit);
+                return line;
+
+            default:
+                return bit;
+        }
+    }
+
+    /**
+     * Eight time slots, least significant bit first.
+     *
+     * @param b byte to write; 0xFF reads a byte
+     * @return byte seen on the line
+     */
+    public synchronized int touchByte(int b) {
+        int result = 0;
+        for (int i = 0; i < 8; i++)
+            result |= touchBit(b >>> i) << i;
+        return result;
+    }
+
+    //--------
+    //-------- Internals
+    //--------
+
+    /**
+     * Marks the reachable set stale, e.g. after a DS2409 switched.
+     */
+    synchronized void topologyChanged() {
+        dirty = true;
+    }
+
+    /**
+     * @return <code>true</code> if any device hangs off the given branch
+     */
+    synchronized boolean hasDevicesOn(VirtualDS2409.Branch branch) {
+        for (VirtualDevice d : devices) {
+            if (d.branch == branch)
+                return true;
+        }
+        return false;
+    }
+
+    private void romCommand(int cmd) {
+        bitCount = 0;
+        shift = 0;
+        switch (cmd) {
+            case 0xF0:                          // search ROM
+                resumable = false;
+                startSearch(reachable, reachableKeys, reachable.length);
+                break;
+
+            case 0xEC: {                        // alarm search
+                resumable = false;
+                VirtualDevice[] d = new VirtualDevice[reachable.length];
+                long[] k = new long[reachable.length];
+                int n = 0;
+                for (int i = 0; i < reachable.length; i++) {
+                    if (reachable[i].isAlarming()) {
+                        d[n] = reachable[i];
+                        k[n++] = reachableKeys[i];
+                    }
+                }
+                startSearch(d, k, n);
+                break;
+            }
+
+            case 0x55:                          // match ROM
+            case 0x69:                          // overdrive match ROM, speed is not modelled
+                state = MATCH;
+                break;
+
+            case 0xCC:                          // skip ROM
+            case 0x3C:                          // overdrive skip ROM
+                resumable = false;
+                select(reachable, 0, reachable.length);
+                break;
+
+            case 0xA5: {                        // resume, every device is modelled as supporting it
+                int i = resumable ? indexOfReachable(resumeAddress) : -1;
+                if (i >= 0)
+                    select(reachable, i, i + 1);
+                else
+                    state = IDLE;
+                break;
+            }
+
+            case 0x33: {                        // read ROM, all devices talk at once
+                resumable = false;
+                long and = -1L;
+                for (int i = 0; i < reachable.length; i++)
+                    and &= reachable[i].getAddress();
+                shift = and;
+                state = READ_ROM;
+                break;
+            }
+
+            default:
+                state = IDLE;
+        }
+    }
+
+    private void startSearch(VirtualDevice[] d, long[] k, int n) {
+        searchDevices = d;
+        searchKeys = k;
+        lo = 0;
+        hi = n;
+        phase = 0;
+        state = SEARCH;
+    }
+
+    private int searchSlot(int bit) {
+        switch (phase) {
+            case 0:                             // every device sends its bit
+                split = findSplit(bitCount);
+                phase = 1;
+                return (split > lo) ? 0 : bit;
+
+            case 1:                             // then its complement
+                phase = 2;
+                return (split < hi) ? 0 : bit;
+
+            default:                            // master picks the direction
+                if (bit == 0)
+                    hi = split;
+                else
+                    lo = split;
+                phase = 0;
+                if (++bitCount == 64) {
+                    if (hi > lo)
+                        select(searchDevices, lo, hi);
+                    else
+                        state = IDLE;
+                }
+                return bit;
+        }
+    }
+
+    /**
+     * First index in [lo, hi) whose address has address bit <code>n</code>
+     * set.  All keys in the range agree on the bits before <code>n</code>.
+     */
+    private int findSplit(int n) {
+        int shiftBy = 63 - n;
+        int a = lo, b = hi;
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (((searchKeys[m] >>> shiftBy) & 1L) != 0)
+                b = m;
+            else
+                a = m + 1;
+        }
+        return a;
+    }
+
+    // devs[from, to) now get the function layer time slots; the range is
+    // kept rather than copied so selection allocates nothing
+    private void select(VirtualDevice[] devs, int from, int to) {
+        selected = devs;
+        selectedFrom = from;
+        selectedTo = to;
+        for (int i = from; i < to; i++)
+            devs[i].reset();
+        state = (to > from) ? FUNCTION : IDLE;
+    }
+
+    // binary search of the reachable devices, which are kept in
+    // reversed-address order
+    private int indexOfReachable(long address) {
+        long key = Long.reverse(address);
+        int a = 0, b = reachableKeys.length - 1;
+        while (a <= b) {
+            int m = (a + b) >>> 1;
+            int c = Long.compareUnsigned(reachableKeys[m], key);
+            if (c < 0)
+                a = m + 1;
+            else if (c > 0)
+                b = m - 1;
+            else
+                return m;
+        }
+        return -1;
+    }
+
+    private boolean isReachable(VirtualDevice d) {
+        for (int depth = 0; depth < 16; depth++) {
+            VirtualDS2409.Branch b = d.branch;
+            if (b == null)
+                return true;
+            if (!b.isOn() || b.getCoupler().bus != this)
+                return false;
+            d = b.getCoupler();
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        if (!dirty)
+            return;
+        long[] sortKeys = new long[devices.size()];
+        int n = 0;
+        for (VirtualDevice d : devices) {
+            if (isReachable(d)) {
+                // read backwards so bit 0 is the most significant; flipping the
+                // sign bit makes the signed sort give the unsigned order
+                sortKeys[n++] = Long.reverse(d.getAddress()) ^ Long.MIN_VALUE;
+            }
+        }
+        Arrays.sort(sortKeys, 0, n);
+        reachable = new VirtualDevice[n];
+        reachableKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            reachableKeys[i] = sortKeys[i] ^ Long.MIN_VALUE;
+            reachable[i] = byAddress.get(Long.valueOf(Long.reverse(reachableKeys[i])));
+        }
+        dirty = false;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Virtual time for the DS2482 simulator.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.accessProvider.BusClock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>BusClock</code> that only moves when told to.  The simulated bridge
+ * advances it by the time each I2C transfer and 1-Wire operation would take
+ * on real hardware, and <code>sleep()</code> advances it by the requested
+ * amount and returns at once, so a 750 ms DS18S20 conversion costs nothing.
+ */
+public class VirtualClock implements BusClock {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+        return now.get();
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        if (millis > 0)
+            now.addAndGet(millis * 1000000L);
+    }
+
+    @Override
+    public void sleepNanos(long nanos) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        advance(nanos);
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param nanos time to add, ignored if not positive
+     * @return the new time
+     */
+    public long advance(long nanos) {
+        return (nanos > 0) ? now.addAndGet(nanos) : now.get();
+    }
+}
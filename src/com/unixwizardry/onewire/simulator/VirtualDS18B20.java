@@ -0,0 +1,229 @@
+/*
+ * Simulated DS18B20 thermometer, family 0x28 (or 0x22, 0x3B).
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC8;
+
+/**
+ * DS18B20 model for <code>OneWireContainer28</code>, and with another
+ * family code for the DS1822 and DS1825 containers.
+ * <p>
+ * Commands: Convert T (44), Read Scratchpad (BE), Write Scratchpad (4E,
+ * TH, TL and configuration), Copy Scratchpad (48), Recall E2 (B8) and Read
+ * Power Supply (B4).  A conversion takes 93.75 ms of bus clock at 9 bits,
+ * doubling with each bit to 750 ms at 12; read slots return 0 until it is
+ * done.  The bits below the selected resolution read as 0.  Externally
+ * powered unless {@link #setParasite(boolean)} says otherwise.
+ * <p>
+ * A parasite powered part needs the strong pullup from the end of Convert
+ * T or Copy Scratchpad until the conversion or the 10 ms EEPROM write is
+ * over.  Without it the part browns out: the operation is lost and the
+ * scratchpad is back at its power-on values, 85 C and the EEPROM settings,
+ * which is how it shows on a real bus.
+ */
+public class VirtualDS18B20 extends VirtualDevice {
+
+    public static final int FAMILY = 0x28;
+
+    private static final long CONVERSION_9_BIT_NS = 93750000L;
+    private static final long COPY_NS = 10000000L;
+
+    private final byte[] scratch = new byte[9];
+    private byte         eepromTH = 0x4B;
+    private byte         eepromTL = 0x46;
+    private byte         eepromConfig = 0x7F;
+    private double       temperature = 20.0;
+    private long         convertDoneAt = -1;
+    private long         copyDoneAt = -1;
+    private int          conversions;
+    private boolean      alarm;
+
+    private boolean      parasite;
+    private int          brownOuts;
+
+    private int          command;
+    private int          count;
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS18B20(long serial) {
+        this(FAMILY, serial);
+    }
+
+    /**
+     * @param family 0x28, or 0x22 for a DS1822, 0x3B for a DS1825
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS18B20(int family, long serial) {
+        super(family, serial);
+        scratch[0] = 0x50;                      // power-on 85 C
+        scratch[1] = 0x05;
+        scratch[2] = eepromTH;
+        scratch[3] = eepromTL;
+        scratch[4] = eepromConfig;
+        scratch[5] = (byte) 0xFF;
+        scratch[7] = 0x10;
+        updateCRC();
+    }
+
+    /**
+     * @param parasite <code>true</code> to answer Read Power Supply with 0
+     *        and not signal the end of a conversion, as a part with VDD
+     *        grounded does
+     */
+    public synchronized void setParasite(boolean parasite) {
+        this.parasite = parasite;
+    }
+
+    /**
+     * @return conversions and EEPROM writes a parasite powered part lost
+     *         for want of the strong pullup
+     */
+    public synchronized int getBrownOutCount() {
+        return brownOuts;
+    }
+
+    /**
+     * @param celsius what the next conversion will measure
+     */
+    public synchronized void setTemperature(double celsius) {
+        temperature = celsius;
+    }
+
+    /**
+     * @return resolution in bits, 9 to 12, as in the scratchpad
+     */
+    public synchronized int getResolution() {
+        return 9 + ((scratch[4] >> 5) & 0x03);
+    }
+
+    /**
+     * @return conversions finished so far
+     */
+    public synchronized int getConversionCount() {
+        poll();
+        return conversions;
+    }
+
+    @Override
+    public synchronized boolean isAlarming() {
+        poll();
+        return alarm;
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        poll();
+        command = 0;
+    }
+
+    @Override
+    protected synchronized void onStrongPullupEnd() {
+        poll();
+        if (parasite && (convertDoneAt >= 0 || copyDoneAt >= 0))
+            brownOut();
+    }
+
+    @Override
+    protected synchronized int idleBit() {
+        poll();
+        if (command == 0xB4)
+            return parasite ? 0 : 1;
+        if (command == 0x44 && !parasite)
+            return (convertDoneAt >= 0) ? 0 : 1;
+        return 1;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        poll();
+        if (command == 0) {
+            command = b;
+            count = 0;
+            switch (b) {
+                case 0x44:
+                    convertDoneAt = now() + (CONVERSION_9_BIT_NS << ((scratch[4] >> 5) & 0x03));
+                    if (parasite && !strongPullup())
+                        brownOut();
+                    break;
+                case 0xBE:
+                    for (int i = 0; i < 9; i++)
+                        reply(scratch[i]);
+                    break;
+                case 0x48:
+                    if (!parasite)
+                        copy();
+                    else if (strongPullup())
+                        copyDoneAt = now() + COPY_NS;
+                    else
+                        brownOut();
+                    break;
+                case 0xB8:
+                    scratch[2] = eepromTH;
+                    scratch[3] = eepromTL;
+                    scratch[4] = eepromConfig;
+                    updateCRC();
+                    break;
+                default:
+                    break;
+            }
+            return;
+        }
+
+        if (command == 0x4E && count < 3) {
+            if (count == 2)
+                scratch[4] = (byte) ((b & 0x60) | 0x1F);    // only R1 R0 are writable
+            else
+                scratch[2 + count] = (byte) b;
+            count++;
+            updateCRC();
+        }
+    }
+
+    // finish a conversion or EEPROM write whose time has come
+    private void poll() {
+        if (copyDoneAt >= 0 && now() >= copyDoneAt) {
+            copyDoneAt = -1;
+            copy();
+        }
+        if (convertDoneAt >= 0 && now() >= convertDoneAt) {
+            convertDoneAt = -1;
+            conversions++;
+            int shift = 3 - ((scratch[4] >> 5) & 0x03);
+            int raw = ((int) Math.round(temperature * 16.0)) >> shift << shift;
+            scratch[0] = (byte) raw;
+            scratch[1] = (byte) (raw >> 8);
+            updateCRC();
+            int whole = raw >> 4;
+            alarm = whole >= scratch[2] || whole <= scratch[3];
+        }
+    }
+
+    private void copy() {
+        eepromTH = scratch[2];
+        eepromTL = scratch[3];
+        eepromConfig = scratch[4];
+    }
+
+    // a parasite part that lost its power starts over from power-on
+    private void brownOut() {
+        brownOuts++;
+        convertDoneAt = -1;
+        copyDoneAt = -1;
+        command = -1;                           // deaf until the next reset
+        scratch[0] = 0x50;
+        scratch[1] = 0x05;
+        scratch[2] = eepromTH;
+        scratch[3] = eepromTL;
+        scratch[4] = eepromConfig;
+        updateCRC();
+    }
+
+    private void updateCRC() {
+        scratch[8] = (byte) CRC8.compute(scratch, 0, 8);
+    }
+}
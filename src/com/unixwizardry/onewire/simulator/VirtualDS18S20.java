@@ -0,0 +1,171 @@
+/*
+ * Simulated DS18S20 / DS1920 thermometer, family 0x10.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC8;
+
+/**
+ * DS18S20 model for <code>OneWireContainer10</code>.
+ * <p>
+ * Commands: Convert T (44), Read Scratchpad (BE), Write Scratchpad (4E),
+ * Copy Scratchpad (48), Recall E2 (B8) and Read Power Supply (B4).  A
+ * conversion takes {@link #setConversionTime(long) 750 ms} of bus clock;
+ * read slots return 0 until it is done, then the scratchpad holds the
+ * temperature set with {@link #setTemperature(double)}, including
+ * COUNT_REMAIN for the extended resolution calculation.  The alarm flag is
+ * updated at the end of each conversion from TH and TL.  Externally
+ * powered unless {@link #setParasite(boolean)} says otherwise.
+ */
+public class VirtualDS18S20 extends VirtualDevice {
+
+    public static final int FAMILY = 0x10;
+
+    private final byte[] scratch = new byte[9];
+    private byte         eepromTH = 0x4B;
+    private byte         eepromTL = 0x46;
+    private double       temperature = 20.0;
+    private long         conversionNs = 750000000L;
+    private long         convertDoneAt = -1;
+    private boolean      alarm;
+
+    private boolean      parasite;
+
+    private int          command;
+    private int          count;
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS18S20(long serial) {
+        super(FAMILY, serial);
+        setRawTemperature(85.0);                // power-on value
+        scratch[2] = eepromTH;
+        scratch[3] = eepromTL;
+        scratch[4] = (byte) 0xFF;
+        scratch[5] = (byte) 0xFF;
+        updateCRC();
+    }
+
+    /**
+     * @param parasite <code>true</code> to answer Read Power Supply with 0
+     *        and not signal the end of a conversion, as a part with VDD
+     *        grounded does
+     */
+    public synchronized void setParasite(boolean parasite) {
+        this.parasite = parasite;
+    }
+
+    /**
+     * @param celsius what the next conversion will measure
+     */
+    public synchronized void setTemperature(double celsius) {
+        temperature = celsius;
+    }
+
+    /**
+     * @param millis conversion time, 750 ms by default
+     */
+    public synchronized void setConversionTime(long millis) {
+        conversionNs = millis * 1000000L;
+    }
+
+    /**
+     * @return <code>true</code> while a conversion is running
+     */
+    public synchronized boolean isConverting() {
+        poll();
+        return convertDoneAt >= 0;
+    }
+
+    @Override
+    public synchronized boolean isAlarming() {
+        poll();
+        return alarm;
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        poll();
+        command = 0;
+    }
+
+    @Override
+    protected synchronized int idleBit() {
+        poll();
+        if (command == 0xB4)
+            return parasite ? 0 : 1;
+        if (command == 0x44 && !parasite)
+            return (convertDoneAt >= 0) ? 0 : 1;
+        return 1;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        poll();
+        if (command == 0) {
+            command = b;
+            count = 0;
+            switch (b) {
+                case 0x44:
+                    convertDoneAt = now() + conversionNs;
+                    break;
+                case 0xBE:
+                    for (int i = 0; i < 9; i++)
+                        reply(scratch[i]);
+                    break;
+                case 0x48:
+                    eepromTH = scratch[2];
+                    eepromTL = scratch[3];
+                    break;
+                case 0xB8:
+                    scratch[2] = eepromTH;
+                    scratch[3] = eepromTL;
+                    updateCRC();
+                    break;
+                default:
+                    break;
+            }
+            return;
+        }
+
+        if (command == 0x4E && count < 2) {
+            scratch[2 + count++] = (byte) b;
+            updateCRC();
+        }
+    }
+
+    // finish a conversion whose time has come
+    private void poll() {
+        if (convertDoneAt >= 0 && now() >= convertDoneAt) {
+            convertDoneAt = -1;
+            setRawTemperature(temperature);
+            int whole = (short) ((scratch[0] & 0xFF) | (scratch[1] << 8)) >> 1;
+            alarm = whole >= scratch[2] || whole <= scratch[3];
+        }
+    }
+
+    private void setRawTemperature(double celsius) {
+        // the part reports half degrees and COUNT_REMAIN so that
+        // T = TEMP_READ - 0.25 + (COUNT_PER_C - COUNT_REMAIN) / COUNT_PER_C
+        double x = celsius + 0.25;
+        int tempRead = (int) Math.floor(x);
+        int remain = 16 - (int) Math.round((x - tempRead) * 16.0);
+        if (remain <= 0) {
+            tempRead++;
+            remain = 16;
+        }
+        int raw = tempRead * 2 + ((celsius >= tempRead + 0.25) ? 1 : 0);
+        scratch[0] = (byte) raw;
+        scratch[1] = (byte) (raw >> 8);
+        scratch[6] = (byte) remain;
+        scratch[7] = 0x10;
+        updateCRC();
+    }
+
+    private void updateCRC() {
+        scratch[8] = (byte) CRC8.compute(scratch, 0, 8);
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Simulated DS2406 dual addressable switch, family 0x12.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC16;
+
+/**
+ * DS2406 model for <code>OneWireContainer12</code>.
+ * <p>
+ * Commands: Read Memory (F0, the EPROM reads blank), Read Status (AA), Write
+ * Status (55) and Channel Access (F5).  Status byte 7 holds the PIO flip-flops
+ * and the conditional search settings; the channel info byte reports supply,
+ * activity latches, sensed levels and flip-flops.  A PIO reads low while its
+ * flip-flop is 0 (transistor on) or while the outside world pulls it low with
+ * {@link #setInput(int, boolean)}; a change of the sensed level sets the
+ * activity latch.  The part answers an alarm search when the source picked
+ * by the CSS bits of the status byte matches the polarity bit.
+ */
+public class VirtualDS2406 extends VirtualDevice {
+
+    public static final int FAMILY = 0x12;
+
+    private final byte[]  status = new byte[8];
+    private final boolean twoChannels;
+    private final boolean[] input = { true, true };
+    private final boolean[] activity = new boolean[2];
+
+    private int           command;
+    private int           count;
+    private int           address;
+    private int           crc;
+    private int           skip;
+    private int           channelControl;
+    private int           sinceCRC;
+    private final byte[]  header = new byte[3];
+
+    /**
+     * A two channel part on external supply.
+     *
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS2406(long serial) {
+        this(serial, true, true);
+    }
+
+    /**
+     * @param serial 48 bit serial number
+     * @param twoChannels <code>false</code> for the TSOC package with PIO-A only
+     * @param vcc <code>true</code> if the supply pin is powered
+     */
+    public VirtualDS2406(long serial, boolean twoChannels, boolean vcc) {
+        super(FAMILY, serial);
+        this.twoChannels = twoChannels;
+        for (int i = 0; i < 7; i++)
+            status[i] = (byte) 0xFF;
+        status[7] = (byte) (0x7F | (vcc ? 0x80 : 0x00));
+    }
+
+    /**
+     * Drives a PIO from outside.
+     *
+     * @param channel 0 for PIO-A, 1 for PIO-B
+     * @param high <code>false</code> to pull the pin low
+     */
+    public synchronized void setInput(int channel, boolean high) {
+        boolean before = level(channel);
+        input[channel] = high;
+        if (before != level(channel))
+            activity[channel] = true;
+    }
+
+    /**
+     * @param channel 0 for PIO-A, 1 for PIO-B
+     * @return <code>true</code> if the output transistor is off
+     */
+    public synchronized boolean getFlipFlop(int channel) {
+        return flipFlop(channel);
+    }
+
+    /**
+     * @return status byte 7
+     */
+    public synchronized byte getStatus() {
+        return status[7];
+    }
+
+    @Override
+    public synchronized boolean isAlarming() {
+        int s = status[7] & 0xFF;
+        int channels = (s >>> 3) & 0x03;                // 01 A, 10 B, 11 either
+        int source = (s >>> 1) & 0x03;                  // 01 activity, 10 flip-flop, 11 level
+        int polarity = s & 0x01;
+        if (channels == 0 || source == 0)
+            return false;
+        for (int ch = 0; ch < 2; ch++) {
+            if ((channels & (1 << ch)) == 0)
+                continue;
+            boolean v;
+            if (source == 0x01)
+                v = activity[ch];
+            else if (source == 0x02)
+                v = flipFlop(ch);
+            else
+                v = level(ch);
+            if ((v ? 1 : 0) == polarity)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        command = 0;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        if (command == 0) {
+            command = b;
+            count = 0;
+            skip = 0;
+            header[0] = (byte) b;
+            return;
+        }
+
+        count++;
+        switch (command) {
+            case 0xF0:
+                if (count <= 2) {
+                    header[count] = (byte) b;
+                    if (count == 2) {
+                        address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x7F;
+                        reply(0xFF);
+                    }
+                } else if (++address < 128) {
+                    reply(0xFF);                        // blank EPROM
+                }
+                break;
+            case 0xAA:
+                readStatus(b);
+                break;
+            case 0x55:
+                writeStatus(b);
+                break;
+            case 0xF5:
+                channelAccess(b);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readStatus(int b) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x07;
+                crc = CRC16.compute(header, 0, 3, 0);
+                for (int i = address; i < 8; i++) {
+                    reply(status[i]);
+                    crc = CRC16.compute(status[i] & 0xFF, crc);
+                }
+                replyCRC16(crc);
+            }
+        }
+    }
+
+    private void writeStatus(int b) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x07;
+                crc = CRC16.compute(header, 0, 3, 0);
+            }
+            return;
+        }
+        if (skip > 0) {
+            skip--;
+            return;
+        }
+        crc = CRC16.compute(b, crc);
+        if (address == 7) {
+            boolean[] before = { level(0), level(1) };
+            status[7] = (byte) ((status[7] & 0x80) | (b & 0x7F));   // SUP is read-only
+            for (int ch = 0; ch < 2; ch++) {
+                if (before[ch] != level(ch))
+                    activity[ch] = true;
+            }
+        } else if (address < 7) {
+            status[address] &= (byte) b;                // EPROM bits only program to 0
+        }
+        replyCRC16(crc);
+        skip = 2;
+        address++;
+        crc = address;
+    }
+
+    private void channelAccess(int b) {
+        if (count == 1) {
+            channelControl = b;
+            return;
+        }
+        if (count == 2) {
+            if ((channelControl & 0x80) != 0) {         // ALR: clear the activity latches
+                activity[0] = false;
+                activity[1] = false;
+            }
+            int info = infoByte();
+            reply(info);
+            crc = CRC16.compute(header[0] & 0xFF, 0);
+            crc = CRC16.compute(channelControl, crc);
+            crc = CRC16.compute(b, crc);
+            crc = CRC16.compute(info, crc);
+            sinceCRC = 0;
+            skip = ((channelControl & 0x40) != 0) ? 0 : 1;     // write mode: skip the info byte read
+            return;
+        }
+        boolean readMode = (channelControl & 0x40) != 0;
+        if (skip > 0) {
+            skip--;                                     // master reading a CRC after a write
+            return;
+        }
+        if (readMode && replying())
+            return;
+
+        // channel data: read mode returns samples, write mode sets the flip-flop
+        int chs = (channelControl >>> 2) & 0x03;
+        int ch = (chs == 0x02) ? 1 : 0;
+        int data;
+        if (readMode) {
+            data = level(ch) ? 0xFF : 0x00;
+            reply(data);
+        } else {
+            setFlipFlop(ch, (b & 0x80) != 0);
+            data = b;
+        }
+        crc = CRC16.compute(data, crc);
+        sinceCRC++;
+
+        int mode = channelControl & 0x03;               // CRC after 1, 8 or 32 bytes
+        if ((mode == 0x01 && sinceCRC == 1) || (mode == 0x02 && sinceCRC == 8)
+                || (mode == 0x03 && sinceCRC == 32)) {
+            replyCRC16(crc);
+            crc = 0;
+            sinceCRC = 0;
+            if (!readMode)
+                skip = 2;
+        }
+    }
+
+    private int infoByte() {
+        int info = 0;
+        if ((status[7] & 0x80) != 0)
+            info |= 0x80;
+        if (twoChannels)
+            info |= 0x40;
+        if (activity[1])
+            info |= 0x20;
+        if (activity[0])
+            info |= 0x10;
+        if (level(1))
+            info |= 0x08;
+        if (level(0))
+            info |= 0x04;
+        if (flipFlop(1))
+            info |= 0x02;
+        if (flipFlop(0))
+            info |= 0x01;
+        return info;
+    }
+
+    private boolean flipFlop(int ch) {
+        return (status[7] & (0x20 << ch)) != 0;
+    }
+
+    private void setFlipFlop(int ch, boolean off) {
+        boolean before = level(ch);
+        if (off)
+            status[7] |= (byte) (0x20 << ch);
+        else
+            status[7] &= (byte) ~(0x20 << ch);
+        if (before != level(ch))
+            activity[ch] = true;
+    }
+
+    private boolean level(int ch) {
+        if (ch == 1 && !twoChannels)
+            return false;
+        return flipFlop(ch) && input[ch];
+    }
+}
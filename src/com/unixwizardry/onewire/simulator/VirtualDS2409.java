@@ -0,0 +1,175 @@
+/*
+ * Simulated DS2409 MicroLAN coupler, family 0x1F.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+/**
+ * DS2409 model for <code>OneWireContainer1F</code>.
+ * <p>
+ * Devices are hung off a coupler with
+ * <code>bus.add(device, coupler.getMain())</code> or
+ * <code>coupler.getAux()</code> and are only reachable while that branch is
+ * switched on.  Commands: Read/Write Status (5A), All Lines Off (66),
+ * Discharge Lines (99), Direct-on Main (A5), Smart-on Main (CC) and
+ * Smart-on Auxiliary (33), each with the confirmation byte the container
+ * checks.  Smart-on reports presence on the branch in its third byte.
+ * Switching takes effect at the next reset, when the bus rebuilds its list
+ * of reachable devices.
+ */
+public class VirtualDS2409 extends VirtualDevice {
+
+    public static final int FAMILY = 0x1F;
+
+    /**
+     * One output of a coupler.
+     */
+    public static final class Branch {
+        private final VirtualDS2409 coupler;
+        private final boolean       aux;
+
+        private Branch(VirtualDS2409 coupler, boolean aux) {
+            this.coupler = coupler;
+            this.aux = aux;
+        }
+
+        /**
+         * @return the coupler this branch belongs to
+         */
+        public VirtualDS2409 getCoupler() {
+            return coupler;
+        }
+
+        /**
+         * @return <code>true</code> for the auxiliary output
+         */
+        public boolean isAux() {
+            return aux;
+        }
+
+        /**
+         * @return <code>true</code> while the branch is switched on
+         */
+        public boolean isOn() {
+            return aux ? coupler.auxOn : coupler.mainOn;
+        }
+    }
+
+    private final Branch     main = new Branch(this, false);
+    private final Branch     aux  = new Branch(this, true);
+    private volatile boolean mainOn;
+    private volatile boolean auxOn;
+    private boolean          mainEvent, auxEvent;
+    private int              control;           // status bits 6 and 7
+
+    private int              command;
+    private int              count;
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS2409(long serial) {
+        super(FAMILY, serial);
+    }
+
+    /**
+     * @return the main output
+     */
+    public Branch getMain() {
+        return main;
+    }
+
+    /**
+     * @return the auxiliary output
+     */
+    public Branch getAux() {
+        return aux;
+    }
+
+    /**
+     * Switches the outputs directly, as if the master had done it.
+     *
+     * @param mainOn state of the main output
+     * @param auxOn state of the auxiliary output
+     */
+    public void setSwitches(boolean mainOn, boolean auxOn) {
+        synchronized (this) {
+            this.mainOn = mainOn;
+            this.auxOn = auxOn;
+        }
+        topologyChanged();
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        command = 0;
+    }
+
+    @Override
+    protected void onByte(int b) {
+        boolean changed = false;
+        synchronized (this) {
+            if (command == 0) {
+                command = b;
+                count = 0;
+                switch (b) {
+                    case 0x66:                          // all lines off
+                    case 0x99:                          // discharge
+                        changed = mainOn || auxOn;
+                        mainOn = auxOn = false;
+                        mainEvent = auxEvent = false;
+                        reply(b);                       // confirmation
+                        break;
+                    case 0xA5:                          // direct-on main
+                        changed = !mainOn || auxOn;
+                        mainOn = true;
+                        auxOn = false;
+                        reply(b);
+                        break;
+                    default:
+                        break;
+                }
+            } else if (++count == 1) {
+                switch (command) {
+                    case 0x5A:                          // read/write status, b is the new control byte
+                        control = ((b & 0x20) != 0) ? 0x80 : 0x00;
+                        if ((b & 0xC0) == 0xC0)
+                            control |= 0x40;
+                        reply(statusByte());
+                        reply(statusByte());
+                        break;
+                    case 0xCC:                          // smart-on main
+                    case 0x33:                          // smart-on aux, b was the reset stimulus
+                        boolean toAux = (command == 0x33);
+                        changed = (mainOn == toAux) || (auxOn != toAux);
+                        mainOn = !toAux;
+                        auxOn = toAux;
+                        boolean present = (bus != null) && bus.hasDevicesOn(toAux ? aux : main);
+                        reply(present ? 0x00 : 0xFF);
+                        reply(command);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (changed)
+            topologyChanged();
+    }
+
+    private int statusByte() {
+        int s = control;
+        if (!mainOn)
+            s |= 0x01;
+        s |= 0x02;                                      // main line level high
+        if (!auxOn)
+            s |= 0x04;
+        s |= 0x08;                                      // aux line level high
+        if (mainEvent)
+            s |= 0x10;
+        if (auxEvent)
+            s |= 0x20;
+        return s;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Simulated DS2423 4 kbit RAM with counters, family 0x1D.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC16;
+
+/**
+ * DS2423 model for <code>OneWireContainer1D</code> and its memory banks.
+ * <p>
+ * 512 bytes of memory in 32 byte pages and a 32 byte scratchpad.  Commands:
+ * Write Scratchpad (0F), Read Scratchpad (AA), Copy Scratchpad (5A), Read
+ * Memory (F0) and Read Memory + Counter (A5).  Pages 12 to 15 have a 32 bit
+ * counter: 12 and 13 count copies into the page, 14 and 15 count pulses on
+ * the A and B inputs ({@link #countPulses(int, long)}).  The other pages
+ * report a counter of zero.
+ */
+public class VirtualDS2423 extends VirtualDevice {
+
+    public static final int FAMILY = 0x1D;
+
+    private final byte[] memory = new byte[512];
+    private final byte[] scratch = new byte[32];
+    private final long[] counter = new long[16];
+    private int          ta;
+    private int          es;
+
+    private int          command;
+    private int          count;
+    private int          address;
+    private int          crc;
+    private final byte[] header = new byte[4];
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS2423(long serial) {
+        super(FAMILY, serial);
+    }
+
+    /**
+     * Counts pulses on an external input.
+     *
+     * @param input 0 for counter A (page 14), 1 for counter B (page 15)
+     * @param pulses number of pulses to add
+     */
+    public synchronized void countPulses(int input, long pulses) {
+        int page = 14 + (input & 0x01);
+        counter[page] = (counter[page] + pulses) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param page counter page 12 to 15
+     * @param value new counter value
+     */
+    public synchronized void setCounter(int page, long value) {
+        counter[page] = value & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param page page 0 to 15
+     * @return the counter reported with that page
+     */
+    public synchronized long getCounter(int page) {
+        return counter[page];
+    }
+
+    /**
+     * @param addr memory address 0 to 511
+     * @return the byte at that address
+     */
+    public synchronized byte getMemory(int addr) {
+        return memory[addr];
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        command = 0;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        if (command == 0) {
+            command = b;
+            count = 0;
+            header[0] = (byte) b;
+            if (b == 0xAA)
+                readScratchpad();
+            return;
+        }
+
+        count++;
+        switch (command) {
+            case 0x0F:
+                writeScratchpad(b);
+                break;
+            case 0x5A:
+                if (count <= 3) {
+                    header[count] = (byte) b;
+                    if (count == 3)
+                        copyScratchpad();
+                }
+                break;
+            case 0xF0:
+                readMemory(b, false);
+                break;
+            case 0xA5:
+                readMemory(b, true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeScratchpad(int b) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                ta = (header[1] & 0xFF) | ((header[2] & 0xFF) << 8);
+                address = ta & 0x1F;
+                es = address;
+                crc = CRC16.compute(header, 0, 3, 0);
+            }
+            return;
+        }
+        if (address > 0x1F)
+            return;                                     // master reading the CRC
+        scratch[address] = (byte) b;
+        crc = CRC16.compute(b, crc);
+        es = address;
+        if (++address > 0x1F)
+            replyCRC16(crc);
+    }
+
+    private void readScratchpad() {
+        reply(ta);
+        reply(ta >>> 8);
+        reply(es);
+        int c = CRC16.compute(0xAA);
+        c = CRC16.compute(ta & 0xFF, c);
+        c = CRC16.compute((ta >>> 8) & 0xFF, c);
+        c = CRC16.compute(es & 0xFF, c);
+        for (int i = ta & 0x1F; i < 32; i++) {
+            reply(scratch[i]);
+            c = CRC16.compute(scratch[i] & 0xFF, c);
+        }
+        replyCRC16(c);
+    }
+
+    private void copyScratchpad() {
+        int t = (header[1] & 0xFF) | ((header[2] & 0xFF) << 8);
+        if (t != ta || (header[3] & 0xFF) != es)
+            return;                                     // authorization failed
+        int page = (ta >>> 5) & 0x0F;
+        int start = ta & 0x1F;
+        System.arraycopy(scratch, start, memory, (page << 5) + start, es - start + 1);
+        if (page == 12 || page == 13)
+            counter[page] = (counter[page] + 1) & 0xFFFFFFFFL;
+        es |= 0x80;
+        for (int i = 0; i < 8; i++)
+            reply(0xAA);                                // copy done indication
+    }
+
+    private void readMemory(int b, boolean withCounter) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x1FF;
+                crc = CRC16.compute(header, 0, 3, 0);
+                if (withCounter)
+                    sendToPageEnd();
+                else
+                    reply(memory[address++]);
+            }
+            return;
+        }
+        if (withCounter) {
+            if (!replying() && address < memory.length) {
+                crc = 0;
+                sendToPageEnd();
+            }
+        } else if (address < memory.length) {
+            reply(memory[address++]);
+        }
+    }
+
+    // page data from the current address, the page counter, four zero bytes and the CRC
+    private void sendToPageEnd() {
+        do {
+            reply(memory[address]);
+            crc = CRC16.compute(memory[address] & 0xFF, crc);
+            address++;
+        } while ((address & 0x1F) != 0);
+        long value = counter[(address - 1) >>> 5];
+        for (int i = 0; i < 8; i++) {
+            int v = (i < 4) ? (int) (value >>> (i * 8)) & 0xFF : 0;
+            reply(v);
+            crc = CRC16.compute(v, crc);
+        }
+        replyCRC16(crc);
+    }
+}
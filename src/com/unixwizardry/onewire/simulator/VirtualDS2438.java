@@ -0,0 +1,195 @@
+/*
+ * Simulated DS2438 smart battery monitor, family 0x26.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC8;
+
+/**
+ * DS2438 model for <code>OneWireContainer26</code>.
+ * <p>
+ * Eight pages of eight bytes, each with its own scratchpad.  Commands:
+ * Write Scratchpad (4E), Read Scratchpad (BE), Copy Scratchpad (48), Recall
+ * Memory (B8), Convert T (44) and Convert V (B4).  Page 0 holds the live
+ * registers: status/configuration, temperature, voltage, current and
+ * threshold.  Conversions finish 10 ms (temperature) or 4 ms (voltage) of
+ * bus clock after the command; the TB and ADB flags are set and read slots
+ * return 0 meanwhile.
+ * Convert V measures VDD or VAD depending on the AD flag.  The current
+ * register follows {@link #setCurrentRegister(int)} whenever IAD is set.
+ */
+public class VirtualDS2438 extends VirtualDevice {
+
+    public static final int FAMILY = 0x26;
+
+    private static final int IAD_FLAG = 0x01;
+    private static final int AD_FLAG  = 0x08;
+    private static final int TB_FLAG  = 0x10;
+    private static final int ADB_FLAG = 0x40;
+
+    private static final long TEMP_NS = 10000000L;
+    private static final long VOLT_NS = 4000000L;
+
+    private final byte[][] memory  = new byte[8][8];
+    private final byte[][] scratch = new byte[8][8];
+
+    private double temperature = 20.0;
+    private double vdd = 5.0;
+    private double vad = 0.0;
+    private int    current;
+    private long   tempDoneAt = -1;
+    private long   voltDoneAt = -1;
+
+    private int    command;
+    private int    page;
+    private int    count;
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS2438(long serial) {
+        super(FAMILY, serial);
+        memory[0][0] = (byte) (IAD_FLAG | AD_FLAG | 0x04);     // IAD, AD and EE set at power-on
+    }
+
+    /**
+     * @param celsius what the next temperature conversion measures
+     */
+    public synchronized void setTemperature(double celsius) {
+        temperature = celsius;
+    }
+
+    /**
+     * @param volts supply voltage measured when AD is set
+     */
+    public synchronized void setVdd(double volts) {
+        vdd = volts;
+    }
+
+    /**
+     * @param volts general purpose A/D input measured when AD is clear
+     */
+    public synchronized void setVad(double volts) {
+        vad = volts;
+    }
+
+    /**
+     * @param raw signed current register value (page 0 bytes 5 and 6)
+     */
+    public synchronized void setCurrentRegister(int raw) {
+        current = raw;
+    }
+
+    /**
+     * @param page page 0 to 7
+     * @return a copy of the page as stored in memory
+     */
+    public synchronized byte[] getPage(int page) {
+        poll();
+        return memory[page].clone();
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        poll();
+        command = 0;
+    }
+
+    @Override
+    protected synchronized int idleBit() {
+        poll();
+        if (command == 0x44)
+            return (tempDoneAt >= 0) ? 0 : 1;
+        if (command == 0xB4)
+            return (voltDoneAt >= 0) ? 0 : 1;
+        return 1;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        poll();
+        if (command == 0) {
+            command = b;
+            count = 0;
+            page = -1;
+            switch (b) {
+                case 0x44:
+                    tempDoneAt = now() + TEMP_NS;
+                    memory[0][0] |= TB_FLAG;
+                    break;
+                case 0xB4:
+                    voltDoneAt = now() + VOLT_NS;
+                    memory[0][0] |= ADB_FLAG;
+                    break;
+                default:
+                    break;
+            }
+            return;
+        }
+
+        if (page < 0) {
+            // every memory command is followed by a page number
+            page = b & 0x07;
+            switch (command) {
+                case 0xBE:
+                    for (int i = 0; i < 8; i++)
+                        reply(scratch[page][i]);
+                    reply(CRC8.compute(scratch[page], 0, 8));
+                    break;
+                case 0xB8:
+                    if (page == 0)
+                        refreshPage0();
+                    System.arraycopy(memory[page], 0, scratch[page], 0, 8);
+                    break;
+                case 0x48:
+                    copyScratchpad(page);
+                    break;
+                default:
+                    break;
+            }
+            return;
+        }
+
+        if (command == 0x4E && count < 8)
+            scratch[page][count++] = (byte) b;
+    }
+
+    private void copyScratchpad(int p) {
+        if (p == 0) {
+            // only the configuration bits and the threshold are writable
+            memory[0][0] = (byte) ((memory[0][0] & 0xF0) | (scratch[0][0] & 0x0F));
+            memory[0][7] = scratch[0][7];
+        } else {
+            System.arraycopy(scratch[p], 0, memory[p], 0, 8);
+        }
+    }
+
+    private void refreshPage0() {
+        if ((memory[0][0] & IAD_FLAG) != 0) {
+            memory[0][5] = (byte) current;
+            memory[0][6] = (byte) (current >> 8);
+        }
+    }
+
+    // finish conversions whose time has come
+    private void poll() {
+        long t = now();
+        if (tempDoneAt >= 0 && t >= tempDoneAt) {
+            tempDoneAt = -1;
+            int raw = ((int) Math.round(temperature / 0.03125)) << 3;
+            memory[0][1] = (byte) raw;
+            memory[0][2] = (byte) (raw >> 8);
+            memory[0][0] &= ~TB_FLAG;
+        }
+        if (voltDoneAt >= 0 && t >= voltDoneAt) {
+            voltDoneAt = -1;
+            double v = ((memory[0][0] & AD_FLAG) != 0) ? vdd : vad;
+            int raw = Math.max(0, Math.min(0x3FF, (int) Math.round(v * 100.0)));
+            memory[0][3] = (byte) raw;
+            memory[0][4] = (byte) (raw >> 8);
+            memory[0][0] &= ~ADB_FLAG;
+        }
+    }
+}
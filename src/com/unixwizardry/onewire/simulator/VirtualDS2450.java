@@ -0,0 +1,239 @@
+/*
+ * Simulated DS2450 quad A/D converter, family 0x20.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.CRC16;
+
+/**
+ * DS2450 model for <code>OneWireContainer20</code> and
+ * <code>MemoryBankAD</code>.
+ * <p>
+ * 32 bytes of memory in four 8 byte pages: conversion results,
+ * control/status, alarm settings and calibration.  Commands: Read Memory
+ * (AA) with the CRC16 at each page end, Write Memory (55) with the CRC16 and
+ * echo after each byte, and Convert (3C).  A conversion takes
+ * 80 us per bit per channel plus 160 us of bus clock; read slots return 0
+ * until it is done.  Results are left-justified at the resolution and range
+ * in the control page, and the alarm flags are updated from the alarm page.
+ * <p>
+ * The model starts with the VCC flag (0x1C) set to 0x40 so that the
+ * container drives conversions on external power, which is how these parts
+ * are normally wired.
+ */
+public class VirtualDS2450 extends VirtualDevice {
+
+    public static final int FAMILY = 0x20;
+
+    private final byte[]   memory = new byte[32];
+    private final double[] input = new double[4];
+    private long           convertDoneAt = -1;
+    private int            convertMask;
+
+    private int            command;
+    private int            count;
+    private int            address;
+    private int            crc;
+    private int            skip;
+    private final byte[]   header = new byte[3];
+
+    /**
+     * @param serial 48 bit serial number
+     */
+    public VirtualDS2450(long serial) {
+        super(FAMILY, serial);
+        for (int ch = 0; ch < 4; ch++) {
+            memory[8 + ch * 2] = 0x08;                  // 8 bits
+            memory[9 + ch * 2] = (byte) 0x8C;           // POR, alarm enables
+            memory[16 + ch * 2] = 0x00;                 // low alarm
+            memory[17 + ch * 2] = (byte) 0xFF;          // high alarm
+        }
+        memory[0x1C] = 0x40;                            // VCC powered
+    }
+
+    /**
+     * @param channel 0 to 3
+     * @param volts what the next conversion of that channel measures
+     */
+    public synchronized void setVoltage(int channel, double volts) {
+        input[channel] = volts;
+    }
+
+    /**
+     * @param externalPower value for the VCC flag at 0x1C
+     */
+    public synchronized void setExternalPower(boolean externalPower) {
+        memory[0x1C] = (byte) (externalPower ? 0x40 : 0x00);
+    }
+
+    /**
+     * @param addr memory address 0 to 31
+     * @return the byte at that address
+     */
+    public synchronized byte getMemory(int addr) {
+        poll();
+        return memory[addr];
+    }
+
+    @Override
+    public synchronized boolean isAlarming() {
+        poll();
+        for (int ch = 0; ch < 4; ch++) {
+            int c = memory[9 + ch * 2];
+            // AFL with AEL, or AFH with AEH
+            if (((c & 0x10) != 0 && (c & 0x04) != 0) || ((c & 0x20) != 0 && (c & 0x08) != 0))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected synchronized void onReset() {
+        poll();
+        command = 0;
+    }
+
+    @Override
+    protected synchronized int idleBit() {
+        poll();
+        if (command == 0x3C && count >= 2)
+            return (convertDoneAt >= 0) ? 0 : 1;
+        return 1;
+    }
+
+    @Override
+    protected synchronized void onByte(int b) {
+        poll();
+        if (command == 0) {
+            command = b;
+            count = 0;
+            skip = 0;
+            header[0] = (byte) b;
+            return;
+        }
+
+        count++;
+        switch (command) {
+            case 0xAA:
+                readMemory(b);
+                break;
+            case 0x55:
+                writeMemory(b);
+                break;
+            case 0x3C:
+                convert(b);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readMemory(int b) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x1F;
+                crc = CRC16.compute(header, 0, 3, 0);
+                sendToPageEnd();
+            }
+        } else if (!replying()) {
+            // CRC of the last page has gone out; carry on with the next page
+            crc = 0;
+            if (address < memory.length)
+                sendToPageEnd();
+        }
+    }
+
+    private void sendToPageEnd() {
+        do {
+            reply(memory[address]);
+            crc = CRC16.compute(memory[address] & 0xFF, crc);
+            address++;
+        } while ((address & 0x07) != 0);
+        replyCRC16(crc);
+    }
+
+    private void writeMemory(int b) {
+        if (count <= 2) {
+            header[count] = (byte) b;
+            if (count == 2) {
+                address = ((header[1] & 0xFF) | ((header[2] & 0xFF) << 8)) & 0x1F;
+                crc = CRC16.compute(header, 0, 3, 0);
+            }
+            return;
+        }
+        if (skip > 0) {
+            skip--;                                     // master is reading CRC and echo
+            return;
+        }
+
+        // data byte: CRC16 of it (seeded with the command and address for the
+        // first byte, with the address after that) then the byte read back
+        crc = CRC16.compute(b, crc);
+        if (address >= 8)                               // conversion results are read-only
+            memory[address] = (byte) b;
+        replyCRC16(crc);
+        reply(memory[address]);
+        skip = 3;
+        address = (address + 1) & 0x1F;
+        crc = address;
+    }
+
+    private void convert(int b) {
+        if (count == 1) {
+            header[1] = (byte) b;                       // input select mask
+        } else if (count == 2) {
+            header[2] = (byte) b;                       // read-out control
+            crc = CRC16.compute(header, 0, 3, 0);
+            replyCRC16(crc);
+            convertMask = header[1];
+            long ns = 160000L;
+            for (int ch = 0; ch < 4; ch++) {
+                if ((convertMask & (1 << ch)) == 0)
+                    continue;
+                int preset = (header[2] >>> (ch * 2)) & 0x03;
+                if (preset == 0x01) {
+                    memory[ch * 2] = 0;
+                    memory[ch * 2 + 1] = 0;
+                } else if (preset == 0x02) {
+                    memory[ch * 2] = (byte) 0xFF;
+                    memory[ch * 2 + 1] = (byte) 0xFF;
+                }
+                ns += 80000L * resolution(ch);
+            }
+            convertDoneAt = now() + ns;
+        }
+    }
+
+    private int resolution(int ch) {
+        int res = memory[8 + ch * 2] & 0x0F;
+        return (res == 0) ? 16 : res;
+    }
+
+    // finish a conversion whose time has come
+    private void poll() {
+        if (convertDoneAt < 0 || now() < convertDoneAt)
+            return;
+        convertDoneAt = -1;
+        for (int ch = 0; ch < 4; ch++) {
+            if ((convertMask & (1 << ch)) == 0)
+                continue;
+            double range = ((memory[9 + ch * 2] & 0x01) != 0) ? 5.12 : 2.56;
+            long raw = Math.round(input[ch] / range * 65535.0);
+            raw = Math.max(0, Math.min(0xFFFF, raw));
+            raw &= (0xFFFF << (16 - resolution(ch))) & 0xFFFF;
+            memory[ch * 2] = (byte) raw;
+            memory[ch * 2 + 1] = (byte) (raw >>> 8);
+
+            int msb = (int) (raw >>> 8);
+            int c = memory[9 + ch * 2] & ~0x30 & ~0x80; // clear AFL, AFH and POR
+            if (msb < (memory[16 + ch * 2] & 0xFF))
+                c |= 0x10;
+            if (msb > (memory[17 + ch * 2] & 0xFF))
+                c |= 0x20;
+            memory[9 + ch * 2] = (byte) c;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Base class for the simulated 1-Wire slaves.
+ * @author Bruce Juntti
+ */
+
+package com.unixwizardry.onewire.simulator;
+
+import com.unixwizardry.onewire.utils.Address;
+import com.unixwizardry.onewire.utils.CRC8;
+
+/**
+ * A 1-Wire slave on a {@link VirtualBus}.
+ * <p>
+ * The bus takes care of the ROM layer (search, alarm search, match, skip,
+ * read ROM).  Once a device is selected every time slot is handed to
+ * {@link #touchBit(int)}; this class assembles the bits the master writes
+ * into bytes and passes each one to {@link #onByte(int)}, and shifts out
+ * whatever the device has queued with {@link #reply(int)} during the master's
+ * read slots.  A subclass therefore only has to implement the function
+ * commands of its part, one byte at a time.
+ * <p>
+ * Read slots that find nothing queued return {@link #idleBit()}, which a
+ * device can override to report a conversion in progress.
+ */
+public abstract class VirtualDevice {
+
+    private final long  address;
+    VirtualBus          bus;                // set by VirtualBus.add()
+    VirtualDS2409.Branch branch;            // null when on the trunk
+
+    private int         rxByte, rxCount;
+    private int         txByte, txCount;
+    private final byte[] fifo = new byte[64];
+    private int         fifoHead, fifoSize;
+
+    /**
+     * @param family family code, e.g. 0x10 for a DS18S20
+     * @param serial 48 bit serial number
+     */
+    protected VirtualDevice(int family, long serial) {
+        this.address = makeAddress(family, serial);
+    }
+
+    /**
+     * Builds a valid 1-Wire address (family, serial and CRC8) in the
+     * <code>long</code> format of {@link Address#toLong(byte[])}.
+     *
+     * @param family family code
+     * @param serial 48 bit serial number
+     * @return the address
+     */
+    public static long makeAddress(int family, long serial) {
+        byte[] rom = new byte[8];
+        rom[0] = (byte) family;
+        for (int i = 1; i < 7; i++)
+            rom[i] = (byte) (serial >>> ((i - 1) * 8));
+        rom[7] = (byte) CRC8.compute(rom, 0, 7);
+        return Address.toLong(rom);
+    }
+
+    /**
+     * @return the 64 bit address, least significant byte is the family code
+     */
+    public final long getAddress() {
+        return address;
+    }
+
+    /**
+     * @return the address as an 8 byte array, family code first
+     */
+    public final byte[] getAddressBytes() {
+        return Address.toByteArray(address);
+    }
+
+    /**
+     * @return the address as a hex string, in the format used by the containers
+     */
+    public final String getAddressAsString() {
+        return Address.toString(address);
+    }
+
+    /**
+     * @return the family code
+     */
+    public final int getFamily() {
+        return (int) (address & 0xFF);
+    }
+
+    /**
+     * @return the bus this device is attached to, or <code>null</code>
+     */
+    public VirtualBus getBus() {
+        return bus;
+    }
+
+    /**
+     * @return <code>true</code> if this device answers an alarm search
+     */
+    public boolean isAlarming() {
+        return false;
+    }
+
+    //--------
+    //-------- Called by VirtualBus
+    //--------
+
+    /**
+     * A reset pulse ended whatever function command was in progress.
+     */
+    final void reset() {
+        rxByte = rxCount = 0;
+        txByte = txCount = 0;
+        fifoHead = fifoSize = 0;
+        onReset();
+    }
+
+    /**
+     * The master ended a strong pullup.
+     */
+    final void strongPullupEnded() {
+        onStrongPullupEnd();
+    }
+
+    /**
+     * One time slot after this device was selected.
+     *
+     * @param bit what the master sends, 1 for a read slot
+     * @return what this device leaves on the line; the bus ANDs the answers
+     */
+    final int touchBit(int bit) {
+        if (txCount == 0 && rxCount == 0 && fifoSize > 0) {
+            txByte = fifo[fifoHead] & 0xFF;
+            fifoHead = (fifoHead + 1) % fifo.length;
+            fifoSize--;
+            txCount = 8;
+        }
+
+        int out;
+        if (txCount > 0) {
+            out = txByte & 0x01;
+            txByte >>>= 1;
+            txCount--;
+        } else {
+            out = idleBit();
+        }
+
+        rxByte |= (bit & 0x01) << rxCount;
+        if (++rxCount == 8) {
+            int b = rxByte;
+            rxByte = rxCount = 0;
+            onByte(b);
+        }
+        return bit & out;
+    }
+
+    //--------
+    //-------- For subclasses
+    //--------
+
+    /**
+     * Handles one byte from the master.  Read slots arrive as 0xFF.
+     *
+     * @param b byte the master sent, 0 to 255
+     */
+    protected abstract void onByte(int b);
+
+    /**
+     * Called after a reset pulse; drop any command state here.
+     */
+    protected void onReset() {
+    }
+
+    /**
+     * Called when the master ends a strong pullup; a parasite powered
+     * device still converting or writing EEPROM loses its power here.
+     */
+    protected void onStrongPullupEnd() {
+    }
+
+    /**
+     * @return what a read slot returns when nothing is queued to send
+     */
+    protected int idleBit() {
+        return 1;
+    }
+
+    /**
+     * Queues a byte to send during the master's next read slots.
+     *
+     * @param b byte to send
+     */
+    protected final void reply(int b) {
+        if (fifoSize == fifo.length)
+            throw new IllegalStateException("VirtualDevice reply queue full");
+        fifo[(fifoHead + fifoSize) % fifo.length] = (byte) b;
+        fifoSize++;
+    }
+
+    /**
+     * @return <code>true</code> while queued bytes are still being sent
+     */
+    protected final boolean replying() {
+        return fifoSize > 0 || txCount > 0;
+    }
+
+    /**
+     * Queues the inverted CRC16 the way the parts send it, low byte first.
+     *
+     * @param crc16 CRC16 over the bytes being protected
+     */
+    protected final void replyCRC16(int crc16) {
+        reply(~crc16 & 0xFF);
+        reply((~crc16 >>> 8) & 0xFF);
+    }
+
+    /**
+     * @return <code>true</code> while the master holds the line at strong
+     *         pullup
+     */
+    protected final boolean strongPullup() {
+        return bus != null && bus.isStrongPullup();
+    }
+
+    /**
+     * @return current time of the bus clock in nanoseconds
+     */
+    protected final long now() {
+        return (bus == null) ? 0 : bus.getClock().nanoTime();
+    }
+
+    /**
+     * Tells the bus that which devices are reachable has changed,
+     * e.g. because a DS2409 switched a branch.
+     */
+    protected final void topologyChanged() {
+        if (bus != null)
+            bus.topologyChanged();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + getAddressAsString();
+    }
+}